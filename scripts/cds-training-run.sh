@@ -0,0 +1,26 @@
+#!/usr/bin/env sh
+# Creates an AppCDS archive for the jar built with the fast-startup profile (mvn -Pfast-startup package).
+# The training run starts the application up to the context refresh, with AOT and the fast-startup profile, and
+# dumps the loaded classes when it exits. The jar is unpacked as CDS only works with a plain classpath of jars.
+set -e
+
+JAR=$(realpath "${1:-target/digital-wallet-service-0.0.1-SNAPSHOT.jar}")
+CDS_DIR=${2:-target/cds}
+
+rm -rf "$CDS_DIR"
+mkdir -p "$CDS_DIR"
+cd "$CDS_DIR"
+jar -xf "$JAR"
+jar -cf application.jar -C BOOT-INF/classes .
+
+java -XX:ArchiveClassesAtExit=application.jsa \
+  -Dspring.context.exit=onRefresh \
+  -Dspring.aot.enabled=true \
+  -Dspring.profiles.active=fast-startup \
+  -cp "application.jar:BOOT-INF/lib/*" \
+  com.jfrengineering.digitalwallet.Application
+
+echo
+echo "CDS archive created, start the application from $CDS_DIR with:"
+echo "java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -Dspring.profiles.active=fast-startup \\"
+echo "  -cp \"application.jar:BOOT-INF/lib/*\" com.jfrengineering.digitalwallet.Application"
@@ -0,0 +1,16 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.archive")
+public class ArchiveProperties {
+    private boolean enabled = false;
+    private Path directory = Path.of("archive");
+    private Duration maxAge = Duration.ofDays(90);
+    private int batchSize = 5_000;
+}
@@ -0,0 +1,63 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import com.jfrengineering.digitalwallet.service.JpaBalanceStore;
+import com.jfrengineering.digitalwallet.service.offheap.BalanceWriteBehind;
+import com.jfrengineering.digitalwallet.service.offheap.OffHeapBalanceStore;
+import com.jfrengineering.digitalwallet.service.offheap.OffHeapBalanceTable;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+
+@Configuration
+public class BalanceStoreConfig {
+
+    @Bean
+    @ConditionalOnProperty(prefix = "wallet.balance-store", name = "type", havingValue = "jpa", matchIfMissing = true)
+    public JpaBalanceStore jpaBalanceStore(BalanceRepository balanceRepository) {
+        return new JpaBalanceStore(balanceRepository);
+    }
+
+    // The group commit writes the balances table directly, which the off-heap table would not see
+    @Bean
+    @ConditionalOnProperty(prefix = "wallet.balance-store", name = "type", havingValue = "off-heap")
+    public OffHeapBalanceTable offHeapBalanceTable(BalanceStoreProperties properties,
+                                                   GroupCommitProperties groupCommitProperties,
+                                                   MeterRegistry meterRegistry) throws IOException {
+        if (groupCommitProperties.isEnabled()) {
+            throw new IllegalStateException("The off-heap balance store cannot be used with the group commit");
+        }
+        OffHeapBalanceTable table = OffHeapBalanceTable.open(properties.getFile(), properties.getCapacity());
+        Gauge.builder("wallet.balance.store.size", table, OffHeapBalanceTable::size)
+                .description("Balances in the off-heap balance table")
+                .register(meterRegistry);
+        return table;
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "wallet.balance-store", name = "type", havingValue = "off-heap")
+    public OffHeapBalanceStore offHeapBalanceStore(OffHeapBalanceTable offHeapBalanceTable,
+                                                   BalanceRepository balanceRepository,
+                                                   BalanceWriteBehind balanceWriteBehind,
+                                                   BalanceStoreProperties properties) {
+        return new OffHeapBalanceStore(offHeapBalanceTable, balanceRepository, balanceWriteBehind,
+                properties.getLockStripes(), properties.getLockTimeout());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "wallet.balance-store", name = "type", havingValue = "off-heap")
+    public BalanceWriteBehind balanceWriteBehind(OffHeapBalanceTable offHeapBalanceTable, JdbcTemplate jdbcTemplate,
+                                                 TransactionTemplate transactionTemplate,
+                                                 CustomerShardRouter customerShardRouter,
+                                                 BalanceStoreProperties properties) {
+        return new BalanceWriteBehind(offHeapBalanceTable, jdbcTemplate, transactionTemplate, customerShardRouter,
+                properties.getFlushBatchSize());
+    }
+}
@@ -0,0 +1,19 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.balance-store")
+public class BalanceStoreProperties {
+    private String type = "jpa";
+    private Path file = Path.of("balances", "balances.table");
+    private int capacity = 1 << 22;
+    private int lockStripes = 1_024;
+    private Duration lockTimeout = Duration.ofSeconds(5);
+    private Duration flushInterval = Duration.ofSeconds(1);
+    private int flushBatchSize = 500;
+}
@@ -0,0 +1,21 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import com.jfrengineering.digitalwallet.service.stream.BalanceStreamHub;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class BalanceStreamConfig {
+
+    @Bean
+    public BalanceStreamHub balanceStreamHub(BalanceStreamProperties properties, MeterRegistry meterRegistry) {
+        BalanceStreamHub balanceStreamHub = new BalanceStreamHub(properties.getTimeout(), properties.getSenderThreads(),
+                properties.getSendTimeout());
+        Gauge.builder("wallet.balance.stream.subscribers", balanceStreamHub, BalanceStreamHub::getSubscriberCount)
+                .description("Open balance update streams")
+                .register(meterRegistry);
+        return balanceStreamHub;
+    }
+}
@@ -0,0 +1,14 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.balance-stream")
+public class BalanceStreamProperties {
+    private Duration timeout = Duration.ofMinutes(30);
+    private int senderThreads = 2;
+    private Duration sendTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,15 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import com.jfrengineering.digitalwallet.web.binary.TransactionRequestMessageConverter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Message converter beans are added to the ones Spring MVC negotiates the request content type with
+@Configuration
+public class BinaryTransactionConfig {
+
+    @Bean
+    public TransactionRequestMessageConverter transactionRequestMessageConverter() {
+        return new TransactionRequestMessageConverter();
+    }
+}
@@ -6,4 +6,6 @@ import org.springframework.context.annotation.Configuration;
 @Configuration
 @EnableCaching
 public class CacheConfig {
+
+    public static final String CUSTOMER_CACHE = "customerCache";
 }
@@ -0,0 +1,26 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import com.jfrengineering.digitalwallet.service.limit.AdaptiveConcurrencyLimiter;
+import com.jfrengineering.digitalwallet.service.limit.ConcurrencyLimitAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.concurrency-limit", name = "enabled", havingValue = "true")
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter(ConcurrencyLimitProperties properties) {
+        return new AdaptiveConcurrencyLimiter(properties.getInitialLimit(), properties.getMinLimit(),
+                properties.getMaxLimit(), properties.getLatencyThreshold(), properties.getBackoffRatio());
+    }
+
+    @Bean
+    public ConcurrencyLimitAspect concurrencyLimitAspect(AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter,
+                                                         ConcurrencyLimitProperties properties,
+                                                         MeterRegistry meterRegistry) {
+        return new ConcurrencyLimitAspect(adaptiveConcurrencyLimiter, properties.getRetryAfter(), meterRegistry);
+    }
+}
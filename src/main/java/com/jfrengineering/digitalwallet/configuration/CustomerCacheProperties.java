@@ -0,0 +1,15 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.customer-cache")
+public class CustomerCacheProperties {
+    private boolean preload = false;
+    private int loadBatchSize = 1_000;
+    private Duration refreshInterval = Duration.ofMinutes(1);
+    private Duration refreshOverlap = Duration.ofMinutes(1);
+}
@@ -0,0 +1,44 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.service.TransactionSummaryService;
+import com.jfrengineering.digitalwallet.service.commit.GroupCommitAspect;
+import com.jfrengineering.digitalwallet.service.commit.TransactionGroupCommitter;
+import com.jfrengineering.digitalwallet.service.commit.TransactionGroupWriter;
+import com.jfrengineering.digitalwallet.service.limit.VelocityLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.group-commit", name = "enabled", havingValue = "true")
+public class GroupCommitConfig {
+
+    @Bean
+    public TransactionGroupWriter transactionGroupWriter(JdbcTemplate jdbcTemplate,
+                                                         TransactionTemplate transactionTemplate,
+                                                         TransactionSummaryService transactionSummaryService,
+                                                         VelocityLimiter velocityLimiter,
+                                                         ApplicationEventPublisher applicationEventPublisher) {
+        return new TransactionGroupWriter(jdbcTemplate, transactionTemplate, transactionSummaryService, velocityLimiter,
+                applicationEventPublisher);
+    }
+
+    @Bean
+    public TransactionGroupCommitter transactionGroupCommitter(GroupCommitProperties properties,
+                                                               TransactionGroupWriter transactionGroupWriter,
+                                                               CustomerShardRouter customerShardRouter,
+                                                               MeterRegistry meterRegistry) {
+        return new TransactionGroupCommitter(properties.getWindow(), properties.getMaxBatchSize(),
+                transactionGroupWriter, customerShardRouter, meterRegistry);
+    }
+
+    @Bean
+    public GroupCommitAspect groupCommitAspect(TransactionGroupCommitter transactionGroupCommitter) {
+        return new GroupCommitAspect(transactionGroupCommitter);
+    }
+}
@@ -0,0 +1,14 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.group-commit")
+public class GroupCommitProperties {
+    private boolean enabled = false;
+    private Duration window = Duration.ofMillis(2);
+    private int maxBatchSize = 100;
+}
@@ -0,0 +1,38 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import com.jfrengineering.digitalwallet.service.hotspot.HeavyHitterAspect;
+import com.jfrengineering.digitalwallet.service.hotspot.HeavyHitterTracker;
+import com.jfrengineering.digitalwallet.service.hotspot.HotCustomersEndpoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.heavy-hitters", name = "enabled", havingValue = "true")
+public class HeavyHitterConfig {
+
+    @Bean
+    public HeavyHitterTracker writeHeavyHitters(HeavyHitterProperties properties) {
+        return createTracker(properties);
+    }
+
+    @Bean
+    public HeavyHitterTracker readHeavyHitters(HeavyHitterProperties properties) {
+        return createTracker(properties);
+    }
+
+    @Bean
+    public HeavyHitterAspect heavyHitterAspect(HeavyHitterProperties properties) {
+        return new HeavyHitterAspect(writeHeavyHitters(properties), readHeavyHitters(properties));
+    }
+
+    @Bean
+    public HotCustomersEndpoint hotCustomersEndpoint(HeavyHitterProperties properties) {
+        return new HotCustomersEndpoint(writeHeavyHitters(properties), readHeavyHitters(properties));
+    }
+
+    private static HeavyHitterTracker createTracker(HeavyHitterProperties properties) {
+        return new HeavyHitterTracker(properties.getWindow(), properties.getWindowSlots(), properties.getSketchDepth(),
+                properties.getSketchWidth(), properties.getTopK());
+    }
+}
@@ -0,0 +1,17 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.heavy-hitters")
+public class HeavyHitterProperties {
+    private boolean enabled = false;
+    private int topK = 10;
+    private Duration window = Duration.ofMinutes(1);
+    private int windowSlots = 6;
+    private int sketchDepth = 4;
+    private int sketchWidth = 1_024;
+}
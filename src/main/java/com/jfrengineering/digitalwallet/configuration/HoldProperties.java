@@ -0,0 +1,15 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.holds")
+public class HoldProperties {
+    private Duration defaultExpiry = Duration.ofDays(7);
+    private Duration maxExpiry = Duration.ofDays(30);
+    private Duration expiryInterval = Duration.ofSeconds(1);
+    private int loadBatchSize = 1000;
+}
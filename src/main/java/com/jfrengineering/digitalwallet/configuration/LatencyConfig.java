@@ -0,0 +1,36 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import com.jfrengineering.digitalwallet.web.latency.LatencyEndpoint;
+import com.jfrengineering.digitalwallet.web.latency.LatencyHistograms;
+import com.jfrengineering.digitalwallet.web.latency.LatencyRecordingInterceptor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.latency", name = "enabled", havingValue = "true")
+public class LatencyConfig {
+
+    @Bean
+    public LatencyHistograms latencyHistograms(LatencyProperties properties) {
+        return new LatencyHistograms(properties.getHighestTrackableValue(), properties.getSignificantDigits());
+    }
+
+    @Bean
+    public LatencyEndpoint latencyEndpoint(LatencyHistograms latencyHistograms) {
+        return new LatencyEndpoint(latencyHistograms);
+    }
+
+    @Bean
+    public WebMvcConfigurer latencyRecordingWebMvcConfigurer(LatencyHistograms latencyHistograms) {
+        return new WebMvcConfigurer() {
+            @Override
+            public void addInterceptors(InterceptorRegistry registry) {
+                registry.addInterceptor(new LatencyRecordingInterceptor(latencyHistograms))
+                        .addPathPatterns("/transactions/**");
+            }
+        };
+    }
+}
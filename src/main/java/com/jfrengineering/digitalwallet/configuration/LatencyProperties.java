@@ -0,0 +1,14 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.latency")
+public class LatencyProperties {
+    private boolean enabled = false;
+    private Duration highestTrackableValue = Duration.ofMinutes(1);
+    private int significantDigits = 3;
+}
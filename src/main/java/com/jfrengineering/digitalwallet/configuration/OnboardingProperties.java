@@ -0,0 +1,10 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.onboarding")
+public class OnboardingProperties {
+    private int batchSize = 500;
+}
@@ -0,0 +1,33 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.service.outbox.FileOutboxSink;
+import com.jfrengineering.digitalwallet.service.outbox.QueueOutboxSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Any other 'sink' value leaves the OutboxSink bean to the application, e.g. a message broker adapter
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.outbox", name = "enabled", havingValue = "true")
+public class OutboxConfig {
+
+    // The outbox rows are not in the wallet snapshots, so the events not relayed yet would be lost on restore
+    public OutboxConfig(SnapshotProperties snapshotProperties) {
+        if (snapshotProperties.isEnabled()) {
+            throw new IllegalStateException("The outbox cannot be used with the wallet snapshots");
+        }
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "wallet.outbox", name = "sink", havingValue = "queue", matchIfMissing = true)
+    public QueueOutboxSink queueOutboxSink(OutboxProperties properties) {
+        return new QueueOutboxSink(properties.getQueueCapacity());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "wallet.outbox", name = "sink", havingValue = "file")
+    public FileOutboxSink fileOutboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return new FileOutboxSink(properties.getFile(), objectMapper);
+    }
+}
@@ -0,0 +1,19 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.outbox")
+public class OutboxProperties {
+    private boolean enabled = false;
+    private String sink = "queue";
+    private Duration pollInterval = Duration.ofMillis(100);
+    private int batchSize = 500;
+    private int maxBatchesPerPoll = 20;
+    private int queueCapacity = 10_000;
+    private Path file = Path.of("outbox", "transactions.jsonl");
+}
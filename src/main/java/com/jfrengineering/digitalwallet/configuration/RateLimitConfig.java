@@ -0,0 +1,32 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import com.jfrengineering.digitalwallet.service.limit.CustomerRateLimitAspect;
+import com.jfrengineering.digitalwallet.service.limit.CustomerRateLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.rate-limit", name = "enabled", havingValue = "true")
+public class RateLimitConfig {
+
+    @Bean
+    public CustomerRateLimiter customerRateLimiter(RateLimitProperties properties) {
+        return new CustomerRateLimiter(properties.getRate(), properties.getBurst());
+    }
+
+    @Bean
+    public CustomerRateLimitAspect customerRateLimitAspect(CustomerRateLimiter customerRateLimiter,
+                                                           MeterRegistry meterRegistry) {
+        return new CustomerRateLimitAspect(customerRateLimiter, meterRegistry);
+    }
+
+    // Rejections are tagged by customer, only the first customers rejected are kept to bound the number of meters
+    @Bean
+    public MeterFilter rateLimitRejectedMeterFilter(RateLimitProperties properties) {
+        return MeterFilter.maximumAllowableTags(CustomerRateLimitAspect.REJECTED_METRIC,
+                CustomerRateLimitAspect.CUSTOMER_ID_TAG, properties.getMaxTaggedCustomers(), MeterFilter.deny());
+    }
+}
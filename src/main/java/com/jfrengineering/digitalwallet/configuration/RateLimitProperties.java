@@ -0,0 +1,13 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = false;
+    private double rate = 10;
+    private int burst = 20;
+    private int maxTaggedCustomers = 100;
+}
@@ -0,0 +1,16 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.reconciliation")
+public class ReconciliationProperties {
+    private boolean enabled = false;
+    private Duration interval = Duration.ofHours(24);
+    private int rangeSize = 1_000;
+    private int parallelism = 4;
+    private int fetchSize = 500;
+}
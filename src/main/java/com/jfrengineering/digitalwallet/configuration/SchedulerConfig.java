@@ -0,0 +1,28 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.repository.ScheduledTransactionRepository;
+import com.jfrengineering.digitalwallet.service.schedule.ScheduledTransactionExecutor;
+import com.jfrengineering.digitalwallet.service.schedule.TransactionScheduler;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SchedulerConfig {
+
+    @Bean
+    public TransactionScheduler transactionScheduler(SchedulerProperties properties,
+                                                     ScheduledTransactionRepository scheduledTransactionRepository,
+                                                     ScheduledTransactionExecutor scheduledTransactionExecutor,
+                                                     CustomerShardRouter customerShardRouter,
+                                                     MeterRegistry meterRegistry) {
+        TransactionScheduler transactionScheduler = new TransactionScheduler(properties, scheduledTransactionRepository,
+                scheduledTransactionExecutor, customerShardRouter);
+        Gauge.builder("wallet.scheduler.pending", transactionScheduler, TransactionScheduler::getPendingCount)
+                .description("Scheduled transactions due before the next load, waiting or executing")
+                .register(meterRegistry);
+        return transactionScheduler;
+    }
+}
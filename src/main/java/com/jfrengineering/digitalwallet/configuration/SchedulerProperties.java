@@ -0,0 +1,18 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.scheduler")
+public class SchedulerProperties {
+    private Duration tick = Duration.ofMillis(100);
+    private int wheelSize = 64;
+    private int wheelLevels = 4;
+    private Duration loadInterval = Duration.ofMinutes(1);
+    private int batchSize = 500;
+    private int workerThreads = 2;
+    private Duration minRepeatEvery = Duration.ofMinutes(1);
+}
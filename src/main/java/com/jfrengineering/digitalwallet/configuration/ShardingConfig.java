@@ -0,0 +1,62 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import com.jfrengineering.digitalwallet.datasource.CustomerShardAspect;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.datasource.ShardRoutingDataSource;
+import com.jfrengineering.digitalwallet.datasource.ShardSchemaIntegrator;
+import com.jfrengineering.digitalwallet.datasource.ShardedScriptDatabaseInitializer;
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+// Only active when shards are configured, otherwise the auto-configured single datasource is used
+@Configuration
+@ConditionalOnProperty(prefix = "wallet.datasource.shards[0]", name = "url")
+public class ShardingConfig {
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ShardDataSourceProperties shardProperties) {
+        List<HikariDataSource> shardDataSources = new ArrayList<>();
+        for (ShardDataSourceProperties.Shard shard : shardProperties.getShards()) {
+            HikariDataSource shardDataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.getUrl())
+                    .username(shard.getUsername())
+                    .password(shard.getPassword())
+                    .build();
+            shardDataSource.setPoolName("shard-" + shardDataSources.size());
+            shardDataSource.setMaximumPoolSize(shard.getMaximumPoolSize());
+            shardDataSources.add(shardDataSource);
+        }
+        return new ShardRoutingDataSource(shardDataSources);
+    }
+
+    @Bean
+    public CustomerShardAspect customerShardAspect(CustomerShardRouter customerShardRouter) {
+        return new CustomerShardAspect(customerShardRouter);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardSchemaCustomizer(CustomerShardRouter customerShardRouter) {
+        IntegratorProvider integratorProvider = () -> List.of(new ShardSchemaIntegrator(customerShardRouter));
+        return properties -> properties.put("hibernate.integrator_provider", integratorProvider);
+    }
+
+    @Bean
+    public SqlDataSourceScriptDatabaseInitializer dataSourceScriptDatabaseInitializer(
+            DataSource dataSource, SqlInitializationProperties properties, CustomerShardRouter customerShardRouter) {
+        return new ShardedScriptDatabaseInitializer(dataSource, properties, customerShardRouter);
+    }
+}
@@ -0,0 +1,25 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.env.EnvironmentPostProcessor;
+import org.springframework.core.env.ConfigurableEnvironment;
+import org.springframework.core.env.MapPropertySource;
+
+import java.nio.file.Files;
+import java.util.Map;
+
+// The wallet state restored from a snapshot replaces the one of the initialization scripts (data.sql)
+public class SnapshotEnvironmentPostProcessor implements EnvironmentPostProcessor {
+
+    @Override
+    public void postProcessEnvironment(ConfigurableEnvironment environment, SpringApplication application) {
+        SnapshotProperties snapshotProperties = Binder.get(environment)
+                .bind("wallet.snapshot", SnapshotProperties.class)
+                .orElseGet(SnapshotProperties::new);
+        if (snapshotProperties.isEnabled() && Files.exists(snapshotProperties.getSnapshotFile())) {
+            environment.getPropertySources().addFirst(new MapPropertySource("walletSnapshot",
+                    Map.of("spring.sql.init.mode", "never")));
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.snapshot")
+public class SnapshotProperties {
+    private boolean enabled = false;
+    private Path directory = Path.of("snapshot");
+    private int restoreBatchSize = 1_000;
+
+    public Path getSnapshotFile() {
+        return directory.resolve("wallet.snapshot");
+    }
+}
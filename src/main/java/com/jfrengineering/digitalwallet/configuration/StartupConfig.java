@@ -0,0 +1,19 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import com.jfrengineering.digitalwallet.Application;
+import org.springframework.boot.LazyInitializationExcludeFilter;
+import org.springframework.boot.sql.init.AbstractScriptDatabaseInitializer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class StartupConfig {
+
+    // With lazy initialization (fast-startup profile) the wallet beans, and so everything they depend on, are still
+    // created at startup, leaving lazy only what the first requests do not need (OpenAPI docs, actuator endpoints...)
+    @Bean
+    public static LazyInitializationExcludeFilter walletBeansLazyInitializationExcludeFilter() {
+        return (beanName, beanDefinition, beanType) -> beanType.getPackageName().startsWith(Application.class.getPackageName())
+                || AbstractScriptDatabaseInitializer.class.isAssignableFrom(beanType);
+    }
+}
@@ -0,0 +1,34 @@
+package com.jfrengineering.digitalwallet.configuration;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+@Data
+@ConfigurationProperties(prefix = "wallet.velocity-limit")
+public class VelocityLimitProperties {
+    private boolean enabled = false;
+    private int hourlySlots = 60;
+    private int dailySlots = 24;
+    private int loadBatchSize = 1_000;
+    private String defaultTier = "standard";
+    private Map<String, Tier> tiers = new HashMap<>(Map.of("standard", new Tier()));
+    private Map<UUID, String> customerTiers = new HashMap<>();
+
+    @Data
+    public static class Tier {
+        private BigDecimal hourlyAmount = BigDecimal.valueOf(2_500);
+        private int hourlyCount = 10;
+        private BigDecimal dailyAmount = BigDecimal.valueOf(10_000);
+        private int dailyCount = 50;
+    }
+
+    // Customers of a tier not configured have no limits
+    public Tier tierOf(UUID customerId) {
+        return tiers.get(customerTiers.getOrDefault(customerId, defaultTier));
+    }
+}
@@ -0,0 +1,58 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.web.model.CustomerRequest;
+import com.jfrengineering.digitalwallet.web.model.TransferRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.UUID;
+
+// Runs ahead of the transactional proxy, so the whole database transaction of a service call uses the customer shard.
+// Service methods not keyed by a customer in their first argument run on the shard already set, if any.
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class CustomerShardAspect {
+
+    private final CustomerShardRouter customerShardRouter;
+
+    @Around("execution(public * com.jfrengineering.digitalwallet.service.*Service.*(..))")
+    public Object routeToCustomerShard(ProceedingJoinPoint joinPoint) throws Throwable {
+        UUID customerId = customerIdOf(joinPoint.getArgs());
+        if (customerId == null) {
+            return joinPoint.proceed();
+        }
+        int shard = customerShardRouter.shardOf(customerId);
+        Integer currentShard = ShardContext.currentShard();
+        if (currentShard != null && currentShard != shard && TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException(String.format(
+                    "Customer '%s' belongs to shard %d, cross-shard transactions are not supported", customerId, shard));
+        }
+        Integer previousShard = ShardContext.enter(shard);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.restore(previousShard);
+        }
+    }
+
+    private static UUID customerIdOf(Object[] arguments) {
+        Object firstArgument = arguments.length == 0 ? null : arguments[0];
+        if (firstArgument instanceof UUID customerId) {
+            return customerId;
+        } else if (firstArgument instanceof CustomerRequest customerRequest) {
+            return customerRequest.getCustomerId();
+        } else if (firstArgument instanceof Transaction transaction) {
+            return transaction.getCustomerId();
+        } else if (firstArgument instanceof TransferRequest transferRequest) {
+            return transferRequest.getFromCustomerId(); // both customers are on the same shard
+        }
+        return null;
+    }
+}
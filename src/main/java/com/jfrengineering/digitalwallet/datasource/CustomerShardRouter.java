@@ -0,0 +1,47 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import com.jfrengineering.digitalwallet.configuration.ShardDataSourceProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.function.IntConsumer;
+import java.util.function.Supplier;
+
+@Component
+public class CustomerShardRouter {
+
+    private final int shardCount;
+
+    @Autowired
+    public CustomerShardRouter(ShardDataSourceProperties shardProperties) {
+        this(Math.max(1, shardProperties.getShards().size()));
+    }
+
+    public CustomerShardRouter(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    // Customer IDs are not always random (see data.sql), so the bits are mixed before taking the modulo
+    public int shardOf(UUID customerId) {
+        long hash = 31 * customerId.getMostSignificantBits() + customerId.getLeastSignificantBits();
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return (int) Math.floorMod(hash ^ (hash >>> 33), (long) shardCount);
+    }
+
+    public <T> T callOnShardOf(UUID customerId, Supplier<T> action) {
+        return ShardContext.callOn(shardOf(customerId), action);
+    }
+
+    public void forEachShard(IntConsumer action) {
+        for (int shard = 0; shard < shardCount; shard++) {
+            int currentShard = shard;
+            ShardContext.runOn(shard, () -> action.accept(currentShard));
+        }
+    }
+}
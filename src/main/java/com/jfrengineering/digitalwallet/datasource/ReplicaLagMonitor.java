@@ -0,0 +1,67 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+// Writes a heartbeat to the primary and measures how old the heartbeat visible on the replica is
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicaLagMonitor {
+
+    static final String CREATE_HEARTBEAT_TABLE =
+            "CREATE TABLE IF NOT EXISTS replication_heartbeat (id INT PRIMARY KEY, beat_at TIMESTAMP(9) NOT NULL)";
+    static final String WRITE_HEARTBEAT = "MERGE INTO replication_heartbeat KEY (id) VALUES (1, ?)";
+    static final String READ_HEARTBEAT = "SELECT beat_at FROM replication_heartbeat WHERE id = 1";
+
+    private final JdbcTemplate primaryJdbcTemplate;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final Duration maxLag;
+
+    // Reads stay on the primary until the replica proves to be in sync
+    private volatile boolean replicaUsable;
+
+    @PostConstruct
+    void createHeartbeatTable() {
+        primaryJdbcTemplate.execute(CREATE_HEARTBEAT_TABLE);
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.datasource.replica.heartbeat-interval:PT1S}")
+    public void heartbeat() {
+        Instant now = Instant.now();
+        try {
+            primaryJdbcTemplate.update(WRITE_HEARTBEAT, Timestamp.from(now));
+            Timestamp replicatedBeat = replicaJdbcTemplate.queryForObject(READ_HEARTBEAT, Timestamp.class);
+            updateReplicaUsable(Duration.between(replicatedBeat.toInstant(), now));
+        } catch (DataAccessException e) {
+            log.warn("Replica heartbeat failed: {}", e.getMessage());
+            setReplicaUsable(false);
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    private void updateReplicaUsable(Duration lag) {
+        boolean withinMaxLag = lag.compareTo(maxLag) <= 0;
+        if (!withinMaxLag) {
+            log.warn("Replica lags {} behind the primary, over the maximum of {}", lag, maxLag);
+        }
+        setReplicaUsable(withinMaxLag);
+    }
+
+    private void setReplicaUsable(boolean usable) {
+        if (usable != replicaUsable) {
+            log.info("Read-only transactions are now routed to the {}", usable ? "replica" : "primary");
+        }
+        replicaUsable = usable;
+    }
+}
@@ -0,0 +1,49 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import java.util.function.Supplier;
+
+// Shard the current thread works on, the default shard is used when none is set
+public final class ShardContext {
+
+    public static final int DEFAULT_SHARD = 0;
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer currentShard() {
+        return CURRENT_SHARD.get();
+    }
+
+    public static <T> T callOn(int shard, Supplier<T> action) {
+        Integer previousShard = enter(shard);
+        try {
+            return action.get();
+        } finally {
+            restore(previousShard);
+        }
+    }
+
+    public static void runOn(int shard, Runnable action) {
+        callOn(shard, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    // Returns the shard previously set, to be restored once done with the given one
+    public static Integer enter(int shard) {
+        Integer previousShard = CURRENT_SHARD.get();
+        CURRENT_SHARD.set(shard);
+        return previousShard;
+    }
+
+    public static void restore(Integer previousShard) {
+        if (previousShard == null) {
+            CURRENT_SHARD.remove();
+        } else {
+            CURRENT_SHARD.set(previousShard);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    public ShardRoutingDataSource(List<? extends DataSource> shardDataSources) {
+        Map<Object, Object> targetDataSources = new HashMap<>();
+        for (int shard = 0; shard < shardDataSources.size(); shard++) {
+            targetDataSources.put(shard, shardDataSources.get(shard));
+        }
+        setTargetDataSources(targetDataSources);
+        setDefaultTargetDataSource(shardDataSources.get(ShardContext.DEFAULT_SHARD));
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Integer determineCurrentLookupKey() {
+        return ShardContext.currentShard();
+    }
+
+    // Inferred as destroy method, closes the connection pool of every shard
+    public void close() throws Exception {
+        for (DataSource shardDataSource : getResolvedDataSources().values()) {
+            if (shardDataSource instanceof AutoCloseable closeableDataSource) {
+                closeableDataSource.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+// Hibernate only manages the schema (spring.jpa.hibernate.ddl-auto) of the default shard, this repeats it on the rest
+@RequiredArgsConstructor
+public class ShardSchemaIntegrator implements Integrator {
+
+    private final CustomerShardRouter customerShardRouter;
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        sessionFactory.addObserver(new SessionFactoryObserver() {
+            @Override
+            public void sessionFactoryCreated(SessionFactory factory) {
+                customerShardRouter.forEachShard(shard -> {
+                    if (shard != ShardContext.DEFAULT_SHARD) {
+                        // The drop on close of create-drop is not registered for these shards
+                        SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(),
+                                sessionFactory.getProperties(), dropAction -> {
+                                });
+                    }
+                });
+            }
+        });
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+        // nothing to release
+    }
+}
@@ -0,0 +1,44 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import org.springframework.boot.autoconfigure.sql.init.SqlDataSourceScriptDatabaseInitializer;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Runs the initialization scripts (data.sql) on every shard, then deletes the customer rows that belong to other shards
+public class ShardedScriptDatabaseInitializer extends SqlDataSourceScriptDatabaseInitializer {
+
+    static final List<String> CUSTOMER_TABLES = List.of("balances", "transactions", "transaction_summaries");
+
+    private final CustomerShardRouter customerShardRouter;
+    private final JdbcTemplate jdbcTemplate;
+
+    public ShardedScriptDatabaseInitializer(DataSource dataSource, SqlInitializationProperties properties,
+                                            CustomerShardRouter customerShardRouter) {
+        super(dataSource, properties);
+        this.customerShardRouter = customerShardRouter;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @Override
+    public boolean initializeDatabase() {
+        AtomicBoolean initialized = new AtomicBoolean();
+        customerShardRouter.forEachShard(shard -> {
+            if (super.initializeDatabase()) {
+                initialized.set(true);
+                CUSTOMER_TABLES.forEach(table -> deleteRowsOfOtherShards(table, shard));
+            }
+        });
+        return initialized.get();
+    }
+
+    private void deleteRowsOfOtherShards(String table, int shard) {
+        jdbcTemplate.queryForList("SELECT DISTINCT customer_id FROM " + table, String.class).stream()
+                .filter(customerId -> customerShardRouter.shardOf(UUID.fromString(customerId)) != shard)
+                .forEach(customerId -> jdbcTemplate.update("DELETE FROM " + table + " WHERE customer_id = ?", customerId));
+    }
+}
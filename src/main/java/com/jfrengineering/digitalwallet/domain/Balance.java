@@ -8,6 +8,7 @@ import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.UpdateTimestamp;
 
@@ -29,6 +30,12 @@ public class Balance {
 
     private BigDecimal balanceAmount;
 
+    // Reserved by holds, part of the balance amount but not available for withdrawals
+    @Builder.Default
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private BigDecimal heldAmount = BigDecimal.ZERO;
+
     @CreationTimestamp
     @Column(updatable = false)
     private Timestamp createdAt;
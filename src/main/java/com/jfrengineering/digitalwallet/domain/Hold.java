@@ -0,0 +1,40 @@
+package com.jfrengineering.digitalwallet.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+// Only active holds are kept, they are deleted once captured, released or expired
+@Entity(name = "holds")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class Hold {
+
+    @Id
+    @Column(length = 36, columnDefinition = "varchar", updatable = false, nullable = false)
+    private UUID correlationId;
+
+    @Column(length = 36, columnDefinition = "varchar", updatable = false, nullable = false)
+    private UUID customerId;
+
+    private BigDecimal amount;
+
+    private Timestamp expiresAt;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Timestamp createdAt;
+}
@@ -0,0 +1,58 @@
+package com.jfrengineering.digitalwallet.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+@Entity(name = "outbox_events")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 36, columnDefinition = "varchar", updatable = false, nullable = false)
+    private UUID correlationId;
+
+    @Column(length = 36, columnDefinition = "varchar", updatable = false, nullable = false)
+    private UUID customerId;
+
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    private Operation operation;
+
+    private BigDecimal balanceAfter;
+
+    @Column(updatable = false)
+    private Timestamp createdAt;
+
+    public static OutboxEvent of(Transaction transaction) {
+        return OutboxEvent.builder()
+                .correlationId(transaction.getCorrelationId())
+                .customerId(transaction.getCustomerId())
+                .amount(transaction.getAmount())
+                .operation(transaction.getOperation())
+                .balanceAfter(transaction.getBalanceAfter())
+                .createdAt(transaction.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.jfrengineering.digitalwallet.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+// Balance not matching the net amount of the customer transactions, as found by a reconciliation run
+@Entity(name = "reconciliation_discrepancies")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "reconciliation_run_index", columnList = "runId"))
+public class ReconciliationDiscrepancy {
+
+    @Id
+    @Column(length = 36, columnDefinition = "varchar", updatable = false, nullable = false)
+    private UUID id;
+
+    @Column(length = 36, columnDefinition = "varchar", updatable = false, nullable = false)
+    private UUID runId;
+
+    @Column(length = 36, columnDefinition = "varchar", updatable = false, nullable = false)
+    private UUID customerId;
+
+    private BigDecimal balanceAmount;
+
+    private BigDecimal ledgerAmount;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Timestamp createdAt;
+}
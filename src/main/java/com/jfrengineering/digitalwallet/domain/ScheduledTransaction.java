@@ -0,0 +1,53 @@
+package com.jfrengineering.digitalwallet.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.CreationTimestamp;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.UUID;
+
+@Entity(name = "scheduled_transactions")
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(indexes = @Index(name = "next_execution_index", columnList = "nextExecutionAt, correlationId"))
+public class ScheduledTransaction {
+
+    @Id
+    @Column(length = 36, columnDefinition = "varchar", updatable = false, nullable = false)
+    private UUID correlationId;
+
+    @Column(length = 36, columnDefinition = "varchar", updatable = false, nullable = false)
+    private UUID customerId;
+
+    private BigDecimal amount;
+
+    @Enumerated(EnumType.STRING)
+    private Operation operation;
+
+    private Timestamp nextExecutionAt;
+
+    // Null if executed only once
+    private Duration repeatEvery;
+
+    private long executionCount;
+
+    @CreationTimestamp
+    @Column(updatable = false)
+    private Timestamp createdAt;
+}
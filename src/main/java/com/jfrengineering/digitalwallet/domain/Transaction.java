@@ -24,7 +24,10 @@ import java.util.UUID;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(indexes = @Index(name = "customer_index", columnList = "customerId"))
+@Table(indexes = {
+        @Index(name = "customer_index", columnList = "customerId, createdAt"),
+        @Index(name = "created_at_index", columnList = "createdAt")
+})
 public class Transaction {
 
     @Id
@@ -39,6 +42,8 @@ public class Transaction {
     @Enumerated(EnumType.STRING)
     private Operation operation;
 
+    private BigDecimal balanceAfter;
+
     @CreationTimestamp
     @Column(updatable = false)
     private Timestamp createdAt;
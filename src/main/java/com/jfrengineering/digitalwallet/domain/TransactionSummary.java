@@ -0,0 +1,41 @@
+package com.jfrengineering.digitalwallet.domain;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Entity(name = "transaction_summaries")
+@IdClass(TransactionSummaryId.class)
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSummary {
+
+    @Id
+    @Column(length = 36, columnDefinition = "varchar", updatable = false, nullable = false)
+    private UUID customerId;
+
+    @Id
+    @Column(updatable = false, nullable = false)
+    private LocalDate bucketDate;
+
+    private BigDecimal creditTotal;
+
+    private long creditCount;
+
+    private BigDecimal debitTotal;
+
+    private long debitCount;
+}
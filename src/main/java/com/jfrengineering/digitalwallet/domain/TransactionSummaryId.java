@@ -0,0 +1,19 @@
+package com.jfrengineering.digitalwallet.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.UUID;
+
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class TransactionSummaryId implements Serializable {
+    private UUID customerId;
+    private LocalDate bucketDate;
+}
@@ -0,0 +1,13 @@
+package com.jfrengineering.digitalwallet.logging;
+
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+public final class LogMarkers {
+
+    // Logs of the successful path, kept at the sample rate of SamplingTurboFilter
+    public static final Marker SAMPLED = MarkerFactory.getMarker("SAMPLED");
+
+    private LogMarkers() {
+    }
+}
@@ -0,0 +1,33 @@
+package com.jfrengineering.digitalwallet.mapper;
+
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.web.model.HoldRequest;
+import com.jfrengineering.digitalwallet.web.model.HoldResponse;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+
+import static com.jfrengineering.digitalwallet.mapper.TransactionMapper.DATE_TIME_FORMATTER;
+
+public class HoldMapper {
+
+    public static Hold holdRequestToHold(HoldRequest holdRequest, Timestamp expiresAt) {
+        return Hold.builder()
+                .correlationId(holdRequest.getCorrelationId())
+                .customerId(holdRequest.getCustomerId())
+                .amount(holdRequest.getAmount())
+                .expiresAt(expiresAt)
+                .build();
+    }
+
+    public static HoldResponse holdToHoldResponse(Hold hold, BigDecimal availableBalance) {
+        return new HoldResponse(
+                hold.getCorrelationId(),
+                hold.getCustomerId(),
+                hold.getAmount().setScale(2, RoundingMode.HALF_UP),
+                DATE_TIME_FORMATTER.format(hold.getExpiresAt().toLocalDateTime()),
+                availableBalance.setScale(2, RoundingMode.HALF_UP)
+        );
+    }
+}
@@ -0,0 +1,38 @@
+package com.jfrengineering.digitalwallet.mapper;
+
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionRequest;
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionResponse;
+
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.util.Objects;
+
+import static com.jfrengineering.digitalwallet.mapper.TransactionMapper.DATE_TIME_FORMATTER;
+
+public class ScheduledTransactionMapper {
+
+    public static ScheduledTransaction scheduledTransactionRequestToScheduledTransaction(
+            ScheduledTransactionRequest scheduledTransactionRequest) {
+        return ScheduledTransaction.builder()
+                .correlationId(scheduledTransactionRequest.getCorrelationId())
+                .customerId(scheduledTransactionRequest.getCustomerId())
+                .amount(scheduledTransactionRequest.getAmount())
+                .operation(scheduledTransactionRequest.getOperation())
+                .nextExecutionAt(Timestamp.valueOf(scheduledTransactionRequest.getExecuteAt()))
+                .repeatEvery(scheduledTransactionRequest.getRepeatEvery())
+                .build();
+    }
+
+    public static ScheduledTransactionResponse scheduledTransactionToScheduledTransactionResponse(
+            ScheduledTransaction scheduledTransaction) {
+        return new ScheduledTransactionResponse(
+                scheduledTransaction.getCorrelationId(),
+                scheduledTransaction.getCustomerId(),
+                scheduledTransaction.getAmount().setScale(2, RoundingMode.HALF_UP),
+                scheduledTransaction.getOperation(),
+                DATE_TIME_FORMATTER.format(scheduledTransaction.getNextExecutionAt().toLocalDateTime()),
+                Objects.toString(scheduledTransaction.getRepeatEvery(), null)
+        );
+    }
+}
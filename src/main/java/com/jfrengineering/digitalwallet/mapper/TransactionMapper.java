@@ -16,12 +16,14 @@ public class TransactionMapper {
 
     static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
 
-    public static Transaction transactionRequestToTransaction(TransactionRequest transactionRequest) {
+    public static Transaction transactionRequestToTransaction(TransactionRequest transactionRequest,
+                                                              BigDecimal balanceAfter) {
         return Transaction.builder()
                 .correlationId(transactionRequest.getCorrelationId())
                 .customerId(transactionRequest.getCustomerId())
                 .amount(transactionRequest.getAmount())
                 .operation(transactionRequest.getOperation())
+                .balanceAfter(balanceAfter)
                 .createdAt(Timestamp.valueOf(LocalDateTime.now()))
                 .build();
     }
@@ -1,9 +1,35 @@
 package com.jfrengineering.digitalwallet.repository;
 
 import com.jfrengineering.digitalwallet.domain.Balance;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface BalanceRepository extends CrudRepository<Balance, UUID> {
+
+    // SELECT ... FOR UPDATE, the row stays locked until the end of the database transaction
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from balances b where b.customerId = :customerId")
+    Optional<Balance> findByIdForUpdate(@Param("customerId") UUID customerId);
+
+    // Keyset pagination by creation time, reading only the keys of the balances
+    @Query("select b.customerId as customerId, b.createdAt as createdAt from balances b"
+            + " where b.createdAt > :afterTime or (b.createdAt = :afterTime and b.customerId > :afterId)"
+            + " order by b.createdAt, b.customerId")
+    List<BalanceKey> findKeysCreatedAfter(@Param("afterTime") Timestamp afterTime, @Param("afterId") UUID afterId,
+                                          Pageable pageable);
+
+    interface BalanceKey {
+        UUID getCustomerId();
+
+        Timestamp getCreatedAt();
+    }
 }
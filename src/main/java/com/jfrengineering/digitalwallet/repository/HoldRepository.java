@@ -0,0 +1,21 @@
+package com.jfrengineering.digitalwallet.repository;
+
+import com.jfrengineering.digitalwallet.domain.Hold;
+import jakarta.persistence.EntityExistsException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface HoldRepository extends CrudRepository<Hold, UUID> {
+
+    List<Hold> findByCorrelationIdGreaterThanOrderByCorrelationId(UUID afterId, Pageable pageable);
+
+    default Hold insert(Hold hold) {
+        if (existsById(hold.getCorrelationId())) {
+            throw new EntityExistsException("Hold with the same correlationId already exists");
+        }
+        return save(hold);
+    }
+}
@@ -0,0 +1,19 @@
+package com.jfrengineering.digitalwallet.repository;
+
+import com.jfrengineering.digitalwallet.domain.OutboxEvent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxEventRepository extends CrudRepository<OutboxEvent, Long> {
+    List<OutboxEvent> findAllByOrderByIdAsc(Pageable pageable);
+
+    @Modifying
+    @Query("delete from outbox_events e where e.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
+}
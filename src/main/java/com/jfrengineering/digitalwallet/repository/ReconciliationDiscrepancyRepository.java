@@ -0,0 +1,9 @@
+package com.jfrengineering.digitalwallet.repository;
+
+import com.jfrengineering.digitalwallet.domain.ReconciliationDiscrepancy;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.UUID;
+
+public interface ReconciliationDiscrepancyRepository extends CrudRepository<ReconciliationDiscrepancy, UUID> {
+}
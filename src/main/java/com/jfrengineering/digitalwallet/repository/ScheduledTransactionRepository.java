@@ -0,0 +1,36 @@
+package com.jfrengineering.digitalwallet.repository;
+
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ScheduledTransactionRepository extends CrudRepository<ScheduledTransaction, UUID> {
+
+    // Keyset pagination, so the schedules executed while loading do not shift the following pages
+    @Query("select s from scheduled_transactions s where s.nextExecutionAt < :until"
+            + " and (s.nextExecutionAt > :afterTime or (s.nextExecutionAt = :afterTime and s.correlationId > :afterId))"
+            + " order by s.nextExecutionAt, s.correlationId")
+    List<ScheduledTransaction> findDueBefore(@Param("until") Timestamp until, @Param("afterTime") Timestamp afterTime,
+                                             @Param("afterId") UUID afterId, Pageable pageable);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from scheduled_transactions s where s.correlationId = :correlationId")
+    Optional<ScheduledTransaction> findByIdForUpdate(@Param("correlationId") UUID correlationId);
+
+    default ScheduledTransaction insert(ScheduledTransaction scheduledTransaction) {
+        if (existsById(scheduledTransaction.getCorrelationId())) {
+            throw new EntityExistsException("Scheduled transaction with the same correlationId already exists");
+        }
+        return save(scheduledTransaction);
+    }
+}
@@ -1,17 +1,42 @@
 package com.jfrengineering.digitalwallet.repository;
 
+import com.jfrengineering.digitalwallet.domain.Operation;
 import com.jfrengineering.digitalwallet.domain.Transaction;
 import jakarta.persistence.EntityExistsException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 public interface TransactionRepository extends PagingAndSortingRepository<Transaction, UUID>, CrudRepository<Transaction, UUID> {
     Page<Transaction> findByCustomerId(UUID customerId, Pageable pageable);
 
+    Optional<Transaction> findFirstByCustomerIdAndCreatedAtLessThanEqualOrderByCreatedAtDesc(UUID customerId,
+                                                                                            Timestamp createdAt);
+
+    List<Transaction> findByCreatedAtBefore(Timestamp createdAt, Pageable pageable);
+
+    // Keyset pagination, so the transactions created while loading do not shift the following pages
+    @Query("select t from transactions t where t.operation = :operation and t.createdAt < :until"
+            + " and (t.createdAt > :afterTime or (t.createdAt = :afterTime and t.correlationId > :afterId))"
+            + " order by t.createdAt, t.correlationId")
+    List<Transaction> findCreatedBetween(@Param("operation") Operation operation, @Param("until") Timestamp until,
+                                         @Param("afterTime") Timestamp afterTime, @Param("afterId") UUID afterId,
+                                         Pageable pageable);
+
+    @Modifying
+    @Query("delete from transactions t where t.correlationId in :correlationIds")
+    int deleteByCorrelationIdIn(@Param("correlationIds") Collection<UUID> correlationIds);
+
     default Transaction insert(Transaction transaction) {
         if (existsById(transaction.getCorrelationId())) {
             throw new EntityExistsException("Transaction with the same correlationId already exists");
@@ -0,0 +1,36 @@
+package com.jfrengineering.digitalwallet.repository;
+
+import com.jfrengineering.digitalwallet.domain.TransactionSummary;
+import com.jfrengineering.digitalwallet.domain.TransactionSummaryId;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+public interface TransactionSummaryRepository extends CrudRepository<TransactionSummary, TransactionSummaryId> {
+
+    List<TransactionSummary> findByCustomerIdAndBucketDateBetweenOrderByBucketDate(UUID customerId, LocalDate from,
+                                                                                 LocalDate to);
+
+    // Single statement upsert, so concurrent transactions of the same customer and day don't race creating the bucket
+    @Modifying
+    @Query(nativeQuery = true, value = """
+            MERGE INTO transaction_summaries s
+            USING (SELECT CAST(:customerId AS VARCHAR) AS customer_id, CAST(:bucketDate AS DATE) AS bucket_date) v
+            ON s.customer_id = v.customer_id AND s.bucket_date = v.bucket_date
+            WHEN MATCHED THEN UPDATE SET
+                credit_total = s.credit_total + :creditAmount, credit_count = s.credit_count + :creditCount,
+                debit_total = s.debit_total + :debitAmount, debit_count = s.debit_count + :debitCount
+            WHEN NOT MATCHED THEN
+                INSERT (customer_id, bucket_date, credit_total, credit_count, debit_total, debit_count)
+                VALUES (v.customer_id, v.bucket_date, :creditAmount, :creditCount, :debitAmount, :debitCount)
+            """)
+    int accumulate(@Param("customerId") String customerId, @Param("bucketDate") LocalDate bucketDate,
+                   @Param("creditAmount") BigDecimal creditAmount, @Param("creditCount") long creditCount,
+                   @Param("debitAmount") BigDecimal debitAmount, @Param("debitCount") long debitCount);
+}
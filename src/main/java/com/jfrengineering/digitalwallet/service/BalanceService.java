@@ -0,0 +1,12 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.web.model.BalanceResponse;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface BalanceService {
+    BalanceResponse getBalance(UUID customerId, LocalDateTime asOf);
+    SseEmitter streamBalanceUpdates(UUID customerId);
+}
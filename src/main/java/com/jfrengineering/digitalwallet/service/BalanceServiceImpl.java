@@ -0,0 +1,62 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import com.jfrengineering.digitalwallet.service.archive.TransactionArchive;
+import com.jfrengineering.digitalwallet.service.stream.BalanceStreamHub;
+import com.jfrengineering.digitalwallet.web.model.BalanceResponse;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.service.TransactionServiceImpl.NOT_FOUND_ERROR_TEMPLATE;
+
+@Service
+@RequiredArgsConstructor
+public class BalanceServiceImpl implements BalanceService {
+
+    private static final BigDecimal ZERO_AMOUNT = BigDecimal.ZERO.setScale(2);
+
+    private final CustomerCacheService customerCacheService;
+    private final BalanceStore balanceStore;
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchive transactionArchive;
+    private final BalanceStreamHub balanceStreamHub;
+
+    @Override
+    @Transactional(readOnly = true)
+    public BalanceResponse getBalance(UUID customerId, LocalDateTime asOf) {
+        if (!customerCacheService.customerBalanceExists(customerId)) {
+            throw new EntityNotFoundException(String.format(NOT_FOUND_ERROR_TEMPLATE, customerId));
+        }
+        if (asOf == null) {
+            Balance balance = balanceStore.findById(customerId)
+                    .orElseThrow(() -> new EntityNotFoundException(String.format(NOT_FOUND_ERROR_TEMPLATE, customerId)));
+            return new BalanceResponse(customerId, balance.getBalanceAmount(), null);
+        }
+        // The running balance stored on the latest ledger row at that time is the balance at that time
+        Timestamp pointInTime = Timestamp.valueOf(asOf);
+        BigDecimal balanceAsOf = transactionRepository
+                .findFirstByCustomerIdAndCreatedAtLessThanEqualOrderByCreatedAtDesc(customerId, pointInTime)
+                .or(() -> transactionArchive.findLatestByCustomerIdAtOrBefore(customerId, pointInTime))
+                .map(Transaction::getBalanceAfter)
+                .orElse(ZERO_AMOUNT);
+        return new BalanceResponse(customerId, balanceAsOf, asOf);
+    }
+
+    @Override
+    public SseEmitter streamBalanceUpdates(UUID customerId) {
+        if (!customerCacheService.customerBalanceExists(customerId)) {
+            throw new EntityNotFoundException(String.format(NOT_FOUND_ERROR_TEMPLATE, customerId));
+        }
+        return balanceStreamHub.subscribe(customerId);
+    }
+}
@@ -0,0 +1,30 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+// Where the services read and update the balances: the balances table through JPA, or the off-heap balance table.
+// The locks and updates only last or take effect with the database transaction of the caller.
+public interface BalanceStore {
+    Optional<Balance> findById(UUID customerId);
+    Optional<Balance> findByIdForUpdate(UUID customerId);
+    void save(Balance balance);
+
+    // Locks the balances found in customer ID order, the order shared by everything locking several balances, so
+    // concurrent callers wait for each other instead of deadlocking
+    default Map<UUID, Balance> findAllByIdForUpdate(Collection<UUID> customerIds) {
+        Map<UUID, Balance> balances = new HashMap<>();
+        customerIds.stream().distinct().sorted().forEach(customerId -> findByIdForUpdate(customerId)
+                .ifPresent(balance -> balances.put(customerId, balance)));
+        return balances;
+    }
+
+    // Writes the balance updates not in the balances table yet, for the jobs reading it directly
+    default void flush() {
+    }
+}
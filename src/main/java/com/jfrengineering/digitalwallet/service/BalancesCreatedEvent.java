@@ -0,0 +1,8 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+
+import java.util.List;
+
+public record BalancesCreatedEvent(List<Balance> balances) {
+}
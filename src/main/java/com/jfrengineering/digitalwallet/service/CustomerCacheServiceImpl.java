@@ -5,9 +5,13 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.UUID;
 
+import static com.jfrengineering.digitalwallet.configuration.CacheConfig.CUSTOMER_CACHE;
+import static com.jfrengineering.digitalwallet.logging.LogMarkers.SAMPLED;
+
 @Slf4j
 @Service
 @RequiredArgsConstructor
@@ -16,9 +20,10 @@ public class CustomerCacheServiceImpl implements CustomerCacheService {
     private final BalanceRepository balanceRepository;
 
     @Override
-    @Cacheable(value = "customerCache", key = "#customerId.toString()")
+    @Cacheable(value = CUSTOMER_CACHE, key = "#customerId.toString()")
+    @Transactional(readOnly = true)
     public boolean customerBalanceExists(UUID customerId) {
-        log.info("Hitting the database to verify if customer's Balance exists, as not cached yet");
+        log.info(SAMPLED, "Hitting the database to verify if customer's Balance exists, as not cached yet");
         return balanceRepository.existsById(customerId);
     }
 }
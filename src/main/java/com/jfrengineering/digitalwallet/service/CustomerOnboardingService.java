@@ -0,0 +1,10 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.web.model.BalanceBatchResponse;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface CustomerOnboardingService {
+    BalanceBatchResponse createBalances(List<UUID> customerIds);
+}
@@ -0,0 +1,107 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.configuration.OnboardingProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.datasource.ShardContext;
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.web.model.BalanceBatchResponse;
+import com.jfrengineering.digitalwallet.web.model.BalanceBatchResult;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.jfrengineering.digitalwallet.configuration.CacheConfig.CUSTOMER_CACHE;
+
+// Creates empty balances with JDBC batches, one database transaction per shard. A balance is only inserted if the
+// customer has none, so the update count of each row tells whether it was created. The customer cache is then filled
+// with all the customers, as they all have a balance by then, replacing any cached miss. The created balances are
+// published once committed, for the wallet delta log.
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CustomerOnboardingServiceImpl implements CustomerOnboardingService {
+
+    static final String INSERT_BALANCE_IF_ABSENT = "INSERT INTO balances (customer_id, balance_amount, held_amount, "
+            + "created_at, updated_at) SELECT ?, 0, 0, ?, ? WHERE NOT EXISTS "
+            + "(SELECT 1 FROM balances WHERE customer_id = ?)";
+
+    private final OnboardingProperties onboardingProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerShardRouter customerShardRouter;
+    private final CacheManager cacheManager;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    public BalanceBatchResponse createBalances(List<UUID> customerIds) {
+        Map<Integer, List<Integer>> positionsByShard = new LinkedHashMap<>();
+        IntStream.range(0, customerIds.size()).forEach(position -> positionsByShard
+                .computeIfAbsent(customerShardRouter.shardOf(customerIds.get(position)), shard -> new ArrayList<>())
+                .add(position));
+        boolean[] created = new boolean[customerIds.size()];
+        positionsByShard.forEach((shard, positions) -> {
+            List<UUID> shardCustomerIds = positions.stream().map(customerIds::get).toList();
+            boolean[] shardCreated = ShardContext.callOn(shard, () -> insert(shardCustomerIds));
+            IntStream.range(0, positions.size()).forEach(i -> created[positions.get(i)] = shardCreated[i]);
+            cache(shardCustomerIds);
+        });
+        List<BalanceBatchResult> results = IntStream.range(0, customerIds.size())
+                .mapToObj(position -> new BalanceBatchResult(customerIds.get(position),
+                        (created[position] ? HttpStatus.CREATED : HttpStatus.CONFLICT).value()))
+                .toList();
+        log.info("Created the balances of {} out of {} customers", results.stream()
+                .filter(result -> result.getStatus() == HttpStatus.CREATED.value()).count(), customerIds.size());
+        return new BalanceBatchResponse(results);
+    }
+
+    private boolean[] insert(List<UUID> customerIds) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        return transactionTemplate.execute(status -> {
+            int[][] updateCounts = jdbcTemplate.batchUpdate(INSERT_BALANCE_IF_ABSENT, customerIds,
+                    onboardingProperties.getBatchSize(), (statement, customerId) -> {
+                        statement.setString(1, customerId.toString());
+                        statement.setTimestamp(2, now);
+                        statement.setTimestamp(3, now);
+                        statement.setString(4, customerId.toString());
+                    });
+            int[] rowCounts = Arrays.stream(updateCounts).flatMapToInt(Arrays::stream).toArray();
+            boolean[] created = new boolean[rowCounts.length];
+            IntStream.range(0, rowCounts.length).forEach(i -> created[i] = rowCounts[i] > 0);
+            applicationEventPublisher.publishEvent(new BalancesCreatedEvent(IntStream.range(0, created.length)
+                    .filter(i -> created[i])
+                    .mapToObj(i -> emptyBalance(customerIds.get(i), now))
+                    .toList()));
+            return created;
+        });
+    }
+
+    private static Balance emptyBalance(UUID customerId, Timestamp createdAt) {
+        return Balance.builder()
+                .customerId(customerId)
+                .balanceAmount(BigDecimal.ZERO)
+                .createdAt(createdAt)
+                .updatedAt(createdAt)
+                .build();
+    }
+
+    private void cache(List<UUID> customerIds) {
+        Cache cache = cacheManager.getCache(CUSTOMER_CACHE);
+        customerIds.forEach(customerId -> cache.put(customerId.toString(), true));
+    }
+}
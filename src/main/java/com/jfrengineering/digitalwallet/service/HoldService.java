@@ -0,0 +1,19 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.web.model.HoldRequest;
+import com.jfrengineering.digitalwallet.web.model.HoldResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public interface HoldService {
+
+    HoldResponse reserveHold(HoldRequest holdRequest);
+
+    TransactionBalanceResponse captureHold(UUID customerId, UUID correlationId, BigDecimal amount);
+
+    void releaseHold(UUID customerId, UUID correlationId);
+
+    boolean expireHold(UUID customerId, UUID correlationId);
+}
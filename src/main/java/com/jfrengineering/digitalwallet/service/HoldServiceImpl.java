@@ -0,0 +1,132 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.configuration.HoldProperties;
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.mapper.HoldMapper;
+import com.jfrengineering.digitalwallet.repository.HoldRepository;
+import com.jfrengineering.digitalwallet.service.hold.HoldReleasedEvent;
+import com.jfrengineering.digitalwallet.service.hold.HoldReservedEvent;
+import com.jfrengineering.digitalwallet.web.exception.InvalidHoldException;
+import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
+import com.jfrengineering.digitalwallet.web.model.HoldRequest;
+import com.jfrengineering.digitalwallet.web.model.HoldResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.domain.Operation.WITHDRAW;
+import static com.jfrengineering.digitalwallet.service.TransactionServiceImpl.NOT_FOUND_ERROR_TEMPLATE;
+
+// Every hold operation locks the balance row of the customer first, as transactions do, so the held amount of the
+// balance always matches its active holds
+@Service
+@RequiredArgsConstructor
+public class HoldServiceImpl implements HoldService {
+
+    static final String CAPTURE_CORRELATION_ID_PREFIX = "hold-capture:";
+    private static final BigDecimal MAX_HOLD_AMOUNT = BigDecimal.valueOf(5_000);
+
+    private final CustomerCacheService customerCacheService;
+    private final BalanceStore balanceStore;
+    private final HoldRepository holdRepository;
+    private final TransactionService transactionService;
+    private final HoldProperties holdProperties;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    @Transactional
+    public HoldResponse reserveHold(HoldRequest holdRequest) {
+        Duration expiresIn = Optional.ofNullable(holdRequest.getExpiresIn()).orElse(holdProperties.getDefaultExpiry());
+        if (expiresIn.isNegative() || expiresIn.isZero() || expiresIn.compareTo(holdProperties.getMaxExpiry()) > 0) {
+            throw new InvalidHoldException(String.format(
+                    "Hold rejected. 'expiresIn' must be positive and at most %s", holdProperties.getMaxExpiry()));
+        }
+        Balance balance = lockBalance(holdRequest.getCustomerId());
+        if (holdRequest.getAmount().compareTo(MAX_HOLD_AMOUNT) > 0) {
+            throw new UnacceptedTransactionAmountException("Maximum accepted Debit Amount is £5,000.00");
+        }
+        BigDecimal availableBalance = balance.getBalanceAmount().subtract(balance.getHeldAmount())
+                .subtract(holdRequest.getAmount());
+        if (availableBalance.compareTo(BigDecimal.ZERO) < 0) {
+            throw new UnacceptedTransactionAmountException("Not enough Credit in Balance");
+        }
+        Hold hold = holdRepository.insert(HoldMapper.holdRequestToHold(holdRequest,
+                new Timestamp(System.currentTimeMillis() + expiresIn.toMillis())));
+        balance.setHeldAmount(balance.getHeldAmount().add(holdRequest.getAmount()));
+        balanceStore.save(balance);
+        applicationEventPublisher.publishEvent(new HoldReservedEvent(hold));
+        return HoldMapper.holdToHoldResponse(hold, availableBalance);
+    }
+
+    // The amount not captured is released
+    @Override
+    @Transactional
+    public TransactionBalanceResponse captureHold(UUID customerId, UUID correlationId, BigDecimal amount) {
+        Balance balance = lockBalance(customerId);
+        Hold hold = findHold(customerId, correlationId);
+        BigDecimal capturedAmount = amount == null ? hold.getAmount() : amount;
+        if (capturedAmount.compareTo(BigDecimal.ZERO) <= 0 || capturedAmount.compareTo(hold.getAmount()) > 0) {
+            throw new InvalidHoldException(String.format(
+                    "Hold capture rejected. The captured amount must be positive and at most %s", hold.getAmount()));
+        }
+        release(balance, hold);
+        return transactionService.createTransaction(new TransactionRequest(captureCorrelationId(correlationId),
+                customerId, capturedAmount, WITHDRAW));
+    }
+
+    @Override
+    @Transactional
+    public void releaseHold(UUID customerId, UUID correlationId) {
+        Balance balance = lockBalance(customerId);
+        release(balance, findHold(customerId, correlationId));
+    }
+
+    // Returns false if the hold is not active anymore, or not expired yet
+    @Override
+    @Transactional
+    public boolean expireHold(UUID customerId, UUID correlationId) {
+        Balance balance = balanceStore.findByIdForUpdate(customerId).orElseThrow();
+        Optional<Hold> expiredHold = holdRepository.findById(correlationId)
+                .filter(hold -> hold.getExpiresAt().getTime() <= System.currentTimeMillis());
+        expiredHold.ifPresent(hold -> release(balance, hold));
+        return expiredHold.isPresent();
+    }
+
+    // Name-based (version 3), as the credit leg of transfers
+    static UUID captureCorrelationId(UUID holdCorrelationId) {
+        return UUID.nameUUIDFromBytes((CAPTURE_CORRELATION_ID_PREFIX + holdCorrelationId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Balance lockBalance(UUID customerId) {
+        if (!customerCacheService.customerBalanceExists(customerId)) {
+            throw new EntityNotFoundException(String.format(NOT_FOUND_ERROR_TEMPLATE, customerId));
+        }
+        return balanceStore.findByIdForUpdate(customerId).orElseThrow();
+    }
+
+    private Hold findHold(UUID customerId, UUID correlationId) {
+        return holdRepository.findById(correlationId)
+                .filter(hold -> hold.getCustomerId().equals(customerId))
+                .orElseThrow(() -> new EntityNotFoundException(String.format(
+                        "Non existing hold with ID '%s' for customer with ID '%s'", correlationId, customerId)));
+    }
+
+    private void release(Balance balance, Hold hold) {
+        balance.setHeldAmount(balance.getHeldAmount().subtract(hold.getAmount()));
+        balanceStore.save(balance);
+        holdRepository.delete(hold);
+        applicationEventPublisher.publishEvent(new HoldReleasedEvent(hold));
+    }
+}
@@ -0,0 +1,29 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Optional;
+import java.util.UUID;
+
+@RequiredArgsConstructor
+public class JpaBalanceStore implements BalanceStore {
+
+    private final BalanceRepository balanceRepository;
+
+    @Override
+    public Optional<Balance> findById(UUID customerId) {
+        return balanceRepository.findById(customerId);
+    }
+
+    @Override
+    public Optional<Balance> findByIdForUpdate(UUID customerId) {
+        return balanceRepository.findByIdForUpdate(customerId);
+    }
+
+    @Override
+    public void save(Balance balance) {
+        balanceRepository.save(balance);
+    }
+}
@@ -0,0 +1,13 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionRequest;
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionResponse;
+
+import java.util.UUID;
+
+public interface ScheduledTransactionService {
+
+    ScheduledTransactionResponse scheduleTransaction(ScheduledTransactionRequest scheduledTransactionRequest);
+
+    void cancelScheduledTransaction(UUID customerId, UUID correlationId);
+}
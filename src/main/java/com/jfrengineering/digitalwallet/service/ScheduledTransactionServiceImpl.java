@@ -0,0 +1,62 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.configuration.SchedulerProperties;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.mapper.ScheduledTransactionMapper;
+import com.jfrengineering.digitalwallet.repository.ScheduledTransactionRepository;
+import com.jfrengineering.digitalwallet.service.schedule.ScheduledTransactionCreatedEvent;
+import com.jfrengineering.digitalwallet.service.schedule.ScheduledTransactionDeletedEvent;
+import com.jfrengineering.digitalwallet.web.exception.InvalidScheduleException;
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionRequest;
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionResponse;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.service.TransactionServiceImpl.NOT_FOUND_ERROR_TEMPLATE;
+
+@Service
+@RequiredArgsConstructor
+public class ScheduledTransactionServiceImpl implements ScheduledTransactionService {
+
+    private final CustomerCacheService customerCacheService;
+    private final ScheduledTransactionRepository scheduledTransactionRepository;
+    private final SchedulerProperties schedulerProperties;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Override
+    @Transactional
+    public ScheduledTransactionResponse scheduleTransaction(ScheduledTransactionRequest scheduledTransactionRequest) {
+        if (!customerCacheService.customerBalanceExists(scheduledTransactionRequest.getCustomerId())) {
+            throw new EntityNotFoundException(String.format(NOT_FOUND_ERROR_TEMPLATE,
+                    scheduledTransactionRequest.getCustomerId()));
+        }
+        Duration repeatEvery = scheduledTransactionRequest.getRepeatEvery();
+        if (repeatEvery != null && repeatEvery.compareTo(schedulerProperties.getMinRepeatEvery()) < 0) {
+            throw new InvalidScheduleException(String.format(
+                    "Scheduled transaction rejected. 'repeatEvery' must be at least %s", schedulerProperties.getMinRepeatEvery()));
+        }
+        ScheduledTransaction scheduledTransaction = scheduledTransactionRepository.insert(
+                ScheduledTransactionMapper.scheduledTransactionRequestToScheduledTransaction(scheduledTransactionRequest));
+        applicationEventPublisher.publishEvent(new ScheduledTransactionCreatedEvent(scheduledTransaction));
+        return ScheduledTransactionMapper.scheduledTransactionToScheduledTransactionResponse(scheduledTransaction);
+    }
+
+    // An occurrence already being executed still completes
+    @Override
+    @Transactional
+    public void cancelScheduledTransaction(UUID customerId, UUID correlationId) {
+        ScheduledTransaction scheduledTransaction = scheduledTransactionRepository.findById(correlationId)
+                .filter(found -> found.getCustomerId().equals(customerId))
+                .orElseThrow(() -> new EntityNotFoundException(String.format(
+                        "Non existing scheduled transaction with ID '%s' for customer with ID '%s'",
+                        correlationId, customerId)));
+        scheduledTransactionRepository.delete(scheduledTransaction);
+        applicationEventPublisher.publishEvent(new ScheduledTransactionDeletedEvent(scheduledTransaction));
+    }
+}
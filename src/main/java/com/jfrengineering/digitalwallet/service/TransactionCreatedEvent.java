@@ -0,0 +1,6 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.domain.Transaction;
+
+public record TransactionCreatedEvent(Transaction transaction) {
+}
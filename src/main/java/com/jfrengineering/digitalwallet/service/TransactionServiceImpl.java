@@ -1,19 +1,25 @@
 package com.jfrengineering.digitalwallet.service;
 
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
 import com.jfrengineering.digitalwallet.domain.Balance;
 import com.jfrengineering.digitalwallet.domain.Operation;
 import com.jfrengineering.digitalwallet.domain.Transaction;
 import com.jfrengineering.digitalwallet.mapper.TransactionMapper;
-import com.jfrengineering.digitalwallet.repository.BalanceRepository;
 import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import com.jfrengineering.digitalwallet.service.archive.TransactionArchive;
+import com.jfrengineering.digitalwallet.service.limit.VelocityLimiter;
+import com.jfrengineering.digitalwallet.web.exception.InvalidTransferException;
 import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
 import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
 import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
 import com.jfrengineering.digitalwallet.web.model.TransactionResponse;
 import com.jfrengineering.digitalwallet.web.model.TransactionsPageResponse;
+import com.jfrengineering.digitalwallet.web.model.TransferRequest;
+import com.jfrengineering.digitalwallet.web.model.TransferResponse;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -21,10 +27,15 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 
 import static com.jfrengineering.digitalwallet.domain.Operation.ADD;
+import static com.jfrengineering.digitalwallet.domain.Operation.WITHDRAW;
 
 @Slf4j
 @Service
@@ -32,50 +43,127 @@ import static com.jfrengineering.digitalwallet.domain.Operation.ADD;
 public class TransactionServiceImpl implements TransactionService {
 
     static final String TRANSACTION_SORTING_FIELD = "createdAt";
-    private static final String NOT_FOUND_ERROR_TEMPLATE = "Non existing customer with ID '%s'";
+    public static final String NOT_FOUND_ERROR_TEMPLATE = "Non existing customer with ID '%s'";
+    static final String CREDIT_CORRELATION_ID_PREFIX = "transfer-credit:";
 
     private final CustomerCacheService customerCacheService;
-    private final BalanceRepository balanceRepository;
+    private final BalanceStore balanceStore;
     private final TransactionRepository transactionRepository;
+    private final TransactionSummaryService transactionSummaryService;
+    private final TransactionArchive transactionArchive;
+    private final ApplicationEventPublisher applicationEventPublisher;
+    private final CustomerShardRouter customerShardRouter;
+    private final VelocityLimiter velocityLimiter;
 
     @Override
+    @Transactional(readOnly = true)
     public TransactionsPageResponse getTransactionsByCustomerId(UUID customerId, int page, int size) {
-        if (!customerCacheService.customerBalanceExists(customerId)) {
-            throw new EntityNotFoundException(String.format(NOT_FOUND_ERROR_TEMPLATE, customerId));
-        }
+        checkCustomerExists(customerId);
         PageRequest pageRequest = PageRequest.of(page, size, Sort.by(TRANSACTION_SORTING_FIELD).descending());
         Page<Transaction> transactionsPage = transactionRepository.findByCustomerId(customerId, pageRequest);
-        List<TransactionResponse> transactionResponseList = transactionsPage.getContent().stream()
+        long archivedTransactions = transactionArchive.countByCustomerId(customerId);
+        List<TransactionResponse> transactionResponseList = appendArchivedTransactions(customerId, transactionsPage,
+                archivedTransactions).stream()
                 .map(TransactionMapper::transactionToTransactionResponse)
                 .toList();
-        return new TransactionsPageResponse(customerId, transactionResponseList, pageRequest,
-                transactionsPage.getTotalElements());
+        long totalElements = transactionsPage.getTotalElements() + archivedTransactions;
+        return new TransactionsPageResponse(customerId, page, size, totalElements,
+                pageRequest.getOffset() + size < totalElements, transactionResponseList);
     }
 
     @Override
     @Transactional
     public TransactionBalanceResponse createTransaction(TransactionRequest transactionRequest) {
-        if (!customerCacheService.customerBalanceExists(transactionRequest.getCustomerId())) {
-            throw new EntityNotFoundException(String.format(NOT_FOUND_ERROR_TEMPLATE, transactionRequest.getCustomerId()));
+        checkCustomerExists(transactionRequest.getCustomerId());
+        Balance balance = balanceStore.findByIdForUpdate(transactionRequest.getCustomerId()).orElseThrow();
+        return applyTransaction(transactionRequest, balance);
+    }
+
+    @Override
+    @Transactional
+    public TransferResponse createTransfer(TransferRequest transferRequest) {
+        UUID fromCustomerId = transferRequest.getFromCustomerId();
+        UUID toCustomerId = transferRequest.getToCustomerId();
+        if (fromCustomerId.equals(toCustomerId)) {
+            throw new InvalidTransferException("Transfer rejected. Source and destination customers must be different");
+        }
+        if (customerShardRouter.shardOf(fromCustomerId) != customerShardRouter.shardOf(toCustomerId)) {
+            throw new InvalidTransferException(String.format(
+                    "Transfer rejected. Customers '%s' and '%s' belong to different shards", fromCustomerId, toCustomerId));
+        }
+        checkCustomerExists(fromCustomerId);
+        checkCustomerExists(toCustomerId);
+
+        // Both balances are locked in the order of the store, whatever the direction of the transfer, so concurrent
+        // transfers wait for each other instead of deadlocking
+        Map<UUID, Balance> balances = balanceStore.findAllByIdForUpdate(List.of(fromCustomerId, toCustomerId));
+
+        TransactionRequest debitRequest = new TransactionRequest(transferRequest.getCorrelationId(), fromCustomerId,
+                transferRequest.getAmount(), WITHDRAW);
+        TransactionRequest creditRequest = new TransactionRequest(creditCorrelationId(transferRequest.getCorrelationId()),
+                toCustomerId, transferRequest.getAmount(), ADD);
+        TransactionBalanceResponse debit = applyTransaction(debitRequest,
+                Optional.ofNullable(balances.get(fromCustomerId)).orElseThrow());
+        TransactionBalanceResponse credit = applyTransaction(creditRequest,
+                Optional.ofNullable(balances.get(toCustomerId)).orElseThrow());
+        return new TransferResponse(debit, credit);
+    }
+
+    // Name-based (version 3), so it is the same on retries and never clashes with the random IDs of the clients
+    static UUID creditCorrelationId(UUID transferCorrelationId) {
+        return UUID.nameUUIDFromBytes((CREDIT_CORRELATION_ID_PREFIX + transferCorrelationId).getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void checkCustomerExists(UUID customerId) {
+        if (!customerCacheService.customerBalanceExists(customerId)) {
+            throw new EntityNotFoundException(String.format(NOT_FOUND_ERROR_TEMPLATE, customerId));
         }
-        Balance balance = balanceRepository.findById(transactionRequest.getCustomerId()).orElseThrow();
+    }
+
+    private TransactionBalanceResponse applyTransaction(TransactionRequest transactionRequest, Balance balance) {
         BigDecimal updatedBalanceAmount = validateAndCalculateNewBalance(transactionRequest.getOperation(), balance,
                 transactionRequest.getAmount());
         balance.setBalanceAmount(updatedBalanceAmount);
-        balanceRepository.save(balance); // 'updatedAt' will be updated at the end of the transaction
+        balanceStore.save(balance); // 'updatedAt' will be updated at the end of the transaction
 
-        Transaction transaction = TransactionMapper.transactionRequestToTransaction(transactionRequest);
+        Transaction transaction = TransactionMapper.transactionRequestToTransaction(transactionRequest,
+                updatedBalanceAmount);
 
         Transaction savedTransaction;
         synchronized (this) {
             savedTransaction = transactionRepository.insert(transaction);
         }
+        velocityLimiter.recordWithdrawal(savedTransaction);
+        transactionSummaryService.recordTransaction(savedTransaction);
+        applicationEventPublisher.publishEvent(new TransactionCreatedEvent(savedTransaction));
 
         return TransactionMapper.transactionAndBalanceToTransactionBalanceResponse(transactionRequest.getCustomerId(),
                 savedTransaction, updatedBalanceAmount);
     }
 
+    // Archived transactions are always older than the ones in the database, so they follow them in the history
+    private List<Transaction> appendArchivedTransactions(UUID customerId, Page<Transaction> transactionsPage,
+                                                         long archivedTransactions) {
+        int missingTransactions = transactionsPage.getSize() - transactionsPage.getNumberOfElements();
+        if (missingTransactions == 0 || archivedTransactions == 0) {
+            return transactionsPage.getContent();
+        }
+        long archiveOffset = Math.max(0, transactionsPage.getPageable().getOffset() - transactionsPage.getTotalElements());
+        List<Transaction> transactions = new ArrayList<>(transactionsPage.getContent());
+        transactions.addAll(transactionArchive.findByCustomerId(customerId, archiveOffset, missingTransactions));
+        return transactions;
+    }
+
     private BigDecimal validateAndCalculateNewBalance(Operation operation, Balance balance, BigDecimal transactionAmount) {
+        BigDecimal balanceAmount = calculateNewBalance(operation, balance, transactionAmount);
+        if (WITHDRAW == operation) {
+            velocityLimiter.checkWithdrawal(balance.getCustomerId(), transactionAmount);
+        }
+        return balanceAmount;
+    }
+
+    // Shared with the group commit, which applies the same amount rules to the balances it locks
+    public static BigDecimal calculateNewBalance(Operation operation, Balance balance, BigDecimal transactionAmount) {
         BigDecimal balanceAmount = balance.getBalanceAmount();
         if (ADD == operation) {
             if (transactionAmount.compareTo(BigDecimal.TEN) < 0) {
@@ -83,15 +171,15 @@ public class TransactionServiceImpl implements TransactionService {
             } else if (transactionAmount.compareTo(BigDecimal.valueOf(10_000)) > 0) {
                 throw new UnacceptedTransactionAmountException("Maximum accepted Credit Amount is £10,000.00");
             }
-            balanceAmount = balanceAmount.add(transactionAmount);
-        } else {
-            if (transactionAmount.compareTo(BigDecimal.valueOf(5_000)) > 0) {
-                throw new UnacceptedTransactionAmountException("Maximum accepted Debit Amount is £5,000.00");
-            }
-            balanceAmount = balanceAmount.subtract(transactionAmount);
-            if (balanceAmount.compareTo(BigDecimal.ZERO) < 0) {
-                throw new UnacceptedTransactionAmountException("Not enough Credit in Balance");
-            }
+            return balanceAmount.add(transactionAmount);
+        }
+        if (transactionAmount.compareTo(BigDecimal.valueOf(5_000)) > 0) {
+            throw new UnacceptedTransactionAmountException("Maximum accepted Debit Amount is £5,000.00");
+        }
+        balanceAmount = balanceAmount.subtract(transactionAmount);
+        // The held amount is read from the balance row already locked, so holds cost no extra query
+        if (balanceAmount.subtract(balance.getHeldAmount()).compareTo(BigDecimal.ZERO) < 0) {
+            throw new UnacceptedTransactionAmountException("Not enough Credit in Balance");
         }
         return balanceAmount;
     }
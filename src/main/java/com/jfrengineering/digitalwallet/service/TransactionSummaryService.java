@@ -0,0 +1,14 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.web.model.SummaryGranularity;
+import com.jfrengineering.digitalwallet.web.model.TransactionSummaryResponse;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+public interface TransactionSummaryService {
+    void recordTransaction(Transaction transaction);
+    TransactionSummaryResponse getTransactionSummary(UUID customerId, LocalDate from, LocalDate to,
+                                                     SummaryGranularity granularity);
+}
@@ -0,0 +1,92 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.domain.TransactionSummary;
+import com.jfrengineering.digitalwallet.repository.TransactionSummaryRepository;
+import com.jfrengineering.digitalwallet.web.exception.InvalidDateRangeException;
+import com.jfrengineering.digitalwallet.web.model.PeriodSummaryResponse;
+import com.jfrengineering.digitalwallet.web.model.SummaryGranularity;
+import com.jfrengineering.digitalwallet.web.model.TransactionSummaryResponse;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import static com.jfrengineering.digitalwallet.domain.Operation.ADD;
+import static com.jfrengineering.digitalwallet.service.TransactionServiceImpl.NOT_FOUND_ERROR_TEMPLATE;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+@Service
+@RequiredArgsConstructor
+public class TransactionSummaryServiceImpl implements TransactionSummaryService {
+
+    private static final BigDecimal ZERO_AMOUNT = BigDecimal.ZERO.setScale(2);
+
+    private final CustomerCacheService customerCacheService;
+    private final TransactionSummaryRepository transactionSummaryRepository;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordTransaction(Transaction transaction) {
+        boolean credit = ADD == transaction.getOperation();
+        BigDecimal amount = transaction.getAmount();
+        transactionSummaryRepository.accumulate(transaction.getCustomerId().toString(),
+                transaction.getCreatedAt().toLocalDateTime().toLocalDate(),
+                credit ? amount : ZERO_AMOUNT, credit ? 1 : 0,
+                credit ? ZERO_AMOUNT : amount, credit ? 0 : 1);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public TransactionSummaryResponse getTransactionSummary(UUID customerId, LocalDate from, LocalDate to,
+                                                            SummaryGranularity granularity) {
+        if (from.isAfter(to)) {
+            throw new InvalidDateRangeException(String.format("'from' (%s) must not be after 'to' (%s)", from, to));
+        }
+        if (!customerCacheService.customerBalanceExists(customerId)) {
+            throw new EntityNotFoundException(String.format(NOT_FOUND_ERROR_TEMPLATE, customerId));
+        }
+        List<PeriodSummaryResponse> periods = transactionSummaryRepository
+                .findByCustomerIdAndBucketDateBetweenOrderByBucketDate(customerId, from, to).stream()
+                .collect(groupingBy(bucket -> periodStart(bucket.getBucketDate(), granularity), TreeMap::new, toList()))
+                .entrySet().stream()
+                .map(period -> toPeriodSummary(period.getKey(), period.getValue()))
+                .toList();
+        return new TransactionSummaryResponse(customerId, from, to, granularity,
+                sumAmounts(periods, PeriodSummaryResponse::getTotalCredits),
+                sumCounts(periods, PeriodSummaryResponse::getCreditCount),
+                sumAmounts(periods, PeriodSummaryResponse::getTotalDebits),
+                sumCounts(periods, PeriodSummaryResponse::getDebitCount),
+                periods);
+    }
+
+    private static LocalDate periodStart(LocalDate bucketDate, SummaryGranularity granularity) {
+        return granularity == SummaryGranularity.MONTH ? bucketDate.withDayOfMonth(1) : bucketDate;
+    }
+
+    private static PeriodSummaryResponse toPeriodSummary(LocalDate periodStart, List<TransactionSummary> buckets) {
+        return new PeriodSummaryResponse(periodStart,
+                sumAmounts(buckets, TransactionSummary::getCreditTotal),
+                sumCounts(buckets, TransactionSummary::getCreditCount),
+                sumAmounts(buckets, TransactionSummary::getDebitTotal),
+                sumCounts(buckets, TransactionSummary::getDebitCount));
+    }
+
+    private static <T> BigDecimal sumAmounts(List<T> items, Function<T, BigDecimal> amount) {
+        return items.stream().map(amount).reduce(ZERO_AMOUNT, BigDecimal::add);
+    }
+
+    private static <T> long sumCounts(List<T> items, ToLongFunction<T> count) {
+        return items.stream().mapToLong(count).sum();
+    }
+}
@@ -0,0 +1,20 @@
+package com.jfrengineering.digitalwallet.service.archive;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.util.UUID;
+
+// Compressed run of the archived transactions of a single customer within a segment, newest first
+@Getter
+@AllArgsConstructor
+class ArchiveBlock {
+    private final Path segment;
+    private final UUID customerId;
+    private final int rowCount;
+    private final long minCreatedAt;
+    private final long maxCreatedAt;
+    private final long offset;
+    private final int length;
+}
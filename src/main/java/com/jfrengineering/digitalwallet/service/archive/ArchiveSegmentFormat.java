@@ -0,0 +1,188 @@
+package com.jfrengineering.digitalwallet.service.archive;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/*
+ * Layout of a segment file:
+ *   header:  magic (int), version (short)
+ *   blocks:  one deflated block per customer, holding its rows newest first
+ *   footer:  min/max createdAt of the segment, min/max customerId of the segment, block count,
+ *            and per block: customerId, row count, min/max createdAt, offset and length
+ *   trailer: footer offset (long), magic (int)
+ */
+final class ArchiveSegmentFormat {
+
+    static final int MAGIC = 0x57545853; // "WTXS"
+    static final short VERSION = 1;
+    private static final int TRAILER_LENGTH = Long.BYTES + Integer.BYTES;
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private ArchiveSegmentFormat() {
+    }
+
+    // Transactions are expected grouped by customer and sorted by creation time in ascending order
+    static void write(Path target, List<Transaction> transactions) throws IOException {
+        Map<UUID, List<Transaction>> rowsByCustomer = new LinkedHashMap<>();
+        transactions.forEach(transaction ->
+                rowsByCustomer.computeIfAbsent(transaction.getCustomerId(), id -> new ArrayList<>()).add(transaction));
+        List<ArchiveBlock> blocks = new ArrayList<>(rowsByCustomer.size());
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(target)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(VERSION);
+            for (Map.Entry<UUID, List<Transaction>> customerRows : rowsByCustomer.entrySet()) {
+                List<Transaction> rows = customerRows.getValue();
+                byte[] block = compress(rows);
+                blocks.add(new ArchiveBlock(target, customerRows.getKey(), rows.size(), rows.get(0).getCreatedAt().getTime(),
+                        rows.get(rows.size() - 1).getCreatedAt().getTime(), out.size(), block.length));
+                out.write(block);
+            }
+            long footerOffset = out.size();
+            writeFooter(out, blocks);
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+        }
+    }
+
+    static List<ArchiveBlock> readDirectory(Path segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ)) {
+            ByteBuffer trailer = read(channel, channel.size() - TRAILER_LENGTH, TRAILER_LENGTH);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC) {
+                throw new IOException("Not an archive segment: " + segment);
+            }
+            ByteBuffer footer = read(channel, footerOffset, (int) (channel.size() - TRAILER_LENGTH - footerOffset));
+            footer.position(6 * Long.BYTES); // segment-wide min/max, the finer per block ones are used instead
+            int blockCount = footer.getInt();
+            List<ArchiveBlock> blocks = new ArrayList<>(blockCount);
+            for (int i = 0; i < blockCount; i++) {
+                blocks.add(new ArchiveBlock(segment, new UUID(footer.getLong(), footer.getLong()), footer.getInt(),
+                        footer.getLong(), footer.getLong(), footer.getLong(), footer.getInt()));
+            }
+            return blocks;
+        }
+    }
+
+    static List<Transaction> readBlock(ArchiveBlock block) throws IOException {
+        ByteBuffer compressed;
+        try (FileChannel channel = FileChannel.open(block.getSegment(), StandardOpenOption.READ)) {
+            compressed = read(channel, block.getOffset(), block.getLength());
+        }
+        List<Transaction> rows = new ArrayList<>(block.getRowCount());
+        try (DataInputStream in = new DataInputStream(new InflaterInputStream(
+                new ByteArrayInputStream(compressed.array())))) {
+            for (int i = 0; i < block.getRowCount(); i++) {
+                rows.add(readRow(in, block.getCustomerId()));
+            }
+        }
+        return rows;
+    }
+
+    private static byte[] compress(List<Transaction> rows) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try (DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(bytes, deflater))) {
+            List<Transaction> newestFirst = new ArrayList<>(rows);
+            Collections.reverse(newestFirst);
+            for (Transaction row : newestFirst) {
+                writeRow(out, row);
+            }
+        } finally {
+            deflater.end();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static void writeFooter(DataOutputStream out, List<ArchiveBlock> blocks) throws IOException {
+        out.writeLong(blocks.stream().mapToLong(ArchiveBlock::getMinCreatedAt).min().orElse(0));
+        out.writeLong(blocks.stream().mapToLong(ArchiveBlock::getMaxCreatedAt).max().orElse(0));
+        UUID minCustomerId = blocks.stream().map(ArchiveBlock::getCustomerId).min(Comparator.naturalOrder()).orElseThrow();
+        UUID maxCustomerId = blocks.stream().map(ArchiveBlock::getCustomerId).max(Comparator.naturalOrder()).orElseThrow();
+        out.writeLong(minCustomerId.getMostSignificantBits());
+        out.writeLong(minCustomerId.getLeastSignificantBits());
+        out.writeLong(maxCustomerId.getMostSignificantBits());
+        out.writeLong(maxCustomerId.getLeastSignificantBits());
+        out.writeInt(blocks.size());
+        for (ArchiveBlock block : blocks) {
+            out.writeLong(block.getCustomerId().getMostSignificantBits());
+            out.writeLong(block.getCustomerId().getLeastSignificantBits());
+            out.writeInt(block.getRowCount());
+            out.writeLong(block.getMinCreatedAt());
+            out.writeLong(block.getMaxCreatedAt());
+            out.writeLong(block.getOffset());
+            out.writeInt(block.getLength());
+        }
+    }
+
+    private static void writeRow(DataOutputStream out, Transaction row) throws IOException {
+        out.writeLong(row.getCorrelationId().getMostSignificantBits());
+        out.writeLong(row.getCorrelationId().getLeastSignificantBits());
+        out.writeLong(row.getCreatedAt().getTime());
+        out.writeInt(row.getCreatedAt().getNanos());
+        out.writeByte(row.getOperation().ordinal());
+        writeAmount(out, row.getAmount());
+        out.writeBoolean(row.getBalanceAfter() != null);
+        if (row.getBalanceAfter() != null) {
+            writeAmount(out, row.getBalanceAfter());
+        }
+    }
+
+    private static Transaction readRow(DataInputStream in, UUID customerId) throws IOException {
+        UUID correlationId = new UUID(in.readLong(), in.readLong());
+        Timestamp createdAt = new Timestamp(in.readLong());
+        createdAt.setNanos(in.readInt());
+        return Transaction.builder()
+                .correlationId(correlationId)
+                .customerId(customerId)
+                .createdAt(createdAt)
+                .operation(OPERATIONS[in.readByte()])
+                .amount(readAmount(in))
+                .balanceAfter(in.readBoolean() ? readAmount(in) : null)
+                .build();
+    }
+
+    private static void writeAmount(DataOutputStream out, BigDecimal amount) throws IOException {
+        out.writeByte(amount.scale());
+        out.writeLong(amount.unscaledValue().longValueExact());
+    }
+
+    private static BigDecimal readAmount(DataInputStream in) throws IOException {
+        int scale = in.readByte();
+        return new BigDecimal(BigInteger.valueOf(in.readLong()), scale);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive segment");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,206 @@
+package com.jfrengineering.digitalwallet.service.archive;
+
+import com.jfrengineering.digitalwallet.configuration.ArchiveProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SegmentFileTransactionArchive implements TransactionArchive {
+
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final String PENDING_SUFFIX = ".pending";
+    private static final String SEGMENT_NAME_TEMPLATE = "segment-%012d";
+
+    private final ArchiveProperties archiveProperties;
+    private final TransactionRepository transactionRepository;
+    private final CustomerShardRouter customerShardRouter;
+
+    // Blocks of each customer, newest segment first, as every archival run only moves rows newer than the previous ones
+    private final Map<UUID, List<ArchiveBlock>> blocksByCustomer = new ConcurrentHashMap<>();
+    private final AtomicLong lastSegmentNumber = new AtomicLong();
+
+    @PostConstruct
+    void loadSegments() throws IOException {
+        Path directory = archiveProperties.getDirectory();
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.sorted().toList()) { // names are zero-padded, so sorted by segment number
+                loadSegment(file);
+            }
+        }
+        log.info("Loaded archive segments up to number {} holding {} customers", lastSegmentNumber.get(),
+                blocksByCustomer.size());
+    }
+
+    @Override
+    public long countByCustomerId(UUID customerId) {
+        return blocks(customerId).stream().mapToLong(ArchiveBlock::getRowCount).sum();
+    }
+
+    @Override
+    public List<Transaction> findByCustomerId(UUID customerId, long offset, int limit) {
+        List<Transaction> transactions = new ArrayList<>(limit);
+        long toSkip = offset;
+        for (ArchiveBlock block : blocks(customerId)) {
+            if (toSkip >= block.getRowCount()) {
+                toSkip -= block.getRowCount();
+            } else if (transactions.size() < limit) {
+                List<Transaction> rows = readBlock(block);
+                transactions.addAll(rows.subList((int) toSkip, (int) Math.min(rows.size(), toSkip + limit - transactions.size())));
+                toSkip = 0;
+            }
+        }
+        return transactions;
+    }
+
+    @Override
+    public Optional<Transaction> findLatestByCustomerIdAtOrBefore(UUID customerId, Timestamp createdAt) {
+        return blocks(customerId).stream()
+                .filter(block -> block.getMinCreatedAt() <= createdAt.getTime())
+                .flatMap(block -> readBlock(block).stream())
+                .filter(transaction -> !transaction.getCreatedAt().after(createdAt))
+                .findFirst();
+    }
+
+    // Credits less debits, reading a block at a time
+    @Override
+    public BigDecimal netAmountByCustomerId(UUID customerId) {
+        BigDecimal netAmount = BigDecimal.ZERO;
+        for (ArchiveBlock block : blocks(customerId)) {
+            for (Transaction transaction : readBlock(block)) {
+                netAmount = transaction.getOperation() == Operation.ADD
+                        ? netAmount.add(transaction.getAmount())
+                        : netAmount.subtract(transaction.getAmount());
+            }
+        }
+        return netAmount;
+    }
+
+    @Override
+    public Path writePendingSegment(List<Transaction> transactions) {
+        Path directory = archiveProperties.getDirectory();
+        Path pendingSegment = directory.resolve(
+                String.format(SEGMENT_NAME_TEMPLATE, lastSegmentNumber.incrementAndGet()) + PENDING_SUFFIX);
+        try {
+            Files.createDirectories(directory);
+            ArchiveSegmentFormat.write(pendingSegment, transactions);
+            return pendingSegment;
+        } catch (IOException e) {
+            throw new TransactionArchiveException("Archive segment could not be written: " + pendingSegment, e);
+        }
+    }
+
+    @Override
+    public void publishSegment(Path pendingSegment) {
+        try {
+            indexSegment(promote(pendingSegment));
+        } catch (IOException e) {
+            throw new TransactionArchiveException("Archive segment could not be published: " + pendingSegment, e);
+        }
+    }
+
+    @Override
+    public void discardSegment(Path pendingSegment) {
+        try {
+            Files.deleteIfExists(pendingSegment);
+        } catch (IOException e) {
+            log.error("Archive segment could not be discarded: {}", pendingSegment, e);
+        }
+    }
+
+    private void loadSegment(Path file) throws IOException {
+        String fileName = file.getFileName().toString();
+        if (fileName.endsWith(SEGMENT_SUFFIX)) {
+            indexSegment(file);
+        } else if (fileName.endsWith(PENDING_SUFFIX)) {
+            recoverPendingSegment(file);
+        }
+    }
+
+    // A pending segment is only valid if the deletion of its rows from the database was committed before a crash
+    private void recoverPendingSegment(Path pendingSegment) throws IOException {
+        ArchiveBlock firstBlock;
+        UUID firstCorrelationId;
+        try {
+            firstBlock = ArchiveSegmentFormat.readDirectory(pendingSegment).get(0);
+            firstCorrelationId = ArchiveSegmentFormat.readBlock(firstBlock).get(0).getCorrelationId();
+        } catch (IOException | RuntimeException e) {
+            // Left truncated by a crash while it was written, so before its rows were deleted from the database
+            log.warn("Discarding archive segment that could not be read: {}", pendingSegment, e);
+            Files.delete(pendingSegment);
+            return;
+        }
+        if (customerShardRouter.callOnShardOf(firstBlock.getCustomerId(),
+                () -> transactionRepository.existsById(firstCorrelationId))) {
+            log.warn("Discarding archive segment whose rows were not deleted from the database: {}", pendingSegment);
+            Files.delete(pendingSegment);
+        } else {
+            indexSegment(promote(pendingSegment));
+        }
+    }
+
+    private Path promote(Path pendingSegment) throws IOException {
+        String fileName = pendingSegment.getFileName().toString();
+        Path segment = pendingSegment.resolveSibling(
+                fileName.substring(0, fileName.length() - PENDING_SUFFIX.length()) + SEGMENT_SUFFIX);
+        try (FileChannel channel = FileChannel.open(pendingSegment, StandardOpenOption.WRITE)) {
+            channel.force(true); // or a crash after the rename could leave a published segment truncated
+        }
+        return Files.move(pendingSegment, segment, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void indexSegment(Path segment) throws IOException {
+        String fileName = segment.getFileName().toString();
+        long segmentNumber = Long.parseLong(fileName.substring(fileName.indexOf('-') + 1, fileName.indexOf('.')));
+        lastSegmentNumber.accumulateAndGet(segmentNumber, Math::max);
+        for (ArchiveBlock block : ArchiveSegmentFormat.readDirectory(segment)) {
+            blocksByCustomer.compute(block.getCustomerId(), (customerId, blocks) -> prepend(block, blocks));
+        }
+    }
+
+    private List<ArchiveBlock> blocks(UUID customerId) {
+        return blocksByCustomer.getOrDefault(customerId, List.of());
+    }
+
+    private static List<ArchiveBlock> prepend(ArchiveBlock block, List<ArchiveBlock> blocks) {
+        List<ArchiveBlock> newestFirst = new ArrayList<>();
+        newestFirst.add(block);
+        newestFirst.addAll(blocks == null ? List.of() : blocks);
+        return List.copyOf(newestFirst);
+    }
+
+    private static List<Transaction> readBlock(ArchiveBlock block) {
+        try {
+            return ArchiveSegmentFormat.readBlock(block);
+        } catch (IOException e) {
+            throw new TransactionArchiveException("Archive segment could not be read: " + block.getSegment(), e);
+        }
+    }
+}
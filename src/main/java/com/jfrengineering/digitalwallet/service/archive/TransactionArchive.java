@@ -0,0 +1,21 @@
+package com.jfrengineering.digitalwallet.service.archive;
+
+import com.jfrengineering.digitalwallet.domain.Transaction;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface TransactionArchive {
+    long countByCustomerId(UUID customerId);
+    List<Transaction> findByCustomerId(UUID customerId, long offset, int limit);
+    Optional<Transaction> findLatestByCustomerIdAtOrBefore(UUID customerId, Timestamp createdAt);
+    BigDecimal netAmountByCustomerId(UUID customerId);
+
+    Path writePendingSegment(List<Transaction> transactions);
+    void publishSegment(Path pendingSegment);
+    void discardSegment(Path pendingSegment);
+}
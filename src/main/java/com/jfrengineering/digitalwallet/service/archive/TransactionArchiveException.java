@@ -0,0 +1,9 @@
+package com.jfrengineering.digitalwallet.service.archive;
+
+import jakarta.persistence.PersistenceException;
+
+public class TransactionArchiveException extends PersistenceException {
+    public TransactionArchiveException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,73 @@
+package com.jfrengineering.digitalwallet.service.archive;
+
+import com.jfrengineering.digitalwallet.configuration.ArchiveProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "wallet.archive", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class TransactionArchiveJob {
+
+    private final ArchiveProperties archiveProperties;
+    private final TransactionRepository transactionRepository;
+    private final TransactionArchive transactionArchive;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerShardRouter customerShardRouter;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    @Scheduled(fixedDelayString = "${wallet.archive.interval:PT1H}", initialDelayString = "${wallet.archive.interval:PT1H}")
+    public void archiveOldTransactions() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minus(archiveProperties.getMaxAge()));
+        customerShardRouter.forEachShard(shard -> archiveShard(shard, cutoff));
+    }
+
+    private void archiveShard(int shard, Timestamp cutoff) {
+        long archivedTransactions = 0;
+        int batchArchivedTransactions;
+        do {
+            batchArchivedTransactions = archiveBatch(cutoff);
+            archivedTransactions += batchArchivedTransactions;
+        } while (batchArchivedTransactions == archiveProperties.getBatchSize());
+        log.info("Archived {} transactions created before {} from shard {}", archivedTransactions, cutoff, shard);
+    }
+
+    // Oldest rows of each customer first, so later segments always hold newer rows of the customer than earlier ones
+    private int archiveBatch(Timestamp cutoff) {
+        PageRequest oldestFirst = PageRequest.of(0, archiveProperties.getBatchSize(),
+                Sort.by("customerId", "createdAt"));
+        List<Transaction> transactions = transactionRepository.findByCreatedAtBefore(cutoff, oldestFirst);
+        if (transactions.isEmpty()) {
+            return 0;
+        }
+        Path pendingSegment = transactionArchive.writePendingSegment(transactions);
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                transactionRepository.deleteByCorrelationIdIn(
+                        transactions.stream().map(Transaction::getCorrelationId).toList());
+                applicationEventPublisher.publishEvent(new TransactionsArchivedEvent(transactions));
+            });
+        } catch (RuntimeException e) {
+            transactionArchive.discardSegment(pendingSegment);
+            throw e;
+        }
+        transactionArchive.publishSegment(pendingSegment);
+        return transactions.size();
+    }
+}
@@ -0,0 +1,8 @@
+package com.jfrengineering.digitalwallet.service.archive;
+
+import com.jfrengineering.digitalwallet.domain.Transaction;
+
+import java.util.List;
+
+public record TransactionsArchivedEvent(List<Transaction> transactions) {
+}
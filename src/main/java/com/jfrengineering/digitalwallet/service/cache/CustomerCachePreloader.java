@@ -0,0 +1,92 @@
+package com.jfrengineering.digitalwallet.service.cache;
+
+import com.jfrengineering.digitalwallet.configuration.CustomerCacheProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository.BalanceKey;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.jfrengineering.digitalwallet.configuration.CacheConfig.CUSTOMER_CACHE;
+
+// Fills the customer cache with every existing customer before the application reports it is ready, as the readiness
+// state only changes to ACCEPTING_TRAFFIC once the ApplicationReadyEvent listeners return. The customers created
+// afterwards are added by a periodic refresh, which reads again the last refresh overlap of each shard, so a balance
+// committed after a later created one is still found.
+@Slf4j
+@Component
+public class CustomerCachePreloader {
+
+    private static final Timestamp BEGINNING = new Timestamp(0);
+    private static final UUID FIRST_ID = new UUID(0, 0);
+
+    private final CustomerCacheProperties customerCacheProperties;
+    private final BalanceRepository balanceRepository;
+    private final CustomerShardRouter customerShardRouter;
+    private final CacheManager cacheManager;
+    private final Map<Integer, Timestamp> loadedUntil = new ConcurrentHashMap<>();
+
+    public CustomerCachePreloader(CustomerCacheProperties customerCacheProperties, BalanceRepository balanceRepository,
+                                  CustomerShardRouter customerShardRouter, CacheManager cacheManager) {
+        this.customerCacheProperties = customerCacheProperties;
+        this.balanceRepository = balanceRepository;
+        this.customerShardRouter = customerShardRouter;
+        this.cacheManager = cacheManager;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void preload() {
+        if (!customerCacheProperties.isPreload()) {
+            return;
+        }
+        long start = System.nanoTime();
+        int[] customers = new int[1];
+        customerShardRouter.forEachShard(shard -> customers[0] += loadShard(shard, BEGINNING));
+        log.info("Preloaded {} customers into the customer cache in {} ms", customers[0],
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Shards not preloaded yet are left to the preload
+    @Scheduled(fixedDelayString = "${wallet.customer-cache.refresh-interval:PT1M}",
+            initialDelayString = "${wallet.customer-cache.refresh-interval:PT1M}")
+    public void refresh() {
+        customerShardRouter.forEachShard(shard -> {
+            Timestamp until = loadedUntil.get(shard);
+            if (until != null) {
+                loadShard(shard, new Timestamp(until.getTime() - customerCacheProperties.getRefreshOverlap().toMillis()));
+            }
+        });
+    }
+
+    private int loadShard(int shard, Timestamp afterTime) {
+        Cache cache = cacheManager.getCache(CUSTOMER_CACHE);
+        int batchSize = customerCacheProperties.getLoadBatchSize();
+        Timestamp pageAfterTime = afterTime;
+        UUID pageAfterId = FIRST_ID;
+        int customers = 0;
+        List<BalanceKey> page;
+        do {
+            page = balanceRepository.findKeysCreatedAfter(pageAfterTime, pageAfterId, PageRequest.of(0, batchSize));
+            page.forEach(key -> cache.put(key.getCustomerId().toString(), true));
+            customers += page.size();
+            if (!page.isEmpty()) {
+                pageAfterTime = page.get(page.size() - 1).getCreatedAt();
+                pageAfterId = page.get(page.size() - 1).getCustomerId();
+            }
+        } while (page.size() == batchSize);
+        loadedUntil.merge(shard, pageAfterTime, (previous, next) -> next.after(previous) ? next : previous);
+        return customers;
+    }
+}
@@ -0,0 +1,36 @@
+package com.jfrengineering.digitalwallet.service.commit;
+
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletionException;
+
+// Takes the place of the transactional service method, so the callers only wait for their group to be committed
+// without holding a database connection each. It runs after the limits, if enabled, so rejected calls never queue.
+// Callers already in a database transaction, as hold captures and scheduled executions, proceed within it instead: the
+// group would wait for the rows they have locked, and would commit apart from the rest of their transaction.
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+@RequiredArgsConstructor
+public class GroupCommitAspect {
+
+    private final TransactionGroupCommitter transactionGroupCommitter;
+
+    @Around("execution(public * com.jfrengineering.digitalwallet.service.TransactionService.createTransaction(..))")
+    public Object commitInGroup(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        try {
+            return transactionGroupCommitter.submit((TransactionRequest) joinPoint.getArgs()[0]).join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+}
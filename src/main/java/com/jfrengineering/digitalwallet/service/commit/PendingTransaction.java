@@ -0,0 +1,9 @@
+package com.jfrengineering.digitalwallet.service.commit;
+
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+
+import java.util.concurrent.CompletableFuture;
+
+record PendingTransaction(TransactionRequest transactionRequest, CompletableFuture<TransactionBalanceResponse> result) {
+}
@@ -0,0 +1,140 @@
+package com.jfrengineering.digitalwallet.service.commit;
+
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.datasource.ShardContext;
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// The callers queue their transactions and wait, while a single committer thread takes them in groups. The first
+// transaction of a group opens a window, and the group is closed when the window is over or the group is full. It is
+// then split by shard and written with one database transaction per shard, so a commit serves many callers.
+@Slf4j
+public class TransactionGroupCommitter {
+
+    static final String GROUP_SIZE_METRIC = "wallet.group.commit.size";
+
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final TransactionGroupWriter transactionGroupWriter;
+    private final CustomerShardRouter customerShardRouter;
+    private final ExecutorService committer;
+    private final DistributionSummary groupSizes;
+    private final BlockingQueue<PendingTransaction> queue = new LinkedBlockingQueue<>();
+
+    public TransactionGroupCommitter(Duration window, int maxBatchSize, TransactionGroupWriter transactionGroupWriter,
+                                     CustomerShardRouter customerShardRouter, MeterRegistry meterRegistry) {
+        this(window, maxBatchSize, transactionGroupWriter, customerShardRouter, meterRegistry,
+                Executors.newSingleThreadExecutor(new CustomizableThreadFactory("group-committer-")));
+    }
+
+    TransactionGroupCommitter(Duration window, int maxBatchSize, TransactionGroupWriter transactionGroupWriter,
+                              CustomerShardRouter customerShardRouter, MeterRegistry meterRegistry,
+                              ExecutorService committer) {
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.transactionGroupWriter = transactionGroupWriter;
+        this.customerShardRouter = customerShardRouter;
+        this.committer = committer;
+        this.groupSizes = DistributionSummary.builder(GROUP_SIZE_METRIC)
+                .description("Transactions written with one database commit")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        committer.execute(this::run);
+    }
+
+    // The transactions still queued are failed, instead of leaving their callers waiting
+    @PreDestroy
+    public void close() {
+        committer.shutdownNow();
+        for (PendingTransaction pending = queue.poll(); pending != null; pending = queue.poll()) {
+            pending.result().completeExceptionally(new IllegalStateException("Transaction group committer is closed"));
+        }
+    }
+
+    public CompletableFuture<TransactionBalanceResponse> submit(TransactionRequest transactionRequest) {
+        if (committer.isShutdown()) {
+            throw new IllegalStateException("Transaction group committer is closed");
+        }
+        PendingTransaction pending = new PendingTransaction(transactionRequest, new CompletableFuture<>());
+        queue.add(pending);
+        return pending.result();
+    }
+
+    // Stopped by the interruption of close, as waiting for the next group is where the thread spends its time
+    void run() {
+        try {
+            while (true) {
+                commit(collect());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    List<PendingTransaction> collect() throws InterruptedException {
+        List<PendingTransaction> group = new ArrayList<>();
+        group.add(queue.take());
+        long windowEnd = System.nanoTime() + windowNanos;
+        while (group.size() < maxBatchSize) {
+            PendingTransaction pending = queue.poll(windowEnd - System.nanoTime(), TimeUnit.NANOSECONDS);
+            if (pending == null) {
+                break;
+            }
+            group.add(pending);
+        }
+        return group;
+    }
+
+    void commit(List<PendingTransaction> group) {
+        Map<Integer, List<PendingTransaction>> groupsByShard = group.stream().collect(Collectors.groupingBy(
+                pending -> customerShardRouter.shardOf(pending.transactionRequest().getCustomerId())));
+        groupsByShard.forEach((shard, shardGroup) -> {
+            groupSizes.record(shardGroup.size());
+            try {
+                List<CompletableFuture<TransactionBalanceResponse>> results = ShardContext.callOn(shard,
+                        () -> transactionGroupWriter.write(shardGroup.stream()
+                                .map(PendingTransaction::transactionRequest)
+                                .toList()));
+                for (int i = 0; i < shardGroup.size(); i++) {
+                    CompletableFuture<TransactionBalanceResponse> result = shardGroup.get(i).result();
+                    results.get(i).whenComplete((response, error) -> complete(result, response, error));
+                }
+            } catch (RuntimeException e) {
+                // Nothing of the group was committed, its callers can retry with the same correlation IDs
+                log.warn("Group commit of {} transactions failed on shard {}: {}", shardGroup.size(), shard,
+                        e.getMessage());
+                shardGroup.forEach(pending -> pending.result().completeExceptionally(e));
+            }
+        });
+    }
+
+    private static void complete(CompletableFuture<TransactionBalanceResponse> result,
+                                 TransactionBalanceResponse response, Throwable error) {
+        if (error == null) {
+            result.complete(response);
+        } else {
+            result.completeExceptionally(error);
+        }
+    }
+}
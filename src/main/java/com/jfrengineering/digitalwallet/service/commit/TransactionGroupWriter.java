@@ -0,0 +1,157 @@
+package com.jfrengineering.digitalwallet.service.commit;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.mapper.TransactionMapper;
+import com.jfrengineering.digitalwallet.service.TransactionCreatedEvent;
+import com.jfrengineering.digitalwallet.service.TransactionServiceImpl;
+import com.jfrengineering.digitalwallet.service.TransactionSummaryService;
+import com.jfrengineering.digitalwallet.service.limit.VelocityLimiter;
+import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.jfrengineering.digitalwallet.service.TransactionServiceImpl.NOT_FOUND_ERROR_TEMPLATE;
+
+// Applies a group of transactions of one shard in a single database transaction. The balances are locked one by one,
+// sorted by UUID as the transfers lock theirs (a single query would lock them in the order of the varchar index,
+// which differs), and written back with a JDBC batch of UPDATEs, one per customer whatever the number of its
+// transactions, followed by a JDBC batch of ledger INSERTs. A rejected transaction only
+// fails its own result, the rest of the group is still committed.
+@RequiredArgsConstructor
+public class TransactionGroupWriter {
+
+    static final String SELECT_BALANCE_FOR_UPDATE = "SELECT customer_id, balance_amount, held_amount FROM balances "
+            + "WHERE customer_id = ? FOR UPDATE";
+    static final String SELECT_CORRELATION_IDS = "SELECT correlation_id FROM transactions WHERE correlation_id IN (%s)";
+    static final String UPDATE_BALANCE = "UPDATE balances SET balance_amount = ?, updated_at = ? WHERE customer_id = ?";
+    static final String INSERT_TRANSACTION = "INSERT INTO transactions (correlation_id, customer_id, operation, "
+            + "amount, balance_after, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    static final String DUPLICATE_ERROR = "Transaction with the same correlationId already exists";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionSummaryService transactionSummaryService;
+    private final VelocityLimiter velocityLimiter;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    // The results are only returned once the group is committed
+    public List<CompletableFuture<TransactionBalanceResponse>> write(List<TransactionRequest> transactionRequests) {
+        return transactionTemplate.execute(status -> apply(transactionRequests));
+    }
+
+    private List<CompletableFuture<TransactionBalanceResponse>> apply(List<TransactionRequest> transactionRequests) {
+        Map<UUID, Balance> balances = lockBalances(transactionRequests);
+        Set<UUID> correlationIds = findExistingCorrelationIds(transactionRequests);
+        Set<Balance> updatedBalances = new LinkedHashSet<>();
+        List<Transaction> transactions = new ArrayList<>();
+        List<CompletableFuture<TransactionBalanceResponse>> results = new ArrayList<>();
+        for (TransactionRequest transactionRequest : transactionRequests) {
+            CompletableFuture<TransactionBalanceResponse> result = new CompletableFuture<>();
+            try {
+                Balance balance = balances.get(transactionRequest.getCustomerId());
+                Transaction transaction = applyTransaction(transactionRequest, balance, correlationIds);
+                updatedBalances.add(balance);
+                transactions.add(transaction);
+                result.complete(TransactionMapper.transactionAndBalanceToTransactionBalanceResponse(
+                        transactionRequest.getCustomerId(), transaction, transaction.getBalanceAfter()));
+            } catch (EntityNotFoundException | EntityExistsException | UnacceptedTransactionAmountException e) {
+                result.completeExceptionally(e);
+            }
+            results.add(result);
+        }
+        writeBalances(updatedBalances);
+        writeTransactions(transactions);
+        return results;
+    }
+
+    private Transaction applyTransaction(TransactionRequest transactionRequest, Balance balance,
+                                         Set<UUID> correlationIds) {
+        if (balance == null) {
+            throw new EntityNotFoundException(String.format(NOT_FOUND_ERROR_TEMPLATE, transactionRequest.getCustomerId()));
+        }
+        if (correlationIds.contains(transactionRequest.getCorrelationId())) {
+            throw new EntityExistsException(DUPLICATE_ERROR);
+        }
+        BigDecimal updatedBalanceAmount = TransactionServiceImpl.calculateNewBalance(transactionRequest.getOperation(),
+                balance, transactionRequest.getAmount());
+        if (Operation.WITHDRAW == transactionRequest.getOperation()) {
+            velocityLimiter.checkWithdrawal(balance.getCustomerId(), transactionRequest.getAmount());
+        }
+        balance.setBalanceAmount(updatedBalanceAmount);
+        correlationIds.add(transactionRequest.getCorrelationId());
+        Transaction transaction = TransactionMapper.transactionRequestToTransaction(transactionRequest,
+                updatedBalanceAmount);
+        // Recorded straight away, so the next withdrawals of the group are checked against it
+        velocityLimiter.recordWithdrawal(transaction);
+        return transaction;
+    }
+
+    private Map<UUID, Balance> lockBalances(List<TransactionRequest> transactionRequests) {
+        return transactionRequests.stream()
+                .map(TransactionRequest::getCustomerId)
+                .distinct()
+                .sorted()
+                .flatMap(customerId -> jdbcTemplate.query(SELECT_BALANCE_FOR_UPDATE,
+                        (row, rowNumber) -> Balance.builder()
+                                .customerId(customerId)
+                                .balanceAmount(row.getBigDecimal("balance_amount"))
+                                .heldAmount(row.getBigDecimal("held_amount"))
+                                .build(),
+                        customerId.toString()).stream())
+                .collect(Collectors.toMap(Balance::getCustomerId, Function.identity()));
+    }
+
+    private Set<UUID> findExistingCorrelationIds(List<TransactionRequest> transactionRequests) {
+        Object[] correlationIds = transactionRequests.stream()
+                .map(transactionRequest -> transactionRequest.getCorrelationId().toString())
+                .toArray();
+        return new HashSet<>(jdbcTemplate.query(String.format(SELECT_CORRELATION_IDS,
+                placeholders(correlationIds.length)), (row, rowNumber) -> UUID.fromString(row.getString(1)),
+                correlationIds));
+    }
+
+    private void writeBalances(Set<Balance> balances) {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        jdbcTemplate.batchUpdate(UPDATE_BALANCE, balances.stream()
+                .map(balance -> new Object[]{balance.getBalanceAmount(), now, balance.getCustomerId().toString()})
+                .toList());
+    }
+
+    private void writeTransactions(List<Transaction> transactions) {
+        jdbcTemplate.batchUpdate(INSERT_TRANSACTION, transactions.stream()
+                .map(transaction -> new Object[]{transaction.getCorrelationId().toString(),
+                        transaction.getCustomerId().toString(), transaction.getOperation().name(),
+                        transaction.getAmount(), transaction.getBalanceAfter(), transaction.getCreatedAt()})
+                .toList());
+        transactions.forEach(transaction -> {
+            transactionSummaryService.recordTransaction(transaction);
+            applicationEventPublisher.publishEvent(new TransactionCreatedEvent(transaction));
+        });
+    }
+
+    private static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+}
@@ -0,0 +1,6 @@
+package com.jfrengineering.digitalwallet.service.hold;
+
+import java.util.UUID;
+
+public record HoldExpiry(UUID correlationId, UUID customerId, long expiresAtMillis) {
+}
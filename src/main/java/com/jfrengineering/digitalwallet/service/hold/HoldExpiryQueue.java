@@ -0,0 +1,105 @@
+package com.jfrengineering.digitalwallet.service.hold;
+
+import com.jfrengineering.digitalwallet.configuration.HoldProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.repository.HoldRepository;
+import com.jfrengineering.digitalwallet.service.HoldService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.function.LongSupplier;
+
+// Holds expire from an in-memory queue ordered by deadline, so expiring them only reads each expired hold by its ID.
+// Captured and released holds are left in the queue until their deadline, when expiring them does nothing.
+@Slf4j
+@Component
+public class HoldExpiryQueue {
+
+    private final HoldService holdService;
+    private final HoldRepository holdRepository;
+    private final HoldProperties holdProperties;
+    private final CustomerShardRouter customerShardRouter;
+    private final LongSupplier clock;
+    private final PriorityBlockingQueue<HoldExpiry> deadlines =
+            new PriorityBlockingQueue<>(11, Comparator.comparingLong(HoldExpiry::expiresAtMillis));
+
+    @Autowired
+    public HoldExpiryQueue(HoldService holdService, HoldRepository holdRepository, HoldProperties holdProperties,
+                           CustomerShardRouter customerShardRouter) {
+        this(holdService, holdRepository, holdProperties, customerShardRouter, System::currentTimeMillis);
+    }
+
+    HoldExpiryQueue(HoldService holdService, HoldRepository holdRepository, HoldProperties holdProperties,
+                    CustomerShardRouter customerShardRouter, LongSupplier clock) {
+        this.holdService = holdService;
+        this.holdRepository = holdRepository;
+        this.holdProperties = holdProperties;
+        this.customerShardRouter = customerShardRouter;
+        this.clock = clock;
+    }
+
+    // The queue is rebuilt from the active holds at startup, the only time they are read in bulk
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadActiveHolds() {
+        customerShardRouter.forEachShard(shard -> loadShard());
+    }
+
+    @TransactionalEventListener
+    public void onHoldReserved(HoldReservedEvent event) {
+        offer(event.hold());
+    }
+
+    @Scheduled(fixedDelayString = "${wallet.holds.expiry-interval:PT1S}")
+    public void expireDueHolds() {
+        long now = clock.getAsLong();
+        for (HoldExpiry holdExpiry = pollExpired(now); holdExpiry != null; holdExpiry = pollExpired(now)) {
+            try {
+                holdService.expireHold(holdExpiry.customerId(), holdExpiry.correlationId());
+            } catch (RuntimeException e) {
+                log.warn("Hold {} could not be expired, retrying on the next run: {}", holdExpiry.correlationId(),
+                        e.getMessage());
+                deadlines.add(holdExpiry);
+                return;
+            }
+        }
+    }
+
+    public int size() {
+        return deadlines.size();
+    }
+
+    private void loadShard() {
+        int batchSize = holdProperties.getLoadBatchSize();
+        UUID afterId = new UUID(0, 0);
+        List<Hold> page;
+        do {
+            page = holdRepository.findByCorrelationIdGreaterThanOrderByCorrelationId(afterId,
+                    PageRequest.of(0, batchSize));
+            page.forEach(this::offer);
+            if (!page.isEmpty()) {
+                afterId = page.get(page.size() - 1).getCorrelationId();
+            }
+        } while (page.size() == batchSize);
+    }
+
+    private void offer(Hold hold) {
+        deadlines.add(new HoldExpiry(hold.getCorrelationId(), hold.getCustomerId(), hold.getExpiresAt().getTime()));
+    }
+
+    // Only the expiry job takes from the queue
+    private HoldExpiry pollExpired(long now) {
+        HoldExpiry next = deadlines.peek();
+        return next != null && next.expiresAtMillis() <= now ? deadlines.poll() : null;
+    }
+}
@@ -0,0 +1,6 @@
+package com.jfrengineering.digitalwallet.service.hold;
+
+import com.jfrengineering.digitalwallet.domain.Hold;
+
+public record HoldReservedEvent(Hold hold) {
+}
@@ -0,0 +1,55 @@
+package com.jfrengineering.digitalwallet.service.hotspot;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Count-min sketch of customer IDs: depth rows of width counters, a customer incrementing one counter per row. Its
+// count is the lowest of those counters, which is never below the real count and only above it on collisions.
+class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final AtomicLongArray counters;
+
+    CountMinSketch(int depth, int width) {
+        this.depth = depth;
+        this.width = Integer.highestOneBit(Math.max(width - 1, 1)) << 1; // rounded up to a power of two
+        this.counters = new AtomicLongArray(depth * this.width);
+    }
+
+    void add(UUID customerId) {
+        long hash = hash(customerId);
+        for (int row = 0; row < depth; row++) {
+            counters.incrementAndGet(index(row, hash));
+        }
+    }
+
+    long estimate(UUID customerId) {
+        long hash = hash(customerId);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, hash)));
+        }
+        return estimate;
+    }
+
+    void clear() {
+        for (int i = 0; i < counters.length(); i++) {
+            counters.set(i, 0);
+        }
+    }
+
+    // Double hashing, the counter of each row is derived from the two halves of a single 64-bit hash
+    private int index(int row, long hash) {
+        int offset = (int) hash + row * ((int) (hash >>> 32) | 1);
+        return row * width + (offset & (width - 1));
+    }
+
+    // Murmur3 finalizer, as customer IDs are not necessarily random UUIDs
+    private static long hash(UUID customerId) {
+        long hash = customerId.getMostSignificantBits() ^ Long.rotateLeft(customerId.getLeastSignificantBits(), 32);
+        hash = (hash ^ (hash >>> 33)) * 0xff51afd7ed558ccdL;
+        hash = (hash ^ (hash >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return hash ^ (hash >>> 33);
+    }
+}
@@ -0,0 +1,33 @@
+package com.jfrengineering.digitalwallet.service.hotspot;
+
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.UUID;
+
+// Runs ahead of the rate and concurrency limits, so the calls they reject are counted too
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+public class HeavyHitterAspect {
+
+    private final HeavyHitterTracker writeHeavyHitters;
+    private final HeavyHitterTracker readHeavyHitters;
+
+    @Around("execution(public * com.jfrengineering.digitalwallet.service.TransactionService.createTransaction(..))")
+    public Object recordWrite(ProceedingJoinPoint joinPoint) throws Throwable {
+        writeHeavyHitters.record(((TransactionRequest) joinPoint.getArgs()[0]).getCustomerId());
+        return joinPoint.proceed();
+    }
+
+    @Around("execution(public * com.jfrengineering.digitalwallet.service.TransactionService.getTransactionsByCustomerId(..))")
+    public Object recordRead(ProceedingJoinPoint joinPoint) throws Throwable {
+        readHeavyHitters.record((UUID) joinPoint.getArgs()[0]);
+        return joinPoint.proceed();
+    }
+}
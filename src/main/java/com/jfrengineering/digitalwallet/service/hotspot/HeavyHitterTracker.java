@@ -0,0 +1,111 @@
+package com.jfrengineering.digitalwallet.service.hotspot;
+
+import com.jfrengineering.digitalwallet.web.model.HotCustomerResponse;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.stream.IntStream;
+
+// Approximate calls per customer over a sliding window, made of slots with a count-min sketch each, the oldest one being
+// cleared as the window moves. The customers with the highest counts are kept as candidates for the top K, a customer
+// being admitted only when its count reaches the lowest count of the current top, so memory is bounded whatever the
+// number of customers.
+public class HeavyHitterTracker {
+
+    private static final int CANDIDATES_PER_TOP = 4;
+
+    private final CountMinSketch[] slots;
+    private final long slotNanos;
+    private final int topK;
+    private final LongSupplier nanoClock;
+    private final AtomicLong currentSlot;
+    private final Set<UUID> candidates = ConcurrentHashMap.newKeySet();
+    private volatile long admissionCount = 1;
+
+    public HeavyHitterTracker(Duration window, int windowSlots, int sketchDepth, int sketchWidth, int topK) {
+        this(window, windowSlots, sketchDepth, sketchWidth, topK, System::nanoTime);
+    }
+
+    HeavyHitterTracker(Duration window, int windowSlots, int sketchDepth, int sketchWidth, int topK,
+                       LongSupplier nanoClock) {
+        this.slots = IntStream.range(0, windowSlots)
+                .mapToObj(slot -> new CountMinSketch(sketchDepth, sketchWidth))
+                .toArray(CountMinSketch[]::new);
+        this.slotNanos = window.toNanos() / windowSlots;
+        this.topK = topK;
+        this.nanoClock = nanoClock;
+        this.currentSlot = new AtomicLong(slotAt(nanoClock.getAsLong()));
+    }
+
+    public void record(UUID customerId) {
+        long slot = advance();
+        slots[(int) Math.floorMod(slot, slots.length)].add(customerId);
+        if (estimate(customerId) >= admissionCount && candidates.add(customerId)
+                && candidates.size() > topK * CANDIDATES_PER_TOP) {
+            prune();
+        }
+    }
+
+    public List<HotCustomerResponse> topCustomers() {
+        advance();
+        double windowSeconds = (double) slotNanos * slots.length / TimeUnit.SECONDS.toNanos(1);
+        return rankCandidates().stream()
+                .filter(candidate -> candidate.getValue() > 0)
+                .limit(topK)
+                .map(candidate -> new HotCustomerResponse(candidate.getKey(), candidate.getValue(),
+                        candidate.getValue() / windowSeconds))
+                .toList();
+    }
+
+    public Duration getWindow() {
+        return Duration.ofNanos(slotNanos * slots.length);
+    }
+
+    // Only the thread moving the window clears the slots left behind, and ranks the candidates again as their counts
+    // drop. Counts recorded by other threads in a slot being cleared may be lost, which the estimates can afford.
+    private long advance() {
+        long slot = slotAt(nanoClock.getAsLong());
+        long previous = currentSlot.getAndAccumulate(slot, Math::max);
+        for (long expired = Math.max(previous + 1, slot - slots.length + 1); expired <= slot; expired++) {
+            slots[(int) Math.floorMod(expired, slots.length)].clear();
+        }
+        if (previous < slot) {
+            prune();
+        }
+        return slot;
+    }
+
+    // Keeps the top K candidates and sets the admission count to the lowest count among them. Concurrent prunes are
+    // harmless, as they rank the same candidates.
+    private void prune() {
+        List<Map.Entry<UUID, Long>> ranked = rankCandidates();
+        ranked.stream().skip(topK).forEach(candidate -> candidates.remove(candidate.getKey()));
+        admissionCount = ranked.size() < topK ? 1 : Math.max(ranked.get(topK - 1).getValue(), 1);
+    }
+
+    private List<Map.Entry<UUID, Long>> rankCandidates() {
+        return candidates.stream()
+                .map(customerId -> Map.entry(customerId, estimate(customerId)))
+                .sorted(Map.Entry.<UUID, Long>comparingByValue().reversed())
+                .toList();
+    }
+
+    private long estimate(UUID customerId) {
+        long estimate = 0;
+        for (CountMinSketch slot : slots) {
+            estimate += slot.estimate(customerId);
+        }
+        return estimate;
+    }
+
+    private long slotAt(long nanos) {
+        return Math.floorDiv(nanos, slotNanos);
+    }
+}
@@ -0,0 +1,20 @@
+package com.jfrengineering.digitalwallet.service.hotspot;
+
+import com.jfrengineering.digitalwallet.web.model.HotCustomersResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+@Endpoint(id = "hotcustomers")
+@RequiredArgsConstructor
+public class HotCustomersEndpoint {
+
+    private final HeavyHitterTracker writeHeavyHitters;
+    private final HeavyHitterTracker readHeavyHitters;
+
+    @ReadOperation
+    public HotCustomersResponse hotCustomers() {
+        return new HotCustomersResponse(writeHeavyHitters.getWindow().toSeconds(), writeHeavyHitters.topCustomers(),
+                readHeavyHitters.topCustomers());
+    }
+}
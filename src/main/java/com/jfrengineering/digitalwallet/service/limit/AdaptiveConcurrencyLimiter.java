@@ -0,0 +1,56 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// AIMD limit of concurrent calls: every call slower than the latency threshold, or dropped by the database, shrinks the
+// limit by the backoff ratio, and every faster one grows it by 1/limit (so by one per limit worth of calls) while the
+// limit is in use
+public class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyThresholdNanos;
+    private final double backoffRatio;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private double limit; // guarded by this
+    private volatile int currentLimit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, Duration latencyThreshold,
+                                      double backoffRatio) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyThresholdNanos = latencyThreshold.toNanos();
+        this.backoffRatio = backoffRatio;
+        this.limit = initialLimit;
+        this.currentLimit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        int limit = currentLimit;
+        return inFlight.getAndUpdate(current -> current < limit ? current + 1 : current) < limit;
+    }
+
+    public void release(long latencyNanos, boolean dropped) {
+        int inFlightBefore = inFlight.getAndDecrement();
+        onSample(dropped || latencyNanos > latencyThresholdNanos, inFlightBefore);
+    }
+
+    public int getLimit() {
+        return currentLimit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(boolean overloaded, int inFlightBefore) {
+        if (overloaded) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlightBefore * 2 >= limit) { // a limit far above the load would not be tested by it
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+        currentLimit = (int) limit;
+    }
+}
@@ -0,0 +1,64 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import com.jfrengineering.digitalwallet.web.exception.ConcurrencyLimitExceededException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+
+// Runs ahead of the transactional proxy, so calls over the limit are rejected before taking a database connection, and
+// after the customer rate limit, if enabled
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class ConcurrencyLimitAspect {
+
+    static final String LIMIT_METRIC = "wallet.concurrency.limit";
+    static final String IN_FLIGHT_METRIC = "wallet.concurrency.in.flight";
+    static final String REJECTED_METRIC = "wallet.concurrency.rejected";
+
+    private final AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+    private final Duration retryAfter;
+    private final Counter rejected;
+
+    public ConcurrencyLimitAspect(AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter, Duration retryAfter,
+                                  MeterRegistry meterRegistry) {
+        this.adaptiveConcurrencyLimiter = adaptiveConcurrencyLimiter;
+        this.retryAfter = retryAfter;
+        Gauge.builder(LIMIT_METRIC, adaptiveConcurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current limit of concurrent transaction creations")
+                .register(meterRegistry);
+        Gauge.builder(IN_FLIGHT_METRIC, adaptiveConcurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Transaction creations in progress")
+                .register(meterRegistry);
+        this.rejected = Counter.builder(REJECTED_METRIC)
+                .description("Transaction creations rejected for being over the concurrency limit")
+                .register(meterRegistry);
+    }
+
+    @Around("execution(public * com.jfrengineering.digitalwallet.service.TransactionService.createTransaction(..))"
+            + " || execution(public * com.jfrengineering.digitalwallet.service.TransactionService.createTransfer(..))")
+    public Object limitConcurrency(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (!adaptiveConcurrencyLimiter.tryAcquire()) {
+            rejected.increment();
+            throw new ConcurrencyLimitExceededException(retryAfter);
+        }
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            return joinPoint.proceed();
+        } catch (TransientDataAccessException | CannotCreateTransactionException e) {
+            dropped = true; // timeouts, lock failures and no connection available, the database is overloaded
+            throw e;
+        } finally {
+            adaptiveConcurrencyLimiter.release(System.nanoTime() - start, dropped);
+        }
+    }
+}
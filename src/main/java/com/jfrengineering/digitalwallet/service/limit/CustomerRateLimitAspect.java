@@ -0,0 +1,43 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import com.jfrengineering.digitalwallet.web.exception.RateLimitExceededException;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import com.jfrengineering.digitalwallet.web.model.TransferRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.time.Duration;
+import java.util.UUID;
+
+// Runs ahead of the concurrency limit, so a flooding customer does not take the permits of everyone else, and after
+// the heavy hitters tracking, if enabled. Transfers are charged to the customer the money is taken from.
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+@RequiredArgsConstructor
+public class CustomerRateLimitAspect {
+
+    public static final String REJECTED_METRIC = "wallet.rate.limit.rejected";
+    public static final String CUSTOMER_ID_TAG = "customerId";
+
+    private final CustomerRateLimiter customerRateLimiter;
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(public * com.jfrengineering.digitalwallet.service.TransactionService.createTransaction(..))"
+            + " || execution(public * com.jfrengineering.digitalwallet.service.TransactionService.createTransfer(..))")
+    public Object limitCustomerRate(ProceedingJoinPoint joinPoint) throws Throwable {
+        UUID customerId = joinPoint.getArgs()[0] instanceof TransferRequest transferRequest
+                ? transferRequest.getFromCustomerId()
+                : ((TransactionRequest) joinPoint.getArgs()[0]).getCustomerId();
+        long waitNanos = customerRateLimiter.tryAcquire(customerId);
+        if (waitNanos > 0) {
+            meterRegistry.counter(REJECTED_METRIC, CUSTOMER_ID_TAG, customerId.toString()).increment();
+            throw new RateLimitExceededException(customerId, Duration.ofNanos(waitNanos));
+        }
+        return joinPoint.proceed();
+    }
+}
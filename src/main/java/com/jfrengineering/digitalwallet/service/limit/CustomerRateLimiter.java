@@ -0,0 +1,58 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// Token bucket per customer in its GCRA (generic cell rate algorithm) form: a bucket is a single timestamp, the time at
+// which it will be full again, moved forward by one emission interval per permit and updated without locks. A permit
+// is taken while that time is at most burst - 1 intervals ahead.
+public class CustomerRateLimiter {
+
+    private final long emissionIntervalNanos;
+    private final long burstToleranceNanos;
+    private final LongSupplier nanoClock;
+    private final Map<UUID, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    public CustomerRateLimiter(double rate, int burst) {
+        this(rate, burst, System::nanoTime);
+    }
+
+    CustomerRateLimiter(double rate, int burst, LongSupplier nanoClock) {
+        this.emissionIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        this.burstToleranceNanos = emissionIntervalNanos * (burst - 1);
+        this.nanoClock = nanoClock;
+    }
+
+    // Returns zero if a permit was taken, otherwise the nanoseconds until the next one is available
+    public long tryAcquire(UUID customerId) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.computeIfAbsent(customerId, id -> new AtomicLong(now));
+        long fullAt = bucket.getAndUpdate(current -> waitNanos(current, now) > 0
+                ? current
+                : now + Math.max(current - now, 0) + emissionIntervalNanos);
+        return Math.max(waitNanos(fullAt, now), 0);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    // A full bucket is the same as a new one, so it can be dropped. A request racing with the eviction may take a
+    // permit from the dropped bucket, allowing one more request than the burst at most.
+    @Scheduled(fixedDelayString = "${wallet.rate-limit.eviction-interval:PT1M}",
+            initialDelayString = "${wallet.rate-limit.eviction-interval:PT1M}")
+    public void evictIdleBuckets() {
+        long now = nanoClock.getAsLong();
+        buckets.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+
+    private long waitNanos(long fullAt, long now) {
+        return fullAt - now - burstToleranceNanos;
+    }
+}
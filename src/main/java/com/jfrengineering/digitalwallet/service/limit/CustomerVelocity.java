@@ -0,0 +1,58 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import com.jfrengineering.digitalwallet.configuration.VelocityLimitProperties.Tier;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+// Withdrawals of a customer over the last hour and day, amounts in pence
+class CustomerVelocity {
+
+    static final Duration HOURLY_WINDOW = Duration.ofHours(1);
+    static final Duration DAILY_WINDOW = Duration.ofDays(1);
+
+    private final SlidingWindow hourly;
+    private final SlidingWindow daily;
+
+    CustomerVelocity(int hourlySlots, int dailySlots) {
+        this.hourly = new SlidingWindow(HOURLY_WINDOW, hourlySlots);
+        this.daily = new SlidingWindow(DAILY_WINDOW, dailySlots);
+    }
+
+    synchronized void add(long atMillis, long amount) {
+        hourly.add(atMillis, amount);
+        daily.add(atMillis, amount);
+    }
+
+    synchronized void remove(long atMillis, long amount) {
+        hourly.remove(atMillis, amount);
+        daily.remove(atMillis, amount);
+    }
+
+    synchronized boolean isEmpty(long nowMillis) {
+        return daily.count(nowMillis) == 0;
+    }
+
+    // Returns the limit the withdrawal would go over, if any
+    synchronized Optional<String> exceededLimit(long nowMillis, long amount, Tier tier) {
+        return exceededLimit("Hourly", hourly, nowMillis, amount, tier.getHourlyAmount(), tier.getHourlyCount())
+                .or(() -> exceededLimit("Daily", daily, nowMillis, amount, tier.getDailyAmount(), tier.getDailyCount()));
+    }
+
+    private static Optional<String> exceededLimit(String period, SlidingWindow window, long nowMillis, long amount,
+                                                  BigDecimal maxAmount, int maxCount) {
+        if (window.count(nowMillis) >= maxCount) {
+            return Optional.of(String.format("%s withdrawal limit of %d transactions reached", period, maxCount));
+        }
+        if (window.amount(nowMillis) + amount > toPence(maxAmount)) {
+            return Optional.of(String.format(Locale.UK, "%s withdrawal limit of £%,.2f exceeded", period, maxAmount));
+        }
+        return Optional.empty();
+    }
+
+    static long toPence(BigDecimal amount) {
+        return amount.movePointRight(2).longValue();
+    }
+}
@@ -0,0 +1,67 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import java.time.Duration;
+
+// Amount and count of the withdrawals of a customer over a sliding window, in slots of window / slots each. A slot is
+// reused once the window has moved past it, so the window covers between window - slot and window of history. Not
+// thread safe, guarded by the customer velocity.
+class SlidingWindow {
+
+    private final long slotMillis;
+    private final long[] slotNumbers;
+    private final long[] amounts;
+    private final int[] counts;
+
+    SlidingWindow(Duration window, int slots) {
+        this.slotMillis = window.toMillis() / slots;
+        this.slotNumbers = new long[slots];
+        this.amounts = new long[slots];
+        this.counts = new int[slots];
+    }
+
+    void add(long atMillis, long amount) {
+        long slot = atMillis / slotMillis;
+        int index = (int) (slot % slotNumbers.length);
+        if (slotNumbers[index] > slot) {
+            return; // older than the window, the slot already holds newer withdrawals
+        }
+        if (slotNumbers[index] < slot) {
+            slotNumbers[index] = slot;
+            amounts[index] = 0;
+            counts[index] = 0;
+        }
+        amounts[index] += amount;
+        counts[index]++;
+    }
+
+    void remove(long atMillis, long amount) {
+        long slot = atMillis / slotMillis;
+        int index = (int) (slot % slotNumbers.length);
+        if (slotNumbers[index] == slot) {
+            amounts[index] -= amount;
+            counts[index]--;
+        }
+    }
+
+    long amount(long nowMillis) {
+        long firstSlot = firstSlot(nowMillis);
+        long amount = 0;
+        for (int index = 0; index < slotNumbers.length; index++) {
+            amount += slotNumbers[index] >= firstSlot ? amounts[index] : 0;
+        }
+        return amount;
+    }
+
+    int count(long nowMillis) {
+        long firstSlot = firstSlot(nowMillis);
+        int count = 0;
+        for (int index = 0; index < slotNumbers.length; index++) {
+            count += slotNumbers[index] >= firstSlot ? counts[index] : 0;
+        }
+        return count;
+    }
+
+    private long firstSlot(long nowMillis) {
+        return nowMillis / slotMillis - slotNumbers.length + 1;
+    }
+}
@@ -0,0 +1,152 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import com.jfrengineering.digitalwallet.configuration.VelocityLimitProperties;
+import com.jfrengineering.digitalwallet.configuration.VelocityLimitProperties.Tier;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import static com.jfrengineering.digitalwallet.service.limit.CustomerVelocity.DAILY_WINDOW;
+import static com.jfrengineering.digitalwallet.service.limit.CustomerVelocity.toPence;
+
+// Hourly and daily withdrawal limits per customer tier, checked against counters held in memory rather than summing
+// the recent transactions on every withdrawal. The check and the record both run while the balance row of the customer
+// is locked, so concurrent withdrawals of a customer cannot go over the limits together.
+@Slf4j
+@Component
+public class VelocityLimiter {
+
+    private final VelocityLimitProperties velocityLimitProperties;
+    private final TransactionRepository transactionRepository;
+    private final CustomerShardRouter customerShardRouter;
+    private final LongSupplier clock;
+    private final long startedAt;
+    private final CustomerVelocity noWithdrawals;
+    private final Map<UUID, CustomerVelocity> velocities = new ConcurrentHashMap<>();
+
+    @Autowired
+    public VelocityLimiter(VelocityLimitProperties velocityLimitProperties, TransactionRepository transactionRepository,
+                           CustomerShardRouter customerShardRouter) {
+        this(velocityLimitProperties, transactionRepository, customerShardRouter, System::currentTimeMillis);
+    }
+
+    VelocityLimiter(VelocityLimitProperties velocityLimitProperties, TransactionRepository transactionRepository,
+                    CustomerShardRouter customerShardRouter, LongSupplier clock) {
+        this.velocityLimitProperties = velocityLimitProperties;
+        this.transactionRepository = transactionRepository;
+        this.customerShardRouter = customerShardRouter;
+        this.clock = clock;
+        this.startedAt = clock.getAsLong();
+        this.noWithdrawals = newVelocity();
+    }
+
+    public void checkWithdrawal(UUID customerId, BigDecimal amount) {
+        if (!velocityLimitProperties.isEnabled()) {
+            return;
+        }
+        Tier tier = velocityLimitProperties.tierOf(customerId);
+        if (tier == null) {
+            return;
+        }
+        CustomerVelocity velocity = velocities.getOrDefault(customerId, noWithdrawals);
+        velocity.exceededLimit(clock.getAsLong(), toPence(amount), tier).ifPresent(limit -> {
+            throw new UnacceptedTransactionAmountException(limit);
+        });
+    }
+
+    // Taken back if the database transaction rolls back
+    public void recordWithdrawal(Transaction transaction) {
+        if (!velocityLimitProperties.isEnabled() || transaction.getOperation() != Operation.WITHDRAW) {
+            return;
+        }
+        UUID customerId = transaction.getCustomerId();
+        long now = clock.getAsLong();
+        long amount = toPence(transaction.getAmount());
+        add(customerId, now, amount);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_ROLLED_BACK) {
+                        velocities.computeIfPresent(customerId, (id, velocity) -> {
+                            velocity.remove(now, amount);
+                            return velocity;
+                        });
+                    }
+                }
+            });
+        }
+    }
+
+    // Withdrawals recorded since this limiter was created are left out, as they are already counted
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadRecentWithdrawals() {
+        if (!velocityLimitProperties.isEnabled()) {
+            return;
+        }
+        customerShardRouter.forEachShard(shard -> loadShard());
+        log.info("Loaded the withdrawals of the last {} of {} customers", DAILY_WINDOW, velocities.size());
+    }
+
+    public int size() {
+        return velocities.size();
+    }
+
+    // Dropped within the same atomic map operation as the records, so a withdrawal is never recorded in a dropped one
+    @Scheduled(fixedDelayString = "${wallet.velocity-limit.eviction-interval:PT1M}",
+            initialDelayString = "${wallet.velocity-limit.eviction-interval:PT1M}")
+    public void evictIdleCustomers() {
+        long now = clock.getAsLong();
+        velocities.keySet().forEach(customerId -> velocities.computeIfPresent(customerId,
+                (id, velocity) -> velocity.isEmpty(now) ? null : velocity));
+    }
+
+    private void loadShard() {
+        int batchSize = velocityLimitProperties.getLoadBatchSize();
+        Timestamp until = new Timestamp(startedAt);
+        Timestamp afterTime = new Timestamp(startedAt - DAILY_WINDOW.toMillis());
+        UUID afterId = new UUID(0, 0);
+        List<Transaction> page;
+        do {
+            page = transactionRepository.findCreatedBetween(Operation.WITHDRAW, until, afterTime, afterId,
+                    PageRequest.of(0, batchSize));
+            page.forEach(transaction -> add(transaction.getCustomerId(), transaction.getCreatedAt().getTime(),
+                    toPence(transaction.getAmount())));
+            if (!page.isEmpty()) {
+                afterTime = page.get(page.size() - 1).getCreatedAt();
+                afterId = page.get(page.size() - 1).getCorrelationId();
+            }
+        } while (page.size() == batchSize);
+    }
+
+    private void add(UUID customerId, long atMillis, long amount) {
+        velocities.compute(customerId, (id, velocity) -> {
+            CustomerVelocity customerVelocity = velocity == null ? newVelocity() : velocity;
+            customerVelocity.add(atMillis, amount);
+            return customerVelocity;
+        });
+    }
+
+    private CustomerVelocity newVelocity() {
+        return new CustomerVelocity(velocityLimitProperties.getHourlySlots(), velocityLimitProperties.getDailySlots());
+    }
+}
@@ -0,0 +1,62 @@
+package com.jfrengineering.digitalwallet.service.offheap;
+
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.datasource.ShardContext;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Writes the balances updated in the off-heap balance table to the balances table, with a JDBC batch per shard. The
+// balances failing to be written are written again on the next flush, and the ones updated while being written stay
+// dirty until their latest version is written. The snapshots and the ledger reconciliation also flush before reading the
+// balances table, waiting for a flush in progress, so they don't see it lag behind by a whole flush interval.
+@Slf4j
+@RequiredArgsConstructor
+public class BalanceWriteBehind {
+
+    static final String UPDATE_BALANCE =
+            "UPDATE balances SET balance_amount = ?, held_amount = ?, updated_at = ? WHERE customer_id = ?";
+
+    private final OffHeapBalanceTable table;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerShardRouter customerShardRouter;
+    private final int batchSize;
+
+    // Also run on shutdown, so the balances updated since the last flush are not left in the off-heap table only
+    @PreDestroy
+    @Scheduled(fixedDelayString = "${wallet.balance-store.flush-interval:PT1S}",
+            initialDelayString = "${wallet.balance-store.flush-interval:PT1S}")
+    public synchronized void flush() {
+        Map<Integer, List<OffHeapBalance>> balancesByShard = table.takeDirty().stream()
+                .collect(Collectors.groupingBy(balance -> customerShardRouter.shardOf(balance.customerId())));
+        balancesByShard.forEach((shard, balances) -> {
+            try {
+                ShardContext.runOn(shard, () -> write(balances));
+            } catch (RuntimeException e) {
+                log.warn("{} balances could not be written to shard {}, retrying on the next flush: {}",
+                        balances.size(), shard, e.getMessage());
+                balances.forEach(balance -> table.markDirty(balance.slot()));
+            }
+        });
+    }
+
+    private void write(List<OffHeapBalance> balances) {
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_BALANCE, balances,
+                batchSize, (statement, balance) -> {
+                    statement.setBigDecimal(1, BigDecimal.valueOf(balance.balanceAmount(), 2));
+                    statement.setBigDecimal(2, BigDecimal.valueOf(balance.heldAmount(), 2));
+                    statement.setTimestamp(3, new Timestamp(balance.updatedAt()));
+                    statement.setString(4, balance.customerId().toString());
+                }));
+    }
+}
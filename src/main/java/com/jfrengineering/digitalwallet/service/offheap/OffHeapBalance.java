@@ -0,0 +1,8 @@
+package com.jfrengineering.digitalwallet.service.offheap;
+
+import java.util.UUID;
+
+// A consistent copy of a slot of the off-heap balance table, with the amounts in minor units
+public record OffHeapBalance(int slot, UUID customerId, long balanceAmount, long heldAmount, long updatedAt,
+                             long version) {
+}
@@ -0,0 +1,185 @@
+package com.jfrengineering.digitalwallet.service.offheap;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import com.jfrengineering.digitalwallet.service.BalanceStore;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+// Serves the balances from the off-heap balance table, loading the missing ones from the balances table. The row locks
+// are replaced by striped locks held until the end of the database transaction, and the updates are only written to
+// the off-heap table when it commits, so a rolled back transaction leaves it untouched. The balances table is then
+// updated asynchronously by the BalanceWriteBehind, or on demand by flush().
+public class OffHeapBalanceStore implements BalanceStore {
+
+    private final OffHeapBalanceTable table;
+    private final BalanceRepository balanceRepository;
+    private final BalanceWriteBehind balanceWriteBehind;
+    private final Lock[] locks;
+    private final long lockTimeoutNanos;
+    private final LongSupplier clock;
+
+    public OffHeapBalanceStore(OffHeapBalanceTable table, BalanceRepository balanceRepository,
+                               BalanceWriteBehind balanceWriteBehind, int lockStripes, Duration lockTimeout) {
+        this(table, balanceRepository, balanceWriteBehind, lockStripes, lockTimeout, System::currentTimeMillis);
+    }
+
+    OffHeapBalanceStore(OffHeapBalanceTable table, BalanceRepository balanceRepository,
+                        BalanceWriteBehind balanceWriteBehind, int lockStripes, Duration lockTimeout,
+                        LongSupplier clock) {
+        this.table = table;
+        this.balanceRepository = balanceRepository;
+        this.balanceWriteBehind = balanceWriteBehind;
+        this.locks = new Lock[lockStripes];
+        for (int stripe = 0; stripe < lockStripes; stripe++) {
+            locks[stripe] = new ReentrantLock();
+        }
+        this.lockTimeoutNanos = lockTimeout.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<Balance> findById(UUID customerId) {
+        return findSlot(customerId).map(slot -> toBalance(table.read(slot)));
+    }
+
+    // A balance locked again in the same transaction is returned with the changes made to it
+    @Override
+    public Optional<Balance> findByIdForUpdate(UUID customerId) {
+        LockedBalances lockedBalances = lockedBalances();
+        Balance balance = lockedBalances.balances.get(customerId);
+        if (balance == null) {
+            lockedBalances.lock(customerId, locks[stripeOf(customerId)]);
+            Optional<Balance> found = findById(customerId);
+            found.ifPresent(foundBalance -> lockedBalances.balances.put(customerId, foundBalance));
+            return found;
+        }
+        return Optional.of(balance);
+    }
+
+    // The stripes are locked in ascending order instead, as customers locked in customer ID order may share their
+    // stripes with the customers of another transaction in the opposite order
+    @Override
+    public Map<UUID, Balance> findAllByIdForUpdate(Collection<UUID> customerIds) {
+        Map<UUID, Balance> balances = new HashMap<>();
+        customerIds.stream()
+                .distinct()
+                .sorted(Comparator.comparingInt(this::stripeOf).thenComparing(Comparator.naturalOrder()))
+                .forEach(customerId -> findByIdForUpdate(customerId)
+                        .ifPresent(balance -> balances.put(customerId, balance)));
+        return balances;
+    }
+
+    @Override
+    public void save(Balance balance) {
+        LockedBalances lockedBalances = lockedBalances();
+        if (lockedBalances.balances.get(balance.getCustomerId()) != balance) {
+            throw new IllegalStateException(String.format("Balance of customer '%s' is not locked by the transaction",
+                    balance.getCustomerId()));
+        }
+        lockedBalances.updated.add(balance);
+    }
+
+    @Override
+    public void flush() {
+        balanceWriteBehind.flush();
+    }
+
+    private int stripeOf(UUID customerId) {
+        return Math.floorMod(customerId.hashCode(), locks.length);
+    }
+
+    private Optional<Integer> findSlot(UUID customerId) {
+        int slot = table.find(customerId);
+        if (slot >= 0) {
+            return Optional.of(slot);
+        }
+        return balanceRepository.findById(customerId).map(balance -> table.insert(customerId,
+                toMinorUnits(balance.getBalanceAmount()), toMinorUnits(balance.getHeldAmount()),
+                Optional.ofNullable(balance.getUpdatedAt()).map(Timestamp::getTime).orElse(0L)));
+    }
+
+    private LockedBalances lockedBalances() {
+        LockedBalances lockedBalances = (LockedBalances) TransactionSynchronizationManager.getResource(this);
+        if (lockedBalances == null) {
+            if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+                throw new IllegalStateException("Balances can only be locked within a database transaction");
+            }
+            lockedBalances = new LockedBalances();
+            TransactionSynchronizationManager.bindResource(this, lockedBalances);
+            TransactionSynchronizationManager.registerSynchronization(lockedBalances);
+        }
+        return lockedBalances;
+    }
+
+    static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    static Balance toBalance(OffHeapBalance offHeapBalance) {
+        return Balance.builder()
+                .customerId(offHeapBalance.customerId())
+                .balanceAmount(BigDecimal.valueOf(offHeapBalance.balanceAmount(), 2))
+                .heldAmount(BigDecimal.valueOf(offHeapBalance.heldAmount(), 2))
+                .updatedAt(new Timestamp(offHeapBalance.updatedAt()))
+                .build();
+    }
+
+    private class LockedBalances implements TransactionSynchronization {
+
+        private final Map<UUID, Balance> balances = new HashMap<>();
+        private final Set<Balance> updated = new LinkedHashSet<>();
+        private final List<Lock> heldLocks = new ArrayList<>();
+
+        // Times out as a database lock would, instead of waiting forever for a stripe locked in the opposite order
+        void lock(UUID customerId, Lock lock) {
+            try {
+                if (!lock.tryLock(lockTimeoutNanos, TimeUnit.NANOSECONDS)) {
+                    throw new CannotAcquireLockException(String.format(
+                            "Balance of customer '%s' could not be locked", customerId));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new CannotAcquireLockException(String.format(
+                        "Interrupted while locking the balance of customer '%s'", customerId), e);
+            }
+            heldLocks.add(lock);
+        }
+
+        @Override
+        public void afterCommit() {
+            long now = clock.getAsLong();
+            updated.forEach(balance -> {
+                balance.setUpdatedAt(new Timestamp(now));
+                table.write(table.find(balance.getCustomerId()), toMinorUnits(balance.getBalanceAmount()),
+                        toMinorUnits(balance.getHeldAmount()), now);
+            });
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResource(OffHeapBalanceStore.this);
+            heldLocks.forEach(Lock::unlock);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.jfrengineering.digitalwallet.service.offheap;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Open-addressing hash table of balances in a memory-mapped file, so millions of balances add nothing to the garbage
+// collector work. The file is emptied on each open, so the table is rebuilt from the balances table, as the balances
+// are loaded again, instead of serving balances the database may no longer have. After a 64 bytes header, each slot
+// takes 64 bytes, aligned to a cache line:
+//   0 state: EMPTY, CLAIMED while its customer ID is written, then USED
+//   8 customer ID, most significant bits
+//  16 customer ID, least significant bits
+//  24 version, odd while the slot is written, so readers retry instead of reading half a balance (seqlock)
+//  32 balance amount, in minor units
+//  40 held amount, in minor units
+//  48 updatedAt, epoch milliseconds
+// Slots are never removed. The writes of a slot must be serialized by the caller, while readers take no locks.
+public class OffHeapBalanceTable implements Closeable {
+
+    static final long MAGIC = 0x57414C4C45544231L; // "WALLETB1"
+    static final int HEADER_LENGTH = 64;
+    static final int SLOT_LENGTH = 64;
+    static final int MAX_CAPACITY = 1 << 24;
+
+    static final long EMPTY = 0;
+    static final long CLAIMED = 1;
+    static final long USED = 2;
+
+    private static final int STATE = 0;
+    private static final int MOST_SIGNIFICANT_BITS = 8;
+    private static final int LEAST_SIGNIFICANT_BITS = 16;
+    private static final int VERSION = 24;
+    private static final int BALANCE_AMOUNT = 32;
+    private static final int HELD_AMOUNT = 40;
+    private static final int UPDATED_AT = 48;
+
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.BIG_ENDIAN);
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int maxSize;
+    private final AtomicInteger size = new AtomicInteger();
+    // One bit per slot written since it was last persisted
+    private final AtomicLongArray dirtySlots;
+
+    private OffHeapBalanceTable(Path file, MappedByteBuffer buffer, int capacity) {
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = capacity;
+        this.maxSize = capacity / 4 * 3;
+        this.dirtySlots = new AtomicLongArray(Math.max(1, capacity / Long.SIZE));
+    }
+
+    public static OffHeapBalanceTable open(Path file, int capacity) throws IOException {
+        if (Integer.bitCount(capacity) != 1 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(
+                    "The capacity of the off-heap balance table must be a power of two up to " + MAX_CAPACITY);
+        }
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        return new OffHeapBalanceTable(file, map(file, capacity), capacity);
+    }
+
+    private static MappedByteBuffer map(Path file, int capacity) throws IOException {
+        long length = HEADER_LENGTH + (long) capacity * SLOT_LENGTH;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, length);
+            buffer.putLong(0, MAGIC);
+            buffer.putLong(8, capacity);
+            return buffer;
+        }
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    // Returns the slot of the customer, or -1 if not in the table. A quarter of the slots are always empty, so the
+    // probing ends on one of them at the latest.
+    public int find(UUID customerId) {
+        for (int slot = indexOf(customerId); ; slot = next(slot)) {
+            long state = awaitState(slot);
+            if (state == EMPTY) {
+                return -1;
+            }
+            if (holds(slot, customerId)) {
+                return slot;
+            }
+        }
+    }
+
+    // Returns the slot of the customer, which keeps its balance if it was already in the table
+    public int insert(UUID customerId, long balanceAmount, long heldAmount, long updatedAt) {
+        int slot = indexOf(customerId);
+        while (true) {
+            long state = awaitState(slot);
+            if (state != EMPTY) {
+                if (holds(slot, customerId)) {
+                    return slot;
+                }
+                slot = next(slot);
+            } else if (claim(slot)) {
+                int base = base(slot);
+                buffer.putLong(base + MOST_SIGNIFICANT_BITS, customerId.getMostSignificantBits());
+                buffer.putLong(base + LEAST_SIGNIFICANT_BITS, customerId.getLeastSignificantBits());
+                buffer.putLong(base + BALANCE_AMOUNT, balanceAmount);
+                buffer.putLong(base + HELD_AMOUNT, heldAmount);
+                buffer.putLong(base + UPDATED_AT, updatedAt);
+                LONGS.setRelease(buffer, base + STATE, USED);
+                return slot;
+            }
+            // Otherwise the empty slot was claimed by someone else meanwhile and is read again, it may be for the same
+            // customer
+        }
+    }
+
+    public OffHeapBalance read(int slot) {
+        int base = base(slot);
+        UUID customerId = new UUID(buffer.getLong(base + MOST_SIGNIFICANT_BITS),
+                buffer.getLong(base + LEAST_SIGNIFICANT_BITS));
+        while (true) {
+            long version = (long) LONGS.getAcquire(buffer, base + VERSION);
+            long balanceAmount = (long) LONGS.getOpaque(buffer, base + BALANCE_AMOUNT);
+            long heldAmount = (long) LONGS.getOpaque(buffer, base + HELD_AMOUNT);
+            long updatedAt = (long) LONGS.getOpaque(buffer, base + UPDATED_AT);
+            VarHandle.loadLoadFence();
+            if ((version & 1) == 0 && version == (long) LONGS.getOpaque(buffer, base + VERSION)) {
+                return new OffHeapBalance(slot, customerId, balanceAmount, heldAmount, updatedAt, version);
+            }
+            Thread.onSpinWait();
+        }
+    }
+
+    public void write(int slot, long balanceAmount, long heldAmount, long updatedAt) {
+        int base = base(slot);
+        long version = (long) LONGS.getOpaque(buffer, base + VERSION);
+        LONGS.setVolatile(buffer, base + VERSION, version + 1);
+        LONGS.setOpaque(buffer, base + BALANCE_AMOUNT, balanceAmount);
+        LONGS.setOpaque(buffer, base + HELD_AMOUNT, heldAmount);
+        LONGS.setOpaque(buffer, base + UPDATED_AT, updatedAt);
+        LONGS.setRelease(buffer, base + VERSION, version + 2);
+        markDirty(slot);
+    }
+
+    // The balances written since they were last persisted, taken once: the ones failing to persist must be marked
+    // dirty again
+    public List<OffHeapBalance> takeDirty() {
+        List<OffHeapBalance> balances = new ArrayList<>();
+        for (int word = 0; word < dirtySlots.length(); word++) {
+            long bits = dirtySlots.getAndSet(word, 0);
+            while (bits != 0) {
+                balances.add(read(word * Long.SIZE + Long.numberOfTrailingZeros(bits)));
+                bits &= bits - 1;
+            }
+        }
+        return balances;
+    }
+
+    public void markDirty(int slot) {
+        dirtySlots.getAndUpdate(slot / Long.SIZE, bits -> bits | 1L << slot);
+    }
+
+    @Override
+    public void close() {
+        buffer.force();
+    }
+
+    private boolean claim(int slot) {
+        if (size.incrementAndGet() > maxSize) {
+            size.decrementAndGet();
+            throw new IllegalStateException("Off-heap balance table is full: " + file);
+        }
+        if (LONGS.compareAndSet(buffer, base(slot) + STATE, EMPTY, CLAIMED)) {
+            return true;
+        }
+        size.decrementAndGet();
+        return false;
+    }
+
+    // A claimed slot is about to be used, possibly by the same customer
+    private long awaitState(int slot) {
+        long state = (long) LONGS.getAcquire(buffer, base(slot) + STATE);
+        while (state == CLAIMED) {
+            Thread.onSpinWait();
+            state = (long) LONGS.getAcquire(buffer, base(slot) + STATE);
+        }
+        return state;
+    }
+
+    private boolean holds(int slot, UUID customerId) {
+        int base = base(slot);
+        return buffer.getLong(base + MOST_SIGNIFICANT_BITS) == customerId.getMostSignificantBits()
+                && buffer.getLong(base + LEAST_SIGNIFICANT_BITS) == customerId.getLeastSignificantBits();
+    }
+
+    private int indexOf(UUID customerId) {
+        long hash = customerId.getMostSignificantBits() ^ customerId.getLeastSignificantBits();
+        hash = (hash ^ (hash >>> 33)) * 0xFF51AFD7ED558CCDL;
+        return (int) (hash ^ (hash >>> 33)) & (capacity - 1);
+    }
+
+    private int next(int slot) {
+        return (slot + 1) & (capacity - 1);
+    }
+
+    private static int base(int slot) {
+        return HEADER_LENGTH + slot * SLOT_LENGTH;
+    }
+}
@@ -0,0 +1,38 @@
+package com.jfrengineering.digitalwallet.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.OutboxEvent;
+import lombok.RequiredArgsConstructor;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+// Appends the events to a local file as JSON lines
+@RequiredArgsConstructor
+public class FileOutboxSink implements OutboxSink {
+
+    private final Path file;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public int publish(List<OutboxEvent> events) {
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (OutboxEvent event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            throw new OutboxException("Outbox events could not be written to " + file, e);
+        }
+        return events.size();
+    }
+}
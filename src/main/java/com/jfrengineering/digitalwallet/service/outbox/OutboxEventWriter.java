@@ -0,0 +1,27 @@
+package com.jfrengineering.digitalwallet.service.outbox;
+
+import com.jfrengineering.digitalwallet.domain.OutboxEvent;
+import com.jfrengineering.digitalwallet.repository.OutboxEventRepository;
+import com.jfrengineering.digitalwallet.service.TransactionCreatedEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Not a transactional event listener: the outbox row must be written in the same database transaction as the
+// transaction row, so both are committed or neither is
+@Component
+@ConditionalOnProperty(prefix = "wallet.outbox", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+public class OutboxEventWriter {
+
+    private final OutboxEventRepository outboxEventRepository;
+
+    @EventListener
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        outboxEventRepository.save(OutboxEvent.of(event.transaction()));
+    }
+}
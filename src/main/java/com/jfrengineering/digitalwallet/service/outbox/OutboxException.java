@@ -0,0 +1,7 @@
+package com.jfrengineering.digitalwallet.service.outbox;
+
+public class OutboxException extends RuntimeException {
+    public OutboxException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,95 @@
+package com.jfrengineering.digitalwallet.service.outbox;
+
+import com.jfrengineering.digitalwallet.configuration.OutboxProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.OutboxEvent;
+import com.jfrengineering.digitalwallet.repository.OutboxEventRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Delivers the outbox events at least once, in the order they were written, and deletes them once delivered. Runs on
+// its own thread rather than on the shared scheduler, so the other jobs don't add to the publishing latency.
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "wallet.outbox", name = "enabled", havingValue = "true")
+public class OutboxRelay {
+
+    private final OutboxProperties outboxProperties;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerShardRouter customerShardRouter;
+    private final ScheduledExecutorService relayer;
+
+    @Autowired
+    public OutboxRelay(OutboxProperties outboxProperties, OutboxEventRepository outboxEventRepository,
+                       OutboxSink outboxSink, TransactionTemplate transactionTemplate,
+                       CustomerShardRouter customerShardRouter) {
+        this(outboxProperties, outboxEventRepository, outboxSink, transactionTemplate, customerShardRouter,
+                Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("outbox-relay-")));
+    }
+
+    OutboxRelay(OutboxProperties outboxProperties, OutboxEventRepository outboxEventRepository, OutboxSink outboxSink,
+                TransactionTemplate transactionTemplate, CustomerShardRouter customerShardRouter,
+                ScheduledExecutorService relayer) {
+        this.outboxProperties = outboxProperties;
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.transactionTemplate = transactionTemplate;
+        this.customerShardRouter = customerShardRouter;
+        this.relayer = relayer;
+    }
+
+    @PostConstruct
+    public void start() {
+        long pollIntervalMillis = outboxProperties.getPollInterval().toMillis();
+        relayer.scheduleWithFixedDelay(this::poll, pollIntervalMillis, pollIntervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        relayer.shutdownNow();
+    }
+
+    public void relay() {
+        customerShardRouter.forEachShard(shard -> relayShard());
+    }
+
+    void poll() {
+        try {
+            relay();
+        } catch (RuntimeException e) {
+            // Not thrown, or the relayer would not run it again
+            log.error("Outbox relay failed, retrying on the next poll", e);
+        }
+    }
+
+    // Stops when the outbox is drained, when the sink does not take a whole batch, or after the batches allowed per
+    // poll, so a backlog is relayed shard by shard in bounded runs
+    private void relayShard() {
+        int batchSize = outboxProperties.getBatchSize();
+        for (int batch = 0; batch < outboxProperties.getMaxBatchesPerPoll(); batch++) {
+            List<OutboxEvent> events = outboxEventRepository.findAllByOrderByIdAsc(PageRequest.of(0, batchSize));
+            int published = events.isEmpty() ? 0 : outboxSink.publish(events);
+            if (published > 0) {
+                List<Long> ids = events.subList(0, published).stream().map(OutboxEvent::getId).toList();
+                transactionTemplate.executeWithoutResult(status -> outboxEventRepository.deleteByIdIn(ids));
+            }
+            if (published < batchSize) {
+                return;
+            }
+        }
+    }
+}
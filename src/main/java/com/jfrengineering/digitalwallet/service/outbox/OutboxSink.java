@@ -0,0 +1,11 @@
+package com.jfrengineering.digitalwallet.service.outbox;
+
+import com.jfrengineering.digitalwallet.domain.OutboxEvent;
+
+import java.util.List;
+
+public interface OutboxSink {
+    // Returns how many of the events, from the first one, have been delivered. The rest are relayed again later, so
+    // returning fewer than given applies backpressure, and throwing an exception delivers none.
+    int publish(List<OutboxEvent> events);
+}
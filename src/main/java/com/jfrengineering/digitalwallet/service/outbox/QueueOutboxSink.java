@@ -0,0 +1,30 @@
+package com.jfrengineering.digitalwallet.service.outbox;
+
+import com.jfrengineering.digitalwallet.domain.OutboxEvent;
+
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// In-process sink, consumers take the events from a bounded queue and the relay holds back when it is full
+public class QueueOutboxSink implements OutboxSink {
+
+    private final BlockingQueue<OutboxEvent> queue;
+
+    public QueueOutboxSink(int capacity) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    @Override
+    public int publish(List<OutboxEvent> events) {
+        int published = 0;
+        while (published < events.size() && queue.offer(events.get(published))) {
+            published++;
+        }
+        return published;
+    }
+
+    public BlockingQueue<OutboxEvent> getQueue() {
+        return queue;
+    }
+}
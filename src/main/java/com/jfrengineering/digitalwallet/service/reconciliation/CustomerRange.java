@@ -0,0 +1,7 @@
+package com.jfrengineering.digitalwallet.service.reconciliation;
+
+import java.util.UUID;
+
+// Customers from the first ID, inclusive, to the next range's first ID, exclusive, or to the end if there is none
+record CustomerRange(UUID firstCustomerId, UUID nextRangeCustomerId) {
+}
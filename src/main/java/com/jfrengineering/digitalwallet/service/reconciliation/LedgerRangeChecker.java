@@ -0,0 +1,108 @@
+package com.jfrengineering.digitalwallet.service.reconciliation;
+
+import com.jfrengineering.digitalwallet.domain.ReconciliationDiscrepancy;
+import com.jfrengineering.digitalwallet.repository.ReconciliationDiscrepancyRepository;
+import com.jfrengineering.digitalwallet.service.BalanceStore;
+import com.jfrengineering.digitalwallet.service.archive.TransactionArchive;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.service.reconciliation.ReconciliationStatements.SELECT_FIRST_CUSTOMER;
+import static com.jfrengineering.digitalwallet.service.reconciliation.ReconciliationStatements.SELECT_LEDGER_OF_CUSTOMER;
+import static com.jfrengineering.digitalwallet.service.reconciliation.ReconciliationStatements.SELECT_LEDGER_OF_LAST_RANGE;
+import static com.jfrengineering.digitalwallet.service.reconciliation.ReconciliationStatements.SELECT_LEDGER_OF_RANGE;
+import static com.jfrengineering.digitalwallet.service.reconciliation.ReconciliationStatements.SELECT_NEXT_RANGE_CUSTOMER;
+
+// Works on the shard of the current thread. Each range is read within a single snapshot transaction, so a transaction
+// committed meanwhile is either in both the balance and the ledger or in none of them, and no row is locked
+@RequiredArgsConstructor
+class LedgerRangeChecker {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransactionTemplate;
+    private final TransactionArchive transactionArchive;
+    private final ReconciliationDiscrepancyRepository reconciliationDiscrepancyRepository;
+    private final BalanceStore balanceStore;
+
+    // Only the first customer of each range is kept in memory
+    List<CustomerRange> splitIntoRanges(int rangeSize) {
+        List<CustomerRange> ranges = new ArrayList<>();
+        UUID firstCustomerId = toCustomerId(jdbcTemplate.queryForObject(SELECT_FIRST_CUSTOMER, String.class));
+        while (firstCustomerId != null) {
+            UUID nextRangeCustomerId = jdbcTemplate.query(SELECT_NEXT_RANGE_CUSTOMER,
+                    row -> row.next() ? toCustomerId(row.getString(1)) : null, firstCustomerId.toString(), rangeSize);
+            ranges.add(new CustomerRange(firstCustomerId, nextRangeCustomerId));
+            firstCustomerId = nextRangeCustomerId;
+        }
+        return ranges;
+    }
+
+    // Rows archived while the range is read may be counted twice or missed, and balances updated since the run started
+    // may not be written yet by the balance store, so mismatches are checked again after flushing it
+    RangeResult check(UUID runId, CustomerRange range) {
+        List<ReconciliationDiscrepancy> mismatches = new ArrayList<>();
+        long customers = snapshotTransactionTemplate.execute(status -> readRange(runId, range, mismatches));
+        if (!mismatches.isEmpty()) {
+            balanceStore.flush();
+        }
+        List<ReconciliationDiscrepancy> discrepancies = mismatches.stream()
+                .flatMap(mismatch -> checkAgain(runId, mismatch.getCustomerId()).stream())
+                .toList();
+        reconciliationDiscrepancyRepository.saveAll(discrepancies);
+        return new RangeResult(customers, discrepancies.size());
+    }
+
+    private long readRange(UUID runId, CustomerRange range, List<ReconciliationDiscrepancy> mismatches) {
+        long[] customers = {0};
+        RowCallbackHandler rowHandler = row -> {
+            customers[0]++;
+            toDiscrepancy(runId, row).ifPresent(mismatches::add);
+        };
+        if (range.nextRangeCustomerId() == null) {
+            jdbcTemplate.query(SELECT_LEDGER_OF_LAST_RANGE, rowHandler, range.firstCustomerId().toString());
+        } else {
+            jdbcTemplate.query(SELECT_LEDGER_OF_RANGE, rowHandler, range.firstCustomerId().toString(),
+                    range.nextRangeCustomerId().toString());
+        }
+        return customers[0];
+    }
+
+    private Optional<ReconciliationDiscrepancy> checkAgain(UUID runId, UUID customerId) {
+        return snapshotTransactionTemplate.execute(status -> jdbcTemplate.query(SELECT_LEDGER_OF_CUSTOMER,
+                        (row, rowNumber) -> toDiscrepancy(runId, row), customerId.toString()))
+                .stream()
+                .flatMap(Optional::stream)
+                .findFirst();
+    }
+
+    private Optional<ReconciliationDiscrepancy> toDiscrepancy(UUID runId, ResultSet row) throws SQLException {
+        UUID customerId = toCustomerId(row.getString("customer_id"));
+        BigDecimal balanceAmount = row.getBigDecimal("balance_amount");
+        BigDecimal ledgerAmount = row.getBigDecimal("ledger_amount")
+                .add(transactionArchive.netAmountByCustomerId(customerId));
+        if (balanceAmount.compareTo(ledgerAmount) == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(ReconciliationDiscrepancy.builder()
+                .id(UUID.randomUUID())
+                .runId(runId)
+                .customerId(customerId)
+                .balanceAmount(balanceAmount)
+                .ledgerAmount(ledgerAmount)
+                .build());
+    }
+
+    private static UUID toCustomerId(String customerId) {
+        return customerId == null ? null : UUID.fromString(customerId);
+    }
+}
@@ -0,0 +1,173 @@
+package com.jfrengineering.digitalwallet.service.reconciliation;
+
+import com.jfrengineering.digitalwallet.configuration.ReconciliationProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.datasource.ShardContext;
+import com.jfrengineering.digitalwallet.repository.ReconciliationDiscrepancyRepository;
+import com.jfrengineering.digitalwallet.service.BalanceStore;
+import com.jfrengineering.digitalwallet.service.archive.TransactionArchive;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Checks that every balance equals the credits less the debits of its transactions, archived ones included. The
+// customers of each shard are split into ranges checked in parallel, and the mismatches found are kept in the
+// reconciliation_discrepancies table of the shard. Runs on its own thread, as a run may take long enough to hold back
+// the other jobs of the shared scheduler. The balance store is flushed first, so the balances table does not lag behind
+// the ledger by the updates the off-heap balance store has not written yet
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "wallet.reconciliation", name = "enabled", havingValue = "true")
+public class LedgerReconciliationJob {
+
+    static final String PROGRESS_METRIC = "wallet.reconciliation.progress";
+    static final String THROUGHPUT_METRIC = "wallet.reconciliation.throughput";
+    static final String CUSTOMERS_METRIC = "wallet.reconciliation.customers";
+    static final String DISCREPANCIES_METRIC = "wallet.reconciliation.discrepancies";
+
+    private final ReconciliationProperties reconciliationProperties;
+    private final LedgerRangeChecker ledgerRangeChecker;
+    private final CustomerShardRouter customerShardRouter;
+    private final BalanceStore balanceStore;
+    private final ForkJoinPool forkJoinPool;
+    private final ScheduledExecutorService reconciler;
+    private final AtomicInteger totalRanges = new AtomicInteger();
+    private final AtomicInteger checkedRanges = new AtomicInteger();
+    private final Counter checkedCustomers;
+    private final Counter foundDiscrepancies;
+    private volatile double customersPerSecond;
+
+    @Autowired
+    public LedgerReconciliationJob(ReconciliationProperties reconciliationProperties, DataSource dataSource,
+                                   PlatformTransactionManager transactionManager, TransactionArchive transactionArchive,
+                                   ReconciliationDiscrepancyRepository reconciliationDiscrepancyRepository,
+                                   CustomerShardRouter customerShardRouter, BalanceStore balanceStore,
+                                   MeterRegistry meterRegistry) {
+        this(reconciliationProperties, new LedgerRangeChecker(
+                        createJdbcTemplate(dataSource, reconciliationProperties.getFetchSize()),
+                        createSnapshotTransactionTemplate(transactionManager), transactionArchive,
+                        reconciliationDiscrepancyRepository, balanceStore),
+                customerShardRouter, balanceStore, meterRegistry,
+                Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("ledger-reconciliation-")));
+    }
+
+    LedgerReconciliationJob(ReconciliationProperties reconciliationProperties, LedgerRangeChecker ledgerRangeChecker,
+                            CustomerShardRouter customerShardRouter, BalanceStore balanceStore,
+                            MeterRegistry meterRegistry, ScheduledExecutorService reconciler) {
+        this.reconciliationProperties = reconciliationProperties;
+        this.ledgerRangeChecker = ledgerRangeChecker;
+        this.customerShardRouter = customerShardRouter;
+        this.balanceStore = balanceStore;
+        this.forkJoinPool = new ForkJoinPool(reconciliationProperties.getParallelism());
+        this.reconciler = reconciler;
+        Gauge.builder(PROGRESS_METRIC, this, LedgerReconciliationJob::getProgress)
+                .description("Fraction of the customer ranges checked by the current or last reconciliation")
+                .register(meterRegistry);
+        Gauge.builder(THROUGHPUT_METRIC, this, LedgerReconciliationJob::getCustomersPerSecond)
+                .description("Customers checked per second by the last reconciliation")
+                .register(meterRegistry);
+        this.checkedCustomers = Counter.builder(CUSTOMERS_METRIC)
+                .description("Customers checked by reconciliations")
+                .register(meterRegistry);
+        this.foundDiscrepancies = Counter.builder(DISCREPANCIES_METRIC)
+                .description("Balances not matching their transactions found by reconciliations")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long intervalMillis = reconciliationProperties.getInterval().toMillis();
+        reconciler.scheduleWithFixedDelay(this::run, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public void reconcile() {
+        UUID runId = UUID.randomUUID();
+        long start = System.nanoTime();
+        balanceStore.flush();
+        List<List<CustomerRange>> rangesByShard = new ArrayList<>();
+        customerShardRouter.forEachShard(shard ->
+                rangesByShard.add(ledgerRangeChecker.splitIntoRanges(reconciliationProperties.getRangeSize())));
+        checkedRanges.set(0);
+        totalRanges.set(rangesByShard.stream().mapToInt(List::size).sum());
+        RangeResult result = RangeResult.EMPTY;
+        for (int shard = 0; shard < rangesByShard.size(); shard++) {
+            int rangeShard = shard;
+            result = result.plus(forkJoinPool.invoke(new ReconciliationTask(rangesByShard.get(shard),
+                    range -> checkOnShard(rangeShard, runId, range))));
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        customersPerSecond = result.customers() * 1e9 / Math.max(1, elapsedNanos);
+        log.info("Reconciliation {} checked {} customers in {} ranges in {} ms, {} discrepancies found", runId,
+                result.customers(), totalRanges.get(), TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                result.discrepancies());
+    }
+
+    @PreDestroy
+    public void close() {
+        reconciler.shutdownNow();
+        forkJoinPool.shutdownNow();
+    }
+
+    void run() {
+        try {
+            reconcile();
+        } catch (RuntimeException e) {
+            // Not thrown, or the reconciler would not run it again
+            log.error("Reconciliation failed, retrying on the next run", e);
+        }
+    }
+
+    double getProgress() {
+        int total = totalRanges.get();
+        return total == 0 ? 1 : (double) checkedRanges.get() / total;
+    }
+
+    double getCustomersPerSecond() {
+        return customersPerSecond;
+    }
+
+    // Pool threads don't inherit the shard of the caller
+    private RangeResult checkOnShard(int shard, UUID runId, CustomerRange range) {
+        RangeResult result = ShardContext.callOn(shard, () -> ledgerRangeChecker.check(runId, range));
+        checkedCustomers.increment(result.customers());
+        foundDiscrepancies.increment(result.discrepancies());
+        checkedRanges.incrementAndGet();
+        return result;
+    }
+
+    private static JdbcTemplate createJdbcTemplate(DataSource dataSource, int fetchSize) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.setFetchSize(fetchSize);
+        return jdbcTemplate;
+    }
+
+    // Read-only, so a replica is used if configured, and serializable, so H2 reads a single MVCC snapshot without
+    // taking locks that would hold back the transactions being created
+    private static TransactionTemplate createSnapshotTransactionTemplate(PlatformTransactionManager transactionManager) {
+        TransactionTemplate snapshotTransactionTemplate = new TransactionTemplate(transactionManager);
+        snapshotTransactionTemplate.setReadOnly(true);
+        snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        return snapshotTransactionTemplate;
+    }
+}
@@ -0,0 +1,10 @@
+package com.jfrengineering.digitalwallet.service.reconciliation;
+
+record RangeResult(long customers, long discrepancies) {
+
+    static final RangeResult EMPTY = new RangeResult(0, 0);
+
+    RangeResult plus(RangeResult other) {
+        return new RangeResult(customers + other.customers, discrepancies + other.discrepancies);
+    }
+}
@@ -0,0 +1,22 @@
+package com.jfrengineering.digitalwallet.service.reconciliation;
+
+final class ReconciliationStatements {
+
+    static final String SELECT_FIRST_CUSTOMER = "SELECT MIN(customer_id) FROM balances";
+    static final String SELECT_NEXT_RANGE_CUSTOMER = "SELECT customer_id FROM balances WHERE customer_id >= ? "
+            + "ORDER BY customer_id OFFSET ? ROWS FETCH NEXT 1 ROWS ONLY";
+
+    // The transactions are summed up by the database, only a row per customer is streamed back
+    private static final String SELECT_LEDGER = "SELECT b.customer_id, b.balance_amount, "
+            + "COALESCE(SUM(CASE WHEN t.operation = 'ADD' THEN t.amount ELSE -t.amount END), 0) AS ledger_amount "
+            + "FROM balances b LEFT JOIN transactions t ON t.customer_id = b.customer_id ";
+    private static final String GROUP_BY_CUSTOMER = " GROUP BY b.customer_id, b.balance_amount";
+
+    static final String SELECT_LEDGER_OF_RANGE =
+            SELECT_LEDGER + "WHERE b.customer_id >= ? AND b.customer_id < ?" + GROUP_BY_CUSTOMER;
+    static final String SELECT_LEDGER_OF_LAST_RANGE = SELECT_LEDGER + "WHERE b.customer_id >= ?" + GROUP_BY_CUSTOMER;
+    static final String SELECT_LEDGER_OF_CUSTOMER = SELECT_LEDGER + "WHERE b.customer_id = ?" + GROUP_BY_CUSTOMER;
+
+    private ReconciliationStatements() {
+    }
+}
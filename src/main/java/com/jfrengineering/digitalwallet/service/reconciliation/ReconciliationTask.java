@@ -0,0 +1,30 @@
+package com.jfrengineering.digitalwallet.service.reconciliation;
+
+import java.util.List;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Function;
+
+// Halves the ranges until a single one is left, so idle workers steal the halves still waiting
+class ReconciliationTask extends RecursiveTask<RangeResult> {
+
+    private final List<CustomerRange> ranges;
+    private final Function<CustomerRange, RangeResult> rangeCheck;
+
+    ReconciliationTask(List<CustomerRange> ranges, Function<CustomerRange, RangeResult> rangeCheck) {
+        this.ranges = ranges;
+        this.rangeCheck = rangeCheck;
+    }
+
+    @Override
+    protected RangeResult compute() {
+        if (ranges.size() <= 1) {
+            return ranges.stream().map(rangeCheck).findFirst().orElse(RangeResult.EMPTY);
+        }
+        int middle = ranges.size() / 2;
+        ReconciliationTask firstHalf = new ReconciliationTask(ranges.subList(0, middle), rangeCheck);
+        firstHalf.fork();
+        RangeResult secondHalfResult = new ReconciliationTask(ranges.subList(middle, ranges.size()), rangeCheck)
+                .compute();
+        return firstHalf.join().plus(secondHalfResult);
+    }
+}
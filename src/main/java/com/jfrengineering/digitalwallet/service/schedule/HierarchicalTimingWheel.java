@@ -0,0 +1,106 @@
+package com.jfrengineering.digitalwallet.service.schedule;
+
+import java.util.ArrayDeque;
+import java.util.function.Consumer;
+
+// Level 0 has a slot per tick, and each level above a slot per turn of the level below. A timer goes into the lowest
+// level reaching its deadline, and moves down a level each time the wheel turns into its slot, so adding a timer,
+// expiring it and each tick are O(1) whatever the number of timers, and a timer moves at most once per level.
+// Not thread safe, it is meant to be driven by a single thread.
+public class HierarchicalTimingWheel<T> {
+
+    private final long tickMillis;
+    private final int slotBits;
+    private final int slotMask;
+    private final ArrayDeque<Timer<T>>[][] slots;
+    private long currentTick;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, int levels, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2 || Integer.bitCount(wheelSize) != 1 || levels < 1
+                || Integer.numberOfTrailingZeros(wheelSize) * levels > 62) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid timing wheel: tick %dms, wheel size %d (power of two), %d levels",
+                    tickMillis, wheelSize, levels));
+        }
+        this.tickMillis = tickMillis;
+        this.slotBits = Integer.numberOfTrailingZeros(wheelSize);
+        this.slotMask = wheelSize - 1;
+        this.slots = createSlots(levels, wheelSize);
+        this.currentTick = Math.floorDiv(startMillis, tickMillis);
+    }
+
+    // Returns false, without adding the task, if its deadline has already been reached
+    public boolean add(long deadlineMillis, T task) {
+        long tick = -Math.floorDiv(-deadlineMillis, tickMillis);
+        if (tick <= currentTick) {
+            return false;
+        }
+        place(new Timer<>(tick, task));
+        size++;
+        return true;
+    }
+
+    // Passes the tasks whose deadline is reached, in deadline order (to the tick), to the consumer
+    public void advanceTo(long nowMillis, Consumer<T> expired) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        if (size == 0 && targetTick > currentTick) {
+            currentTick = targetTick;
+        }
+        while (currentTick < targetTick) {
+            currentTick++;
+            cascade(expired);
+            expire(slots[0][(int) currentTick & slotMask], expired);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // The slots of the upper levels are moved down when all the levels below complete a turn
+    private void cascade(Consumer<T> expired) {
+        for (int level = 1; level < slots.length && (currentTick & ((1L << (level * slotBits)) - 1)) == 0; level++) {
+            ArrayDeque<Timer<T>> slot = slots[level][(int) (currentTick >>> (level * slotBits)) & slotMask];
+            for (Timer<T> timer = slot.poll(); timer != null; timer = slot.poll()) {
+                if (timer.tick() == currentTick) {
+                    size--;
+                    expired.accept(timer.task());
+                } else {
+                    place(timer);
+                }
+            }
+        }
+    }
+
+    private void expire(ArrayDeque<Timer<T>> slot, Consumer<T> expired) {
+        for (Timer<T> timer = slot.poll(); timer != null; timer = slot.poll()) {
+            size--;
+            expired.accept(timer.task());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> ArrayDeque<Timer<T>>[][] createSlots(int levels, int wheelSize) {
+        ArrayDeque<Timer<T>>[][] slots = new ArrayDeque[levels][wheelSize];
+        for (ArrayDeque<Timer<T>>[] level : slots) {
+            for (int slot = 0; slot < wheelSize; slot++) {
+                level[slot] = new ArrayDeque<>();
+            }
+        }
+        return slots;
+    }
+
+    private void place(Timer<T> timer) {
+        long delta = timer.tick() - currentTick;
+        int level = (63 - Long.numberOfLeadingZeros(delta)) / slotBits;
+        if (level >= slots.length) {
+            throw new IllegalArgumentException(String.format("Deadline beyond the timing wheel range: %dms",
+                    delta * tickMillis));
+        }
+        slots[level][(int) (timer.tick() >>> (level * slotBits)) & slotMask].add(timer);
+    }
+
+    private record Timer<T>(long tick, T task) {
+    }
+}
@@ -0,0 +1,6 @@
+package com.jfrengineering.digitalwallet.service.schedule;
+
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+
+public record ScheduledTransactionDeletedEvent(ScheduledTransaction scheduledTransaction) {
+}
@@ -0,0 +1,84 @@
+package com.jfrengineering.digitalwallet.service.schedule;
+
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.repository.ScheduledTransactionRepository;
+import com.jfrengineering.digitalwallet.service.TransactionService;
+import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.UUID;
+
+// Creates each occurrence in the same database transaction that moves its schedule to the next one, with a
+// correlationId derived from the occurrence, so an occurrence is never created twice
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ScheduledTransactionExecutor {
+
+    static final String CORRELATION_ID_PREFIX = "scheduled:";
+
+    private final ScheduledTransactionRepository scheduledTransactionRepository;
+    private final TransactionService transactionService;
+    private final TransactionTemplate transactionTemplate;
+    private final CustomerShardRouter customerShardRouter;
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    // Returns the schedule with its next execution, or null if it has no more executions or was cancelled
+    public ScheduledTransaction execute(ScheduledTransactionTimer timer, long nowMillis) {
+        return customerShardRouter.callOnShardOf(timer.customerId(), () -> executeOnShard(timer, nowMillis));
+    }
+
+    static UUID occurrenceCorrelationId(ScheduledTransaction scheduledTransaction) {
+        String occurrence = CORRELATION_ID_PREFIX + scheduledTransaction.getCorrelationId() + ":"
+                + scheduledTransaction.getExecutionCount();
+        return UUID.nameUUIDFromBytes(occurrence.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private ScheduledTransaction executeOnShard(ScheduledTransactionTimer timer, long nowMillis) {
+        try {
+            return transactionTemplate.execute(status -> scheduledTransactionRepository
+                    .findByIdForUpdate(timer.correlationId())
+                    .map(scheduledTransaction -> scheduledTransaction.getNextExecutionAt().getTime() > nowMillis
+                            ? scheduledTransaction
+                            : createTransaction(scheduledTransaction))
+                    .orElse(null));
+        } catch (UnacceptedTransactionAmountException | EntityNotFoundException e) {
+            // A rejected occurrence is skipped, as a client would have to retry it at a different time anyway
+            log.warn("Scheduled transaction {} skipped: {}", timer.correlationId(), e.getMessage());
+            return transactionTemplate.execute(status -> scheduledTransactionRepository
+                    .findByIdForUpdate(timer.correlationId())
+                    .map(this::advance)
+                    .orElse(null));
+        }
+    }
+
+    private ScheduledTransaction createTransaction(ScheduledTransaction scheduledTransaction) {
+        transactionService.createTransaction(new TransactionRequest(occurrenceCorrelationId(scheduledTransaction),
+                scheduledTransaction.getCustomerId(), scheduledTransaction.getAmount(),
+                scheduledTransaction.getOperation()));
+        return advance(scheduledTransaction);
+    }
+
+    private ScheduledTransaction advance(ScheduledTransaction scheduledTransaction) {
+        if (scheduledTransaction.getRepeatEvery() == null) {
+            scheduledTransactionRepository.delete(scheduledTransaction);
+            applicationEventPublisher.publishEvent(new ScheduledTransactionDeletedEvent(scheduledTransaction));
+            return null;
+        }
+        scheduledTransaction.setNextExecutionAt(Timestamp.from(scheduledTransaction.getNextExecutionAt().toInstant()
+                .plus(scheduledTransaction.getRepeatEvery())));
+        scheduledTransaction.setExecutionCount(scheduledTransaction.getExecutionCount() + 1);
+        ScheduledTransaction advanced = scheduledTransactionRepository.save(scheduledTransaction);
+        applicationEventPublisher.publishEvent(new ScheduledTransactionAdvancedEvent(advanced));
+        return advanced;
+    }
+}
@@ -0,0 +1,6 @@
+package com.jfrengineering.digitalwallet.service.schedule;
+
+import java.util.UUID;
+
+public record ScheduledTransactionTimer(UUID correlationId, UUID customerId, long dueAtMillis) {
+}
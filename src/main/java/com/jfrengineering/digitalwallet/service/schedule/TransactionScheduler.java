@@ -0,0 +1,164 @@
+package com.jfrengineering.digitalwallet.service.schedule;
+
+import com.jfrengineering.digitalwallet.configuration.SchedulerProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.repository.ScheduledTransactionRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+// Only the schedules due before the next load are held in memory, in a timing wheel driven by a single tick thread,
+// so a tick costs the same with any number of pending schedules, and the database is queried once per load interval
+// instead of on every tick. The due schedules are executed in batches by the worker threads.
+@Slf4j
+public class TransactionScheduler {
+
+    private final SchedulerProperties schedulerProperties;
+    private final ScheduledTransactionRepository scheduledTransactionRepository;
+    private final ScheduledTransactionExecutor scheduledTransactionExecutor;
+    private final CustomerShardRouter customerShardRouter;
+    private final ScheduledExecutorService ticker;
+    private final ExecutorService workers;
+    private final LongSupplier clock;
+    private final HierarchicalTimingWheel<ScheduledTransactionTimer> timingWheel;
+    // Schedules are handed to the tick thread, the only one using the timing wheel
+    private final Queue<ScheduledTransactionTimer> inbox = new ConcurrentLinkedQueue<>();
+    // Schedules in the wheel or being executed, so loading them again does not execute them twice
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private volatile long loadedUntil;
+
+    public TransactionScheduler(SchedulerProperties schedulerProperties,
+                                ScheduledTransactionRepository scheduledTransactionRepository,
+                                ScheduledTransactionExecutor scheduledTransactionExecutor,
+                                CustomerShardRouter customerShardRouter) {
+        this(schedulerProperties, scheduledTransactionRepository, scheduledTransactionExecutor, customerShardRouter,
+                Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("transaction-scheduler-tick-")),
+                Executors.newFixedThreadPool(schedulerProperties.getWorkerThreads(),
+                        new CustomizableThreadFactory("transaction-scheduler-")),
+                System::currentTimeMillis);
+    }
+
+    TransactionScheduler(SchedulerProperties schedulerProperties,
+                         ScheduledTransactionRepository scheduledTransactionRepository,
+                         ScheduledTransactionExecutor scheduledTransactionExecutor,
+                         CustomerShardRouter customerShardRouter, ScheduledExecutorService ticker,
+                         ExecutorService workers, LongSupplier clock) {
+        this.schedulerProperties = schedulerProperties;
+        this.scheduledTransactionRepository = scheduledTransactionRepository;
+        this.scheduledTransactionExecutor = scheduledTransactionExecutor;
+        this.customerShardRouter = customerShardRouter;
+        this.ticker = ticker;
+        this.workers = workers;
+        this.clock = clock;
+        this.timingWheel = new HierarchicalTimingWheel<>(schedulerProperties.getTick().toMillis(),
+                schedulerProperties.getWheelSize(), schedulerProperties.getWheelLevels(), clock.getAsLong());
+    }
+
+    @PostConstruct
+    public void start() {
+        long tickMillis = schedulerProperties.getTick().toMillis();
+        ticker.scheduleAtFixedRate(this::tick, tickMillis, tickMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        ticker.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    // Loads twice the interval ahead, so a slow load does not leave schedules behind
+    @Scheduled(fixedDelayString = "${wallet.scheduler.load-interval:PT1M}")
+    public void loadDueSchedules() {
+        long until = clock.getAsLong() + 2 * schedulerProperties.getLoadInterval().toMillis();
+        loadedUntil = until;
+        customerShardRouter.forEachShard(shard -> loadShard(new Timestamp(until)));
+    }
+
+    // Schedules due before the next load are not left to it
+    @TransactionalEventListener
+    public void onScheduledTransactionCreated(ScheduledTransactionCreatedEvent event) {
+        offer(event.scheduledTransaction());
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    void tick() {
+        try {
+            List<ScheduledTransactionTimer> due = new ArrayList<>();
+            for (ScheduledTransactionTimer timer = inbox.poll(); timer != null; timer = inbox.poll()) {
+                if (!timingWheel.add(timer.dueAtMillis(), timer)) {
+                    due.add(timer);
+                }
+            }
+            timingWheel.advanceTo(clock.getAsLong(), due::add);
+            int batchSize = schedulerProperties.getBatchSize();
+            for (int from = 0; from < due.size(); from += batchSize) {
+                List<ScheduledTransactionTimer> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+                workers.execute(() -> batch.forEach(this::execute));
+            }
+        } catch (RuntimeException e) {
+            // Not thrown, or the ticker would not run it again
+            log.error("Transaction scheduler tick failed", e);
+        }
+    }
+
+    private void loadShard(Timestamp until) {
+        int batchSize = schedulerProperties.getBatchSize();
+        Timestamp afterTime = new Timestamp(0);
+        UUID afterId = new UUID(0, 0);
+        List<ScheduledTransaction> page;
+        do {
+            page = scheduledTransactionRepository.findDueBefore(until, afterTime, afterId, PageRequest.of(0, batchSize));
+            page.forEach(this::offer);
+            if (!page.isEmpty()) {
+                ScheduledTransaction last = page.get(page.size() - 1);
+                afterTime = last.getNextExecutionAt();
+                afterId = last.getCorrelationId();
+            }
+        } while (page.size() == batchSize);
+    }
+
+    private void offer(ScheduledTransaction scheduledTransaction) {
+        long dueAtMillis = scheduledTransaction.getNextExecutionAt().getTime();
+        if (dueAtMillis < loadedUntil && pending.add(scheduledTransaction.getCorrelationId())) {
+            inbox.offer(new ScheduledTransactionTimer(scheduledTransaction.getCorrelationId(),
+                    scheduledTransaction.getCustomerId(), dueAtMillis));
+        }
+    }
+
+    // A failed execution is retried by the next load, as the schedule stays due
+    private void execute(ScheduledTransactionTimer timer) {
+        ScheduledTransaction next = null;
+        try {
+            next = scheduledTransactionExecutor.execute(timer, clock.getAsLong());
+        } catch (RuntimeException e) {
+            log.warn("Scheduled transaction {} failed, retrying on the next load: {}", timer.correlationId(),
+                    e.getMessage());
+        }
+        pending.remove(timer.correlationId());
+        if (next != null) {
+            offer(next);
+        }
+    }
+}
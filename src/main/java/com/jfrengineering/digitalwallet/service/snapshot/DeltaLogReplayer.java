@@ -0,0 +1,133 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.domain.TransactionSummary;
+import com.jfrengineering.digitalwallet.service.TransactionSummaryService;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.ADD_HELD_AMOUNT;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.ADVANCE_SCHEDULED_TRANSACTION;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.DELETE_HOLD;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.DELETE_SCHEDULED_TRANSACTION;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.DELETE_TRANSACTION;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_MISSING_BALANCE;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_MISSING_HOLD;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_MISSING_SCHEDULED_TRANSACTION;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_MISSING_TRANSACTION;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.UPDATE_BALANCE;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.balanceParameters;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.holdParameters;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.scheduledTransactionParameters;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.transactionParameters;
+
+// Applies the logged transactions, archivals, hold changes and schedule changes of the given customers missing from
+// the snapshot, in the order they were committed
+final class DeltaLogReplayer implements SnapshotRecordHandler {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Predicate<UUID> customerFilter;
+    private final TransactionSummaryService transactionSummaryService;
+    private long replayedTransactions;
+
+    DeltaLogReplayer(JdbcTemplate jdbcTemplate, Predicate<UUID> customerFilter,
+                     TransactionSummaryService transactionSummaryService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.customerFilter = customerFilter;
+        this.transactionSummaryService = transactionSummaryService;
+    }
+
+    // Onboarded balances, left as they are if already in the snapshot, as their later transactions may be too
+    @Override
+    public void onBalance(Balance balance) {
+        if (customerFilter.test(balance.getCustomerId())) {
+            jdbcTemplate.update(INSERT_MISSING_BALANCE, withIdRepeated(balanceParameters(balance)));
+        }
+    }
+
+    @Override
+    public void onSummary(TransactionSummary summary) {
+        throw new IllegalStateException("Unexpected transaction summary record in a wallet delta log");
+    }
+
+    // The balance is updated even if the transaction is in the snapshot, which may hold an older balance, but not by a
+    // transaction older than its last update: they are logged after their commit, when the balance is no longer
+    // locked, so two transactions of a customer may be logged in the opposite order
+    @Override
+    public void onTransaction(Transaction transaction) {
+        if (!customerFilter.test(transaction.getCustomerId())) {
+            return;
+        }
+        if (jdbcTemplate.update(INSERT_MISSING_TRANSACTION, withIdRepeated(transactionParameters(transaction))) == 1) {
+            transactionSummaryService.recordTransaction(transaction);
+            replayedTransactions++;
+        }
+        jdbcTemplate.update(UPDATE_BALANCE, transaction.getBalanceAfter(), transaction.getCreatedAt(),
+                transaction.getCustomerId().toString(), transaction.getCreatedAt());
+    }
+
+    // A hold reserved and released after the snapshot is inserted then deleted again, so the held amount is unchanged
+    @Override
+    public void onHold(Hold hold) {
+        if (!customerFilter.test(hold.getCustomerId())) {
+            return;
+        }
+        if (jdbcTemplate.update(INSERT_MISSING_HOLD, withIdRepeated(holdParameters(hold))) == 1) {
+            jdbcTemplate.update(ADD_HELD_AMOUNT, hold.getAmount(), hold.getCustomerId().toString());
+        }
+    }
+
+    @Override
+    public void onHoldRelease(Hold hold) {
+        if (customerFilter.test(hold.getCustomerId())
+                && jdbcTemplate.update(DELETE_HOLD, hold.getCorrelationId().toString()) == 1) {
+            jdbcTemplate.update(ADD_HELD_AMOUNT, hold.getAmount().negate(), hold.getCustomerId().toString());
+        }
+    }
+
+    // The snapshot may have been taken before the transaction was moved to the archive, which already holds it
+    @Override
+    public void onTransactionArchived(Transaction transaction) {
+        if (customerFilter.test(transaction.getCustomerId())) {
+            jdbcTemplate.update(DELETE_TRANSACTION, transaction.getCorrelationId().toString());
+        }
+    }
+
+    // Created or advanced schedules alike, as a schedule created before the snapshot may not be in it yet
+    @Override
+    public void onScheduledTransaction(ScheduledTransaction scheduledTransaction) {
+        if (!customerFilter.test(scheduledTransaction.getCustomerId())) {
+            return;
+        }
+        if (jdbcTemplate.update(INSERT_MISSING_SCHEDULED_TRANSACTION,
+                withIdRepeated(scheduledTransactionParameters(scheduledTransaction))) == 0) {
+            jdbcTemplate.update(ADVANCE_SCHEDULED_TRANSACTION, scheduledTransaction.getNextExecutionAt(),
+                    scheduledTransaction.getExecutionCount(), scheduledTransaction.getCorrelationId().toString(),
+                    scheduledTransaction.getExecutionCount());
+        }
+    }
+
+    @Override
+    public void onScheduledTransactionDeleted(ScheduledTransaction scheduledTransaction) {
+        if (customerFilter.test(scheduledTransaction.getCustomerId())) {
+            jdbcTemplate.update(DELETE_SCHEDULED_TRANSACTION, scheduledTransaction.getCorrelationId().toString());
+        }
+    }
+
+    long getReplayedTransactions() {
+        return replayedTransactions;
+    }
+
+    // The ID is bound again for the NOT EXISTS clause of the inserts
+    private static Object[] withIdRepeated(Object[] parameters) {
+        Object[] insertParameters = Arrays.copyOf(parameters, parameters.length + 1);
+        insertParameters[parameters.length] = parameters[0];
+        return insertParameters;
+    }
+}
@@ -0,0 +1,186 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import com.jfrengineering.digitalwallet.configuration.SnapshotProperties;
+import com.jfrengineering.digitalwallet.service.BalancesCreatedEvent;
+import com.jfrengineering.digitalwallet.service.TransactionCreatedEvent;
+import com.jfrengineering.digitalwallet.service.archive.TransactionsArchivedEvent;
+import com.jfrengineering.digitalwallet.service.hold.HoldReleasedEvent;
+import com.jfrengineering.digitalwallet.service.hold.HoldReservedEvent;
+import com.jfrengineering.digitalwallet.service.schedule.ScheduledTransactionAdvancedEvent;
+import com.jfrengineering.digitalwallet.service.schedule.ScheduledTransactionCreatedEvent;
+import com.jfrengineering.digitalwallet.service.schedule.ScheduledTransactionDeletedEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+// Transactions, onboarded balances, archivals, hold changes and schedule changes committed since the last snapshot,
+// one file per snapshot interval, replayed on top of the snapshot. The records are appended by a single writer thread,
+// so the committing threads only queue them, and flushed once the ones queued meanwhile are appended too
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "wallet.snapshot", name = "enabled", havingValue = "true")
+public class SnapshotDeltaLog {
+
+    static final String DELTA_PREFIX = "delta-";
+    static final String DELTA_SUFFIX = ".log";
+    private static final String DELTA_NAME_TEMPLATE = DELTA_PREFIX + "%012d" + DELTA_SUFFIX;
+
+    private final SnapshotProperties snapshotProperties;
+    private final ThreadPoolExecutor writer;
+
+    private volatile SnapshotWriter currentDelta;
+    private long lastGeneration;
+
+    public SnapshotDeltaLog(SnapshotProperties snapshotProperties) {
+        this.snapshotProperties = snapshotProperties;
+        this.writer = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                new CustomizableThreadFactory("snapshot-delta-log-"));
+    }
+
+    @PostConstruct
+    void open() throws IOException {
+        lastGeneration = listDeltaFiles().stream()
+                .map(file -> file.getFileName().toString())
+                .mapToLong(name -> Long.parseLong(name.substring(DELTA_PREFIX.length(), name.length() - DELTA_SUFFIX.length())))
+                .max()
+                .orElse(0);
+        currentDelta = SnapshotWriter.create(nextDeltaFile());
+        currentDelta.flush();
+    }
+
+    // The records queued before are appended first
+    @PreDestroy
+    void close() {
+        callOnWriter("Wallet delta log could not be closed", () -> {
+            currentDelta.close();
+            return null;
+        });
+        writer.shutdown();
+    }
+
+    @TransactionalEventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        append(delta -> delta.append(event.transaction()));
+    }
+
+    @TransactionalEventListener
+    public void onBalancesCreated(BalancesCreatedEvent event) {
+        append(delta -> event.balances().forEach(delta::append));
+    }
+
+    @TransactionalEventListener
+    public void onHoldReserved(HoldReservedEvent event) {
+        append(delta -> delta.append(event.hold()));
+    }
+
+    // Captured, released and expired holds alike
+    @TransactionalEventListener
+    public void onHoldReleased(HoldReleasedEvent event) {
+        append(delta -> delta.appendRelease(event.hold()));
+    }
+
+    @TransactionalEventListener
+    public void onTransactionsArchived(TransactionsArchivedEvent event) {
+        append(delta -> event.transactions().forEach(delta::appendArchival));
+    }
+
+    @TransactionalEventListener
+    public void onScheduledTransactionCreated(ScheduledTransactionCreatedEvent event) {
+        append(delta -> delta.append(event.scheduledTransaction()));
+    }
+
+    @TransactionalEventListener
+    public void onScheduledTransactionAdvanced(ScheduledTransactionAdvancedEvent event) {
+        append(delta -> delta.append(event.scheduledTransaction()));
+    }
+
+    // Cancelled and last executed schedules alike
+    @TransactionalEventListener
+    public void onScheduledTransactionDeleted(ScheduledTransactionDeletedEvent event) {
+        append(delta -> delta.appendDeletion(event.scheduledTransaction()));
+    }
+
+    // Delta files older than the current one, replayed on startup and made redundant by the next snapshot
+    public List<Path> previousDeltaFiles() {
+        return listDeltaFiles().stream()
+                .filter(file -> !file.equals(currentDelta.getFile()))
+                .toList();
+    }
+
+    // Starts a new delta file once the records queued before are appended, so the previous ones only hold transactions
+    // committed before the next snapshot starts
+    public List<Path> rotate() {
+        return callOnWriter("Wallet delta log could not be rotated", () -> {
+            SnapshotWriter previousDelta = currentDelta;
+            currentDelta = SnapshotWriter.create(nextDeltaFile());
+            currentDelta.flush();
+            previousDelta.close();
+            return previousDeltaFiles();
+        });
+    }
+
+    public void delete(List<Path> deltaFiles) {
+        for (Path deltaFile : deltaFiles) {
+            try {
+                Files.deleteIfExists(deltaFile);
+            } catch (IOException e) {
+                log.error("Wallet delta log could not be deleted: {}", deltaFile, e);
+            }
+        }
+    }
+
+    private void append(Consumer<SnapshotWriter> record) {
+        writer.execute(() -> {
+            try {
+                record.accept(currentDelta);
+                if (writer.getQueue().isEmpty()) {
+                    currentDelta.flush();
+                }
+            } catch (RuntimeException e) {
+                // Logged, as nothing would report it on the writer thread
+                log.error("Wallet delta log record could not be written", e);
+            }
+        });
+    }
+
+    private <T> T callOnWriter(String failureMessage, Callable<T> task) {
+        try {
+            return writer.submit(task).get();
+        } catch (ExecutionException e) {
+            throw new WalletSnapshotException(failureMessage, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new WalletSnapshotException(failureMessage, e);
+        }
+    }
+
+    private Path nextDeltaFile() {
+        return snapshotProperties.getDirectory().resolve(String.format(DELTA_NAME_TEMPLATE, ++lastGeneration));
+    }
+
+    private List<Path> listDeltaFiles() {
+        File[] deltaFiles = snapshotProperties.getDirectory().toFile()
+                .listFiles((directory, name) -> name.startsWith(DELTA_PREFIX));
+        return deltaFiles == null ? List.of() : Arrays.stream(deltaFiles)
+                .map(File::toPath)
+                .sorted() // names are zero-padded, so sorted by generation
+                .toList();
+    }
+}
@@ -0,0 +1,358 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.domain.TransactionSummary;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+/*
+ * Layout of snapshot and delta log files:
+ *   header:  magic (int), version (short)
+ *   records: type (byte) followed by the fixed length fields of a balance, transaction, transaction summary, hold or
+ *            scheduled transaction row, or of a hold release, transaction archival or schedule deletion
+ * Delta logs only hold transaction, onboarded balance, hold, hold release, transaction archival (from version 3),
+ * scheduled transaction and schedule deletion (from version 4) records, appended as they are committed, so their last
+ * record may be partial if the application stopped while writing it. The balance records of version 1 files have no
+ * held amount, as they were written before holds.
+ */
+final class SnapshotFormat {
+
+    static final int MAGIC = 0x57534e50; // "WSNP"
+    static final short VERSION = 4;
+    static final int HEADER_LENGTH = Integer.BYTES + Short.BYTES;
+    static final byte BALANCE = 'B';
+    static final byte TRANSACTION = 'T';
+    static final byte SUMMARY = 'S';
+    static final byte HOLD = 'H';
+    static final byte HOLD_RELEASE = 'R';
+    static final byte ARCHIVAL = 'A';
+    static final byte SCHEDULED_TRANSACTION = 'P';
+    static final byte SCHEDULE_DELETION = 'D';
+
+    private static final int UUID_LENGTH = 2 * Long.BYTES;
+    private static final int AMOUNT_LENGTH = 1 + Long.BYTES;
+    private static final int TIMESTAMP_LENGTH = Long.BYTES + Integer.BYTES;
+    static final int BALANCE_RECORD_LENGTH = 1 + UUID_LENGTH + 2 * AMOUNT_LENGTH + 2 * TIMESTAMP_LENGTH;
+    static final int V1_BALANCE_RECORD_LENGTH = BALANCE_RECORD_LENGTH - AMOUNT_LENGTH;
+    static final int TRANSACTION_RECORD_LENGTH = 1 + 2 * UUID_LENGTH + 1 + AMOUNT_LENGTH + 1 + AMOUNT_LENGTH
+            + TIMESTAMP_LENGTH;
+    static final int SUMMARY_RECORD_LENGTH = 1 + UUID_LENGTH + Long.BYTES + 2 * (AMOUNT_LENGTH + Long.BYTES);
+    static final int HOLD_RECORD_LENGTH = 1 + 2 * UUID_LENGTH + AMOUNT_LENGTH + 2 * TIMESTAMP_LENGTH;
+    static final int HOLD_RELEASE_RECORD_LENGTH = 1 + 2 * UUID_LENGTH + AMOUNT_LENGTH;
+    static final int ARCHIVAL_RECORD_LENGTH = 1 + 2 * UUID_LENGTH;
+    static final int SCHEDULED_TRANSACTION_RECORD_LENGTH = 1 + 2 * UUID_LENGTH + AMOUNT_LENGTH + 1 + TIMESTAMP_LENGTH
+            + 1 + Long.BYTES + Long.BYTES + TIMESTAMP_LENGTH;
+    static final int SCHEDULE_DELETION_RECORD_LENGTH = 1 + 2 * UUID_LENGTH;
+    static final int MAX_RECORD_LENGTH = SCHEDULED_TRANSACTION_RECORD_LENGTH;
+    static final long MAPPING_WINDOW_SIZE = 64L << 20;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+    private static final int[] RECORD_LENGTHS = recordLengths();
+
+    private SnapshotFormat() {
+    }
+
+    static void putHeader(ByteBuffer buffer) {
+        buffer.putInt(MAGIC).putShort(VERSION);
+    }
+
+    static void put(ByteBuffer buffer, Balance balance) {
+        buffer.put(BALANCE);
+        putUuid(buffer, balance.getCustomerId());
+        putAmount(buffer, balance.getBalanceAmount());
+        putAmount(buffer, balance.getHeldAmount());
+        putTimestamp(buffer, balance.getCreatedAt());
+        putTimestamp(buffer, balance.getUpdatedAt());
+    }
+
+    static void put(ByteBuffer buffer, Transaction transaction) {
+        buffer.put(TRANSACTION);
+        putUuid(buffer, transaction.getCorrelationId());
+        putUuid(buffer, transaction.getCustomerId());
+        buffer.put((byte) transaction.getOperation().ordinal());
+        putAmount(buffer, transaction.getAmount());
+        buffer.put((byte) (transaction.getBalanceAfter() == null ? 0 : 1));
+        putAmount(buffer, transaction.getBalanceAfter() == null ? BigDecimal.ZERO : transaction.getBalanceAfter());
+        putTimestamp(buffer, transaction.getCreatedAt());
+    }
+
+    static void put(ByteBuffer buffer, TransactionSummary summary) {
+        buffer.put(SUMMARY);
+        putUuid(buffer, summary.getCustomerId());
+        buffer.putLong(summary.getBucketDate().toEpochDay());
+        putAmount(buffer, summary.getCreditTotal());
+        buffer.putLong(summary.getCreditCount());
+        putAmount(buffer, summary.getDebitTotal());
+        buffer.putLong(summary.getDebitCount());
+    }
+
+    static void put(ByteBuffer buffer, Hold hold) {
+        buffer.put(HOLD);
+        putUuid(buffer, hold.getCorrelationId());
+        putUuid(buffer, hold.getCustomerId());
+        putAmount(buffer, hold.getAmount());
+        putTimestamp(buffer, hold.getExpiresAt());
+        putTimestamp(buffer, hold.getCreatedAt());
+    }
+
+    // Only in delta logs, as snapshots hold the active holds
+    static void putRelease(ByteBuffer buffer, Hold hold) {
+        buffer.put(HOLD_RELEASE);
+        putUuid(buffer, hold.getCorrelationId());
+        putUuid(buffer, hold.getCustomerId());
+        putAmount(buffer, hold.getAmount());
+    }
+
+    // Only in delta logs, as snapshots do not hold archived transactions
+    static void putArchival(ByteBuffer buffer, Transaction transaction) {
+        buffer.put(ARCHIVAL);
+        putUuid(buffer, transaction.getCorrelationId());
+        putUuid(buffer, transaction.getCustomerId());
+    }
+
+    static void put(ByteBuffer buffer, ScheduledTransaction scheduledTransaction) {
+        buffer.put(SCHEDULED_TRANSACTION);
+        putUuid(buffer, scheduledTransaction.getCorrelationId());
+        putUuid(buffer, scheduledTransaction.getCustomerId());
+        putAmount(buffer, scheduledTransaction.getAmount());
+        buffer.put((byte) scheduledTransaction.getOperation().ordinal());
+        putTimestamp(buffer, scheduledTransaction.getNextExecutionAt());
+        Duration repeatEvery = scheduledTransaction.getRepeatEvery();
+        buffer.put((byte) (repeatEvery == null ? 0 : 1)).putLong(repeatEvery == null ? 0 : repeatEvery.toNanos());
+        buffer.putLong(scheduledTransaction.getExecutionCount());
+        putTimestamp(buffer, scheduledTransaction.getCreatedAt());
+    }
+
+    // Only in delta logs, as snapshots hold the pending schedules
+    static void putDeletion(ByteBuffer buffer, ScheduledTransaction scheduledTransaction) {
+        buffer.put(SCHEDULE_DELETION);
+        putUuid(buffer, scheduledTransaction.getCorrelationId());
+        putUuid(buffer, scheduledTransaction.getCustomerId());
+    }
+
+    // The file is memory-mapped in windows, so it is read without copying it to the heap whatever its size is
+    static long read(Path file, SnapshotRecordHandler handler) throws IOException {
+        return read(file, handler, MAPPING_WINDOW_SIZE);
+    }
+
+    static long read(Path file, SnapshotRecordHandler handler, long windowSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            short version = readVersion(channel, file);
+            long records = 0;
+            long position = HEADER_LENGTH;
+            while (position < size) {
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(windowSize, size - position));
+                while (readRecord(window, handler, version)) {
+                    records++;
+                }
+                if (window.position() == 0) {
+                    break; // partial record at the end of a delta log
+                }
+                position += window.position();
+            }
+            return records;
+        }
+    }
+
+    private static short readVersion(FileChannel channel, Path file) throws IOException {
+        if (channel.size() < HEADER_LENGTH) {
+            throw new IOException("Not a wallet snapshot: " + file);
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_LENGTH);
+        if (header.getInt() != MAGIC) {
+            throw new IOException("Not a wallet snapshot: " + file);
+        }
+        short version = header.getShort();
+        if (version > VERSION) {
+            throw new IOException("Unsupported wallet snapshot version " + version + ": " + file);
+        }
+        return version;
+    }
+
+    private static boolean readRecord(ByteBuffer window, SnapshotRecordHandler handler, short version)
+            throws IOException {
+        if (!hasRecord(window, version)) {
+            return false;
+        }
+        byte type = window.get();
+        switch (type) {
+            case HOLD_RELEASE -> handler.onHoldRelease(getHoldRelease(window));
+            case ARCHIVAL -> handler.onTransactionArchived(getArchival(window));
+            case SCHEDULE_DELETION -> handler.onScheduledTransactionDeleted(getScheduleDeletion(window));
+            default -> readRow(type, window, handler, version);
+        }
+        return true;
+    }
+
+    private static void readRow(byte type, ByteBuffer window, SnapshotRecordHandler handler, short version) {
+        switch (type) {
+            case BALANCE -> handler.onBalance(getBalance(window, version));
+            case TRANSACTION -> handler.onTransaction(getTransaction(window));
+            case HOLD -> handler.onHold(getHold(window));
+            case SCHEDULED_TRANSACTION -> handler.onScheduledTransaction(getScheduledTransaction(window));
+            default -> handler.onSummary(getSummary(window));
+        }
+    }
+
+    private static boolean hasRecord(ByteBuffer window, short version) throws IOException {
+        return window.hasRemaining() && window.remaining() >= recordLength(window.get(window.position()), version);
+    }
+
+    private static int recordLength(byte type, short version) throws IOException {
+        if (type == BALANCE && version == 1) {
+            return V1_BALANCE_RECORD_LENGTH;
+        }
+        int length = RECORD_LENGTHS[type & 0xff];
+        if (length == 0) {
+            throw new IOException("Unknown wallet snapshot record type: " + type);
+        }
+        return length;
+    }
+
+    // Indexed by record type, 0 for the unknown types
+    private static int[] recordLengths() {
+        int[] recordLengths = new int[1 << Byte.SIZE];
+        recordLengths[BALANCE] = BALANCE_RECORD_LENGTH;
+        recordLengths[TRANSACTION] = TRANSACTION_RECORD_LENGTH;
+        recordLengths[SUMMARY] = SUMMARY_RECORD_LENGTH;
+        recordLengths[HOLD] = HOLD_RECORD_LENGTH;
+        recordLengths[HOLD_RELEASE] = HOLD_RELEASE_RECORD_LENGTH;
+        recordLengths[ARCHIVAL] = ARCHIVAL_RECORD_LENGTH;
+        recordLengths[SCHEDULED_TRANSACTION] = SCHEDULED_TRANSACTION_RECORD_LENGTH;
+        recordLengths[SCHEDULE_DELETION] = SCHEDULE_DELETION_RECORD_LENGTH;
+        return recordLengths;
+    }
+
+    private static Balance getBalance(ByteBuffer buffer, short version) {
+        return Balance.builder()
+                .customerId(getUuid(buffer))
+                .balanceAmount(getAmount(buffer))
+                .heldAmount(version == 1 ? BigDecimal.ZERO : getAmount(buffer))
+                .createdAt(getTimestamp(buffer))
+                .updatedAt(getTimestamp(buffer))
+                .build();
+    }
+
+    private static Transaction getTransaction(ByteBuffer buffer) {
+        return Transaction.builder()
+                .correlationId(getUuid(buffer))
+                .customerId(getUuid(buffer))
+                .operation(OPERATIONS[buffer.get()])
+                .amount(getAmount(buffer))
+                .balanceAfter(getOptionalAmount(buffer))
+                .createdAt(getTimestamp(buffer))
+                .build();
+    }
+
+    private static TransactionSummary getSummary(ByteBuffer buffer) {
+        return TransactionSummary.builder()
+                .customerId(getUuid(buffer))
+                .bucketDate(LocalDate.ofEpochDay(buffer.getLong()))
+                .creditTotal(getAmount(buffer))
+                .creditCount(buffer.getLong())
+                .debitTotal(getAmount(buffer))
+                .debitCount(buffer.getLong())
+                .build();
+    }
+
+    private static Hold getHold(ByteBuffer buffer) {
+        return Hold.builder()
+                .correlationId(getUuid(buffer))
+                .customerId(getUuid(buffer))
+                .amount(getAmount(buffer))
+                .expiresAt(getTimestamp(buffer))
+                .createdAt(getTimestamp(buffer))
+                .build();
+    }
+
+    private static Hold getHoldRelease(ByteBuffer buffer) {
+        return Hold.builder()
+                .correlationId(getUuid(buffer))
+                .customerId(getUuid(buffer))
+                .amount(getAmount(buffer))
+                .build();
+    }
+
+    private static Transaction getArchival(ByteBuffer buffer) {
+        return Transaction.builder()
+                .correlationId(getUuid(buffer))
+                .customerId(getUuid(buffer))
+                .build();
+    }
+
+    private static ScheduledTransaction getScheduledTransaction(ByteBuffer buffer) {
+        return ScheduledTransaction.builder()
+                .correlationId(getUuid(buffer))
+                .customerId(getUuid(buffer))
+                .amount(getAmount(buffer))
+                .operation(OPERATIONS[buffer.get()])
+                .nextExecutionAt(getTimestamp(buffer))
+                .repeatEvery(getOptionalDuration(buffer))
+                .executionCount(buffer.getLong())
+                .createdAt(getTimestamp(buffer))
+                .build();
+    }
+
+    private static ScheduledTransaction getScheduleDeletion(ByteBuffer buffer) {
+        return ScheduledTransaction.builder()
+                .correlationId(getUuid(buffer))
+                .customerId(getUuid(buffer))
+                .build();
+    }
+
+    private static Duration getOptionalDuration(ByteBuffer buffer) {
+        boolean present = buffer.get() == 1;
+        long nanos = buffer.getLong();
+        return present ? Duration.ofNanos(nanos) : null;
+    }
+
+    private static void putUuid(ByteBuffer buffer, UUID uuid) {
+        buffer.putLong(uuid.getMostSignificantBits()).putLong(uuid.getLeastSignificantBits());
+    }
+
+    private static UUID getUuid(ByteBuffer buffer) {
+        return new UUID(buffer.getLong(), buffer.getLong());
+    }
+
+    private static void putAmount(ByteBuffer buffer, BigDecimal amount) {
+        buffer.put((byte) amount.scale()).putLong(amount.unscaledValue().longValueExact());
+    }
+
+    private static BigDecimal getAmount(ByteBuffer buffer) {
+        int scale = buffer.get();
+        return new BigDecimal(BigInteger.valueOf(buffer.getLong()), scale);
+    }
+
+    private static BigDecimal getOptionalAmount(ByteBuffer buffer) {
+        boolean present = buffer.get() == 1;
+        BigDecimal amount = getAmount(buffer);
+        return present ? amount : null;
+    }
+
+    private static void putTimestamp(ByteBuffer buffer, Timestamp timestamp) {
+        buffer.putLong(timestamp.getTime()).putInt(timestamp.getNanos());
+    }
+
+    private static Timestamp getTimestamp(ByteBuffer buffer) {
+        Timestamp timestamp = new Timestamp(buffer.getLong());
+        timestamp.setNanos(buffer.getInt());
+        return timestamp;
+    }
+}
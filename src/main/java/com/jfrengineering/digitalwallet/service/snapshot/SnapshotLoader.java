@@ -0,0 +1,123 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.domain.TransactionSummary;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_BALANCE;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_HOLD;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_SCHEDULED_TRANSACTION;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_SUMMARY;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_TRANSACTION;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.balanceParameters;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.holdParameters;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.scheduledTransactionParameters;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.summaryParameters;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.transactionParameters;
+
+// Inserts the snapshot rows of the given customers in JDBC batches, into tables expected to be empty
+final class SnapshotLoader implements SnapshotRecordHandler {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final Predicate<UUID> customerFilter;
+    private final int batchSize;
+    private final Batch balances = new Batch(INSERT_BALANCE);
+    private final Batch transactions = new Batch(INSERT_TRANSACTION);
+    private final Batch summaries = new Batch(INSERT_SUMMARY);
+    private final Batch holds = new Batch(INSERT_HOLD);
+    private final Batch scheduledTransactions = new Batch(INSERT_SCHEDULED_TRANSACTION);
+    private long loadedRows;
+
+    SnapshotLoader(JdbcTemplate jdbcTemplate, Predicate<UUID> customerFilter, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.customerFilter = customerFilter;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void onBalance(Balance balance) {
+        balances.add(balance.getCustomerId(), () -> balanceParameters(balance));
+    }
+
+    @Override
+    public void onTransaction(Transaction transaction) {
+        transactions.add(transaction.getCustomerId(), () -> transactionParameters(transaction));
+    }
+
+    @Override
+    public void onSummary(TransactionSummary summary) {
+        summaries.add(summary.getCustomerId(), () -> summaryParameters(summary));
+    }
+
+    @Override
+    public void onHold(Hold hold) {
+        holds.add(hold.getCustomerId(), () -> holdParameters(hold));
+    }
+
+    @Override
+    public void onHoldRelease(Hold hold) {
+        throw new IllegalStateException("Unexpected hold release record in a wallet snapshot");
+    }
+
+    @Override
+    public void onTransactionArchived(Transaction transaction) {
+        throw new IllegalStateException("Unexpected transaction archival record in a wallet snapshot");
+    }
+
+    @Override
+    public void onScheduledTransaction(ScheduledTransaction scheduledTransaction) {
+        scheduledTransactions.add(scheduledTransaction.getCustomerId(),
+                () -> scheduledTransactionParameters(scheduledTransaction));
+    }
+
+    @Override
+    public void onScheduledTransactionDeleted(ScheduledTransaction scheduledTransaction) {
+        throw new IllegalStateException("Unexpected schedule deletion record in a wallet snapshot");
+    }
+
+    long finish() {
+        balances.flush();
+        transactions.flush();
+        summaries.flush();
+        holds.flush();
+        scheduledTransactions.flush();
+        return loadedRows;
+    }
+
+    private final class Batch {
+
+        private final String sql;
+        private final List<Object[]> rows = new ArrayList<>();
+
+        private Batch(String sql) {
+            this.sql = sql;
+        }
+
+        private void add(UUID customerId, Supplier<Object[]> parameters) {
+            if (!customerFilter.test(customerId)) {
+                return;
+            }
+            rows.add(parameters.get());
+            loadedRows++;
+            if (rows.size() == batchSize) {
+                flush();
+            }
+        }
+
+        private void flush() {
+            if (!rows.isEmpty()) {
+                jdbcTemplate.batchUpdate(sql, rows);
+                rows.clear();
+            }
+        }
+    }
+}
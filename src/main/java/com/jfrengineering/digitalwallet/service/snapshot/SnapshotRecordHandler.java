@@ -0,0 +1,29 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.domain.TransactionSummary;
+
+interface SnapshotRecordHandler {
+
+    void onBalance(Balance balance);
+
+    void onTransaction(Transaction transaction);
+
+    void onSummary(TransactionSummary summary);
+
+    void onHold(Hold hold);
+
+    // Only the correlation ID, customer ID and amount of the released hold are logged
+    void onHoldRelease(Hold hold);
+
+    // Only the correlation ID and customer ID of the archived transaction are logged
+    void onTransactionArchived(Transaction transaction);
+
+    void onScheduledTransaction(ScheduledTransaction scheduledTransaction);
+
+    // Only the correlation ID and customer ID of the deleted schedule are logged
+    void onScheduledTransactionDeleted(ScheduledTransaction scheduledTransaction);
+}
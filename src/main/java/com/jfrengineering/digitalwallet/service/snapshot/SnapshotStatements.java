@@ -0,0 +1,159 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.domain.TransactionSummary;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.UUID;
+
+final class SnapshotStatements {
+
+    // The held amounts are summed from the holds read in the same snapshot, as the off-heap balance store may not have
+    // written the latest ones to the balances table yet, while the holds table is always up to date
+    static final String SELECT_BALANCES = "SELECT b.customer_id, b.balance_amount, "
+            + "(SELECT COALESCE(SUM(h.amount), 0.00) FROM holds h WHERE h.customer_id = b.customer_id) AS held_amount, "
+            + "b.created_at, b.updated_at FROM balances b";
+    static final String SELECT_TRANSACTIONS =
+            "SELECT correlation_id, customer_id, operation, amount, balance_after, created_at FROM transactions";
+    static final String SELECT_SUMMARIES = "SELECT customer_id, bucket_date, credit_total, credit_count, debit_total, "
+            + "debit_count FROM transaction_summaries";
+    static final String SELECT_HOLDS =
+            "SELECT correlation_id, customer_id, amount, expires_at, created_at FROM holds";
+    static final String SELECT_SCHEDULED_TRANSACTIONS = "SELECT correlation_id, customer_id, amount, operation, "
+            + "next_execution_at, repeat_every, execution_count, created_at FROM scheduled_transactions";
+
+    static final String INSERT_BALANCE = "INSERT INTO balances (customer_id, balance_amount, held_amount, created_at, "
+            + "updated_at) VALUES (?, ?, ?, ?, ?)";
+    static final String INSERT_TRANSACTION = "INSERT INTO transactions (correlation_id, customer_id, operation, "
+            + "amount, balance_after, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    static final String INSERT_SUMMARY = "INSERT INTO transaction_summaries (customer_id, bucket_date, credit_total, "
+            + "credit_count, debit_total, debit_count) VALUES (?, ?, ?, ?, ?, ?)";
+    static final String INSERT_HOLD =
+            "INSERT INTO holds (correlation_id, customer_id, amount, expires_at, created_at) VALUES (?, ?, ?, ?, ?)";
+    static final String INSERT_SCHEDULED_TRANSACTION = "INSERT INTO scheduled_transactions (correlation_id, "
+            + "customer_id, amount, operation, next_execution_at, repeat_every, execution_count, created_at) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Replaying a delta log is idempotent, as its first transactions may be already in the snapshot
+    static final String INSERT_MISSING_TRANSACTION = "INSERT INTO transactions (correlation_id, customer_id, "
+            + "operation, amount, balance_after, created_at) SELECT ?, ?, ?, ?, ?, ? WHERE NOT EXISTS "
+            + "(SELECT 1 FROM transactions WHERE correlation_id = ?)";
+    static final String INSERT_MISSING_BALANCE = "INSERT INTO balances (customer_id, balance_amount, held_amount, "
+            + "created_at, updated_at) SELECT ?, ?, ?, ?, ? WHERE NOT EXISTS "
+            + "(SELECT 1 FROM balances WHERE customer_id = ?)";
+    // Skipped for a transaction older than the last update of the balance, which already includes it
+    static final String UPDATE_BALANCE = "UPDATE balances SET balance_amount = ?, updated_at = ? WHERE customer_id = ? "
+            + "AND (updated_at IS NULL OR updated_at <= ?)";
+    // The held amount is only changed along with the hold rows, so it is not changed twice by a replayed hold
+    static final String INSERT_MISSING_HOLD = "INSERT INTO holds (correlation_id, customer_id, amount, expires_at, "
+            + "created_at) SELECT ?, ?, ?, ?, ? WHERE NOT EXISTS (SELECT 1 FROM holds WHERE correlation_id = ?)";
+    static final String DELETE_HOLD = "DELETE FROM holds WHERE correlation_id = ?";
+    static final String DELETE_TRANSACTION = "DELETE FROM transactions WHERE correlation_id = ?";
+    static final String INSERT_MISSING_SCHEDULED_TRANSACTION = "INSERT INTO scheduled_transactions (correlation_id, "
+            + "customer_id, amount, operation, next_execution_at, repeat_every, execution_count, created_at) "
+            + "SELECT ?, ?, ?, ?, ?, ?, ?, ? WHERE NOT EXISTS "
+            + "(SELECT 1 FROM scheduled_transactions WHERE correlation_id = ?)";
+    // Skipped for an execution older than the one already restored, as two of them may be logged in the opposite order
+    static final String ADVANCE_SCHEDULED_TRANSACTION = "UPDATE scheduled_transactions SET next_execution_at = ?, "
+            + "execution_count = ? WHERE correlation_id = ? AND execution_count < ?";
+    static final String DELETE_SCHEDULED_TRANSACTION = "DELETE FROM scheduled_transactions WHERE correlation_id = ?";
+    static final String ADD_HELD_AMOUNT = "UPDATE balances SET held_amount = held_amount + ? WHERE customer_id = ?";
+
+    private SnapshotStatements() {
+    }
+
+    static Balance toBalance(ResultSet row) throws SQLException {
+        return Balance.builder()
+                .customerId(UUID.fromString(row.getString("customer_id")))
+                .balanceAmount(row.getBigDecimal("balance_amount"))
+                .heldAmount(row.getBigDecimal("held_amount"))
+                .createdAt(row.getTimestamp("created_at"))
+                .updatedAt(row.getTimestamp("updated_at"))
+                .build();
+    }
+
+    static Transaction toTransaction(ResultSet row) throws SQLException {
+        return Transaction.builder()
+                .correlationId(UUID.fromString(row.getString("correlation_id")))
+                .customerId(UUID.fromString(row.getString("customer_id")))
+                .operation(Operation.valueOf(row.getString("operation")))
+                .amount(row.getBigDecimal("amount"))
+                .balanceAfter(row.getBigDecimal("balance_after"))
+                .createdAt(row.getTimestamp("created_at"))
+                .build();
+    }
+
+    static TransactionSummary toSummary(ResultSet row) throws SQLException {
+        return TransactionSummary.builder()
+                .customerId(UUID.fromString(row.getString("customer_id")))
+                .bucketDate(row.getObject("bucket_date", LocalDate.class))
+                .creditTotal(row.getBigDecimal("credit_total"))
+                .creditCount(row.getLong("credit_count"))
+                .debitTotal(row.getBigDecimal("debit_total"))
+                .debitCount(row.getLong("debit_count"))
+                .build();
+    }
+
+    static Hold toHold(ResultSet row) throws SQLException {
+        return Hold.builder()
+                .correlationId(UUID.fromString(row.getString("correlation_id")))
+                .customerId(UUID.fromString(row.getString("customer_id")))
+                .amount(row.getBigDecimal("amount"))
+                .expiresAt(row.getTimestamp("expires_at"))
+                .createdAt(row.getTimestamp("created_at"))
+                .build();
+    }
+
+    // The repeat interval is stored in nanoseconds, as mapped by Hibernate
+    static ScheduledTransaction toScheduledTransaction(ResultSet row) throws SQLException {
+        BigDecimal repeatEvery = row.getBigDecimal("repeat_every");
+        return ScheduledTransaction.builder()
+                .correlationId(UUID.fromString(row.getString("correlation_id")))
+                .customerId(UUID.fromString(row.getString("customer_id")))
+                .amount(row.getBigDecimal("amount"))
+                .operation(Operation.valueOf(row.getString("operation")))
+                .nextExecutionAt(row.getTimestamp("next_execution_at"))
+                .repeatEvery(repeatEvery == null ? null : Duration.ofNanos(repeatEvery.longValueExact()))
+                .executionCount(row.getLong("execution_count"))
+                .createdAt(row.getTimestamp("created_at"))
+                .build();
+    }
+
+    static Object[] balanceParameters(Balance balance) {
+        return new Object[]{balance.getCustomerId().toString(), balance.getBalanceAmount(), balance.getHeldAmount(),
+                balance.getCreatedAt(), balance.getUpdatedAt()};
+    }
+
+    static Object[] transactionParameters(Transaction transaction) {
+        return new Object[]{transaction.getCorrelationId().toString(), transaction.getCustomerId().toString(),
+                transaction.getOperation().name(), transaction.getAmount(), transaction.getBalanceAfter(),
+                transaction.getCreatedAt()};
+    }
+
+    static Object[] summaryParameters(TransactionSummary summary) {
+        return new Object[]{summary.getCustomerId().toString(), summary.getBucketDate(), summary.getCreditTotal(),
+                summary.getCreditCount(), summary.getDebitTotal(), summary.getDebitCount()};
+    }
+
+    static Object[] holdParameters(Hold hold) {
+        return new Object[]{hold.getCorrelationId().toString(), hold.getCustomerId().toString(), hold.getAmount(),
+                hold.getExpiresAt(), hold.getCreatedAt()};
+    }
+
+    static Object[] scheduledTransactionParameters(ScheduledTransaction scheduledTransaction) {
+        Duration repeatEvery = scheduledTransaction.getRepeatEvery();
+        return new Object[]{scheduledTransaction.getCorrelationId().toString(),
+                scheduledTransaction.getCustomerId().toString(), scheduledTransaction.getAmount(),
+                scheduledTransaction.getOperation().name(), scheduledTransaction.getNextExecutionAt(),
+                repeatEvery == null ? null : repeatEvery.toNanos(), scheduledTransaction.getExecutionCount(),
+                scheduledTransaction.getCreatedAt()};
+    }
+}
@@ -0,0 +1,118 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.domain.TransactionSummary;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+
+final class SnapshotWriter implements Closeable {
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private long recordCount;
+
+    private SnapshotWriter(Path file, FileChannel channel) {
+        this.file = file;
+        this.channel = channel;
+        SnapshotFormat.putHeader(buffer);
+    }
+
+    static SnapshotWriter create(Path file) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        return new SnapshotWriter(file, FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE));
+    }
+
+    Path getFile() {
+        return file;
+    }
+
+    long getRecordCount() {
+        return recordCount;
+    }
+
+    void append(Balance balance) {
+        append(buffer -> SnapshotFormat.put(buffer, balance));
+    }
+
+    void append(Transaction transaction) {
+        append(buffer -> SnapshotFormat.put(buffer, transaction));
+    }
+
+    void append(TransactionSummary summary) {
+        append(buffer -> SnapshotFormat.put(buffer, summary));
+    }
+
+    void append(Hold hold) {
+        append(buffer -> SnapshotFormat.put(buffer, hold));
+    }
+
+    void appendRelease(Hold hold) {
+        append(buffer -> SnapshotFormat.putRelease(buffer, hold));
+    }
+
+    void appendArchival(Transaction transaction) {
+        append(buffer -> SnapshotFormat.putArchival(buffer, transaction));
+    }
+
+    void append(ScheduledTransaction scheduledTransaction) {
+        append(buffer -> SnapshotFormat.put(buffer, scheduledTransaction));
+    }
+
+    void appendDeletion(ScheduledTransaction scheduledTransaction) {
+        append(buffer -> SnapshotFormat.putDeletion(buffer, scheduledTransaction));
+    }
+
+    // Records are appended from JDBC callbacks and event listeners, hence the unchecked exceptions
+    void flush() {
+        try {
+            buffer.flip();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        } catch (IOException e) {
+            throw new WalletSnapshotException("Wallet snapshot file could not be written: " + file, e);
+        }
+    }
+
+    void force() throws IOException {
+        flush();
+        channel.force(true);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try (channel) {
+            flush();
+        }
+    }
+
+    // A record failing to be put is taken back, so it does not leave half a record in the file
+    private void append(Consumer<ByteBuffer> record) {
+        if (buffer.remaining() < SnapshotFormat.MAX_RECORD_LENGTH) {
+            flush();
+        }
+        int start = buffer.position();
+        try {
+            record.accept(buffer);
+        } catch (RuntimeException e) {
+            buffer.position(start);
+            throw e;
+        }
+        recordCount++;
+    }
+}
@@ -0,0 +1,9 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import jakarta.persistence.PersistenceException;
+
+public class WalletSnapshotException extends PersistenceException {
+    public WalletSnapshotException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
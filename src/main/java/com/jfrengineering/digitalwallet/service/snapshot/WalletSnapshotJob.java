@@ -0,0 +1,95 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import com.jfrengineering.digitalwallet.configuration.SnapshotProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.service.BalanceStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.SELECT_BALANCES;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.SELECT_HOLDS;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.SELECT_SCHEDULED_TRANSACTIONS;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.SELECT_SUMMARIES;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.SELECT_TRANSACTIONS;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.toBalance;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.toHold;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.toScheduledTransaction;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.toSummary;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.toTransaction;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "wallet.snapshot", name = "enabled", havingValue = "true")
+public class WalletSnapshotJob {
+
+    static final String PENDING_SUFFIX = ".pending";
+
+    private final SnapshotProperties snapshotProperties;
+    private final SnapshotDeltaLog snapshotDeltaLog;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshotTransactionTemplate;
+    private final CustomerShardRouter customerShardRouter;
+    private final BalanceStore balanceStore;
+
+    public WalletSnapshotJob(SnapshotProperties snapshotProperties, SnapshotDeltaLog snapshotDeltaLog,
+                             JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             CustomerShardRouter customerShardRouter, BalanceStore balanceStore) {
+        this.snapshotProperties = snapshotProperties;
+        this.snapshotDeltaLog = snapshotDeltaLog;
+        this.jdbcTemplate = jdbcTemplate;
+        this.customerShardRouter = customerShardRouter;
+        this.balanceStore = balanceStore;
+        // Serializable transactions read every table as of the same point in time (H2 keeps an MVCC snapshot)
+        this.snapshotTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.snapshotTransactionTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+    }
+
+    // The delta log is rotated first, so the transactions the snapshot may miss are all in the new delta file, then the
+    // balance store flushed, so the balances table has the balances of the transactions in the previous ones
+    @Scheduled(fixedDelayString = "${wallet.snapshot.interval:PT5M}", initialDelayString = "${wallet.snapshot.interval:PT5M}")
+    public void takeSnapshot() {
+        long start = System.nanoTime();
+        List<Path> redundantDeltaFiles = snapshotDeltaLog.rotate();
+        balanceStore.flush();
+        Path snapshot = snapshotProperties.getSnapshotFile();
+        Path pendingSnapshot = snapshot.resolveSibling(snapshot.getFileName() + PENDING_SUFFIX);
+        long records;
+        try {
+            try (SnapshotWriter writer = SnapshotWriter.create(pendingSnapshot)) {
+                customerShardRouter.forEachShard(shard ->
+                        snapshotTransactionTemplate.executeWithoutResult(status -> writeShard(writer)));
+                writer.force();
+                records = writer.getRecordCount();
+            }
+            Files.move(pendingSnapshot, snapshot, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            throw new WalletSnapshotException("Wallet snapshot could not be written: " + snapshot, e);
+        }
+        snapshotDeltaLog.delete(redundantDeltaFiles);
+        log.info("Wallet snapshot of {} rows written in {} ms", records,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private void writeShard(SnapshotWriter writer) {
+        jdbcTemplate.query(SELECT_BALANCES, (RowCallbackHandler) row -> writer.append(toBalance(row)));
+        jdbcTemplate.query(SELECT_TRANSACTIONS, (RowCallbackHandler) row -> writer.append(toTransaction(row)));
+        jdbcTemplate.query(SELECT_SUMMARIES, (RowCallbackHandler) row -> writer.append(toSummary(row)));
+        jdbcTemplate.query(SELECT_HOLDS, (RowCallbackHandler) row -> writer.append(toHold(row)));
+        jdbcTemplate.query(SELECT_SCHEDULED_TRANSACTIONS,
+                (RowCallbackHandler) row -> writer.append(toScheduledTransaction(row)));
+    }
+}
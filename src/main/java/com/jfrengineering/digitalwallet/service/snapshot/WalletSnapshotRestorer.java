@@ -0,0 +1,82 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import com.jfrengineering.digitalwallet.configuration.SnapshotProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.service.TransactionSummaryService;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.sql.init.dependency.DependsOnDatabaseInitialization;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+// Restores the snapshot, if any, in place of the initialization scripts (see SnapshotEnvironmentPostProcessor),
+// then replays the delta logs on top of it, or on top of the initialization scripts data if there is no snapshot yet
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "wallet.snapshot", name = "enabled", havingValue = "true")
+@DependsOnDatabaseInitialization
+@RequiredArgsConstructor
+public class WalletSnapshotRestorer {
+
+    private final SnapshotProperties snapshotProperties;
+    private final SnapshotDeltaLog snapshotDeltaLog;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionSummaryService transactionSummaryService;
+    private final CustomerShardRouter customerShardRouter;
+
+    @PostConstruct
+    void restore() {
+        Path snapshot = snapshotProperties.getSnapshotFile();
+        boolean snapshotExists = Files.exists(snapshot);
+        List<Path> deltaFiles = snapshotDeltaLog.previousDeltaFiles();
+        if (!snapshotExists && deltaFiles.isEmpty()) {
+            log.info("No wallet snapshot to restore from {}", snapshotProperties.getDirectory());
+            return;
+        }
+        long start = System.nanoTime();
+        AtomicLong loadedRows = new AtomicLong();
+        AtomicLong replayedTransactions = new AtomicLong();
+        customerShardRouter.forEachShard(shard -> transactionTemplate.executeWithoutResult(status -> {
+            Predicate<UUID> shardCustomers = customerId -> customerShardRouter.shardOf(customerId) == shard;
+            if (snapshotExists) {
+                loadedRows.addAndGet(load(snapshot, shardCustomers));
+            }
+            replayedTransactions.addAndGet(replay(deltaFiles, shardCustomers));
+        }));
+        log.info("Restored {} rows from the wallet snapshot and replayed {} transactions from {} delta logs in {} ms",
+                loadedRows, replayedTransactions, deltaFiles.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private long load(Path snapshot, Predicate<UUID> shardCustomers) {
+        SnapshotLoader loader = new SnapshotLoader(jdbcTemplate, shardCustomers, snapshotProperties.getRestoreBatchSize());
+        read(snapshot, loader);
+        return loader.finish();
+    }
+
+    private long replay(List<Path> deltaFiles, Predicate<UUID> shardCustomers) {
+        DeltaLogReplayer replayer = new DeltaLogReplayer(jdbcTemplate, shardCustomers, transactionSummaryService);
+        deltaFiles.forEach(deltaFile -> read(deltaFile, replayer));
+        return replayer.getReplayedTransactions();
+    }
+
+    private static void read(Path file, SnapshotRecordHandler handler) {
+        try {
+            SnapshotFormat.read(file, handler);
+        } catch (IOException e) {
+            throw new WalletSnapshotException("Wallet snapshot could not be read: " + file, e);
+        }
+    }
+}
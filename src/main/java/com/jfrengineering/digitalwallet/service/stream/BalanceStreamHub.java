@@ -0,0 +1,111 @@
+package com.jfrengineering.digitalwallet.service.stream;
+
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.mapper.TransactionMapper;
+import com.jfrengineering.digitalwallet.service.TransactionCreatedEvent;
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import jakarta.annotation.PreDestroy;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+// Fans out each committed transaction to the balance streams of its customer. Publishing takes no lock and does not
+// wait for any subscriber, as the updates are sent by a few sender threads, and an idle subscriber only costs its open
+// (asynchronous) request. A sender thread stalled in the write of a client that stopped reading is replaced until the
+// write is released, so the stalled clients never hold back the other streams.
+public class BalanceStreamHub {
+
+    private final ThreadPoolExecutor sender;
+    private final ScheduledExecutorService watchdog;
+    private final long sendTimeoutMillis;
+    private final Supplier<SseEmitter> emitterFactory;
+    private final Map<UUID, Set<BalanceStreamSubscriber>> subscribers = new ConcurrentHashMap<>();
+
+    public BalanceStreamHub(Duration timeout, int senderThreads, Duration sendTimeout) {
+        this(new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(),
+                        createThreadFactory("balance-stream-")),
+                Executors.newSingleThreadScheduledExecutor(createThreadFactory("balance-stream-watchdog-")),
+                sendTimeout, () -> new SseEmitter(timeout.toMillis()));
+    }
+
+    BalanceStreamHub(ThreadPoolExecutor sender, ScheduledExecutorService watchdog, Duration sendTimeout,
+                     Supplier<SseEmitter> emitterFactory) {
+        this.sender = sender;
+        this.watchdog = watchdog;
+        this.sendTimeoutMillis = sendTimeout.toMillis();
+        this.emitterFactory = emitterFactory;
+    }
+
+    public SseEmitter subscribe(UUID customerId) {
+        SseEmitter emitter = emitterFactory.get();
+        BalanceStreamSubscriber subscriber = new BalanceStreamSubscriber(emitter, sender, watchdog,
+                sendTimeoutMillis, this::addSender, this::removeSender);
+        subscribers.compute(customerId, (key, customerSubscribers) -> {
+            Set<BalanceStreamSubscriber> updatedSubscribers = customerSubscribers == null
+                    ? ConcurrentHashMap.newKeySet()
+                    : customerSubscribers;
+            updatedSubscribers.add(subscriber);
+            return updatedSubscribers;
+        });
+        emitter.onCompletion(() -> unsubscribe(customerId, subscriber));
+        emitter.onError(error -> unsubscribe(customerId, subscriber));
+        emitter.onTimeout(emitter::complete);
+        return emitter;
+    }
+
+    @TransactionalEventListener
+    public void onTransactionCreated(TransactionCreatedEvent event) {
+        Transaction transaction = event.transaction();
+        Set<BalanceStreamSubscriber> customerSubscribers = subscribers.get(transaction.getCustomerId());
+        if (customerSubscribers != null) {
+            TransactionBalanceResponse update = TransactionMapper.transactionAndBalanceToTransactionBalanceResponse(
+                    transaction.getCustomerId(), transaction, transaction.getBalanceAfter());
+            customerSubscribers.forEach(subscriber -> subscriber.offer(update));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @PreDestroy
+    public void close() {
+        sender.shutdownNow();
+        watchdog.shutdownNow();
+    }
+
+    private synchronized void addSender() {
+        sender.setMaximumPoolSize(sender.getMaximumPoolSize() + 1);
+        sender.setCorePoolSize(sender.getCorePoolSize() + 1);
+    }
+
+    private synchronized void removeSender() {
+        sender.setCorePoolSize(sender.getCorePoolSize() - 1);
+        sender.setMaximumPoolSize(sender.getMaximumPoolSize() - 1);
+    }
+
+    private void unsubscribe(UUID customerId, BalanceStreamSubscriber subscriber) {
+        subscribers.computeIfPresent(customerId, (key, customerSubscribers) -> {
+            customerSubscribers.remove(subscriber);
+            return customerSubscribers.isEmpty() ? null : customerSubscribers;
+        });
+    }
+
+    private static CustomizableThreadFactory createThreadFactory(String threadNamePrefix) {
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(threadNamePrefix);
+        threadFactory.setDaemon(true);
+        return threadFactory;
+    }
+}
@@ -0,0 +1,97 @@
+package com.jfrengineering.digitalwallet.service.stream;
+
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// Sends the updates of a subscriber one at a time and in order. While a send is in progress only the latest update is
+// kept, so a slow consumer skips to the latest balance instead of piling up updates, and a consumer not taking an
+// update within the send timeout is dropped. The watchdog never calls the emitter, whose monitor the stalled send holds:
+// it only marks the subscriber dropped and reports the stalled sender thread, and the stream is completed by that
+// thread once the write is released (by the connection timeout).
+@Slf4j
+@RequiredArgsConstructor
+class BalanceStreamSubscriber {
+
+    static final String EVENT_NAME = "transaction";
+
+    private final SseEmitter emitter;
+    private final Executor sender;
+    private final ScheduledExecutorService watchdog;
+    private final long sendTimeoutMillis;
+    private final Runnable onSenderStalled;
+    private final Runnable onSenderReleased;
+    private final AtomicReference<TransactionBalanceResponse> latestUpdate = new AtomicReference<>();
+    private final AtomicInteger pendingOffers = new AtomicInteger();
+    private volatile boolean dropped;
+
+    void offer(TransactionBalanceResponse update) {
+        if (dropped) {
+            return;
+        }
+        latestUpdate.set(update);
+        if (pendingOffers.getAndIncrement() == 0) {
+            sender.execute(this::drain);
+        }
+    }
+
+    // Only one drain is scheduled at a time: by the offer finding no pending ones, or by the previous drain if offers
+    // were made while it was sending. A drain sends a single update, so a busy customer does not keep a sender thread
+    // from the other streams.
+    private void drain() {
+        int offers = pendingOffers.get();
+        TransactionBalanceResponse update = latestUpdate.getAndSet(null);
+        if (update != null && !dropped) {
+            send(update);
+        }
+        if (pendingOffers.addAndGet(-offers) != 0) {
+            sender.execute(this::drain);
+        }
+    }
+
+    // Whichever of the send and its timeout ends first takes the in-flight flag, so a send is reported stalled and
+    // released at most once
+    private void send(TransactionBalanceResponse update) {
+        AtomicBoolean inFlight = new AtomicBoolean(true);
+        ScheduledFuture<?> timeout = watchdog.schedule(() -> {
+            if (inFlight.compareAndSet(true, false)) {
+                stall();
+            }
+        }, sendTimeoutMillis, TimeUnit.MILLISECONDS);
+        try {
+            emitter.send(SseEmitter.event().name(EVENT_NAME).data(update, MediaType.APPLICATION_JSON));
+        } catch (IOException | IllegalStateException e) {
+            // The stream is closed or broken, the emitter callbacks unsubscribe it
+            log.debug("Balance update could not be sent: {}", e.getMessage());
+        } finally {
+            timeout.cancel(false);
+            if (!inFlight.compareAndSet(true, false)) {
+                release();
+            }
+        }
+    }
+
+    private void stall() {
+        dropped = true;
+        log.debug("Balance update not sent within {} ms, dropping the stream", sendTimeoutMillis);
+        onSenderStalled.run();
+    }
+
+    // The client is expected to reconnect, and gets the latest balance then
+    private void release() {
+        onSenderReleased.run();
+        emitter.completeWithError(new TimeoutException("Balance update not sent within " + sendTimeoutMillis + " ms"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.jfrengineering.digitalwallet.web.binary;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import org.springframework.http.MediaType;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+// Fixed-layout binary encoding of transaction requests, big-endian:
+//   correlationId   16 bytes, most then least significant bits
+//   customerId      16 bytes, most then least significant bits
+//   amount           8 bytes, in pence
+//   operation        1 byte, 0 for ADD and 1 for WITHDRAW
+// A batch is the number of transactions as 4 bytes followed by the transactions
+public final class TransactionRequestFormat {
+
+    public static final String MEDIA_TYPE_VALUE = "application/vnd.wallet.transaction";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+    public static final int RECORD_LENGTH = 41;
+    public static final int COUNT_LENGTH = 4;
+
+    private static final Operation[] OPERATIONS = Operation.values();
+
+    private TransactionRequestFormat() {
+    }
+
+    public static TransactionRequest read(ByteBuffer buffer) {
+        UUID correlationId = new UUID(buffer.getLong(), buffer.getLong());
+        UUID customerId = new UUID(buffer.getLong(), buffer.getLong());
+        BigDecimal amount = BigDecimal.valueOf(buffer.getLong(), 2);
+        int operation = buffer.get();
+        if (operation < 0 || operation >= OPERATIONS.length) {
+            throw new IllegalArgumentException("Unknown transaction operation: " + operation);
+        }
+        return new TransactionRequest(correlationId, customerId, amount, OPERATIONS[operation]);
+    }
+
+    public static void write(TransactionRequest transactionRequest, ByteBuffer buffer) {
+        buffer.putLong(transactionRequest.getCorrelationId().getMostSignificantBits())
+                .putLong(transactionRequest.getCorrelationId().getLeastSignificantBits())
+                .putLong(transactionRequest.getCustomerId().getMostSignificantBits())
+                .putLong(transactionRequest.getCustomerId().getLeastSignificantBits())
+                .putLong(transactionRequest.getAmount().setScale(2).unscaledValue().longValueExact())
+                .put((byte) transactionRequest.getOperation().ordinal());
+    }
+}
@@ -0,0 +1,77 @@
+package com.jfrengineering.digitalwallet.web.binary;
+
+import com.jfrengineering.digitalwallet.web.model.TransactionBatchRequest;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.jfrengineering.digitalwallet.web.binary.TransactionRequestFormat.COUNT_LENGTH;
+import static com.jfrengineering.digitalwallet.web.binary.TransactionRequestFormat.RECORD_LENGTH;
+
+// Reads and writes transaction requests and batches in the binary format, decoding the identifiers and amounts
+// straight from their bytes rather than parsing their text. The body is read up to the longest valid one, so a larger
+// body is rejected without being buffered.
+public class TransactionRequestMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final int MAX_BATCH_LENGTH = COUNT_LENGTH + TransactionBatchRequest.MAX_TRANSACTIONS * RECORD_LENGTH;
+
+    public TransactionRequestMessageConverter() {
+        super(TransactionRequestFormat.MEDIA_TYPE);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return TransactionRequest.class == clazz || TransactionBatchRequest.class == clazz;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        boolean batch = TransactionBatchRequest.class == clazz;
+        byte[] body = inputMessage.getBody().readNBytes((batch ? MAX_BATCH_LENGTH : RECORD_LENGTH) + 1);
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        try {
+            Object request = batch ? readBatch(buffer) : TransactionRequestFormat.read(buffer);
+            if (buffer.hasRemaining()) {
+                throw new HttpMessageNotReadableException("Unexpected bytes after the transactions", inputMessage);
+            }
+            return request;
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new HttpMessageNotReadableException("Invalid binary transaction request", e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object request, HttpOutputMessage outputMessage) throws IOException {
+        List<TransactionRequest> transactions = request instanceof TransactionBatchRequest batchRequest
+                ? batchRequest.getTransactions()
+                : List.of((TransactionRequest) request);
+        boolean batch = request instanceof TransactionBatchRequest;
+        ByteBuffer buffer = ByteBuffer.allocate((batch ? COUNT_LENGTH : 0) + transactions.size() * RECORD_LENGTH);
+        if (batch) {
+            buffer.putInt(transactions.size());
+        }
+        transactions.forEach(transaction -> TransactionRequestFormat.write(transaction, buffer));
+        outputMessage.getBody().write(buffer.array());
+    }
+
+    // The count is checked against the body length before any transaction is read
+    private static TransactionBatchRequest readBatch(ByteBuffer buffer) {
+        int count = buffer.getInt();
+        if (count < 0 || (long) count * RECORD_LENGTH != buffer.remaining()) {
+            throw new IllegalArgumentException("Transaction count does not match the body length: " + count);
+        }
+        List<TransactionRequest> transactions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            transactions.add(TransactionRequestFormat.read(buffer));
+        }
+        return new TransactionBatchRequest(transactions);
+    }
+}
@@ -0,0 +1,87 @@
+package com.jfrengineering.digitalwallet.web.controller;
+
+import com.jfrengineering.digitalwallet.service.BalanceService;
+import com.jfrengineering.digitalwallet.service.CustomerOnboardingService;
+import com.jfrengineering.digitalwallet.web.model.BalanceBatchRequest;
+import com.jfrengineering.digitalwallet.web.model.BalanceBatchResponse;
+import com.jfrengineering.digitalwallet.web.model.BalanceResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.logging.LogMarkers.SAMPLED;
+
+@Slf4j
+@RestController
+@RequestMapping("/balances")
+@RequiredArgsConstructor
+public class BalanceController {
+
+    private final BalanceService balanceService;
+    private final CustomerOnboardingService customerOnboardingService;
+
+    @Operation(summary = "Get Customer Balance given its id, either the current one or the one at a point in time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Balance of the Customer",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BalanceResponse.class)) }),
+            @ApiResponse(responseCode = "404", description = "Customer not found",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string")))
+    })
+    @GetMapping("/{customerId}")
+    public ResponseEntity<BalanceResponse> getCustomerBalance(
+            @PathVariable UUID customerId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime asOf
+    ) {
+        log.info(SAMPLED, "Received request to get balance for customer with ID {}", customerId);
+        return ResponseEntity.ok(balanceService.getBalance(customerId, asOf));
+    }
+
+    @Operation(summary = "Stream the updated Balance of a Customer after each of its committed Transactions (Server-Sent Events)")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream of 'transaction' events with the Transaction and updated Balance",
+                    content = { @Content(mediaType = "text/event-stream",
+                            schema = @Schema(implementation = TransactionBalanceResponse.class)) }),
+            @ApiResponse(responseCode = "404", description = "Customer not found",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string")))
+    })
+    @GetMapping(value = "/{customerId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamCustomerBalance(@PathVariable UUID customerId) {
+        log.info(SAMPLED, "Received request to stream balance updates for customer with ID {}", customerId);
+        return balanceService.streamBalanceUpdates(customerId);
+    }
+
+    @Operation(summary = "Create the empty Balances of a batch of Customers, e.g. when onboarding the Customers of a partner")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status of each Balance, 201 if created or 409 if it already existed",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = BalanceBatchResponse.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad batch request, missing or too many Customers",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string")))
+    })
+    @PostMapping("/batch")
+    public ResponseEntity<BalanceBatchResponse> createBalances(@Valid @RequestBody BalanceBatchRequest balanceBatchRequest) {
+        log.info("Received request to create the balances of {} customers", balanceBatchRequest.getCustomerIds().size());
+        return ResponseEntity.ok(customerOnboardingService.createBalances(balanceBatchRequest.getCustomerIds()));
+    }
+}
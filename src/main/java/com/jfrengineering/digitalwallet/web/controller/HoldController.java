@@ -0,0 +1,90 @@
+package com.jfrengineering.digitalwallet.web.controller;
+
+import com.jfrengineering.digitalwallet.service.HoldService;
+import com.jfrengineering.digitalwallet.web.model.HoldRequest;
+import com.jfrengineering.digitalwallet.web.model.HoldResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.logging.LogMarkers.SAMPLED;
+
+@Slf4j
+@RestController
+@RequestMapping("/holds")
+@RequiredArgsConstructor
+public class HoldController {
+
+    private final HoldService holdService;
+
+    @Operation(summary = "Reserve an amount of a Customer Balance until it is captured, released or expired")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Hold reserved",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = HoldResponse.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad Hold request, invalid values",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "404", description = "Customer not found",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "409", description = "Rejected Hold with repeated 'correlationId'",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "406", description = "Rejected Hold with wrong 'amount'",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string")))
+    })
+    @PostMapping
+    public ResponseEntity<HoldResponse> reserveHold(@Valid @RequestBody HoldRequest holdRequest) {
+        log.info(SAMPLED, "Received request to reserve hold {} for customer with ID {}: {}",
+                holdRequest.getCorrelationId(), holdRequest.getCustomerId(), holdRequest.getAmount());
+        return new ResponseEntity<>(holdService.reserveHold(holdRequest), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Capture a Hold, or part of it, as a Debit Transaction and release the rest")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Hold captured",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TransactionBalanceResponse.class)) }),
+            @ApiResponse(responseCode = "400", description = "Captured amount not positive or above the held amount",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "404", description = "Hold not found",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string")))
+    })
+    @PostMapping("/{customerId}/{correlationId}/capture")
+    public ResponseEntity<TransactionBalanceResponse> captureHold(@PathVariable UUID customerId,
+                                                                  @PathVariable UUID correlationId,
+                                                                  @RequestParam(required = false) BigDecimal amount) {
+        log.info(SAMPLED, "Received request to capture hold {} for customer with ID {}: {}", correlationId,
+                customerId, amount);
+        return new ResponseEntity<>(holdService.captureHold(customerId, correlationId, amount), HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Release a Hold, making its amount available again")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Hold released"),
+            @ApiResponse(responseCode = "404", description = "Hold not found",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string")))
+    })
+    @DeleteMapping("/{customerId}/{correlationId}")
+    public ResponseEntity<Void> releaseHold(@PathVariable UUID customerId, @PathVariable UUID correlationId) {
+        log.info(SAMPLED, "Received request to release hold {} for customer with ID {}", correlationId, customerId);
+        holdService.releaseHold(customerId, correlationId);
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,72 @@
+package com.jfrengineering.digitalwallet.web.controller;
+
+import com.jfrengineering.digitalwallet.service.ScheduledTransactionService;
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionRequest;
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.logging.LogMarkers.SAMPLED;
+
+@Slf4j
+@RestController
+@RequestMapping("/scheduled-transactions")
+@RequiredArgsConstructor
+public class ScheduledTransactionController {
+
+    private final ScheduledTransactionService scheduledTransactionService;
+
+    @Operation(summary = "Schedule a Transaction for a Customer, executed once or repeatedly from the given time")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Transaction scheduled",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = ScheduledTransactionResponse.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad Scheduled Transaction request, invalid values",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "404", description = "Customer not found",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "409", description = "Rejected Scheduled Transaction with repeated 'correlationId'",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string")))
+    })
+    @PostMapping
+    public ResponseEntity<ScheduledTransactionResponse> scheduleTransaction(
+            @Valid @RequestBody ScheduledTransactionRequest scheduledTransactionRequest) {
+        log.info(SAMPLED, "Received request to schedule transaction {} for customer with ID {}: {} {} at {} repeating every {}",
+                scheduledTransactionRequest.getCorrelationId(), scheduledTransactionRequest.getCustomerId(),
+                scheduledTransactionRequest.getOperation(), scheduledTransactionRequest.getAmount(),
+                scheduledTransactionRequest.getExecuteAt(), scheduledTransactionRequest.getRepeatEvery());
+        return new ResponseEntity<>(scheduledTransactionService.scheduleTransaction(scheduledTransactionRequest),
+                HttpStatus.CREATED);
+    }
+
+    @Operation(summary = "Cancel the next executions of a Scheduled Transaction")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Scheduled Transaction cancelled"),
+            @ApiResponse(responseCode = "404", description = "Scheduled Transaction not found",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string")))
+    })
+    @DeleteMapping("/{customerId}/{correlationId}")
+    public ResponseEntity<Void> cancelScheduledTransaction(@PathVariable UUID customerId,
+                                                           @PathVariable UUID correlationId) {
+        log.info(SAMPLED, "Received request to cancel scheduled transaction {} for customer with ID {}", correlationId,
+                customerId);
+        scheduledTransactionService.cancelScheduledTransaction(customerId, correlationId);
+        return ResponseEntity.noContent().build();
+    }
+}
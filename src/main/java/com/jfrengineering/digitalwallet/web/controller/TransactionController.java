@@ -1,8 +1,16 @@
 package com.jfrengineering.digitalwallet.web.controller;
 
 import com.jfrengineering.digitalwallet.service.TransactionService;
+import com.jfrengineering.digitalwallet.service.TransactionSummaryService;
+import com.jfrengineering.digitalwallet.web.binary.TransactionRequestFormat;
+import com.jfrengineering.digitalwallet.web.exception.TransactionExceptionHandler;
+import com.jfrengineering.digitalwallet.web.model.SummaryGranularity;
 import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionBatchRequest;
+import com.jfrengineering.digitalwallet.web.model.TransactionBatchResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionBatchResult;
 import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import com.jfrengineering.digitalwallet.web.model.TransactionSummaryResponse;
 import com.jfrengineering.digitalwallet.web.model.TransactionsPageResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -12,7 +20,9 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -22,8 +32,12 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
+import static com.jfrengineering.digitalwallet.logging.LogMarkers.SAMPLED;
+
 @Slf4j
 @RestController
 @RequestMapping("/transactions")
@@ -31,6 +45,8 @@ import java.util.UUID;
 public class TransactionController {
 
     private final TransactionService transactionService;
+    private final TransactionSummaryService transactionSummaryService;
+    private final TransactionExceptionHandler transactionExceptionHandler;
 
     @Operation(summary = "Get Customer Transactions given its id")
     @ApiResponses(value = {
@@ -46,10 +62,31 @@ public class TransactionController {
             @RequestParam(required = false, defaultValue = "0") int pageNumber,
             @RequestParam(required = false, defaultValue = "10") int pageSize
     ) {
-        log.info("Received request to get customer transactions for customer with ID " + customerId);
+        log.info(SAMPLED, "Received request to get customer transactions for customer with ID {}", customerId);
         return ResponseEntity.ok(transactionService.getTransactionsByCustomerId(customerId, pageNumber, pageSize));
     }
 
+    @Operation(summary = "Get the totals of Customer Transactions per day or month within a date range")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Summary of Transactions",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TransactionSummaryResponse.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad date range",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "404", description = "Customer not found",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string")))
+    })
+    @GetMapping("/{customerId}/summary")
+    public ResponseEntity<TransactionSummaryResponse> getCustomerTransactionSummary(
+            @PathVariable UUID customerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false, defaultValue = "DAY") SummaryGranularity granularity
+    ) {
+        log.info(SAMPLED, "Received request to get transaction summary for customer with ID {}", customerId);
+        return ResponseEntity.ok(transactionSummaryService.getTransactionSummary(customerId, from, to, granularity));
+    }
+
     @Operation(summary = "Create a Debit/Credit Transaction")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "202", description = "Transaction created",
@@ -62,12 +99,50 @@ public class TransactionController {
             @ApiResponse(responseCode = "409", description = "Rejected Transaction with repeated 'correlationId'",
                     content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
             @ApiResponse(responseCode = "406", description = "Rejected Transaction with wrong 'amount'",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "429", description = "Too many Transactions for the Customer, retry after the given seconds",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "503", description = "Too many Transactions in progress, retry after the given seconds",
                     content = @Content(mediaType = "text/plain", schema = @Schema(type = "string")))
     })
-    @PostMapping
+    @PostMapping(consumes = { MediaType.APPLICATION_JSON_VALUE, TransactionRequestFormat.MEDIA_TYPE_VALUE })
     public ResponseEntity<TransactionBalanceResponse> createTransaction(@Valid @RequestBody TransactionRequest transactionRequest) {
-        log.info("Received request to create transaction: " + transactionRequest);
+        log.info(SAMPLED, "Received request to create transaction {} for customer with ID {}: {} {}",
+                transactionRequest.getCorrelationId(), transactionRequest.getCustomerId(),
+                transactionRequest.getOperation(), transactionRequest.getAmount());
         TransactionBalanceResponse transactionBalanceResponse = transactionService.createTransaction(transactionRequest);
         return new ResponseEntity<>(transactionBalanceResponse, HttpStatus.CREATED);
     }
+
+    @Operation(summary = "Create a batch of Debit/Credit Transactions, each accepted or rejected on its own")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status and body of each Transaction, in the request order",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TransactionBatchResponse.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad batch request, one or more fields with invalid values",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string")))
+    })
+    @PostMapping(path = "/batch",
+            consumes = { MediaType.APPLICATION_JSON_VALUE, TransactionRequestFormat.MEDIA_TYPE_VALUE })
+    public ResponseEntity<TransactionBatchResponse> createTransactions(
+            @Valid @RequestBody TransactionBatchRequest transactionBatchRequest) {
+        log.info(SAMPLED, "Received request to create a batch of {} transactions",
+                transactionBatchRequest.getTransactions().size());
+        List<TransactionBatchResult> results = transactionBatchRequest.getTransactions().stream()
+                .map(this::createBatchTransaction)
+                .toList();
+        return ResponseEntity.ok(new TransactionBatchResponse(results));
+    }
+
+    private TransactionBatchResult createBatchTransaction(TransactionRequest transactionRequest) {
+        try {
+            TransactionBalanceResponse transactionBalanceResponse = transactionService.createTransaction(transactionRequest);
+            return new TransactionBatchResult(transactionRequest.getCorrelationId(), HttpStatus.CREATED.value(),
+                    transactionBalanceResponse, null);
+        } catch (RuntimeException e) {
+            ResponseEntity<?> response = transactionExceptionHandler.toResponse(e);
+            return new TransactionBatchResult(transactionRequest.getCorrelationId(), response.getStatusCode().value(),
+                    null, String.valueOf(response.getBody()));
+        }
+    }
 }
@@ -0,0 +1,54 @@
+package com.jfrengineering.digitalwallet.web.controller;
+
+import com.jfrengineering.digitalwallet.service.TransactionService;
+import com.jfrengineering.digitalwallet.web.model.TransferRequest;
+import com.jfrengineering.digitalwallet.web.model.TransferResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.jfrengineering.digitalwallet.logging.LogMarkers.SAMPLED;
+
+@Slf4j
+@RestController
+@RequestMapping("/transfers")
+@RequiredArgsConstructor
+public class TransferController {
+
+    private final TransactionService transactionService;
+
+    @Operation(summary = "Transfer an amount from a Customer to another, debiting and crediting both Balances atomically")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "201", description = "Transfer created",
+                    content = { @Content(mediaType = "application/json",
+                            schema = @Schema(implementation = TransferResponse.class)) }),
+            @ApiResponse(responseCode = "400", description = "Bad Transfer request, invalid values or customers",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "404", description = "Customer not found",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "409", description = "Rejected Transfer with repeated 'correlationId'",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "406", description = "Rejected Transfer with wrong 'amount'",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))),
+            @ApiResponse(responseCode = "503", description = "Too many Transactions in progress, retry after the given seconds",
+                    content = @Content(mediaType = "text/plain", schema = @Schema(type = "string")))
+    })
+    @PostMapping
+    public ResponseEntity<TransferResponse> createTransfer(@Valid @RequestBody TransferRequest transferRequest) {
+        log.info(SAMPLED, "Received request to create transfer {} from customer with ID {} to customer with ID {}: {}",
+                transferRequest.getCorrelationId(), transferRequest.getFromCustomerId(),
+                transferRequest.getToCustomerId(), transferRequest.getAmount());
+        return new ResponseEntity<>(transactionService.createTransfer(transferRequest), HttpStatus.CREATED);
+    }
+}
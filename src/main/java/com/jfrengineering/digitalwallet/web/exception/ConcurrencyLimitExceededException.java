@@ -0,0 +1,16 @@
+package com.jfrengineering.digitalwallet.web.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+@Getter
+public class ConcurrencyLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ConcurrencyLimitExceededException(Duration retryAfter) {
+        super("Too many transactions in progress, please retry later");
+        this.retryAfter = retryAfter;
+    }
+}
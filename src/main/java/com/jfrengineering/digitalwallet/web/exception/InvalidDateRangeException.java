@@ -0,0 +1,7 @@
+package com.jfrengineering.digitalwallet.web.exception;
+
+public class InvalidDateRangeException extends RuntimeException {
+    public InvalidDateRangeException(String reason) {
+        super(reason);
+    }
+}
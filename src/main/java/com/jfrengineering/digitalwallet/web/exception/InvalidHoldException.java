@@ -0,0 +1,7 @@
+package com.jfrengineering.digitalwallet.web.exception;
+
+public class InvalidHoldException extends RuntimeException {
+    public InvalidHoldException(String reason) {
+        super(reason);
+    }
+}
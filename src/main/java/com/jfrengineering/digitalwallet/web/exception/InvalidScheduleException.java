@@ -0,0 +1,7 @@
+package com.jfrengineering.digitalwallet.web.exception;
+
+public class InvalidScheduleException extends RuntimeException {
+    public InvalidScheduleException(String reason) {
+        super(reason);
+    }
+}
@@ -0,0 +1,7 @@
+package com.jfrengineering.digitalwallet.web.exception;
+
+public class InvalidTransferException extends RuntimeException {
+    public InvalidTransferException(String reason) {
+        super(reason);
+    }
+}
@@ -0,0 +1,17 @@
+package com.jfrengineering.digitalwallet.web.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.UUID;
+
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public RateLimitExceededException(UUID customerId, Duration retryAfter) {
+        super(String.format("Too many transactions for customer with ID '%s', please retry later", customerId));
+        this.retryAfter = retryAfter;
+    }
+}
@@ -5,18 +5,26 @@ import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.util.ReflectionUtils;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
 
+import java.lang.reflect.Method;
+import java.time.Duration;
 import java.util.List;
 
 @Slf4j
 @ControllerAdvice
 public class TransactionExceptionHandler {
 
+    private final ExceptionHandlerMethodResolver exceptionHandlerMethods =
+            new ExceptionHandlerMethodResolver(TransactionExceptionHandler.class);
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<List<String>> validationErrorHandler(MethodArgumentNotValidException e) {
         List<String> errors = e.getFieldErrors().stream()
@@ -33,7 +41,7 @@ public class TransactionExceptionHandler {
     }
 
     @ExceptionHandler({ DataIntegrityViolationException.class, EntityExistsException.class })
-    public ResponseEntity<String> dataIntegrityViolationErrorHandler(DataIntegrityViolationException e) {
+    public ResponseEntity<String> dataIntegrityViolationErrorHandler(RuntimeException e) {
         log.warn("Transaction rejected: having repeated 'correlationId'", e);
         String responseMsg = "Transaction rejected. Another transaction with the same 'correlationId' was previously processed";
         return new ResponseEntity<>(responseMsg, HttpStatus.CONFLICT);
@@ -45,10 +53,64 @@ public class TransactionExceptionHandler {
         return new ResponseEntity<>("Transaction rejected. " + e.getMessage(), HttpStatus.NOT_ACCEPTABLE);
     }
 
+    @ExceptionHandler(InvalidDateRangeException.class)
+    public ResponseEntity<String> invalidDateRangeErrorHandler(InvalidDateRangeException e) {
+        log.info(e.getMessage());
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidTransferException.class)
+    public ResponseEntity<String> invalidTransferErrorHandler(InvalidTransferException e) {
+        log.info(e.getMessage());
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidScheduleException.class)
+    public ResponseEntity<String> invalidScheduleErrorHandler(InvalidScheduleException e) {
+        log.info(e.getMessage());
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(InvalidHoldException.class)
+    public ResponseEntity<String> invalidHoldErrorHandler(InvalidHoldException e) {
+        log.info(e.getMessage());
+        return new ResponseEntity<>(e.getMessage(), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<String> rateLimitExceededErrorHandler(RateLimitExceededException e) {
+        log.debug(e.getMessage()); // not logged by default, as it happens under load
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(e.getRetryAfter()))
+                .body(e.getMessage());
+    }
+
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    public ResponseEntity<String> concurrencyLimitExceededErrorHandler(ConcurrencyLimitExceededException e) {
+        log.debug(e.getMessage()); // not logged by default, as it happens under load
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds(e.getRetryAfter()))
+                .body(e.getMessage());
+    }
+
     @ExceptionHandler({PersistenceException.class})
     public ResponseEntity<String> persistenceExceptionErrorHandler(PersistenceException e) {
         log.error("An error with the database has occurred", e);
         return new ResponseEntity<>("There has been an error processing the transaction. Please try again later",
                 HttpStatus.INTERNAL_SERVER_ERROR);
     }
+
+    // The response a request failing with the exception gets, for the transactions of a batch to be rejected one by one
+    public ResponseEntity<?> toResponse(RuntimeException e) {
+        Method method = exceptionHandlerMethods.resolveMethodByThrowable(e);
+        if (method == null) {
+            throw e;
+        }
+        return (ResponseEntity<?>) ReflectionUtils.invokeMethod(method, this, e);
+    }
+
+    // Whole seconds, rounded up so clients do not retry too early
+    private static String retryAfterSeconds(Duration retryAfter) {
+        return String.valueOf(Math.max(1, retryAfter.plusMillis(999).toSeconds()));
+    }
 }
@@ -0,0 +1,48 @@
+package com.jfrengineering.digitalwallet.web.filter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// Reports the time from the start of the JVM until the first API request is served, health probes excluded
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FirstRequestTimingFilter extends OncePerRequestFilter {
+
+    static final String FIRST_REQUEST_TIME_METRIC = "application.first.request.time";
+
+    private final MeterRegistry meterRegistry;
+    private final AtomicBoolean firstRequestServed = new AtomicBoolean();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return firstRequestServed.get() || request.getRequestURI().startsWith("/actuator");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        filterChain.doFilter(request, response);
+        if (firstRequestServed.compareAndSet(false, true)) {
+            long timeToFirstRequest = ManagementFactory.getRuntimeMXBean().getUptime();
+            TimeGauge.builder(FIRST_REQUEST_TIME_METRIC, () -> timeToFirstRequest, TimeUnit.MILLISECONDS)
+                    .description("Time from the start of the JVM until the first request was served")
+                    .register(meterRegistry);
+            log.info("First request ({} {}) served {} ms after the JVM started", request.getMethod(),
+                    request.getRequestURI(), timeToFirstRequest);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.jfrengineering.digitalwallet.web.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.web.model.TransactionResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionsPageResponse;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+// Writes the page field by field, with property names and operations encoded once instead of on every response
+public class TransactionsPageResponseSerializer extends StdSerializer<TransactionsPageResponse> {
+
+    private static final SerializableString CUSTOMER_ID = new SerializedString("customerId");
+    private static final SerializableString PAGE_NUMBER = new SerializedString("pageNumber");
+    private static final SerializableString PAGE_SIZE = new SerializedString("pageSize");
+    private static final SerializableString TOTAL_ELEMENTS = new SerializedString("totalElements");
+    private static final SerializableString HAS_NEXT = new SerializedString("hasNext");
+    private static final SerializableString CONTENT = new SerializedString("content");
+    private static final SerializableString CORRELATION_ID = new SerializedString("correlationId");
+    private static final SerializableString AMOUNT = new SerializedString("amount");
+    private static final SerializableString OPERATION = new SerializedString("operation");
+    private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+    private static final SerializableString[] OPERATIONS = Arrays.stream(Operation.values())
+            .map(operation -> new SerializedString(operation.name()))
+            .toArray(SerializableString[]::new);
+
+    public TransactionsPageResponseSerializer() {
+        super(TransactionsPageResponse.class);
+    }
+
+    @Override
+    public void serialize(TransactionsPageResponse page, JsonGenerator generator, SerializerProvider provider)
+            throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(CUSTOMER_ID);
+        generator.writeString(page.getCustomerId().toString());
+        generator.writeFieldName(PAGE_NUMBER);
+        generator.writeNumber(page.getPageNumber());
+        generator.writeFieldName(PAGE_SIZE);
+        generator.writeNumber(page.getPageSize());
+        generator.writeFieldName(TOTAL_ELEMENTS);
+        generator.writeNumber(page.getTotalElements());
+        generator.writeFieldName(HAS_NEXT);
+        generator.writeBoolean(page.isHasNext());
+        generator.writeFieldName(CONTENT);
+        generator.writeStartArray();
+        for (TransactionResponse transaction : page.getContent()) {
+            writeTransaction(transaction, generator);
+        }
+        generator.writeEndArray();
+        generator.writeEndObject();
+    }
+
+    private static void writeTransaction(TransactionResponse transaction, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeFieldName(CORRELATION_ID);
+        generator.writeString(transaction.getCorrelationId().toString());
+        generator.writeFieldName(AMOUNT);
+        generator.writeNumber(transaction.getAmount());
+        generator.writeFieldName(OPERATION);
+        generator.writeString(OPERATIONS[transaction.getOperation().ordinal()]);
+        generator.writeFieldName(CREATED_AT);
+        generator.writeString(transaction.getCreatedAt()); // already formatted by TransactionMapper
+        generator.writeEndObject();
+    }
+}
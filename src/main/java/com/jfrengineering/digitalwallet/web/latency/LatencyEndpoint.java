@@ -0,0 +1,20 @@
+package com.jfrengineering.digitalwallet.web.latency;
+
+import com.jfrengineering.digitalwallet.web.model.LatencyResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+
+@Endpoint(id = "latency")
+@RequiredArgsConstructor
+public class LatencyEndpoint {
+
+    private final LatencyHistograms latencyHistograms;
+
+    @ReadOperation
+    public Map<String, Map<Integer, LatencyResponse>> latency() {
+        return latencyHistograms.snapshot();
+    }
+}
@@ -0,0 +1,49 @@
+package com.jfrengineering.digitalwallet.web.latency;
+
+import com.jfrengineering.digitalwallet.web.model.LatencyPercentilesResponse;
+import com.jfrengineering.digitalwallet.web.model.LatencyResponse;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.concurrent.TimeUnit;
+
+// Recording is wait-free, reading swaps the interval histogram out of the recorder and adds it to the cumulative one
+class LatencyHistogram {
+
+    private static final long LOWEST_DISCERNIBLE_NANOS = TimeUnit.MICROSECONDS.toNanos(1);
+
+    private final long highestTrackableNanos;
+    private final Recorder recorder;
+    private final Histogram cumulative;
+    private Histogram interval;
+
+    LatencyHistogram(long highestTrackableNanos, int significantDigits) {
+        this.highestTrackableNanos = highestTrackableNanos;
+        this.recorder = new Recorder(LOWEST_DISCERNIBLE_NANOS, highestTrackableNanos, significantDigits);
+        this.cumulative = new Histogram(LOWEST_DISCERNIBLE_NANOS, highestTrackableNanos, significantDigits);
+    }
+
+    void record(long latencyNanos) {
+        recorder.recordValue(Math.min(latencyNanos, highestTrackableNanos));
+    }
+
+    synchronized LatencyResponse snapshot() {
+        interval = recorder.getIntervalHistogram(interval);
+        cumulative.add(interval);
+        return new LatencyResponse(percentiles(interval), percentiles(cumulative));
+    }
+
+    private static LatencyPercentilesResponse percentiles(Histogram histogram) {
+        return new LatencyPercentilesResponse(histogram.getTotalCount(),
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getValueAtPercentile(99.99)),
+                millis(histogram.getMaxValue()));
+    }
+
+    private static double millis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,38 @@
+package com.jfrengineering.digitalwallet.web.latency;
+
+import com.jfrengineering.digitalwallet.web.model.LatencyResponse;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Latency histograms by endpoint and response status, created on the first request of each
+public class LatencyHistograms {
+
+    private final long highestTrackableNanos;
+    private final int significantDigits;
+    private final Map<String, Map<Integer, LatencyHistogram>> histograms = new ConcurrentHashMap<>();
+
+    public LatencyHistograms(Duration highestTrackableValue, int significantDigits) {
+        this.highestTrackableNanos = highestTrackableValue.toNanos();
+        this.significantDigits = significantDigits;
+    }
+
+    public void record(String endpoint, int status, long latencyNanos) {
+        histograms.computeIfAbsent(endpoint, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, key -> new LatencyHistogram(highestTrackableNanos, significantDigits))
+                .record(latencyNanos);
+    }
+
+    // The interval percentiles are those since the previous snapshot
+    public Map<String, Map<Integer, LatencyResponse>> snapshot() {
+        Map<String, Map<Integer, LatencyResponse>> snapshot = new TreeMap<>();
+        histograms.forEach((endpoint, byStatus) -> {
+            Map<Integer, LatencyResponse> endpointSnapshot = new TreeMap<>();
+            byStatus.forEach((status, histogram) -> endpointSnapshot.put(status, histogram.snapshot()));
+            snapshot.put(endpoint, endpointSnapshot);
+        });
+        return snapshot;
+    }
+}
@@ -0,0 +1,35 @@
+package com.jfrengineering.digitalwallet.web.latency;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Records the latency of each request by handler method and response status, after the exceptions have been mapped
+// to their status by the exception handler
+@RequiredArgsConstructor
+public class LatencyRecordingInterceptor implements HandlerInterceptor {
+
+    private static final String START_ATTRIBUTE = LatencyRecordingInterceptor.class.getName() + ".start";
+
+    private final LatencyHistograms latencyHistograms;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (handler instanceof HandlerMethod handlerMethod) {
+            // Exceptions not mapped by the exception handler end up as an internal server error
+            int status = ex == null ? response.getStatus() : HttpStatus.INTERNAL_SERVER_ERROR.value();
+            latencyHistograms.record(handlerMethod.getMethod().getName(), status,
+                    System.nanoTime() - (long) request.getAttribute(START_ATTRIBUTE));
+        }
+    }
+}
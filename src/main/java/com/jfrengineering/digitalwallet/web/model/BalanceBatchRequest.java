@@ -0,0 +1,25 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BalanceBatchRequest {
+
+    public static final int MAX_CUSTOMERS = 10_000;
+
+    @NotEmpty
+    @Size(max = MAX_CUSTOMERS)
+    private List<@NotNull UUID> customerIds;
+}
@@ -0,0 +1,12 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+// 201 if the balance was created, 409 if the customer already had one
+@Data
+public class BalanceBatchResult {
+    private final UUID customerId;
+    private final int status;
+}
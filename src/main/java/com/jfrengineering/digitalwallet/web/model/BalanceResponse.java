@@ -0,0 +1,14 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+public class BalanceResponse {
+    private final UUID customerId;
+    private final BigDecimal balance;
+    private final LocalDateTime asOf;
+}
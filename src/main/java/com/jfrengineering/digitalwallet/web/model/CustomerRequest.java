@@ -0,0 +1,9 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import java.util.UUID;
+
+// Requests on the behalf of a single customer, routed to the shard of the customer
+public interface CustomerRequest {
+
+    UUID getCustomerId();
+}
@@ -0,0 +1,36 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class HoldRequest implements CustomerRequest {
+
+    @NotNull
+    private UUID correlationId;
+
+    @NotNull
+    private UUID customerId;
+
+    @NotNull
+    @Positive
+    @Digits(integer = 5, fraction = 2)
+    private BigDecimal amount;
+
+    // The default expiry applies if not given
+    @Schema(type = "string", description = "ISO-8601 duration", example = "P7D")
+    private Duration expiresIn;
+}
@@ -0,0 +1,15 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+public class HoldResponse {
+    private final UUID correlationId;
+    private final UUID customerId;
+    private final BigDecimal amount;
+    private final String expiresAt;
+    private final BigDecimal availableBalance;
+}
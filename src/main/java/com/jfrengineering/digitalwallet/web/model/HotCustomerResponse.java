@@ -0,0 +1,12 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+@Data
+public class HotCustomerResponse {
+    private final UUID customerId;
+    private final long count;
+    private final double ratePerSecond;
+}
@@ -0,0 +1,12 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class HotCustomersResponse {
+    private final long windowSeconds;
+    private final List<HotCustomerResponse> writes;
+    private final List<HotCustomerResponse> reads;
+}
@@ -0,0 +1,20 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.Data;
+
+// Latencies in milliseconds
+@Data
+@JsonPropertyOrder({"count", "p50", "p90", "p99", "p99.9", "p99.99", "max"})
+public class LatencyPercentilesResponse {
+    private final long count;
+    private final double p50;
+    private final double p90;
+    private final double p99;
+    @JsonProperty("p99.9")
+    private final double p999;
+    @JsonProperty("p99.99")
+    private final double p9999;
+    private final double max;
+}
@@ -0,0 +1,9 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import lombok.Data;
+
+@Data
+public class LatencyResponse {
+    private final LatencyPercentilesResponse interval;
+    private final LatencyPercentilesResponse cumulative;
+}
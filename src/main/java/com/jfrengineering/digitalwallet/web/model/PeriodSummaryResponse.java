@@ -0,0 +1,15 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class PeriodSummaryResponse {
+    private final LocalDate periodStart;
+    private final BigDecimal totalCredits;
+    private final long creditCount;
+    private final BigDecimal totalDebits;
+    private final long debitCount;
+}
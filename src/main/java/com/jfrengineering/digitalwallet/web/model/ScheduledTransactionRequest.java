@@ -0,0 +1,46 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.Future;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ScheduledTransactionRequest implements CustomerRequest {
+
+    @NotNull
+    private UUID correlationId;
+
+    @NotNull
+    private UUID customerId;
+
+    @NotNull
+    @Positive
+    @Digits(integer = 5, fraction = 2)
+    private BigDecimal amount;
+
+    @NotNull
+    private Operation operation;
+
+    @NotNull
+    @Future
+    private LocalDateTime executeAt;
+
+    // Not given for a single execution
+    @Schema(type = "string", description = "ISO-8601 duration", example = "P1D")
+    private Duration repeatEvery;
+}
@@ -0,0 +1,17 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+public class ScheduledTransactionResponse {
+    private final UUID correlationId;
+    private final UUID customerId;
+    private final BigDecimal amount;
+    private final Operation operation;
+    private final String nextExecutionAt;
+    private final String repeatEvery;
+}
@@ -0,0 +1,5 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+public enum SummaryGranularity {
+    DAY, MONTH
+}
@@ -0,0 +1,24 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransactionBatchRequest {
+
+    public static final int MAX_TRANSACTIONS = 500;
+
+    @NotEmpty
+    @Size(max = MAX_TRANSACTIONS)
+    private List<@Valid TransactionRequest> transactions;
+}
@@ -0,0 +1,10 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TransactionBatchResponse {
+    private final List<TransactionBatchResult> results;
+}
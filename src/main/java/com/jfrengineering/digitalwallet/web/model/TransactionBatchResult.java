@@ -0,0 +1,14 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import lombok.Data;
+
+import java.util.UUID;
+
+// The status and body the transaction would have got if created on its own
+@Data
+public class TransactionBatchResult {
+    private final UUID correlationId;
+    private final int status;
+    private final TransactionBalanceResponse transactionBalance;
+    private final String error;
+}
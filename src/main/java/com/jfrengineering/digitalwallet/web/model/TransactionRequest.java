@@ -16,7 +16,7 @@ import java.util.UUID;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class TransactionRequest {
+public class TransactionRequest implements CustomerRequest {
 
     @NotNull
     private UUID correlationId;
@@ -0,0 +1,21 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+public class TransactionSummaryResponse {
+    private final UUID customerId;
+    private final LocalDate from;
+    private final LocalDate to;
+    private final SummaryGranularity granularity;
+    private final BigDecimal totalCredits;
+    private final long creditCount;
+    private final BigDecimal totalDebits;
+    private final long debitCount;
+    private final List<PeriodSummaryResponse> periods;
+}
@@ -2,41 +2,40 @@ package com.jfrengineering.digitalwallet.web.model;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
-import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.jfrengineering.digitalwallet.web.json.TransactionsPageResponseSerializer;
 import lombok.EqualsAndHashCode;
-import org.springframework.data.domain.PageImpl;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import lombok.Getter;
+import lombok.ToString;
 
 import java.util.List;
 import java.util.UUID;
 
+@Getter
 @EqualsAndHashCode
-public class TransactionsPageResponse extends PageImpl<TransactionResponse> {
+@ToString
+@JsonSerialize(using = TransactionsPageResponseSerializer.class)
+public class TransactionsPageResponse {
 
     private final UUID customerId;
+    private final int pageNumber;
+    private final int pageSize;
+    private final long totalElements;
+    private final boolean hasNext;
     private final List<TransactionResponse> content;
 
     @JsonCreator(mode = JsonCreator.Mode.PROPERTIES)
     public TransactionsPageResponse(@JsonProperty("customerId") UUID customerId,
-                                    @JsonProperty("content") List<TransactionResponse> content,
-                                    @JsonProperty("number") int pageNumber,
-                                    @JsonProperty("size") int pageSize,
-                                    @JsonProperty("totalElements") Long totalElements,
-                                    @JsonProperty("pageable") JsonNode pageable,
-                                    @JsonProperty("last") boolean last,
-                                    @JsonProperty("totalPages") int totalPages,
-                                    @JsonProperty("sort") JsonNode sort,
-                                    @JsonProperty("first") boolean first,
-                                    @JsonProperty("numberOfElements") int numberOfElements) {
-        super(content, PageRequest.of(pageNumber, pageSize), totalElements);
-        this.customerId = customerId;
-        this.content = content;
-    }
-
-    public TransactionsPageResponse(UUID customerId, List<TransactionResponse> content, Pageable pageable, long total) {
-        super(content, pageable, total);
+                                    @JsonProperty("pageNumber") int pageNumber,
+                                    @JsonProperty("pageSize") int pageSize,
+                                    @JsonProperty("totalElements") long totalElements,
+                                    @JsonProperty("hasNext") boolean hasNext,
+                                    @JsonProperty("content") List<TransactionResponse> content) {
         this.customerId = customerId;
+        this.pageNumber = pageNumber;
+        this.pageSize = pageSize;
+        this.totalElements = totalElements;
+        this.hasNext = hasNext;
         this.content = content;
     }
 }
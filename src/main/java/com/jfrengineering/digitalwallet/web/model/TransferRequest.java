@@ -0,0 +1,33 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TransferRequest {
+
+    @NotNull
+    private UUID correlationId;
+
+    @NotNull
+    private UUID fromCustomerId;
+
+    @NotNull
+    private UUID toCustomerId;
+
+    @NotNull
+    @Positive
+    @Digits(integer = 5, fraction = 2)
+    private BigDecimal amount;
+}
@@ -0,0 +1,9 @@
+package com.jfrengineering.digitalwallet.web.model;
+
+import lombok.Data;
+
+@Data
+public class TransferResponse {
+    private final TransactionBalanceResponse debit;
+    private final TransactionBalanceResponse credit;
+}
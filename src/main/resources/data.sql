@@ -2,19 +2,26 @@ INSERT INTO balances (customer_id, balance_amount, created_at, updated_at) VALUE
 ('11111111-1111-1111-1111-111111111111', 4076.76, CURRENT_TIMESTAMP - INTERVAL '10' DAY, CURRENT_TIMESTAMP - INTERVAL '1' DAY),
 ('22222222-2222-2222-2222-222222222222', 20.00, CURRENT_TIMESTAMP - INTERVAL '20' DAY, CURRENT_TIMESTAMP);
 
-INSERT INTO transactions (correlation_id, customer_id, amount, operation, created_at) VALUES
-(UUID(), '11111111-1111-1111-1111-111111111111', 10000.00, 'ADD', CURRENT_TIMESTAMP - INTERVAL '10' DAY),
-(UUID(), '11111111-1111-1111-1111-111111111111', 5000.00, 'WITHDRAW', CURRENT_TIMESTAMP - INTERVAL '9' DAY),
-(UUID(), '11111111-1111-1111-1111-111111111111', 10.00, 'ADD', CURRENT_TIMESTAMP - INTERVAL '8' DAY),
-(UUID(), '11111111-1111-1111-1111-111111111111', 0.01, 'WITHDRAW', CURRENT_TIMESTAMP - INTERVAL '7' DAY),
-(UUID(), '11111111-1111-1111-1111-111111111111', 123.45, 'ADD', CURRENT_TIMESTAMP - INTERVAL '6' DAY),
-(UUID(), '11111111-1111-1111-1111-111111111111', 678.90, 'WITHDRAW', CURRENT_TIMESTAMP - INTERVAL '5' DAY),
-(UUID(), '11111111-1111-1111-1111-111111111111', 11.11, 'ADD', CURRENT_TIMESTAMP - INTERVAL '4' DAY),
-(UUID(), '11111111-1111-1111-1111-111111111111', 22.22, 'ADD', CURRENT_TIMESTAMP - INTERVAL '3' DAY),
-(UUID(), '11111111-1111-1111-1111-111111111111', 33.33, 'ADD', CURRENT_TIMESTAMP - INTERVAL '2' DAY),
-(UUID(), '11111111-1111-1111-1111-111111111111', 444.44, 'WITHDRAW', CURRENT_TIMESTAMP - INTERVAL '1' DAY),
-(UUID(), '22222222-2222-2222-2222-222222222222', 10.00, 'ADD', CURRENT_TIMESTAMP - INTERVAL '20' DAY),
-(UUID(), '22222222-2222-2222-2222-222222222222', 5.00, 'WITHDRAW', CURRENT_TIMESTAMP - INTERVAL '15' DAY),
-(UUID(), '22222222-2222-2222-2222-222222222222', 10.00, 'ADD', CURRENT_TIMESTAMP - INTERVAL '10' DAY),
-(UUID(), '22222222-2222-2222-2222-222222222222', 5.00, 'WITHDRAW', CURRENT_TIMESTAMP - INTERVAL '5' DAY),
-(UUID(), '22222222-2222-2222-2222-222222222222', 10.00, 'ADD', CURRENT_TIMESTAMP);
+INSERT INTO transactions (correlation_id, customer_id, amount, operation, balance_after, created_at) VALUES
+(UUID(), '11111111-1111-1111-1111-111111111111', 10000.00, 'ADD', 10000.00, CURRENT_TIMESTAMP - INTERVAL '10' DAY),
+(UUID(), '11111111-1111-1111-1111-111111111111', 5000.00, 'WITHDRAW', 5000.00, CURRENT_TIMESTAMP - INTERVAL '9' DAY),
+(UUID(), '11111111-1111-1111-1111-111111111111', 10.00, 'ADD', 5010.00, CURRENT_TIMESTAMP - INTERVAL '8' DAY),
+(UUID(), '11111111-1111-1111-1111-111111111111', 0.01, 'WITHDRAW', 5009.99, CURRENT_TIMESTAMP - INTERVAL '7' DAY),
+(UUID(), '11111111-1111-1111-1111-111111111111', 123.45, 'ADD', 5133.44, CURRENT_TIMESTAMP - INTERVAL '6' DAY),
+(UUID(), '11111111-1111-1111-1111-111111111111', 678.90, 'WITHDRAW', 4454.54, CURRENT_TIMESTAMP - INTERVAL '5' DAY),
+(UUID(), '11111111-1111-1111-1111-111111111111', 11.11, 'ADD', 4465.65, CURRENT_TIMESTAMP - INTERVAL '4' DAY),
+(UUID(), '11111111-1111-1111-1111-111111111111', 22.22, 'ADD', 4487.87, CURRENT_TIMESTAMP - INTERVAL '3' DAY),
+(UUID(), '11111111-1111-1111-1111-111111111111', 33.33, 'ADD', 4521.20, CURRENT_TIMESTAMP - INTERVAL '2' DAY),
+(UUID(), '11111111-1111-1111-1111-111111111111', 444.44, 'WITHDRAW', 4076.76, CURRENT_TIMESTAMP - INTERVAL '1' DAY),
+(UUID(), '22222222-2222-2222-2222-222222222222', 10.00, 'ADD', 10.00, CURRENT_TIMESTAMP - INTERVAL '20' DAY),
+(UUID(), '22222222-2222-2222-2222-222222222222', 5.00, 'WITHDRAW', 5.00, CURRENT_TIMESTAMP - INTERVAL '15' DAY),
+(UUID(), '22222222-2222-2222-2222-222222222222', 10.00, 'ADD', 15.00, CURRENT_TIMESTAMP - INTERVAL '10' DAY),
+(UUID(), '22222222-2222-2222-2222-222222222222', 5.00, 'WITHDRAW', 10.00, CURRENT_TIMESTAMP - INTERVAL '5' DAY),
+(UUID(), '22222222-2222-2222-2222-222222222222', 10.00, 'ADD', 20.00, CURRENT_TIMESTAMP);
+
+INSERT INTO transaction_summaries (customer_id, bucket_date, credit_total, credit_count, debit_total, debit_count)
+SELECT customer_id, CAST(created_at AS DATE),
+       SUM(CASE WHEN operation = 'ADD' THEN amount ELSE 0 END), SUM(CASE WHEN operation = 'ADD' THEN 1 ELSE 0 END),
+       SUM(CASE WHEN operation = 'WITHDRAW' THEN amount ELSE 0 END), SUM(CASE WHEN operation = 'WITHDRAW' THEN 1 ELSE 0 END)
+FROM transactions
+GROUP BY customer_id, CAST(created_at AS DATE);
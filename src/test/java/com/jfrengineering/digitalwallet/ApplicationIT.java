@@ -11,10 +11,14 @@ import com.jfrengineering.digitalwallet.domain.Transaction;
 import com.jfrengineering.digitalwallet.mapper.TransactionMapper;
 import com.jfrengineering.digitalwallet.repository.BalanceRepository;
 import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import com.jfrengineering.digitalwallet.repository.TransactionSummaryRepository;
 import com.jfrengineering.digitalwallet.service.CustomerCacheServiceImpl;
 import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
 import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import com.jfrengineering.digitalwallet.web.model.BalanceResponse;
+import com.jfrengineering.digitalwallet.web.model.PeriodSummaryResponse;
 import com.jfrengineering.digitalwallet.web.model.TransactionResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionSummaryResponse;
 import com.jfrengineering.digitalwallet.web.model.TransactionsPageResponse;
 import org.assertj.core.api.AssertionsForClassTypes;
 import org.junit.jupiter.api.AfterEach;
@@ -34,6 +38,8 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
@@ -74,6 +80,9 @@ class ApplicationIT {
     @Autowired
     private TransactionRepository transactionRepository;
 
+    @Autowired
+    private TransactionSummaryRepository transactionSummaryRepository;
+
     private ListAppender<ILoggingEvent> logWatcher;
 
     @BeforeEach
@@ -91,6 +100,7 @@ class ApplicationIT {
     void tearDown() {
         balanceRepository.deleteAll();
         transactionRepository.deleteAll();
+        transactionSummaryRepository.deleteAll();
     }
 
     @Test
@@ -267,7 +277,9 @@ class ApplicationIT {
         // Then
         TransactionsPageResponse transactionsPageResponse = objectMapper.readValue(mvcResult.getResponse().getContentAsString(),
                 TransactionsPageResponse.class);
-        assertThat(transactionsPageResponse).isEmpty();
+        assertThat(transactionsPageResponse.getContent()).isEmpty();
+        assertThat(transactionsPageResponse.isHasNext()).isFalse();
+        assertThat(mvcResult.getResponse().getContentAsString()).doesNotContain("pageable");
     }
 
     @Test
@@ -318,6 +330,97 @@ class ApplicationIT {
                 .containsExactly(Level.INFO, "Hitting the database to verify if customer's Balance exists, as not cached yet");
     }
 
+    @Test
+    void getCustomerTransactionSummary_returnsTotalsOfCreatedTransactions() throws Exception {
+        // Given a credit and a debit transaction created today
+        for (Operation operation : Operation.values()) {
+            performCreateRequest(createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID_1, new BigDecimal("25.50"),
+                    operation));
+        }
+
+        // When
+        LocalDate today = LocalDate.now();
+        MvcResult mvcResult = mockMvc.perform(get(ENDPOINT + "/" + CUSTOMER_ID_1 + "/summary")
+                        .param("from", today.minusMonths(1).toString())
+                        .param("to", today.toString())
+                        .param("granularity", "MONTH"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        TransactionSummaryResponse response = objectMapper.readValue(mvcResult.getResponse().getContentAsString(),
+                TransactionSummaryResponse.class);
+        BigDecimal expectedAmount = new BigDecimal("25.50");
+        assertThat(response.getPeriods()).containsExactly(
+                new PeriodSummaryResponse(today.withDayOfMonth(1), expectedAmount, 1, expectedAmount, 1));
+        assertThat(response.getTotalCredits()).isEqualTo(expectedAmount);
+        assertThat(response.getTotalDebits()).isEqualTo(expectedAmount);
+    }
+
+    @Test
+    void getCustomerTransactionSummary_returnsBadRequest_ifFromAfterTo() throws Exception {
+        // When
+        MvcResult mvcResult = mockMvc.perform(get(ENDPOINT + "/" + CUSTOMER_ID_1 + "/summary")
+                        .param("from", "2024-02-01")
+                        .param("to", "2024-01-01"))
+                .andExpect(status().isBadRequest())
+                .andReturn();
+
+        // Then
+        assertThat(mvcResult.getResponse().getContentAsString())
+                .isEqualTo("'from' (2024-02-01) must not be after 'to' (2024-01-01)");
+    }
+
+    @Test
+    void getCustomerBalance_returnsBalanceAtPointInTime() throws Exception {
+        // Given a credit transaction
+        performCreateRequest(createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID_1, new BigDecimal("100.00"),
+                Operation.ADD));
+        LocalDateTime afterCredit = LocalDateTime.now();
+        await().pollDelay(100, TimeUnit.MILLISECONDS).untilAsserted(() -> assertTrue(true));
+
+        // And a later debit transaction
+        performCreateRequest(createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID_1, new BigDecimal("30.00"),
+                Operation.WITHDRAW));
+
+        // When-Then the balance at the time between both transactions is the one after the credit
+        assertThat(performBalanceRequest(CUSTOMER_ID_1, afterCredit).getBalance())
+                .isEqualTo(BALANCE_CUSTOMER_1.add(new BigDecimal("100.00")));
+
+        // And the balance before any transaction is zero
+        assertThat(performBalanceRequest(CUSTOMER_ID_1, afterCredit.minusDays(1)).getBalance())
+                .isEqualTo(new BigDecimal("0.00"));
+
+        // And the current balance includes both transactions
+        assertThat(performBalanceRequest(CUSTOMER_ID_1, null).getBalance())
+                .isEqualTo(BALANCE_CUSTOMER_1.add(new BigDecimal("70.00")));
+    }
+
+    @Test
+    void getCustomerBalance_returnsNotFound_ifNonExistingCustomer() throws Exception {
+        // Given
+        UUID nonExistentCustomerId = UUID.randomUUID();
+
+        // When-Then
+        mockMvc.perform(get("/balances/" + nonExistentCustomerId))
+                .andExpect(status().isNotFound());
+    }
+
+    private void performCreateRequest(TransactionRequest transaction) throws Exception {
+        mockMvc.perform(post(ENDPOINT)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(transaction)))
+                .andExpect(status().isCreated());
+    }
+
+    private BalanceResponse performBalanceRequest(UUID customerId, LocalDateTime asOf) throws Exception {
+        MvcResult mvcResult = mockMvc.perform(get("/balances/" + customerId)
+                        .param("asOf", asOf == null ? null : asOf.toString()))
+                .andExpect(status().isOk())
+                .andReturn();
+        return objectMapper.readValue(mvcResult.getResponse().getContentAsString(), BalanceResponse.class);
+    }
+
     private void performRequestAndVerifyValidationFailure(TransactionRequest transaction, String expectedResponseMessage)
             throws Exception {
         MvcResult mvcResult = mockMvc.perform(post(ENDPOINT)
@@ -354,7 +457,7 @@ class ApplicationIT {
                 .toList();
         TransactionsPageResponse transactionsPageResponse = objectMapper.readValue(mvcResult.getResponse().getContentAsString(),
                 TransactionsPageResponse.class);
-        assertThat(transactionsPageResponse)
+        assertThat(transactionsPageResponse.getContent())
                 .hasSize(expectedTransactions.size())
                 .containsAll(expectedTransactionResponseList);
     }
@@ -0,0 +1,82 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:balancestreamdb")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BalanceStreamIT {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void streamCustomerBalance_pushesCommittedTransactionsOnly() throws Exception {
+        // Given
+        MockHttpServletResponse stream = mockMvc.perform(get("/balances/{customerId}/stream", CUSTOMER_ID))
+                .andExpect(request().asyncStarted())
+                .andReturn()
+                .getResponse();
+        UUID rejectedCorrelationId = UUID.randomUUID();
+        UUID correlationId = UUID.randomUUID();
+
+        // When
+        performCreateRequest(rejectedCorrelationId, new BigDecimal("1.00")).andExpect(status().isNotAcceptable());
+        performCreateRequest(correlationId, new BigDecimal("10.00")).andExpect(status().isCreated());
+
+        // Then
+        String content = awaitContaining(stream, correlationId.toString());
+        assertThat(stream.getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+        assertThat(content)
+                .startsWith("event:transaction\ndata:{\"customerId\":\"" + CUSTOMER_ID + "\"")
+                .doesNotContain(rejectedCorrelationId.toString());
+    }
+
+    @Test
+    void streamCustomerBalance_returnsNotFound_ifCustomerDoesNotExist() throws Exception {
+        // When-Then
+        mockMvc.perform(get("/balances/{customerId}/stream", UUID.randomUUID()))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions performCreateRequest(UUID correlationId, BigDecimal amount) throws Exception {
+        return mockMvc.perform(post("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createTransactionRequest(correlationId, CUSTOMER_ID, amount,
+                        Operation.ADD))));
+    }
+
+    // The updates are sent by the stream sender threads after the commit
+    private static String awaitContaining(MockHttpServletResponse stream, String text) throws Exception {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!stream.getContentAsString().contains(text) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        return stream.getContentAsString();
+    }
+}
@@ -0,0 +1,99 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.web.binary.TransactionRequestFormat;
+import com.jfrengineering.digitalwallet.web.binary.TransactionRequestMessageConverter;
+import com.jfrengineering.digitalwallet.web.model.TransactionBatchRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.http.MockHttpOutputMessage;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:binarytransactiondb")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BinaryTransactionIT {
+
+    private static final UUID CUSTOMER_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID CUSTOMER_ID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void createTransaction_acceptsBinaryRequest() throws Exception {
+        // Given
+        byte[] body = encode(createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID_1, new BigDecimal("76.76"),
+                Operation.WITHDRAW));
+
+        // When-Then
+        mockMvc.perform(post("/transactions").contentType(TransactionRequestFormat.MEDIA_TYPE).content(body))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.updatedBalance").value(4000.00));
+        mockMvc.perform(post("/transactions").contentType(TransactionRequestFormat.MEDIA_TYPE)
+                        .content(new byte[TransactionRequestFormat.RECORD_LENGTH - 1]))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(post("/transactions").contentType(MediaType.TEXT_PLAIN).content("76.76"))
+                .andExpect(status().isUnsupportedMediaType());
+    }
+
+    @Test
+    void createTransactions_returnsTheResultOfEachTransaction_inJsonAndBinary() throws Exception {
+        // Given
+        TransactionBatchRequest batchRequest = new TransactionBatchRequest(List.of(
+                createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID_2, BigDecimal.TEN, Operation.ADD),
+                createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID_2, new BigDecimal("100.00"),
+                        Operation.WITHDRAW)));
+
+        // When-Then
+        mockMvc.perform(post("/transactions/batch").contentType(TransactionRequestFormat.MEDIA_TYPE)
+                        .content(encode(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[*].status", contains(201, 406)))
+                .andExpect(jsonPath("$.results[0].transactionBalance.updatedBalance").value(30.00))
+                .andExpect(jsonPath("$.results[1].error").value("Transaction rejected. Not enough Credit in Balance"));
+        mockMvc.perform(post("/transactions/batch").contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(batchRequest)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[*].status", contains(409, 406)));
+    }
+
+    @Test
+    void createTransactions_rejectsTheBatch_ifAnyTransactionIsInvalid() throws Exception {
+        // Given
+        TransactionBatchRequest batchRequest = new TransactionBatchRequest(List.of(
+                createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID_1, BigDecimal.TEN, Operation.ADD),
+                createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID_1, BigDecimal.ZERO, Operation.ADD)));
+
+        // When-Then
+        mockMvc.perform(post("/transactions/batch").contentType(TransactionRequestFormat.MEDIA_TYPE)
+                        .content(encode(batchRequest)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$[0]").value("'transactions[1].amount' must be greater than 0"));
+    }
+
+    private static byte[] encode(Object request) throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        new TransactionRequestMessageConverter().write(request, TransactionRequestFormat.MEDIA_TYPE, outputMessage);
+        return outputMessage.getBodyAsBytes();
+    }
+}
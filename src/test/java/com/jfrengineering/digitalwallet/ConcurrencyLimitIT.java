@@ -0,0 +1,78 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.service.limit.AdaptiveConcurrencyLimiter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:concurrencylimitdb",
+        "wallet.concurrency-limit.enabled=true",
+        "wallet.concurrency-limit.initial-limit=2",
+        "wallet.concurrency-limit.retry-after=5s"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConcurrencyLimitIT {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void createTransaction_isRejectedWithRetryAfter_whileTheLimitIsInUse() throws Exception {
+        // Given
+        adaptiveConcurrencyLimiter.tryAcquire();
+        adaptiveConcurrencyLimiter.tryAcquire();
+
+        // When-Then
+        try {
+            performCreateRequest()
+                    .andExpect(status().isServiceUnavailable())
+                    .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+                    .andExpect(content().string("Too many transactions in progress, please retry later"));
+            assertThat(meterRegistry.get("wallet.concurrency.rejected").counter().count()).isEqualTo(1);
+        } finally {
+            adaptiveConcurrencyLimiter.release(0, false);
+            adaptiveConcurrencyLimiter.release(0, false);
+        }
+        performCreateRequest().andExpect(status().isCreated());
+        assertThat(meterRegistry.get("wallet.concurrency.in.flight").gauge().value()).isZero();
+    }
+
+    private ResultActions performCreateRequest() throws Exception {
+        return mockMvc.perform(post("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID,
+                        new BigDecimal("10.00"), Operation.ADD))));
+    }
+}
@@ -0,0 +1,62 @@
+package com.jfrengineering.digitalwallet;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import com.jfrengineering.digitalwallet.service.cache.CustomerCachePreloader;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.configuration.CacheConfig.CUSTOMER_CACHE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:customercachedb",
+        "wallet.customer-cache.preload=true"
+})
+@ActiveProfiles("test")
+class CustomerCacheIT {
+
+    private static final UUID CUSTOMER_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID CUSTOMER_ID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private CustomerCachePreloader customerCachePreloader;
+
+    @Autowired
+    private BalanceRepository balanceRepository;
+
+    @Autowired
+    private ApplicationAvailability applicationAvailability;
+
+    @Test
+    void customerCache_holdsEveryCustomer_onceReady_andTheCustomersCreatedAfterARefresh() {
+        // Given
+        Cache cache = cacheManager.getCache(CUSTOMER_CACHE);
+        UUID newCustomerId = UUID.randomUUID();
+
+        // Then
+        assertThat(applicationAvailability.getReadinessState()).isEqualTo(ReadinessState.ACCEPTING_TRAFFIC);
+        assertThat(cache.get(CUSTOMER_ID_1.toString(), Boolean.class)).isTrue();
+        assertThat(cache.get(CUSTOMER_ID_2.toString(), Boolean.class)).isTrue();
+        assertThat(cache.get(newCustomerId.toString())).isNull();
+
+        // When
+        balanceRepository.save(Balance.builder().customerId(newCustomerId).balanceAmount(BigDecimal.ZERO).build());
+        customerCachePreloader.refresh();
+
+        // Then
+        assertThat(cache.get(newCustomerId.toString(), Boolean.class)).isTrue();
+    }
+}
@@ -0,0 +1,16 @@
+package com.jfrengineering.digitalwallet;
+
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+// The hold captures create their transaction within the transaction of the capture, so they are not group committed
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:groupcommitholddb",
+        "wallet.holds.expiry-interval=PT0.1S",
+        "wallet.group-commit.enabled=true"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GroupCommitHoldIT extends HoldIT {
+}
@@ -0,0 +1,111 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:groupcommitdb",
+        "wallet.group-commit.enabled=true",
+        "wallet.group-commit.window=200ms"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class GroupCommitIT {
+
+    private static final UUID CUSTOMER_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID CUSTOMER_ID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+    private static final int CALLERS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void createTransaction_commitsConcurrentCallsInGroups_withTheResultOfEachCaller() throws Exception {
+        // Given
+        DistributionSummary groupSizes = meterRegistry.get("wallet.group.commit.size").summary();
+        double committedBefore = groupSizes.totalAmount();
+        long groupsBefore = groupSizes.count();
+        ExecutorService callers = Executors.newFixedThreadPool(CALLERS);
+        List<Callable<Integer>> calls = IntStream.range(0, CALLERS)
+                .<Callable<Integer>>mapToObj(i -> () -> createTransaction(UUID.randomUUID(), CUSTOMER_ID_1,
+                        new BigDecimal(i == 0 ? "5000.00" : "10.00")))
+                .toList();
+
+        // When
+        List<Future<Integer>> actual = callers.invokeAll(calls);
+
+        // Then
+        callers.shutdown();
+        assertThat(actual).extracting(Future::get).containsOnly(201);
+        mockMvc.perform(get("/balances/" + CUSTOMER_ID_1))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(9166.76));
+        assertThat(groupSizes.totalAmount() - committedBefore).isEqualTo(CALLERS);
+        assertThat(groupSizes.count() - groupsBefore).isLessThan(CALLERS);
+    }
+
+    @Test
+    void createTransaction_rejectsOnlyTheFailingCalls_ofAGroup() throws Exception {
+        // Given
+        UUID correlationId = UUID.randomUUID();
+        assertThat(createTransaction(correlationId, CUSTOMER_ID_2, new BigDecimal("10.00"))).isEqualTo(201);
+
+        // When-Then
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTransactionRequest(correlationId,
+                                CUSTOMER_ID_2, new BigDecimal("10.00"), Operation.ADD))))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTransactionRequest(UUID.randomUUID(),
+                                CUSTOMER_ID_2, new BigDecimal("1.00"), Operation.ADD))))
+                .andExpect(status().isNotAcceptable())
+                .andExpect(content().string("Transaction rejected. Minimum accepted Credit Amount is £10.00"));
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTransactionRequest(UUID.randomUUID(),
+                                UUID.randomUUID(), new BigDecimal("10.00"), Operation.ADD))))
+                .andExpect(status().isNotFound());
+    }
+
+    private int createTransaction(UUID correlationId, UUID customerId, BigDecimal amount) throws Exception {
+        return mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTransactionRequest(correlationId,
+                                customerId, amount, Operation.ADD))))
+                .andReturn().getResponse().getStatus();
+    }
+}
@@ -0,0 +1,64 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.hamcrest.Matchers.hasSize;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:heavyhitterdb",
+        "wallet.heavy-hitters.enabled=true",
+        "management.endpoints.web.exposure.include=hotcustomers"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HeavyHitterIT {
+
+    private static final UUID CUSTOMER_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID CUSTOMER_ID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void hotCustomers_listsCustomersByWritesAndReads() throws Exception {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(post("/transactions")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(createTransactionRequest(UUID.randomUUID(),
+                                    CUSTOMER_ID_1, new BigDecimal("10.00"), Operation.ADD))))
+                    .andExpect(status().isCreated());
+        }
+        mockMvc.perform(get("/transactions/" + CUSTOMER_ID_2)).andExpect(status().isOk());
+
+        // When-Then
+        mockMvc.perform(get("/actuator/hotcustomers"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.windowSeconds").value(60))
+                .andExpect(jsonPath("$.writes", hasSize(1)))
+                .andExpect(jsonPath("$.writes[0].customerId").value(CUSTOMER_ID_1.toString()))
+                .andExpect(jsonPath("$.writes[0].count").value(3))
+                .andExpect(jsonPath("$.writes[0].ratePerSecond").value(0.05))
+                .andExpect(jsonPath("$.reads", hasSize(1)))
+                .andExpect(jsonPath("$.reads[0].customerId").value(CUSTOMER_ID_2.toString()));
+    }
+}
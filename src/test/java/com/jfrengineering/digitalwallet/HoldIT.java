@@ -0,0 +1,156 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import com.jfrengineering.digitalwallet.repository.HoldRepository;
+import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import com.jfrengineering.digitalwallet.web.model.HoldRequest;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:holddb",
+        "wallet.holds.expiry-interval=PT0.1S"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class HoldIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BalanceRepository balanceRepository;
+
+    @Autowired
+    private HoldRepository holdRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Test
+    void reserveHold_reducesAvailableBalance_forWithdrawals() throws Exception {
+        // Given
+        UUID customerId = givenCustomer();
+
+        // When
+        performHoldRequest(new HoldRequest(UUID.randomUUID(), customerId, new BigDecimal("80.00"), null))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.availableBalance").value(20.00));
+
+        // Then
+        performTransactionRequest(customerId, new BigDecimal("20.01")).andExpect(status().isNotAcceptable());
+        performTransactionRequest(customerId, new BigDecimal("20.00")).andExpect(status().isCreated());
+        performHoldRequest(new HoldRequest(UUID.randomUUID(), customerId, new BigDecimal("0.01"), null))
+                .andExpect(status().isNotAcceptable());
+    }
+
+    @Test
+    void captureHold_withdrawsCapturedAmount_andReleasesTheRest() throws Exception {
+        // Given
+        UUID customerId = givenCustomer();
+        UUID correlationId = UUID.randomUUID();
+        performHoldRequest(new HoldRequest(correlationId, customerId, new BigDecimal("80.00"), null))
+                .andExpect(status().isCreated());
+
+        // When
+        mockMvc.perform(post("/holds/{customerId}/{correlationId}/capture", customerId, correlationId)
+                        .param("amount", "30.00"))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.updatedBalance").value(70.00));
+
+        // Then
+        assertThat(holdRepository.existsById(correlationId)).isFalse();
+        assertThat(balanceRepository.findById(customerId).orElseThrow())
+                .extracting("balanceAmount", "heldAmount")
+                .containsExactly(new BigDecimal("70.00"), new BigDecimal("0.00"));
+        assertThat(transactionRepository.findByCustomerId(customerId, Pageable.unpaged()).getContent())
+                .singleElement()
+                .extracting(Transaction::getOperation)
+                .isEqualTo(Operation.WITHDRAW);
+        mockMvc.perform(post("/holds/{customerId}/{correlationId}/capture", customerId, correlationId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void releaseHold_makesAmountAvailableAgain() throws Exception {
+        // Given
+        UUID customerId = givenCustomer();
+        UUID correlationId = UUID.randomUUID();
+        performHoldRequest(new HoldRequest(correlationId, customerId, new BigDecimal("80.00"), null))
+                .andExpect(status().isCreated());
+
+        // When
+        mockMvc.perform(delete("/holds/{customerId}/{correlationId}", customerId, correlationId))
+                .andExpect(status().isNoContent());
+
+        // Then
+        performTransactionRequest(customerId, new BigDecimal("100.00")).andExpect(status().isCreated());
+        mockMvc.perform(delete("/holds/{customerId}/{correlationId}", customerId, correlationId))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void reserveHold_expires() throws Exception {
+        // Given
+        UUID customerId = givenCustomer();
+        UUID correlationId = UUID.randomUUID();
+
+        // When
+        performHoldRequest(new HoldRequest(correlationId, customerId, new BigDecimal("80.00"),
+                Duration.ofMillis(300)))
+                .andExpect(status().isCreated());
+
+        // Then
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (holdRepository.existsById(correlationId) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        assertThat(holdRepository.existsById(correlationId)).isFalse();
+        assertThat(balanceRepository.findById(customerId).orElseThrow().getHeldAmount())
+                .isEqualByComparingTo(BigDecimal.ZERO);
+    }
+
+    private UUID givenCustomer() {
+        UUID customerId = UUID.randomUUID();
+        balanceRepository.save(createBalance(customerId, new BigDecimal("100.00")));
+        return customerId;
+    }
+
+    private ResultActions performHoldRequest(HoldRequest request) throws Exception {
+        return mockMvc.perform(post("/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private ResultActions performTransactionRequest(UUID customerId, BigDecimal amount) throws Exception {
+        return mockMvc.perform(post("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TransactionRequest(UUID.randomUUID(), customerId, amount,
+                        Operation.WITHDRAW))));
+    }
+}
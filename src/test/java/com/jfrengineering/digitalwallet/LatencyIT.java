@@ -0,0 +1,62 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:latencydb",
+        "wallet.latency.enabled=true",
+        "management.endpoints.web.exposure.include=latency"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class LatencyIT {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void latency_returnsPercentilesByEndpointAndOutcome() throws Exception {
+        // Given
+        String request = objectMapper.writeValueAsString(createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID,
+                new BigDecimal("10.00"), Operation.ADD));
+        mockMvc.perform(post("/transactions").contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/transactions").contentType(MediaType.APPLICATION_JSON).content(request))
+                .andExpect(status().isConflict());
+        mockMvc.perform(get("/transactions/" + UUID.randomUUID())).andExpect(status().isNotFound());
+
+        // When-Then
+        mockMvc.perform(get("/actuator/latency"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createTransaction.201.interval.count").value(1))
+                .andExpect(jsonPath("$.createTransaction.201.interval['p99.99']").value(greaterThan(0.0)))
+                .andExpect(jsonPath("$.createTransaction.409.cumulative.count").value(1))
+                .andExpect(jsonPath("$.getCustomerTransactions.404.cumulative.count").value(1));
+        mockMvc.perform(get("/actuator/latency"))
+                .andExpect(jsonPath("$.createTransaction.201.interval.count").value(0))
+                .andExpect(jsonPath("$.createTransaction.201.cumulative.count").value(1));
+    }
+}
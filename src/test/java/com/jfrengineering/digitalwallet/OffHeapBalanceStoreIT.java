@@ -0,0 +1,101 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.service.offheap.BalanceWriteBehind;
+import com.jfrengineering.digitalwallet.service.offheap.OffHeapBalanceTable;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:offheapdb",
+        "wallet.balance-store.type=off-heap",
+        "wallet.balance-store.capacity=1024",
+        "wallet.balance-store.flush-interval=PT1H"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OffHeapBalanceStoreIT {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @TempDir
+    private static Path directory;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OffHeapBalanceTable offHeapBalanceTable;
+
+    @Autowired
+    private BalanceWriteBehind balanceWriteBehind;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @DynamicPropertySource
+    static void balanceStoreProperties(DynamicPropertyRegistry registry) {
+        registry.add("wallet.balance-store.file", () -> directory.resolve("balances.table").toString());
+    }
+
+    @Test
+    void createTransaction_updatesTheOffHeapBalance_andWritesItBehindToTheBalancesTable() throws Exception {
+        // When
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTransactionRequest(UUID.randomUUID(),
+                                CUSTOMER_ID, new BigDecimal("15.50"), Operation.WITHDRAW))))
+                .andExpect(status().isCreated());
+
+        // Then
+        mockMvc.perform(get("/balances/" + CUSTOMER_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(4.50));
+        assertThat(offHeapBalanceTable.read(offHeapBalanceTable.find(CUSTOMER_ID)).balanceAmount()).isEqualTo(450);
+        assertThat(balanceAmount()).isEqualTo(new BigDecimal("20.00"));
+        balanceWriteBehind.flush();
+        assertThat(balanceAmount()).isEqualTo(new BigDecimal("4.50"));
+    }
+
+    @Test
+    void createTransaction_leavesTheOffHeapBalanceUntouched_ifRejected() throws Exception {
+        // When
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTransactionRequest(UUID.randomUUID(),
+                                CUSTOMER_ID, new BigDecimal("1000.00"), Operation.WITHDRAW))))
+                .andExpect(status().isNotAcceptable());
+
+        // Then
+        assertThat(offHeapBalanceTable.takeDirty()).isEmpty();
+    }
+
+    private BigDecimal balanceAmount() {
+        return jdbcTemplate.queryForObject("SELECT balance_amount FROM balances WHERE customer_id = ?",
+                BigDecimal.class, CUSTOMER_ID.toString());
+    }
+}
@@ -0,0 +1,70 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.web.model.BalanceBatchRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.hamcrest.Matchers.contains;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:onboardingdb")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OnboardingIT {
+
+    private static final UUID CUSTOMER_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void createBalances_onboardsNewCustomers_readyToTransact() throws Exception {
+        // Given
+        UUID newCustomerId = UUID.randomUUID();
+        mockMvc.perform(get("/balances/" + newCustomerId)).andExpect(status().isNotFound());
+
+        // When-Then
+        mockMvc.perform(post("/balances/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BalanceBatchRequest(List.of(newCustomerId,
+                                CUSTOMER_ID_1)))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results[*].status", contains(201, 409)));
+        mockMvc.perform(get("/balances/" + newCustomerId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.balance").value(0));
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTransactionRequest(UUID.randomUUID(),
+                                newCustomerId, BigDecimal.TEN, Operation.ADD))))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.updatedBalance").value(10.00));
+    }
+
+    @Test
+    void createBalances_rejectsTheBatch_ifNoCustomers() throws Exception {
+        // When-Then
+        mockMvc.perform(post("/balances/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new BalanceBatchRequest(List.of()))))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,74 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.OutboxEvent;
+import com.jfrengineering.digitalwallet.repository.OutboxEventRepository;
+import com.jfrengineering.digitalwallet.service.outbox.QueueOutboxSink;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:outboxdb",
+        "wallet.outbox.enabled=true",
+        "wallet.outbox.poll-interval=PT0.05S"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class OutboxIT {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private QueueOutboxSink queueOutboxSink;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Test
+    void createTransaction_relaysCommittedTransactionsOnly() throws Exception {
+        // Given
+        UUID correlationId = UUID.randomUUID();
+
+        // When
+        performCreateRequest(UUID.randomUUID(), new BigDecimal("1.00")).andExpect(status().isNotAcceptable());
+        performCreateRequest(correlationId, new BigDecimal("10.00")).andExpect(status().isCreated());
+
+        // Then
+        OutboxEvent event = queueOutboxSink.getQueue().poll(10, TimeUnit.SECONDS);
+        assertThat(event).isNotNull();
+        assertThat(event.getCorrelationId()).isEqualTo(correlationId);
+        assertThat(event.getCustomerId()).isEqualTo(CUSTOMER_ID);
+        assertThat(event.getCreatedAt()).isNotNull();
+        assertThat(queueOutboxSink.getQueue().poll(200, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(outboxEventRepository.count()).isZero();
+    }
+
+    private ResultActions performCreateRequest(UUID correlationId, BigDecimal amount) throws Exception {
+        return mockMvc.perform(post("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createTransactionRequest(correlationId, CUSTOMER_ID, amount,
+                        Operation.ADD))));
+    }
+}
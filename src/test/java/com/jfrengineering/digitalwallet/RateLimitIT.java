@@ -0,0 +1,98 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import com.jfrengineering.digitalwallet.web.model.TransferRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:ratelimitdb",
+        "wallet.rate-limit.enabled=true",
+        "wallet.rate-limit.rate=0.1",
+        "wallet.rate-limit.burst=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitIT {
+
+    private static final UUID CUSTOMER_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID CUSTOMER_ID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private BalanceRepository balanceRepository;
+
+    @Test
+    void createTransaction_isRejectedWithRetryAfter_onceTheCustomerBurstIsUsed() throws Exception {
+        // When-Then
+        performCreateRequest(CUSTOMER_ID_1).andExpect(status().isCreated());
+        performCreateRequest(CUSTOMER_ID_1).andExpect(status().isCreated());
+        performCreateRequest(CUSTOMER_ID_1)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER))
+                .andExpect(content().string("Too many transactions for customer with ID '" + CUSTOMER_ID_1
+                        + "', please retry later"));
+        performCreateRequest(CUSTOMER_ID_2).andExpect(status().isCreated());
+        assertThat(meterRegistry.get("wallet.rate.limit.rejected").tag("customerId", CUSTOMER_ID_1.toString())
+                .counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void createTransfer_isChargedToTheSourceCustomer() throws Exception {
+        // Given
+        UUID fromCustomerId = balanceRepository.save(createBalance(UUID.randomUUID(), new BigDecimal("100.00")))
+                .getCustomerId();
+        UUID toCustomerId = balanceRepository.save(createBalance(UUID.randomUUID(), BigDecimal.ZERO)).getCustomerId();
+
+        // When-Then
+        performTransferRequest(fromCustomerId, toCustomerId).andExpect(status().isCreated());
+        performTransferRequest(fromCustomerId, toCustomerId).andExpect(status().isCreated());
+        performTransferRequest(fromCustomerId, toCustomerId)
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().exists(HttpHeaders.RETRY_AFTER));
+        performTransferRequest(toCustomerId, fromCustomerId).andExpect(status().isCreated());
+    }
+
+    private ResultActions performTransferRequest(UUID fromCustomerId, UUID toCustomerId) throws Exception {
+        return mockMvc.perform(post("/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(new TransferRequest(UUID.randomUUID(), fromCustomerId,
+                        toCustomerId, new BigDecimal("10.00")))));
+    }
+
+    private ResultActions performCreateRequest(UUID customerId) throws Exception {
+        return mockMvc.perform(post("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createTransactionRequest(UUID.randomUUID(), customerId,
+                        new BigDecimal("10.00"), Operation.ADD))));
+    }
+}
@@ -0,0 +1,81 @@
+package com.jfrengineering.digitalwallet;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.ReconciliationDiscrepancy;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import com.jfrengineering.digitalwallet.repository.ReconciliationDiscrepancyRepository;
+import com.jfrengineering.digitalwallet.service.TransactionService;
+import com.jfrengineering.digitalwallet.service.reconciliation.LedgerReconciliationJob;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:reconciliationdb",
+        "wallet.reconciliation.enabled=true",
+        "wallet.reconciliation.range-size=2"
+})
+@ActiveProfiles("test")
+class ReconciliationIT {
+
+    @Autowired
+    private LedgerReconciliationJob ledgerReconciliationJob;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceRepository balanceRepository;
+
+    @Autowired
+    private ReconciliationDiscrepancyRepository reconciliationDiscrepancyRepository;
+
+    @Test
+    void reconcile_reportsOnlyBalancesNotMatchingTheirTransactions_whileTransactionsAreCreated() throws Exception {
+        // Given
+        List<UUID> customerIds = IntStream.range(0, 6).mapToObj(i -> UUID.randomUUID()).toList();
+        customerIds.forEach(customerId -> balanceRepository.save(createBalance(customerId, BigDecimal.ZERO)));
+        UUID tamperedCustomerId = UUID.randomUUID();
+        balanceRepository.save(createBalance(tamperedCustomerId, new BigDecimal("100.00")));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> transactions = new ArrayList<>();
+        for (int i = 0; i < 300; i++) {
+            UUID customerId = customerIds.get(i % customerIds.size());
+            transactions.add(executor.submit(() -> transactionService.createTransaction(new TransactionRequest(
+                    UUID.randomUUID(), customerId, BigDecimal.TEN, Operation.ADD))));
+        }
+        while (!transactions.stream().allMatch(Future::isDone)) {
+            ledgerReconciliationJob.reconcile();
+        }
+        for (Future<?> transaction : transactions) {
+            transaction.get();
+        }
+        executor.shutdown();
+        ledgerReconciliationJob.reconcile();
+
+        // Then
+        assertThat(reconciliationDiscrepancyRepository.findAll())
+                .isNotEmpty()
+                .allSatisfy(discrepancy -> assertThat(discrepancy)
+                        .extracting("customerId", "balanceAmount", "ledgerAmount")
+                        .containsExactly(tamperedCustomerId, new BigDecimal("100.00"), new BigDecimal("0.00")))
+                .extracting(ReconciliationDiscrepancy::getRunId)
+                .doesNotHaveDuplicates();
+    }
+}
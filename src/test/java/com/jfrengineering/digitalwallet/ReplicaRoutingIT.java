@@ -0,0 +1,126 @@
+package com.jfrengineering.digitalwallet;
+
+import com.jfrengineering.digitalwallet.datasource.ReplicaLagMonitor;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import com.jfrengineering.digitalwallet.repository.TransactionSummaryRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.BALANCE_CUSTOMER_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Both pools point to the same in-memory database, as a replica with no replication lag would
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routingdb",
+        "wallet.datasource.replica.url=jdbc:h2:mem:routingdb",
+        "wallet.datasource.replica.username=test-user",
+        "wallet.datasource.replica.password=test-password",
+        "wallet.datasource.replica.heartbeat-interval=PT1H"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BalanceRepository balanceRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private TransactionSummaryRepository transactionSummaryRepository;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private HikariDataSource replicaDataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        balanceRepository.save(createBalance(CUSTOMER_ID_1, BALANCE_CUSTOMER_1));
+        await().atMost(5, TimeUnit.SECONDS).until(replicaLagMonitor::isReplicaUsable);
+    }
+
+    @AfterEach
+    void tearDown() {
+        transactionSummaryRepository.deleteAll();
+        transactionRepository.deleteAll();
+        balanceRepository.deleteAll();
+    }
+
+    @Test
+    void readOnlyTransactions_areServedByReplica_andWritesByPrimary() {
+        // Given
+        TransactionTemplate readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        TransactionTemplate writeTransaction = new TransactionTemplate(transactionManager);
+
+        // When-Then
+        readOnlyTransaction.executeWithoutResult(status -> {
+            balanceRepository.findById(CUSTOMER_ID_1);
+            assertThat(replicaDataSource.getHikariPoolMXBean().getActiveConnections()).isOne();
+            assertThat(primaryDataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+        });
+        writeTransaction.executeWithoutResult(status -> {
+            balanceRepository.findById(CUSTOMER_ID_1);
+            assertThat(primaryDataSource.getHikariPoolMXBean().getActiveConnections()).isOne();
+            assertThat(replicaDataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+        });
+    }
+
+    @Test
+    void createdTransaction_isReadFromReplica() throws Exception {
+        // When
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1,
+                                TRANSACTION_AMOUNT, Operation.ADD))))
+                .andExpect(status().isCreated());
+
+        // Then
+        String response = mockMvc.perform(get("/transactions/{customerId}", CUSTOMER_ID_1))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(response).contains(CORRELATION_ID_A.toString());
+    }
+}
@@ -0,0 +1,153 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import com.jfrengineering.digitalwallet.repository.ScheduledTransactionRepository;
+import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:scheduledtransactiondb",
+        "wallet.scheduler.tick=PT0.01S",
+        "wallet.scheduler.load-interval=PT0.5S",
+        "wallet.scheduler.min-repeat-every=PT1S"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ScheduledTransactionIT {
+
+    private static final UUID CUSTOMER_ID = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private BalanceRepository balanceRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ScheduledTransactionRepository scheduledTransactionRepository;
+
+    @Test
+    void scheduleTransaction_executesOnce_andDeletesSchedule() throws Exception {
+        // Given
+        UUID customerId = UUID.randomUUID();
+        balanceRepository.save(createBalance(customerId, new BigDecimal("100.00")));
+        UUID correlationId = UUID.randomUUID();
+
+        // When
+        performScheduleRequest(createRequest(correlationId, customerId, Operation.ADD, null))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.correlationId").value(correlationId.toString()))
+                .andExpect(jsonPath("$.repeatEvery").isEmpty());
+
+        // Then
+        assertThat(awaitTransactions(customerId, 1)).singleElement()
+                .satisfies(transaction -> assertThat(transaction.getCorrelationId()).isNotEqualTo(correlationId))
+                .extracting(Transaction::getBalanceAfter)
+                .isEqualTo(new BigDecimal("125.50"));
+        assertThat(scheduledTransactionRepository.existsById(correlationId)).isFalse();
+    }
+
+    @Test
+    void scheduleTransaction_repeatsUntilCancelled() throws Exception {
+        // Given
+        UUID customerId = UUID.randomUUID();
+        balanceRepository.save(createBalance(customerId, new BigDecimal("100.00")));
+        UUID correlationId = UUID.randomUUID();
+
+        // When
+        performScheduleRequest(createRequest(correlationId, customerId, Operation.WITHDRAW, Duration.ofSeconds(1)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.repeatEvery").value("PT1S"));
+        awaitTransactions(customerId, 2);
+        mockMvc.perform(delete("/scheduled-transactions/{customerId}/{correlationId}", customerId, correlationId))
+                .andExpect(status().isNoContent());
+        long executions = transactions(customerId).size();
+        Thread.sleep(1_500);
+
+        // Then
+        assertThat(transactions(customerId))
+                .hasSize((int) executions)
+                .extracting(Transaction::getCorrelationId)
+                .doesNotHaveDuplicates();
+        assertThat(balanceRepository.findById(customerId).orElseThrow().getBalanceAmount())
+                .isEqualByComparingTo(new BigDecimal("100.00").subtract(new BigDecimal("25.50").multiply(
+                        BigDecimal.valueOf(executions))));
+    }
+
+    @Test
+    void scheduleTransaction_rejectsInvalidSchedules() throws Exception {
+        // Given
+        ScheduledTransactionRequest request = createRequest(UUID.randomUUID(), CUSTOMER_ID, Operation.ADD,
+                Duration.ofDays(1));
+        ScheduledTransactionRequest pastRequest = createRequest(UUID.randomUUID(), CUSTOMER_ID, Operation.ADD, null);
+        pastRequest.setExecuteAt(LocalDateTime.now().minusMinutes(1));
+
+        // When-Then
+        performScheduleRequest(request).andExpect(status().isCreated());
+        performScheduleRequest(request).andExpect(status().isConflict());
+        performScheduleRequest(pastRequest).andExpect(status().isBadRequest());
+        performScheduleRequest(createRequest(UUID.randomUUID(), CUSTOMER_ID, Operation.ADD, Duration.ofMillis(500)))
+                .andExpect(status().isBadRequest());
+        performScheduleRequest(createRequest(UUID.randomUUID(), UUID.randomUUID(), Operation.ADD, null))
+                .andExpect(status().isNotFound());
+        mockMvc.perform(delete("/scheduled-transactions/{customerId}/{correlationId}", UUID.randomUUID(),
+                        request.getCorrelationId()))
+                .andExpect(status().isNotFound());
+    }
+
+    private ResultActions performScheduleRequest(ScheduledTransactionRequest request) throws Exception {
+        return mockMvc.perform(post("/scheduled-transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)));
+    }
+
+    private static ScheduledTransactionRequest createRequest(UUID correlationId, UUID customerId, Operation operation,
+                                                             Duration repeatEvery) {
+        return new ScheduledTransactionRequest(correlationId, customerId, new BigDecimal("25.50"), operation,
+                LocalDateTime.now().plusSeconds(1), repeatEvery);
+    }
+
+    private List<Transaction> transactions(UUID customerId) {
+        return transactionRepository.findByCustomerId(customerId, Pageable.unpaged()).getContent();
+    }
+
+    // The schedules are executed by the scheduler threads
+    private List<Transaction> awaitTransactions(UUID customerId, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (transactions(customerId).size() < count && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        return transactions(customerId);
+    }
+}
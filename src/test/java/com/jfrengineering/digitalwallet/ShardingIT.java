@@ -0,0 +1,97 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.datasource.ShardContext;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Three embedded databases, the customers of data.sql hash to shards 1 and 2
+@SpringBootTest(properties = {
+        "wallet.datasource.shards[0].url=jdbc:h2:mem:shard0",
+        "wallet.datasource.shards[1].url=jdbc:h2:mem:shard1",
+        "wallet.datasource.shards[2].url=jdbc:h2:mem:shard2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ShardingIT {
+
+    private static final UUID SHARD_1_CUSTOMER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID SHARD_2_CUSTOMER_ID = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CustomerShardRouter customerShardRouter;
+
+    @Test
+    void seedData_isLoadedOnlyIntoTheShardOfEachCustomer() {
+        // When-Then
+        assertThat(customerShardRouter.getShardCount()).isEqualTo(3);
+        assertThat(countRows(0, "balances")).isZero();
+        assertThat(countRows(0, "transactions")).isZero();
+        assertThat(countRows(1, "balances", SHARD_1_CUSTOMER_ID)).isOne();
+        assertThat(countRows(1, "balances", SHARD_2_CUSTOMER_ID)).isZero();
+        assertThat(countRows(1, "transactions", SHARD_1_CUSTOMER_ID)).isPositive();
+        assertThat(countRows(1, "transaction_summaries", SHARD_1_CUSTOMER_ID)).isPositive();
+        assertThat(countRows(2, "balances", SHARD_2_CUSTOMER_ID)).isOne();
+        assertThat(countRows(2, "balances", SHARD_1_CUSTOMER_ID)).isZero();
+        assertThat(countRows(2, "transactions", SHARD_1_CUSTOMER_ID)).isZero();
+    }
+
+    @Test
+    void transactionsOfEachCustomer_areWrittenAndReadOnTheirShard() throws Exception {
+        // Given
+        long shard2Transactions = countRows(2, "transactions", SHARD_2_CUSTOMER_ID);
+        UUID correlationId = UUID.randomUUID();
+
+        // When
+        mockMvc.perform(post("/transactions")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(createTransactionRequest(correlationId,
+                                SHARD_2_CUSTOMER_ID, new BigDecimal("10.00"), Operation.WITHDRAW))))
+                .andExpect(status().isCreated());
+
+        // Then
+        assertThat(countRows(2, "transactions", SHARD_2_CUSTOMER_ID)).isEqualTo(shard2Transactions + 1);
+        assertThat(countRows(0, "transactions") + countRows(1, "transactions", SHARD_2_CUSTOMER_ID)).isZero();
+        String history = mockMvc.perform(get("/transactions/{customerId}", SHARD_2_CUSTOMER_ID))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(history).contains(correlationId.toString());
+        mockMvc.perform(get("/balances/{customerId}", SHARD_1_CUSTOMER_ID))
+                .andExpect(status().isOk());
+    }
+
+    private long countRows(int shard, String table) {
+        return ShardContext.callOn(shard, () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class));
+    }
+
+    private long countRows(int shard, String table, UUID customerId) {
+        return ShardContext.callOn(shard, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM " + table + " WHERE customer_id = ?", Long.class, customerId.toString()));
+    }
+}
@@ -0,0 +1,115 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import com.jfrengineering.digitalwallet.service.TransactionService;
+import com.jfrengineering.digitalwallet.web.model.TransferRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:transferdb")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TransferIT {
+
+    private static final UUID CUSTOMER_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID CUSTOMER_ID_2 = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private BalanceRepository balanceRepository;
+
+    @Test
+    void createTransfer_debitsAndCreditsBothCustomers_onlyOnce() throws Exception {
+        // Given
+        TransferRequest transferRequest = new TransferRequest(UUID.randomUUID(), CUSTOMER_ID_1, CUSTOMER_ID_2,
+                new BigDecimal("76.76"));
+        BigDecimal initialBalance1 = balanceRepository.findById(CUSTOMER_ID_1).orElseThrow().getBalanceAmount();
+        BigDecimal initialBalance2 = balanceRepository.findById(CUSTOMER_ID_2).orElseThrow().getBalanceAmount();
+
+        // When
+        performTransferRequest(transferRequest)
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.debit.customerId").value(CUSTOMER_ID_1.toString()))
+                .andExpect(jsonPath("$.debit.transaction.correlationId").value(transferRequest.getCorrelationId().toString()))
+                .andExpect(jsonPath("$.debit.transaction.operation").value("WITHDRAW"))
+                .andExpect(jsonPath("$.credit.customerId").value(CUSTOMER_ID_2.toString()))
+                .andExpect(jsonPath("$.credit.transaction.operation").value("ADD"));
+        performTransferRequest(transferRequest).andExpect(status().isConflict());
+
+        // Then
+        assertThat(balanceRepository.findById(CUSTOMER_ID_1).orElseThrow().getBalanceAmount())
+                .isEqualByComparingTo(initialBalance1.subtract(new BigDecimal("76.76")));
+        assertThat(balanceRepository.findById(CUSTOMER_ID_2).orElseThrow().getBalanceAmount())
+                .isEqualByComparingTo(initialBalance2.add(new BigDecimal("76.76")));
+    }
+
+    @Test
+    void createTransfer_returnsBadRequest_ifSameCustomer() throws Exception {
+        // When-Then
+        performTransferRequest(new TransferRequest(UUID.randomUUID(), CUSTOMER_ID_2, CUSTOMER_ID_2, BigDecimal.TEN))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createTransfer_neitherDeadlocksNorLosesUpdates_withConcurrentOppositeTransfers() throws Exception {
+        // Given
+        UUID customerA = UUID.randomUUID();
+        UUID customerB = UUID.randomUUID();
+        balanceRepository.saveAll(List.of(createBalance(customerA, new BigDecimal("1000.00")),
+                createBalance(customerB, new BigDecimal("1000.00"))));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // When
+        List<Future<?>> transfers = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            boolean fromA = i % 2 == 0;
+            transfers.add(executor.submit(() -> transactionService.createTransfer(new TransferRequest(UUID.randomUUID(),
+                    fromA ? customerA : customerB, fromA ? customerB : customerA, BigDecimal.TEN))));
+        }
+        for (Future<?> transfer : transfers) {
+            transfer.get();
+        }
+        executor.shutdown();
+
+        // Then
+        assertThat(balanceRepository.findAllById(List.of(customerA, customerB)))
+                .extracting(Balance::getBalanceAmount)
+                .allSatisfy(balance -> assertThat(balance).isEqualByComparingTo("1000.00"));
+    }
+
+    private ResultActions performTransferRequest(TransferRequest transferRequest) throws Exception {
+        return mockMvc.perform(post("/transfers")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(transferRequest)));
+    }
+}
@@ -0,0 +1,57 @@
+package com.jfrengineering.digitalwallet;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:velocitylimitdb",
+        "wallet.velocity-limit.enabled=true",
+        "wallet.velocity-limit.tiers.standard.hourly-count=2",
+        "wallet.velocity-limit.tiers.standard.daily-amount=100000"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class VelocityLimitIT {
+
+    private static final UUID CUSTOMER_ID_1 = UUID.fromString("11111111-1111-1111-1111-111111111111");
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void createTransaction_isRejected_onceTheHourlyWithdrawalCountIsReached() throws Exception {
+        // When-Then
+        performCreateRequest(Operation.WITHDRAW).andExpect(status().isCreated());
+        performCreateRequest(Operation.WITHDRAW).andExpect(status().isCreated());
+        performCreateRequest(Operation.WITHDRAW)
+                .andExpect(status().isNotAcceptable())
+                .andExpect(content().string("Transaction rejected. Hourly withdrawal limit of 2 transactions reached"));
+        performCreateRequest(Operation.ADD).andExpect(status().isCreated());
+    }
+
+    private ResultActions performCreateRequest(Operation operation) throws Exception {
+        return mockMvc.perform(post("/transactions")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID_1,
+                        new BigDecimal("10.00"), operation))));
+    }
+}
@@ -0,0 +1,143 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionRequest;
+import com.jfrengineering.digitalwallet.web.model.TransferRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerShardAspectTest {
+
+    private static final UUID SHARD_1_CUSTOMER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID SHARD_2_CUSTOMER_ID = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    private final CustomerShardAspect underTest = new CustomerShardAspect(new CustomerShardRouter(3));
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void routeToCustomerShard_usesShardOfCustomerId() throws Throwable {
+        // Given
+        when(joinPoint.getArgs()).thenReturn(new Object[]{SHARD_2_CUSTOMER_ID, 0, 10});
+        when(joinPoint.proceed()).then(invocation -> ShardContext.currentShard());
+
+        // When-Then
+        assertThat(underTest.routeToCustomerShard(joinPoint)).isEqualTo(2);
+        assertThat(ShardContext.currentShard()).isNull();
+    }
+
+    @Test
+    void routeToCustomerShard_usesShardOfTransactionRequestCustomer() throws Throwable {
+        // Given
+        when(joinPoint.getArgs()).thenReturn(new Object[]{
+                createTransactionRequest(CORRELATION_ID_A, SHARD_1_CUSTOMER_ID, TRANSACTION_AMOUNT, Operation.ADD)});
+        when(joinPoint.proceed()).then(invocation -> ShardContext.currentShard());
+
+        // When-Then
+        assertThat(underTest.routeToCustomerShard(joinPoint)).isEqualTo(1);
+    }
+
+    @Test
+    void routeToCustomerShard_usesShardOfTransferSourceCustomer() throws Throwable {
+        // Given
+        when(joinPoint.getArgs()).thenReturn(new Object[]{
+                new TransferRequest(CORRELATION_ID_A, SHARD_2_CUSTOMER_ID, SHARD_1_CUSTOMER_ID, TRANSACTION_AMOUNT)});
+        when(joinPoint.proceed()).then(invocation -> ShardContext.currentShard());
+
+        // When-Then
+        assertThat(underTest.routeToCustomerShard(joinPoint)).isEqualTo(2);
+    }
+
+    @Test
+    void routeToCustomerShard_usesShardOfScheduledTransactionCustomer() throws Throwable {
+        // Given
+        when(joinPoint.getArgs()).thenReturn(new Object[]{new ScheduledTransactionRequest(CORRELATION_ID_A,
+                SHARD_2_CUSTOMER_ID, TRANSACTION_AMOUNT, Operation.ADD, LocalDateTime.now().plusDays(1), null)});
+        when(joinPoint.proceed()).then(invocation -> ShardContext.currentShard());
+
+        // When-Then
+        assertThat(underTest.routeToCustomerShard(joinPoint)).isEqualTo(2);
+    }
+
+    @Test
+    void routeToCustomerShard_usesShardOfTransactionCustomer_ifAlreadyOnIt() throws Throwable {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{
+                createTransaction(CORRELATION_ID_A, SHARD_2_CUSTOMER_ID, TRANSACTION_AMOUNT, Operation.ADD)});
+        when(joinPoint.proceed()).then(invocation -> ShardContext.currentShard());
+
+        // When-Then
+        assertThat(ShardContext.callOn(2, () -> proceed())).isEqualTo(2);
+    }
+
+    @Test
+    void routeToCustomerShard_keepsCurrentShard_ifNotKeyedByCustomer() throws Throwable {
+        // Given
+        when(joinPoint.getArgs()).thenReturn(new Object[]{"not a customer"}, new Object[0]);
+        when(joinPoint.proceed()).then(invocation -> ShardContext.currentShard());
+
+        // When-Then
+        assertThat(ShardContext.callOn(1, () -> proceed())).isEqualTo(1);
+        assertThat(underTest.routeToCustomerShard(joinPoint)).isNull();
+    }
+
+    @Test
+    void routeToCustomerShard_switchesShard_ifNoTransactionActive() throws Throwable {
+        // Given
+        when(joinPoint.getArgs()).thenReturn(new Object[]{SHARD_2_CUSTOMER_ID});
+        when(joinPoint.proceed()).then(invocation -> ShardContext.currentShard());
+
+        // When-Then
+        assertThat(ShardContext.callOn(1, () -> proceed())).isEqualTo(2);
+    }
+
+    @Test
+    void routeToCustomerShard_throwsIllegalStateException_ifTransactionActiveOnAnotherShard() throws Throwable {
+        // Given
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{SHARD_2_CUSTOMER_ID});
+
+        // When-Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> ShardContext.runOn(1, this::proceed));
+        assertThat(exception.getMessage()).isEqualTo(String.format(
+                "Customer '%s' belongs to shard 2, cross-shard transactions are not supported", SHARD_2_CUSTOMER_ID));
+        verify(joinPoint, never()).proceed();
+    }
+
+    private Object proceed() {
+        try {
+            return underTest.routeToCustomerShard(joinPoint);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import com.jfrengineering.digitalwallet.configuration.ShardDataSourceProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerShardRouterTest {
+
+    private final CustomerShardRouter underTest = new CustomerShardRouter(3);
+
+    @Test
+    void getShardCount_isOne_ifNoShardsConfigured() {
+        // When
+        CustomerShardRouter actual = new CustomerShardRouter(new ShardDataSourceProperties());
+
+        // Then
+        assertThat(actual.getShardCount()).isOne();
+        assertThat(actual.shardOf(UUID.randomUUID())).isZero();
+    }
+
+    @Test
+    void getShardCount_isNumberOfConfiguredShards() {
+        // Given
+        ShardDataSourceProperties shardProperties = new ShardDataSourceProperties();
+        shardProperties.setShards(List.of(new ShardDataSourceProperties.Shard(), new ShardDataSourceProperties.Shard()));
+
+        // When-Then
+        assertThat(new CustomerShardRouter(shardProperties).getShardCount()).isEqualTo(2);
+    }
+
+    @Test
+    void shardOf_isStableAndSpreadsNonRandomCustomerIds() {
+        // When-Then
+        assertThat(underTest.shardOf(UUID.fromString("11111111-1111-1111-1111-111111111111"))).isOne();
+        assertThat(underTest.shardOf(UUID.fromString("22222222-2222-2222-2222-222222222222"))).isEqualTo(2);
+    }
+
+    @Test
+    void shardOf_spreadsRandomCustomerIdsEvenly() {
+        // When
+        Map<Integer, Long> customersByShard = IntStream.range(0, 30_000)
+                .mapToObj(i -> underTest.shardOf(UUID.randomUUID()))
+                .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+
+        // Then
+        assertThat(customersByShard).containsOnlyKeys(0, 1, 2);
+        assertThat(customersByShard.values()).allSatisfy(customers -> assertThat(customers).isBetween(9_000L, 11_000L));
+    }
+
+    @Test
+    void forEachShard_runsActionOnEveryShard() {
+        // Given
+        List<Integer> visitedShards = new ArrayList<>();
+
+        // When
+        underTest.forEachShard(shard -> {
+            assertThat(ShardContext.currentShard()).isEqualTo(shard);
+            visitedShards.add(shard);
+        });
+
+        // Then
+        assertThat(visitedShards).containsExactly(0, 1, 2);
+        assertThat(ShardContext.currentShard()).isNull();
+    }
+
+    @Test
+    void callOnShardOf_runsActionOnCustomerShardAndRestoresPreviousOne() {
+        // Given
+        UUID customerId = UUID.fromString("22222222-2222-2222-2222-222222222222");
+
+        // When
+        Integer actual = ShardContext.callOn(1, () -> {
+            Integer customerShard = underTest.callOnShardOf(customerId, ShardContext::currentShard);
+            assertThat(ShardContext.currentShard()).isOne();
+            return customerShard;
+        });
+
+        // Then
+        assertThat(actual).isEqualTo(2);
+        assertThat(ShardContext.currentShard()).isNull();
+    }
+}
@@ -0,0 +1,101 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+
+import static com.jfrengineering.digitalwallet.datasource.ReplicaLagMonitor.CREATE_HEARTBEAT_TABLE;
+import static com.jfrengineering.digitalwallet.datasource.ReplicaLagMonitor.READ_HEARTBEAT;
+import static com.jfrengineering.digitalwallet.datasource.ReplicaLagMonitor.WRITE_HEARTBEAT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaLagMonitorTest {
+
+    private static final Duration MAX_LAG = Duration.ofSeconds(5);
+
+    @Mock
+    private JdbcTemplate primaryJdbcTemplate;
+
+    @Mock
+    private JdbcTemplate replicaJdbcTemplate;
+
+    private ReplicaLagMonitor underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ReplicaLagMonitor(primaryJdbcTemplate, replicaJdbcTemplate, MAX_LAG);
+    }
+
+    @Test
+    void createHeartbeatTable_createsTableInPrimary() {
+        // When
+        underTest.createHeartbeatTable();
+
+        // Then
+        verify(primaryJdbcTemplate).execute(CREATE_HEARTBEAT_TABLE);
+    }
+
+    @Test
+    void isReplicaUsable_returnsFalse_beforeFirstHeartbeat() {
+        // When-Then
+        assertThat(underTest.isReplicaUsable()).isFalse();
+    }
+
+    @Test
+    void heartbeat_marksReplicaUsable_ifReplicatedHeartbeatWithinMaxLag() {
+        // Given
+        when(replicaJdbcTemplate.queryForObject(READ_HEARTBEAT, Timestamp.class))
+                .thenReturn(Timestamp.from(Instant.now().minusSeconds(1)));
+
+        // When
+        underTest.heartbeat();
+        underTest.heartbeat();
+
+        // Then
+        assertThat(underTest.isReplicaUsable()).isTrue();
+        verify(primaryJdbcTemplate, times(2)).update(eq(WRITE_HEARTBEAT), any(Timestamp.class));
+    }
+
+    @Test
+    void heartbeat_marksReplicaNotUsable_ifReplicatedHeartbeatOverMaxLag() {
+        // Given
+        when(replicaJdbcTemplate.queryForObject(READ_HEARTBEAT, Timestamp.class))
+                .thenReturn(Timestamp.from(Instant.now()), Timestamp.from(Instant.now().minus(MAX_LAG).minusSeconds(1)));
+        underTest.heartbeat();
+
+        // When
+        underTest.heartbeat();
+
+        // Then
+        assertThat(underTest.isReplicaUsable()).isFalse();
+    }
+
+    @Test
+    void heartbeat_marksReplicaNotUsable_ifHeartbeatCannotBeRead() {
+        // Given
+        when(replicaJdbcTemplate.queryForObject(READ_HEARTBEAT, Timestamp.class))
+                .thenReturn(Timestamp.from(Instant.now()))
+                .thenThrow(new EmptyResultDataAccessException(1));
+        underTest.heartbeat();
+
+        // When
+        underTest.heartbeat();
+
+        // Then
+        assertThat(underTest.isReplicaUsable()).isFalse();
+    }
+}
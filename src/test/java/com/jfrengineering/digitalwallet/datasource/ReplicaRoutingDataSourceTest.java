@@ -0,0 +1,74 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primaryDataSource;
+
+    @Mock
+    private DataSource replicaDataSource;
+
+    @Mock
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    private ReplicaRoutingDataSource underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, replicaLagMonitor);
+        underTest.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void determineCurrentLookupKey_routesToPrimary_ifTransactionIsNotReadOnly() {
+        // When
+        ReplicaRoutingDataSource.Route actual = underTest.determineCurrentLookupKey();
+
+        // Then
+        assertThat(actual).isEqualTo(ReplicaRoutingDataSource.Route.PRIMARY);
+        assertThat(underTest.getResolvedDataSources())
+                .containsEntry(ReplicaRoutingDataSource.Route.PRIMARY, primaryDataSource)
+                .containsEntry(ReplicaRoutingDataSource.Route.REPLICA, replicaDataSource);
+        verifyNoInteractions(replicaLagMonitor);
+    }
+
+    @Test
+    void determineCurrentLookupKey_routesToReplica_ifTransactionIsReadOnlyAndReplicaUsable() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(true);
+
+        // When-Then
+        assertThat(underTest.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.REPLICA);
+    }
+
+    @Test
+    void determineCurrentLookupKey_routesToPrimary_ifReplicaLagsBehind() {
+        // Given
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        when(replicaLagMonitor.isReplicaUsable()).thenReturn(false);
+
+        // When-Then
+        assertThat(underTest.determineCurrentLookupKey()).isEqualTo(ReplicaRoutingDataSource.Route.PRIMARY);
+    }
+}
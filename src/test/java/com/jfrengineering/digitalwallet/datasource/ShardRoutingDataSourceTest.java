@@ -0,0 +1,81 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@ExtendWith(MockitoExtension.class)
+class ShardRoutingDataSourceTest {
+
+    @Mock
+    private DataSource shard0DataSource;
+
+    @Mock
+    private DataSource shard1DataSource;
+
+    private ShardRoutingDataSource underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ShardRoutingDataSource(List.of(shard0DataSource, shard1DataSource));
+        underTest.afterPropertiesSet();
+    }
+
+    @Test
+    void getConnection_usesCurrentShard() throws SQLException {
+        // Given
+        Connection connection = mock(Connection.class);
+        when(shard1DataSource.getConnection()).thenReturn(connection);
+
+        // When
+        Connection actual = ShardContext.callOn(1, this::getConnection);
+
+        // Then
+        assertThat(actual).isSameAs(connection);
+    }
+
+    @Test
+    void getConnection_usesDefaultShard_ifNoShardSet() throws SQLException {
+        // Given
+        Connection connection = mock(Connection.class);
+        when(shard0DataSource.getConnection()).thenReturn(connection);
+
+        // When-Then
+        assertThat(underTest.getConnection()).isSameAs(connection);
+    }
+
+    @Test
+    void close_closesShardDataSources() throws Exception {
+        // Given
+        DataSource closeableDataSource = mock(DataSource.class, withSettings().extraInterfaces(AutoCloseable.class));
+        ShardRoutingDataSource routingDataSource = new ShardRoutingDataSource(List.of(closeableDataSource, shard1DataSource));
+        routingDataSource.afterPropertiesSet();
+
+        // When
+        routingDataSource.close();
+
+        // Then
+        verify((AutoCloseable) closeableDataSource).close();
+    }
+
+    private Connection getConnection() {
+        try {
+            return underTest.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import org.hibernate.SessionFactoryObserver;
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.service.spi.ServiceRegistryImplementor;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.MockedStatic;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+@ExtendWith(MockitoExtension.class)
+class ShardSchemaIntegratorTest {
+
+    @Mock
+    private Metadata metadata;
+
+    @Mock
+    private BootstrapContext bootstrapContext;
+
+    // These interfaces carry annotations that are not in the classpath
+    private final SessionFactoryImplementor sessionFactory = mock(SessionFactoryImplementor.class,
+            withSettings().withoutAnnotations());
+
+    private final ServiceRegistryImplementor serviceRegistry = mock(ServiceRegistryImplementor.class,
+            withSettings().withoutAnnotations());
+
+    @Captor
+    private ArgumentCaptor<SessionFactoryObserver> observerCaptor;
+
+    private final ShardSchemaIntegrator underTest = new ShardSchemaIntegrator(new CustomerShardRouter(3));
+
+    @Test
+    void integrate_managesSchemaOfNonDefaultShards_onceSessionFactoryIsCreated() {
+        // Given
+        Map<String, Object> properties = Map.of("hibernate.hbm2ddl.auto", "update");
+        when(sessionFactory.getServiceRegistry()).thenReturn(serviceRegistry);
+        when(sessionFactory.getProperties()).thenReturn(properties);
+        List<Integer> processedShards = new ArrayList<>();
+
+        underTest.integrate(metadata, bootstrapContext, sessionFactory);
+        verify(sessionFactory).addObserver(observerCaptor.capture());
+
+        try (MockedStatic<SchemaManagementToolCoordinator> coordinator = mockStatic(SchemaManagementToolCoordinator.class)) {
+            coordinator.when(() -> SchemaManagementToolCoordinator.process(eq(metadata), eq(serviceRegistry),
+                    eq(properties), any())).then(invocation -> processedShards.add(ShardContext.currentShard()));
+
+            // When
+            observerCaptor.getValue().sessionFactoryCreated(sessionFactory);
+        }
+
+        // Then
+        assertThat(processedShards).containsExactly(1, 2);
+    }
+
+    @Test
+    void disintegrate_releasesNothing() {
+        // When
+        underTest.disintegrate(sessionFactory, null);
+
+        // Then
+        verifyNoInteractions(sessionFactory);
+    }
+}
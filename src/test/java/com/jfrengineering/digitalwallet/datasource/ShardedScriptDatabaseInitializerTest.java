@@ -0,0 +1,86 @@
+package com.jfrengineering.digitalwallet.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.sql.init.SqlInitializationProperties;
+import org.springframework.boot.sql.init.DatabaseInitializationMode;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardedScriptDatabaseInitializerTest {
+
+    private static final String SHARD_1_CUSTOMER_ID = "11111111-1111-1111-1111-111111111111";
+    private static final String SHARD_2_CUSTOMER_ID = "22222222-2222-2222-2222-222222222222";
+
+    private final CustomerShardRouter customerShardRouter = new CustomerShardRouter(3);
+
+    private ShardRoutingDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        String databasePrefix = "initializer" + UUID.randomUUID();
+        List<DataSource> shardDataSources = IntStream.range(0, 3)
+                .<DataSource>mapToObj(shard -> new DriverManagerDataSource(
+                        "jdbc:h2:mem:" + databasePrefix + shard + ";DB_CLOSE_DELAY=-1"))
+                .toList();
+        dataSource = new ShardRoutingDataSource(shardDataSources);
+        dataSource.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        customerShardRouter.forEachShard(shard -> {
+            jdbcTemplate.execute("CREATE TABLE balances (customer_id VARCHAR PRIMARY KEY, balance_amount DECIMAL(38, 2), "
+                    + "created_at TIMESTAMP, updated_at TIMESTAMP)");
+            jdbcTemplate.execute("CREATE TABLE transactions (correlation_id VARCHAR PRIMARY KEY, customer_id VARCHAR, "
+                    + "amount DECIMAL(38, 2), operation VARCHAR, balance_after DECIMAL(38, 2), created_at TIMESTAMP)");
+            jdbcTemplate.execute("CREATE TABLE transaction_summaries (customer_id VARCHAR, bucket_date DATE, "
+                    + "credit_total DECIMAL(38, 2), credit_count BIGINT, debit_total DECIMAL(38, 2), debit_count BIGINT)");
+        });
+    }
+
+    @Test
+    void initializeDatabase_keepsOnEveryShardOnlyTheRowsOfItsCustomers() {
+        // Given
+        SqlInitializationProperties properties = new SqlInitializationProperties();
+        properties.setMode(DatabaseInitializationMode.ALWAYS);
+
+        // When
+        boolean actual = new ShardedScriptDatabaseInitializer(dataSource, properties, customerShardRouter)
+                .initializeDatabase();
+
+        // Then
+        assertThat(actual).isTrue();
+        for (String table : ShardedScriptDatabaseInitializer.CUSTOMER_TABLES) {
+            assertThat(customerIds(0, table)).isEmpty();
+            assertThat(customerIds(1, table)).containsOnly(SHARD_1_CUSTOMER_ID);
+            assertThat(customerIds(2, table)).containsOnly(SHARD_2_CUSTOMER_ID);
+        }
+    }
+
+    @Test
+    void initializeDatabase_doesNothing_ifInitializationDisabled() {
+        // Given
+        SqlInitializationProperties properties = new SqlInitializationProperties();
+        properties.setMode(DatabaseInitializationMode.NEVER);
+
+        // When
+        boolean actual = new ShardedScriptDatabaseInitializer(dataSource, properties, customerShardRouter)
+                .initializeDatabase();
+
+        // Then
+        assertThat(actual).isFalse();
+        assertThat(customerIds(1, "balances")).isEmpty();
+    }
+
+    private List<String> customerIds(int shard, String table) {
+        return ShardContext.callOn(shard, () -> jdbcTemplate.queryForList(
+                "SELECT customer_id FROM " + table, String.class));
+    }
+}
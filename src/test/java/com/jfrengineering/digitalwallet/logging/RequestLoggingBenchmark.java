@@ -0,0 +1,109 @@
+package com.jfrengineering.digitalwallet.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not part of the build, run with:
+// mvn test -Dtest=RequestLoggingBenchmark -Dsurefire.failIfNoSpecifiedTests=false [-Dbenchmark.threads=16]
+class RequestLoggingBenchmark {
+
+    private static final int REQUESTS_PER_THREAD = 200_000;
+    private static final String PATTERN = "%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5level --- [%15.15thread] %-40.40logger{39} : %m%n";
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void logRequests_synchronousConcatenatedComparedWithAsynchronousParameterisedSampled() throws Exception {
+        int threads = Integer.getInteger("benchmark.threads", Runtime.getRuntime().availableProcessors());
+        TransactionRequest request = createTransactionRequest(UUID.randomUUID(), UUID.randomUUID(),
+                new BigDecimal("123.45"), Operation.ADD);
+        Consumer<Logger> concatenated = logger -> logger.info("Received request to create transaction: " + request);
+        Consumer<Logger> parameterised = logger -> logger.info(LogMarkers.SAMPLED,
+                "Received request to create transaction {} for customer with ID {}: {} {}", request.getCorrelationId(),
+                request.getCustomerId(), request.getOperation(), request.getAmount());
+
+        run("warm-up", threads, false, 1.0, concatenated);
+        run("warm-up", threads, true, 1.0, parameterised);
+        System.out.printf("%-45s %16s%n", "logging (" + threads + " threads)", "requests/s");
+        run("synchronous, concatenated", threads, false, 1.0, concatenated);
+        run("synchronous, parameterised", threads, false, 1.0, parameterised);
+        run("asynchronous, parameterised", threads, true, 1.0, parameterised);
+        run("asynchronous, parameterised, 10% sampled", threads, true, 0.1, parameterised);
+        run("asynchronous, parameterised, 1% sampled", threads, true, 0.01, parameterised);
+    }
+
+    private void run(String name, int threads, boolean asynchronous, double sampleRate, Consumer<Logger> logRequest)
+            throws Exception {
+        LoggerContext context = new LoggerContext();
+        SamplingTurboFilter samplingTurboFilter = new SamplingTurboFilter();
+        samplingTurboFilter.setSampleRate(sampleRate);
+        samplingTurboFilter.start();
+        context.addTurboFilter(samplingTurboFilter);
+        Logger logger = context.getLogger(RequestLoggingBenchmark.class);
+        logger.addAppender(appender(context, asynchronous));
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        Future<?>[] futures = IntStream.range(0, threads)
+                .mapToObj(thread -> executor.submit(() -> IntStream.range(0, REQUESTS_PER_THREAD)
+                        .forEach(i -> logRequest.accept(logger))))
+                .toArray(Future[]::new);
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        context.stop();
+
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        if (!name.equals("warm-up")) {
+            System.out.printf("%-45s %16d%n", name, threads * REQUESTS_PER_THREAD * TimeUnit.SECONDS.toNanos(1) / elapsed);
+        }
+    }
+
+    private Appender<ILoggingEvent> appender(LoggerContext context, boolean asynchronous) {
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern(PATTERN);
+        encoder.start();
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setFile(directory.resolve(UUID.randomUUID() + ".log").toString());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+        if (!asynchronous) {
+            return fileAppender;
+        }
+        // Same settings as logback-spring.xml
+        AsyncAppender asyncAppender = new AsyncAppender();
+        asyncAppender.setContext(context);
+        asyncAppender.setQueueSize(8192);
+        asyncAppender.setNeverBlock(true);
+        asyncAppender.addAppender(fileAppender);
+        asyncAppender.start();
+        return asyncAppender;
+    }
+}
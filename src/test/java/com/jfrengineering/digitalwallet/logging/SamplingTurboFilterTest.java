@@ -0,0 +1,71 @@
+package com.jfrengineering.digitalwallet.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Marker;
+import org.slf4j.MarkerFactory;
+
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SamplingTurboFilterTest {
+
+    private final Logger logger = new LoggerContext().getLogger(SamplingTurboFilterTest.class);
+
+    private final SamplingTurboFilter underTest = new SamplingTurboFilter();
+
+    @ParameterizedTest
+    @ValueSource(doubles = { 0.0, 1.0 })
+    void decide_isNeutral_ifNotSampledMarker(double sampleRate) {
+        // Given
+        underTest.setSampleRate(sampleRate);
+
+        // When-Then
+        assertThat(decide(null)).isEqualTo(FilterReply.NEUTRAL);
+        assertThat(decide(MarkerFactory.getDetachedMarker("OTHER"))).isEqualTo(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void decide_keepsAllSampledLogs_byDefault() {
+        // When-Then
+        assertThat(IntStream.range(0, 1_000).mapToObj(i -> decide(LogMarkers.SAMPLED)))
+                .containsOnly(FilterReply.NEUTRAL);
+    }
+
+    @Test
+    void decide_deniesAllSampledLogs_ifSampleRateIsZero() {
+        // Given
+        underTest.setSampleRate(0.0);
+        Marker nested = MarkerFactory.getDetachedMarker("NESTED");
+        nested.add(LogMarkers.SAMPLED);
+
+        // When-Then
+        assertThat(decide(LogMarkers.SAMPLED)).isEqualTo(FilterReply.DENY);
+        assertThat(decide(nested)).isEqualTo(FilterReply.DENY);
+    }
+
+    @Test
+    void decide_keepsShareOfSampledLogs_givenSampleRate() {
+        // Given
+        underTest.setSampleRate(0.1);
+
+        // When
+        long kept = IntStream.range(0, 100_000)
+                .mapToObj(i -> decide(LogMarkers.SAMPLED))
+                .filter(FilterReply.NEUTRAL::equals)
+                .count();
+
+        // Then
+        assertThat(kept).isBetween(9_000L, 11_000L);
+    }
+
+    private FilterReply decide(Marker marker) {
+        return underTest.decide(marker, logger, Level.INFO, "message {}", new Object[]{ 1 }, null);
+    }
+}
@@ -29,7 +29,7 @@ class TransactionMapperTest {
                 TRANSACTION_AMOUNT, Operation.ADD);
 
         // When
-        Transaction actual = TransactionMapper.transactionRequestToTransaction(transactionRequest);
+        Transaction actual = TransactionMapper.transactionRequestToTransaction(transactionRequest, BALANCE_CUSTOMER_1);
 
         // Then
         assertThat(actual)
@@ -37,12 +37,14 @@ class TransactionMapperTest {
                         "correlationId",
                         "customerId",
                         "amount",
-                        "operation")
+                        "operation",
+                        "balanceAfter")
                 .containsExactly(
                         CORRELATION_ID_A,
                         CUSTOMER_ID_1,
                         TRANSACTION_AMOUNT,
-                        Operation.ADD
+                        Operation.ADD,
+                        BALANCE_CUSTOMER_1
                 );
         assertThat(actual.getCreatedAt().toLocalDateTime()).isCloseTo(LocalDateTime.now(),
                         new TemporalUnitLessThanOffset(5, ChronoUnit.SECONDS));
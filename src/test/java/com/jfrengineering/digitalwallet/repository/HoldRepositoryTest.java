@@ -0,0 +1,50 @@
+package com.jfrengineering.digitalwallet.repository;
+
+import com.jfrengineering.digitalwallet.domain.Hold;
+import jakarta.persistence.EntityExistsException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HoldRepositoryTest {
+
+    @Spy
+    private HoldRepository holdRepository;
+
+    @Test
+    void insert_persistsHold_ifNotRepeatedCorrelationId() {
+        // Given
+        Hold hold = Hold.builder().correlationId(CORRELATION_ID_A).build();
+
+        // And
+        when(holdRepository.existsById(CORRELATION_ID_A)).thenReturn(false);
+
+        // When
+        holdRepository.insert(hold);
+
+        // Then
+        verify(holdRepository).save(hold);
+    }
+
+    @Test
+    void insert_throwsEntityExistsException_ifRepeatedCorrelationId() {
+        // Given
+        Hold hold = Hold.builder().correlationId(CORRELATION_ID_A).build();
+
+        // And
+        when(holdRepository.existsById(CORRELATION_ID_A)).thenReturn(true);
+
+        // When-Then
+        EntityExistsException actualException = assertThrows(EntityExistsException.class,
+                () -> holdRepository.insert(hold));
+        assertThat(actualException.getMessage()).isEqualTo("Hold with the same correlationId already exists");
+    }
+}
@@ -0,0 +1,51 @@
+package com.jfrengineering.digitalwallet.repository;
+
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import jakarta.persistence.EntityExistsException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledTransactionRepositoryTest {
+
+    @Spy
+    private ScheduledTransactionRepository scheduledTransactionRepository;
+
+    @Test
+    void insert_persistsScheduledTransaction_ifNotRepeatedCorrelationId() {
+        // Given
+        ScheduledTransaction scheduledTransaction = ScheduledTransaction.builder().correlationId(CORRELATION_ID_A).build();
+
+        // And
+        when(scheduledTransactionRepository.existsById(CORRELATION_ID_A)).thenReturn(false);
+
+        // When
+        scheduledTransactionRepository.insert(scheduledTransaction);
+
+        // Then
+        verify(scheduledTransactionRepository).save(scheduledTransaction);
+    }
+
+    @Test
+    void insert_throwsEntityExistsException_ifRepeatedCorrelationId() {
+        // Given
+        ScheduledTransaction scheduledTransaction = ScheduledTransaction.builder().correlationId(CORRELATION_ID_A).build();
+
+        // And
+        when(scheduledTransactionRepository.existsById(CORRELATION_ID_A)).thenReturn(true);
+
+        // When-Then
+        EntityExistsException actualException = assertThrows(EntityExistsException.class,
+                () -> scheduledTransactionRepository.insert(scheduledTransaction));
+        assertThat(actualException.getMessage())
+                .isEqualTo("Scheduled transaction with the same correlationId already exists");
+    }
+}
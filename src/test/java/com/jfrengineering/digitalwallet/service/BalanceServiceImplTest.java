@@ -0,0 +1,172 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import com.jfrengineering.digitalwallet.service.archive.TransactionArchive;
+import com.jfrengineering.digitalwallet.service.stream.BalanceStreamHub;
+import com.jfrengineering.digitalwallet.web.model.BalanceResponse;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.BALANCE_CUSTOMER_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceServiceImplTest {
+
+    private static final LocalDateTime AS_OF = LocalDateTime.of(2024, 1, 15, 12, 30);
+
+    @Mock
+    private CustomerCacheService customerCacheService;
+
+    @Mock
+    private BalanceStore balanceStore;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Mock
+    private BalanceStreamHub balanceStreamHub;
+
+    @InjectMocks
+    private BalanceServiceImpl underTest;
+
+    @Test
+    void getBalance_throwsEntityNotFoundException_ifCustomerIdNotFound() {
+        // Given
+        UUID nonExistingCustomerId = UUID.randomUUID();
+        when(customerCacheService.customerBalanceExists(nonExistingCustomerId)).thenReturn(false);
+
+        // When-Then
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> underTest.getBalance(nonExistingCustomerId, AS_OF));
+        assertThat(exception.getMessage()).isEqualTo(String.format("Non existing customer with ID '%s'", nonExistingCustomerId));
+        verifyNoInteractions(balanceStore, transactionRepository, transactionArchive);
+    }
+
+    @Test
+    void getBalance_returnsCurrentBalance_ifNoPointInTime() {
+        // Given
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(true);
+        when(balanceStore.findById(CUSTOMER_ID_1)).thenReturn(Optional.of(createBalance(CUSTOMER_ID_1, BALANCE_CUSTOMER_1)));
+
+        // When
+        BalanceResponse actual = underTest.getBalance(CUSTOMER_ID_1, null);
+
+        // Then
+        assertThat(actual).isEqualTo(new BalanceResponse(CUSTOMER_ID_1, BALANCE_CUSTOMER_1, null));
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void getBalance_throwsEntityNotFoundException_ifCachedCustomerHasNoBalance() {
+        // Given
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(true);
+        when(balanceStore.findById(CUSTOMER_ID_1)).thenReturn(Optional.empty());
+
+        // When-Then
+        assertThrows(EntityNotFoundException.class, () -> underTest.getBalance(CUSTOMER_ID_1, null));
+    }
+
+    @Test
+    void getBalance_returnsBalanceAfterLatestTransaction_atPointInTime() {
+        // Given
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(true);
+        Transaction transaction = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD,
+                AS_OF.minusHours(1));
+        transaction.setBalanceAfter(BALANCE_CUSTOMER_1);
+        when(transactionRepository.findFirstByCustomerIdAndCreatedAtLessThanEqualOrderByCreatedAtDesc(CUSTOMER_ID_1,
+                Timestamp.valueOf(AS_OF))).thenReturn(Optional.of(transaction));
+
+        // When
+        BalanceResponse actual = underTest.getBalance(CUSTOMER_ID_1, AS_OF);
+
+        // Then
+        assertThat(actual).isEqualTo(new BalanceResponse(CUSTOMER_ID_1, BALANCE_CUSTOMER_1, AS_OF));
+        verifyNoInteractions(balanceStore, transactionArchive);
+    }
+
+    @Test
+    void getBalance_returnsBalanceAfterLatestArchivedTransaction_ifNoTransactionsInDatabase() {
+        // Given
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(true);
+        Transaction transaction = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD,
+                AS_OF.minusYears(1));
+        transaction.setBalanceAfter(BALANCE_CUSTOMER_1);
+        when(transactionRepository.findFirstByCustomerIdAndCreatedAtLessThanEqualOrderByCreatedAtDesc(CUSTOMER_ID_1,
+                Timestamp.valueOf(AS_OF))).thenReturn(Optional.empty());
+        when(transactionArchive.findLatestByCustomerIdAtOrBefore(CUSTOMER_ID_1, Timestamp.valueOf(AS_OF)))
+                .thenReturn(Optional.of(transaction));
+
+        // When
+        BalanceResponse actual = underTest.getBalance(CUSTOMER_ID_1, AS_OF);
+
+        // Then
+        assertThat(actual).isEqualTo(new BalanceResponse(CUSTOMER_ID_1, BALANCE_CUSTOMER_1, AS_OF));
+    }
+
+    @Test
+    void getBalance_returnsZero_ifNoTransactionsBeforePointInTime() {
+        // Given
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(true);
+        when(transactionRepository.findFirstByCustomerIdAndCreatedAtLessThanEqualOrderByCreatedAtDesc(CUSTOMER_ID_1,
+                Timestamp.valueOf(AS_OF))).thenReturn(Optional.empty());
+        when(transactionArchive.findLatestByCustomerIdAtOrBefore(CUSTOMER_ID_1, Timestamp.valueOf(AS_OF)))
+                .thenReturn(Optional.empty());
+
+        // When
+        BalanceResponse actual = underTest.getBalance(CUSTOMER_ID_1, AS_OF);
+
+        // Then
+        assertThat(actual).isEqualTo(new BalanceResponse(CUSTOMER_ID_1, new BigDecimal("0.00"), AS_OF));
+    }
+
+    @Test
+    void streamBalanceUpdates_subscribesToCustomerUpdates() {
+        // Given
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(true);
+        SseEmitter emitter = new SseEmitter();
+        when(balanceStreamHub.subscribe(CUSTOMER_ID_1)).thenReturn(emitter);
+
+        // When
+        SseEmitter actual = underTest.streamBalanceUpdates(CUSTOMER_ID_1);
+
+        // Then
+        assertThat(actual).isSameAs(emitter);
+    }
+
+    @Test
+    void streamBalanceUpdates_throwsEntityNotFoundException_ifCustomerIdNotFound() {
+        // Given
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(false);
+
+        // When-Then
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> underTest.streamBalanceUpdates(CUSTOMER_ID_1));
+        assertThat(exception.getMessage()).isEqualTo(String.format("Non existing customer with ID '%s'", CUSTOMER_ID_1));
+        verifyNoInteractions(balanceStreamHub);
+    }
+}
@@ -16,6 +16,9 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
 
+import java.util.List;
+
+import static com.jfrengineering.digitalwallet.logging.LogMarkers.SAMPLED;
 import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -53,8 +56,9 @@ class CustomerCacheServiceImplTest {
         assertEquals(exists, customerBalanceExists);
         assertThat(logWatcher.list).hasSize(1);
         assertThat(logWatcher.list.get(0))
-                .extracting("level", "formattedMessage")
-                .containsExactly(Level.INFO, "Hitting the database to verify if customer's Balance exists, as not cached yet");
+                .extracting("level", "formattedMessage", "markerList")
+                .containsExactly(Level.INFO, "Hitting the database to verify if customer's Balance exists, as not cached yet",
+                        List.of(SAMPLED));
     }
 
     @Test
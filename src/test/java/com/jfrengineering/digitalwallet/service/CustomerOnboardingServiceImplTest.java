@@ -0,0 +1,151 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.configuration.OnboardingProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.datasource.ShardContext;
+import com.jfrengineering.digitalwallet.datasource.ShardRoutingDataSource;
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.web.model.BalanceBatchResponse;
+import com.jfrengineering.digitalwallet.web.model.BalanceBatchResult;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.jfrengineering.digitalwallet.configuration.CacheConfig.CUSTOMER_CACHE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerOnboardingServiceImplTest {
+
+    // Customers of shard 0 and 1 out of 2 shards
+    private static final UUID SHARD_0_CUSTOMER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID SHARD_1_CUSTOMER_ID = UUID.fromString("55555555-5555-5555-5555-555555555555");
+
+    private final CustomerShardRouter customerShardRouter = new CustomerShardRouter(2);
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private CustomerOnboardingServiceImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        String databasePrefix = "onboarding" + UUID.randomUUID();
+        List<DataSource> shardDataSources = IntStream.range(0, 2)
+                .<DataSource>mapToObj(shard -> new DriverManagerDataSource(
+                        "jdbc:h2:mem:" + databasePrefix + shard + ";DB_CLOSE_DELAY=-1"))
+                .toList();
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource(shardDataSources);
+        dataSource.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        customerShardRouter.forEachShard(shard -> jdbcTemplate.execute("CREATE TABLE balances "
+                + "(customer_id VARCHAR PRIMARY KEY, balance_amount DECIMAL(38, 2), held_amount DECIMAL(38, 2), "
+                + "created_at TIMESTAMP, updated_at TIMESTAMP)"));
+        OnboardingProperties onboardingProperties = new OnboardingProperties();
+        onboardingProperties.setBatchSize(2);
+        underTest = new CustomerOnboardingServiceImpl(onboardingProperties, jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), customerShardRouter,
+                cacheManager, applicationEventPublisher);
+    }
+
+    @Test
+    void createBalances_insertsEmptyBalancesIntoTheShardOfTheirCustomers() {
+        // Given
+        List<UUID> customerIds = List.of(SHARD_0_CUSTOMER_ID, SHARD_1_CUSTOMER_ID, UUID.randomUUID(),
+                UUID.randomUUID(), UUID.randomUUID());
+
+        // When
+        BalanceBatchResponse actual = underTest.createBalances(customerIds);
+
+        // Then
+        assertThat(actual.getResults()).extracting(BalanceBatchResult::getStatus).containsOnly(201);
+        assertThat(actual.getResults()).extracting(BalanceBatchResult::getCustomerId)
+                .containsExactlyElementsOf(customerIds);
+        assertThat(ShardContext.callOn(0, () -> jdbcTemplate.queryForObject(
+                "SELECT balance_amount + held_amount FROM balances WHERE customer_id = ?", BigDecimal.class,
+                SHARD_0_CUSTOMER_ID.toString()))).isZero();
+        assertThat(ShardContext.callOn(1, () -> jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM balances WHERE customer_id = ?", Long.class, SHARD_1_CUSTOMER_ID.toString())))
+                .isEqualTo(1);
+        assertThat(rows(0) + rows(1)).isEqualTo(5);
+    }
+
+    @Test
+    void createBalances_reportsConflict_ifCustomerAlreadyHasABalance() {
+        // Given
+        underTest.createBalances(List.of(SHARD_1_CUSTOMER_ID));
+        UUID newCustomerId = UUID.randomUUID();
+
+        // When
+        BalanceBatchResponse actual = underTest.createBalances(List.of(SHARD_1_CUSTOMER_ID, newCustomerId,
+                newCustomerId));
+
+        // Then
+        assertThat(actual.getResults()).containsExactly(new BalanceBatchResult(SHARD_1_CUSTOMER_ID, 409),
+                new BalanceBatchResult(newCustomerId, 201), new BalanceBatchResult(newCustomerId, 409));
+        assertThat(rows(0) + rows(1)).isEqualTo(2);
+    }
+
+    @Test
+    void createBalances_publishesCreatedBalances() {
+        // Given
+        underTest.createBalances(List.of(SHARD_1_CUSTOMER_ID));
+
+        // When
+        underTest.createBalances(List.of(SHARD_1_CUSTOMER_ID, SHARD_0_CUSTOMER_ID));
+
+        // Then
+        ArgumentCaptor<BalancesCreatedEvent> captor = ArgumentCaptor.forClass(BalancesCreatedEvent.class);
+        verify(applicationEventPublisher, times(3)).publishEvent(captor.capture());
+        assertThat(captor.getAllValues()).extracting(event -> event.balances().size()).containsExactly(1, 0, 1);
+        assertThat(captor.getAllValues()).flatExtracting(BalancesCreatedEvent::balances)
+                .extracting(Balance::getCustomerId)
+                .containsExactly(SHARD_1_CUSTOMER_ID, SHARD_0_CUSTOMER_ID);
+        assertThat(captor.getValue().balances()).singleElement().satisfies(balance -> {
+            assertThat(balance.getBalanceAmount()).isZero();
+            assertThat(balance.getHeldAmount()).isZero();
+            assertThat(balance.getCreatedAt()).isNotNull().isEqualTo(balance.getUpdatedAt());
+        });
+    }
+
+    @Test
+    void createBalances_cachesEveryCustomer_replacingCachedMisses() {
+        // Given
+        Cache cache = cacheManager.getCache(CUSTOMER_CACHE);
+        cache.put(SHARD_0_CUSTOMER_ID.toString(), false);
+
+        // When
+        underTest.createBalances(List.of(SHARD_0_CUSTOMER_ID, SHARD_1_CUSTOMER_ID));
+
+        // Then
+        assertThat(cache.get(SHARD_0_CUSTOMER_ID.toString(), Boolean.class)).isTrue();
+        assertThat(cache.get(SHARD_1_CUSTOMER_ID.toString(), Boolean.class)).isTrue();
+    }
+
+    private long rows(int shard) {
+        return ShardContext.callOn(shard, () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM balances",
+                Long.class));
+    }
+}
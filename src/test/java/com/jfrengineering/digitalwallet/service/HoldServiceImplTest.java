@@ -0,0 +1,308 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.configuration.HoldProperties;
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.repository.HoldRepository;
+import com.jfrengineering.digitalwallet.service.hold.HoldReleasedEvent;
+import com.jfrengineering.digitalwallet.service.hold.HoldReservedEvent;
+import com.jfrengineering.digitalwallet.web.exception.InvalidHoldException;
+import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
+import com.jfrengineering.digitalwallet.web.model.HoldRequest;
+import com.jfrengineering.digitalwallet.web.model.HoldResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HoldServiceImplTest {
+
+    private static final BigDecimal HOLD_AMOUNT = new BigDecimal("60.00");
+
+    @Mock
+    private CustomerCacheService customerCacheService;
+
+    @Mock
+    private BalanceStore balanceStore;
+
+    @Mock
+    private HoldRepository holdRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private HoldServiceImpl underTest;
+
+    private Balance balance;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new HoldServiceImpl(customerCacheService, balanceStore, holdRepository, transactionService,
+                new HoldProperties(), applicationEventPublisher);
+        balance = createBalance(CUSTOMER_ID_1, new BigDecimal("100.00"));
+    }
+
+    @Test
+    void reserveHold_movesAmountFromAvailableToHeld() {
+        // Given
+        balance.setHeldAmount(new BigDecimal("10.00"));
+        givenBalance();
+        when(holdRepository.insert(any())).then(invocation -> invocation.getArgument(0));
+        long before = System.currentTimeMillis();
+
+        // When
+        HoldResponse actual = underTest.reserveHold(new HoldRequest(CORRELATION_ID_A, CUSTOMER_ID_1, HOLD_AMOUNT,
+                Duration.ofHours(1)));
+
+        // Then
+        assertThat(actual.getAvailableBalance()).isEqualTo(new BigDecimal("30.00"));
+        assertThat(balance.getHeldAmount()).isEqualTo(new BigDecimal("70.00"));
+        assertThat(balance.getBalanceAmount()).isEqualTo(new BigDecimal("100.00"));
+        verify(balanceStore).save(balance);
+        ArgumentCaptor<Hold> captor = ArgumentCaptor.forClass(Hold.class);
+        verify(holdRepository).insert(captor.capture());
+        assertThat(captor.getValue().getExpiresAt().getTime())
+                .isBetween(before + 3_600_000, System.currentTimeMillis() + 3_600_000);
+        verify(applicationEventPublisher).publishEvent(new HoldReservedEvent(captor.getValue()));
+    }
+
+    @Test
+    void reserveHold_usesDefaultExpiry_ifNotGiven() {
+        // Given
+        givenBalance();
+        when(holdRepository.insert(any())).then(invocation -> invocation.getArgument(0));
+        long before = System.currentTimeMillis();
+
+        // When
+        underTest.reserveHold(new HoldRequest(CORRELATION_ID_A, CUSTOMER_ID_1, HOLD_AMOUNT, null));
+
+        // Then
+        ArgumentCaptor<Hold> captor = ArgumentCaptor.forClass(Hold.class);
+        verify(holdRepository).insert(captor.capture());
+        assertThat(captor.getValue().getExpiresAt().getTime()).isGreaterThanOrEqualTo(
+                before + Duration.ofDays(7).toMillis());
+    }
+
+    @Test
+    void reserveHold_isRejected_ifNotEnoughCreditAvailable() {
+        // Given
+        balance.setHeldAmount(new BigDecimal("40.01"));
+        givenBalance();
+
+        // When-Then
+        UnacceptedTransactionAmountException exception = assertThrows(UnacceptedTransactionAmountException.class,
+                () -> underTest.reserveHold(new HoldRequest(CORRELATION_ID_A, CUSTOMER_ID_1, HOLD_AMOUNT, null)));
+        assertThat(exception.getMessage()).isEqualTo("Not enough Credit in Balance");
+        verifyNoInteractions(holdRepository, applicationEventPublisher);
+    }
+
+    @Test
+    void reserveHold_isRejected_ifAboveMaximumDebitAmount() {
+        // Given
+        givenBalance();
+
+        // When-Then
+        UnacceptedTransactionAmountException exception = assertThrows(UnacceptedTransactionAmountException.class,
+                () -> underTest.reserveHold(new HoldRequest(CORRELATION_ID_A, CUSTOMER_ID_1,
+                        new BigDecimal("5000.01"), null)));
+        assertThat(exception.getMessage()).isEqualTo("Maximum accepted Debit Amount is £5,000.00");
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"PT0S", "-PT1H", "P31D"})
+    void reserveHold_isRejected_ifInvalidExpiry(String expiresIn) {
+        // When-Then
+        InvalidHoldException exception = assertThrows(InvalidHoldException.class,
+                () -> underTest.reserveHold(new HoldRequest(CORRELATION_ID_A, CUSTOMER_ID_1, HOLD_AMOUNT,
+                        Duration.parse(expiresIn))));
+        assertThat(exception.getMessage()).isEqualTo("Hold rejected. 'expiresIn' must be positive and at most PT720H");
+        verifyNoInteractions(balanceStore, holdRepository);
+    }
+
+    @Test
+    void reserveHold_throwsEntityNotFoundException_ifCustomerIdNotFound() {
+        // Given
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(false);
+
+        // When-Then
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> underTest.reserveHold(new HoldRequest(CORRELATION_ID_A, CUSTOMER_ID_1, HOLD_AMOUNT, null)));
+        assertThat(exception.getMessage()).isEqualTo(String.format("Non existing customer with ID '%s'", CUSTOMER_ID_1));
+    }
+
+    @Test
+    void captureHold_releasesHold_andCreatesDebitTransaction() {
+        // Given
+        balance.setHeldAmount(HOLD_AMOUNT);
+        givenBalance();
+        Hold hold = givenHold(System.currentTimeMillis() + 60_000);
+        TransactionBalanceResponse transactionBalanceResponse = mock(TransactionBalanceResponse.class);
+        when(transactionService.createTransaction(any())).thenReturn(transactionBalanceResponse);
+
+        // When
+        TransactionBalanceResponse actual = underTest.captureHold(CUSTOMER_ID_1, CORRELATION_ID_A,
+                new BigDecimal("45.00"));
+
+        // Then
+        assertThat(actual).isEqualTo(transactionBalanceResponse);
+        assertThat(balance.getHeldAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(holdRepository).delete(hold);
+        verify(applicationEventPublisher).publishEvent(new HoldReleasedEvent(hold));
+        verify(transactionService).createTransaction(new TransactionRequest(
+                HoldServiceImpl.captureCorrelationId(CORRELATION_ID_A), CUSTOMER_ID_1, new BigDecimal("45.00"),
+                Operation.WITHDRAW));
+    }
+
+    @Test
+    void captureHold_capturesWholeHold_ifNoAmount() {
+        // Given
+        balance.setHeldAmount(HOLD_AMOUNT);
+        givenBalance();
+        givenHold(System.currentTimeMillis() + 60_000);
+
+        // When
+        underTest.captureHold(CUSTOMER_ID_1, CORRELATION_ID_A, null);
+
+        // Then
+        verify(transactionService).createTransaction(new TransactionRequest(
+                HoldServiceImpl.captureCorrelationId(CORRELATION_ID_A), CUSTOMER_ID_1, HOLD_AMOUNT, Operation.WITHDRAW));
+        assertThat(HoldServiceImpl.captureCorrelationId(CORRELATION_ID_A).version()).isEqualTo(3);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"0.00", "60.01"})
+    void captureHold_isRejected_ifAmountNotPositiveOrAboveHold(String amount) {
+        // Given
+        givenBalance();
+        givenHold(System.currentTimeMillis() + 60_000);
+
+        // When-Then
+        InvalidHoldException exception = assertThrows(InvalidHoldException.class,
+                () -> underTest.captureHold(CUSTOMER_ID_1, CORRELATION_ID_A, new BigDecimal(amount)));
+        assertThat(exception.getMessage())
+                .isEqualTo("Hold capture rejected. The captured amount must be positive and at most 60.00");
+        verify(holdRepository, never()).delete(any());
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void releaseHold_makesAmountAvailable() {
+        // Given
+        balance.setHeldAmount(HOLD_AMOUNT);
+        givenBalance();
+        Hold hold = givenHold(System.currentTimeMillis() + 60_000);
+
+        // When
+        underTest.releaseHold(CUSTOMER_ID_1, CORRELATION_ID_A);
+
+        // Then
+        assertThat(balance.getHeldAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(balanceStore).save(balance);
+        verify(holdRepository).delete(hold);
+        verify(applicationEventPublisher).publishEvent(new HoldReleasedEvent(hold));
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void releaseHold_throwsEntityNotFoundException_ifHoldOfAnotherCustomer() {
+        // Given
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_2)).thenReturn(true);
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_2)).thenReturn(Optional.of(balance));
+        givenHold(System.currentTimeMillis() + 60_000);
+
+        // When-Then
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> underTest.releaseHold(CUSTOMER_ID_2, CORRELATION_ID_A));
+        assertThat(exception.getMessage()).isEqualTo(String.format(
+                "Non existing hold with ID '%s' for customer with ID '%s'", CORRELATION_ID_A, CUSTOMER_ID_2));
+        verify(holdRepository, never()).delete(any());
+    }
+
+    @Test
+    void expireHold_releasesHold_ifExpired() {
+        // Given
+        balance.setHeldAmount(HOLD_AMOUNT);
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(balance));
+        Hold hold = givenHold(System.currentTimeMillis() - 1);
+
+        // When-Then
+        assertThat(underTest.expireHold(CUSTOMER_ID_1, CORRELATION_ID_A)).isTrue();
+        assertThat(balance.getHeldAmount()).isEqualByComparingTo(BigDecimal.ZERO);
+        verify(holdRepository).delete(hold);
+        verify(applicationEventPublisher).publishEvent(new HoldReleasedEvent(hold));
+    }
+
+    @Test
+    void expireHold_doesNothing_ifNotExpired() {
+        // Given
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(balance));
+        givenHold(System.currentTimeMillis() + 60_000);
+
+        // When-Then
+        assertThat(underTest.expireHold(CUSTOMER_ID_1, CORRELATION_ID_A)).isFalse();
+        verify(holdRepository, never()).delete(any());
+        verify(balanceStore, never()).save(any());
+    }
+
+    @Test
+    void expireHold_doesNothing_ifNotActive() {
+        // Given
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(balance));
+        when(holdRepository.findById(CORRELATION_ID_A)).thenReturn(Optional.empty());
+
+        // When-Then
+        assertThat(underTest.expireHold(CUSTOMER_ID_1, CORRELATION_ID_A)).isFalse();
+    }
+
+    private void givenBalance() {
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(true);
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(balance));
+    }
+
+    private Hold givenHold(long expiresAt) {
+        Hold hold = createHold(CORRELATION_ID_A, CUSTOMER_ID_1, expiresAt);
+        when(holdRepository.findById(CORRELATION_ID_A)).thenReturn(Optional.of(hold));
+        return hold;
+    }
+
+    static Hold createHold(UUID correlationId, UUID customerId, long expiresAt) {
+        return Hold.builder()
+                .correlationId(correlationId)
+                .customerId(customerId)
+                .amount(HOLD_AMOUNT)
+                .expiresAt(new Timestamp(expiresAt))
+                .build();
+    }
+}
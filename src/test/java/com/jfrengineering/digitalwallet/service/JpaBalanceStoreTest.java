@@ -0,0 +1,86 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JpaBalanceStoreTest {
+
+    @Mock
+    private BalanceRepository balanceRepository;
+
+    @InjectMocks
+    private JpaBalanceStore underTest;
+
+    @Test
+    void findById_andFindByIdForUpdate_delegateToTheRepository() {
+        // Given
+        Balance balance = createBalance(CUSTOMER_ID_1, BigDecimal.TEN);
+        when(balanceRepository.findById(CUSTOMER_ID_1)).thenReturn(Optional.of(balance));
+        when(balanceRepository.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.empty());
+
+        // When-Then
+        assertThat(underTest.findById(CUSTOMER_ID_1)).containsSame(balance);
+        assertThat(underTest.findByIdForUpdate(CUSTOMER_ID_1)).isEmpty();
+    }
+
+    @Test
+    void findAllByIdForUpdate_locksTheBalancesInCustomerIdOrder_andSkipsTheMissingOnes() {
+        // Given
+        UUID lowerCustomerId = new UUID(0, 1);
+        UUID higherCustomerId = new UUID(1, 0);
+        Balance balance = createBalance(higherCustomerId, BigDecimal.TEN);
+        when(balanceRepository.findByIdForUpdate(lowerCustomerId)).thenReturn(Optional.empty());
+        when(balanceRepository.findByIdForUpdate(higherCustomerId)).thenReturn(Optional.of(balance));
+
+        // When
+        Map<UUID, Balance> actual = underTest.findAllByIdForUpdate(List.of(higherCustomerId, lowerCustomerId));
+
+        // Then
+        assertThat(actual).containsOnlyKeys(higherCustomerId).containsValue(balance);
+        InOrder inOrder = inOrder(balanceRepository);
+        inOrder.verify(balanceRepository).findByIdForUpdate(lowerCustomerId);
+        inOrder.verify(balanceRepository).findByIdForUpdate(higherCustomerId);
+    }
+
+    @Test
+    void save_delegatesToTheRepository() {
+        // Given
+        Balance balance = createBalance(CUSTOMER_ID_1, BigDecimal.TEN);
+
+        // When
+        underTest.save(balance);
+
+        // Then
+        verify(balanceRepository).save(balance);
+    }
+
+    @Test
+    void flush_doesNothing_asTheBalancesTableIsAlwaysUpToDate() {
+        // When
+        underTest.flush();
+
+        // Then
+        verifyNoInteractions(balanceRepository);
+    }
+}
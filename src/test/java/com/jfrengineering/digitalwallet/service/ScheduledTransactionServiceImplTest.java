@@ -0,0 +1,155 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.configuration.SchedulerProperties;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.repository.ScheduledTransactionRepository;
+import com.jfrengineering.digitalwallet.service.schedule.ScheduledTransactionCreatedEvent;
+import com.jfrengineering.digitalwallet.service.schedule.ScheduledTransactionDeletedEvent;
+import com.jfrengineering.digitalwallet.web.exception.InvalidScheduleException;
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionRequest;
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionResponse;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledTransactionServiceImplTest {
+
+    private static final LocalDateTime EXECUTE_AT = LocalDateTime.of(2030, 1, 1, 9, 30);
+
+    @Mock
+    private CustomerCacheService customerCacheService;
+
+    @Mock
+    private ScheduledTransactionRepository scheduledTransactionRepository;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private ScheduledTransactionServiceImpl underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ScheduledTransactionServiceImpl(customerCacheService, scheduledTransactionRepository,
+                new SchedulerProperties(), applicationEventPublisher);
+    }
+
+    @Test
+    void scheduleTransaction_savesSchedule_andPublishesEvent() {
+        // Given
+        ScheduledTransactionRequest request = createRequest(Duration.ofDays(7));
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(true);
+        when(scheduledTransactionRepository.insert(any())).then(invocation -> invocation.getArgument(0));
+
+        // When
+        ScheduledTransactionResponse actual = underTest.scheduleTransaction(request);
+
+        // Then
+        assertThat(actual).isEqualTo(new ScheduledTransactionResponse(CORRELATION_ID_A, CUSTOMER_ID_1,
+                TRANSACTION_AMOUNT, Operation.ADD, "2030-01-01 09:30:00", "PT168H"));
+        ArgumentCaptor<ScheduledTransaction> captor = ArgumentCaptor.forClass(ScheduledTransaction.class);
+        verify(scheduledTransactionRepository).insert(captor.capture());
+        assertThat(captor.getValue())
+                .extracting("correlationId", "customerId", "nextExecutionAt", "repeatEvery", "executionCount")
+                .containsExactly(CORRELATION_ID_A, CUSTOMER_ID_1, Timestamp.valueOf(EXECUTE_AT), Duration.ofDays(7), 0L);
+        verify(applicationEventPublisher).publishEvent(new ScheduledTransactionCreatedEvent(captor.getValue()));
+    }
+
+    @Test
+    void scheduleTransaction_savesSingleExecution_ifNoRepeatEvery() {
+        // Given
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(true);
+        when(scheduledTransactionRepository.insert(any())).then(invocation -> invocation.getArgument(0));
+
+        // When
+        ScheduledTransactionResponse actual = underTest.scheduleTransaction(createRequest(null));
+
+        // Then
+        assertThat(actual.getRepeatEvery()).isNull();
+    }
+
+    @Test
+    void scheduleTransaction_throwsEntityNotFoundException_ifCustomerIdNotFound() {
+        // Given
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(false);
+
+        // When-Then
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> underTest.scheduleTransaction(createRequest(null)));
+        assertThat(exception.getMessage()).isEqualTo(String.format("Non existing customer with ID '%s'", CUSTOMER_ID_1));
+        verifyNoInteractions(scheduledTransactionRepository, applicationEventPublisher);
+    }
+
+    @Test
+    void scheduleTransaction_throwsInvalidScheduleException_ifRepeatingTooOften() {
+        // Given
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(true);
+
+        // When-Then
+        InvalidScheduleException exception = assertThrows(InvalidScheduleException.class,
+                () -> underTest.scheduleTransaction(createRequest(Duration.ofSeconds(59))));
+        assertThat(exception.getMessage())
+                .isEqualTo("Scheduled transaction rejected. 'repeatEvery' must be at least PT1M");
+        verifyNoInteractions(scheduledTransactionRepository, applicationEventPublisher);
+    }
+
+    @Test
+    void cancelScheduledTransaction_deletesSchedule() {
+        // Given
+        ScheduledTransaction scheduledTransaction = ScheduledTransaction.builder()
+                .correlationId(CORRELATION_ID_A)
+                .customerId(CUSTOMER_ID_1)
+                .build();
+        when(scheduledTransactionRepository.findById(CORRELATION_ID_A)).thenReturn(Optional.of(scheduledTransaction));
+
+        // When
+        underTest.cancelScheduledTransaction(CUSTOMER_ID_1, CORRELATION_ID_A);
+
+        // Then
+        verify(scheduledTransactionRepository).delete(scheduledTransaction);
+        verify(applicationEventPublisher).publishEvent(new ScheduledTransactionDeletedEvent(scheduledTransaction));
+    }
+
+    @Test
+    void cancelScheduledTransaction_throwsEntityNotFoundException_ifScheduleOfAnotherCustomer() {
+        // Given
+        when(scheduledTransactionRepository.findById(CORRELATION_ID_A)).thenReturn(Optional.of(
+                ScheduledTransaction.builder().correlationId(CORRELATION_ID_A).customerId(CUSTOMER_ID_1).build()));
+
+        // When-Then
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> underTest.cancelScheduledTransaction(CUSTOMER_ID_2, CORRELATION_ID_A));
+        assertThat(exception.getMessage()).isEqualTo(String.format(
+                "Non existing scheduled transaction with ID '%s' for customer with ID '%s'", CORRELATION_ID_A,
+                CUSTOMER_ID_2));
+        verify(scheduledTransactionRepository, never()).delete(any());
+    }
+
+    private static ScheduledTransactionRequest createRequest(Duration repeatEvery) {
+        return new ScheduledTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD,
+                EXECUTE_AT, repeatEvery);
+    }
+}
@@ -1,15 +1,20 @@
 package com.jfrengineering.digitalwallet.service;
 
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
 import com.jfrengineering.digitalwallet.domain.Balance;
 import com.jfrengineering.digitalwallet.domain.Operation;
 import com.jfrengineering.digitalwallet.domain.Transaction;
 import com.jfrengineering.digitalwallet.mapper.TransactionMapper;
-import com.jfrengineering.digitalwallet.repository.BalanceRepository;
 import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import com.jfrengineering.digitalwallet.service.archive.TransactionArchive;
+import com.jfrengineering.digitalwallet.service.limit.VelocityLimiter;
+import com.jfrengineering.digitalwallet.web.exception.InvalidTransferException;
 import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
 import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
 import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
 import com.jfrengineering.digitalwallet.web.model.TransactionsPageResponse;
+import com.jfrengineering.digitalwallet.web.model.TransferRequest;
+import com.jfrengineering.digitalwallet.web.model.TransferResponse;
 import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceException;
@@ -21,9 +26,11 @@ import org.junit.jupiter.params.provider.CsvSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
@@ -39,6 +46,7 @@ import java.util.UUID;
 import static com.jfrengineering.digitalwallet.service.TransactionServiceImpl.TRANSACTION_SORTING_FIELD;
 import static com.jfrengineering.digitalwallet.util.TestUtils.BALANCE_CUSTOMER_1;
 import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_B;
 import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
 import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
 import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
@@ -46,10 +54,16 @@ import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
 import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
 import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -62,11 +76,26 @@ class TransactionServiceImplTest {
     private CustomerCacheService customerCacheService;
 
     @Mock
-    private BalanceRepository balanceRepository;
+    private BalanceStore balanceStore;
 
     @Mock
     private TransactionRepository transactionRepository;
 
+    @Mock
+    private TransactionSummaryService transactionSummaryService;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Mock
+    private CustomerShardRouter customerShardRouter;
+
+    @Mock
+    private VelocityLimiter velocityLimiter;
+
     @InjectMocks
     private TransactionServiceImpl underTest;
 
@@ -127,21 +156,25 @@ class TransactionServiceImplTest {
         );
 
         when(transactionRepository.findByCustomerId(CUSTOMER_ID_1, pageRequest))
-                .thenReturn(new PageImpl<>(savedTransactions, pageRequest, savedTransactions.size()));
+                .thenReturn(new PageImpl<>(savedTransactions, pageRequest, 9));
 
         // When
         TransactionsPageResponse actual = underTest.getTransactionsByCustomerId(CUSTOMER_ID_1, page, size);
 
         // Then
-        assertThat(actual.getPageable())
+        assertThat(actual)
                 .extracting(
+                        "customerId",
                         "pageNumber",
                         "pageSize",
-                        "sort")
+                        "totalElements",
+                        "hasNext")
                 .containsExactly(
+                        CUSTOMER_ID_1,
                         page,
                         size,
-                        sort
+                        9L,
+                        false
                 );
         assertThat(actual.getContent())
                 .isEqualTo(List.of(
@@ -151,11 +184,89 @@ class TransactionServiceImplTest {
                 );
     }
 
+    @Test
+    void getTransactionsByCustomerId_completesPageWithArchivedTransactions() {
+        // Given
+        int page = 1;
+        int size = 3;
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(TRANSACTION_SORTING_FIELD).descending());
+        Transaction hotTransaction = createTransaction(UUID.randomUUID(), CUSTOMER_ID_1, new BigDecimal("10"),
+                Operation.ADD, LocalDateTime.now().minusDays(1));
+        List<Transaction> archivedTransactions = List.of(
+                createTransaction(UUID.randomUUID(), CUSTOMER_ID_1, new BigDecimal("20"), Operation.ADD, LocalDateTime.now().minusYears(1)),
+                createTransaction(UUID.randomUUID(), CUSTOMER_ID_1, new BigDecimal("30"), Operation.WITHDRAW, LocalDateTime.now().minusYears(2))
+        );
+
+        when(transactionRepository.findByCustomerId(CUSTOMER_ID_1, pageRequest))
+                .thenReturn(new PageImpl<>(List.of(hotTransaction), pageRequest, 4));
+        when(transactionArchive.countByCustomerId(CUSTOMER_ID_1)).thenReturn(5L);
+        when(transactionArchive.findByCustomerId(CUSTOMER_ID_1, 0, 2)).thenReturn(archivedTransactions);
+
+        // When
+        TransactionsPageResponse actual = underTest.getTransactionsByCustomerId(CUSTOMER_ID_1, page, size);
+
+        // Then
+        assertThat(actual.getTotalElements()).isEqualTo(9);
+        assertThat(actual.isHasNext()).isTrue();
+        assertThat(actual.getContent())
+                .isEqualTo(List.of(
+                        TransactionMapper.transactionToTransactionResponse(hotTransaction),
+                        TransactionMapper.transactionToTransactionResponse(archivedTransactions.get(0)),
+                        TransactionMapper.transactionToTransactionResponse(archivedTransactions.get(1)))
+                );
+    }
+
+    @Test
+    void getTransactionsByCustomerId_returnsIncompletePage_ifNoArchivedTransactions() {
+        // Given
+        int page = 0;
+        int size = 3;
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(TRANSACTION_SORTING_FIELD).descending());
+        Transaction hotTransaction = createTransaction(UUID.randomUUID(), CUSTOMER_ID_1, new BigDecimal("10"),
+                Operation.ADD, LocalDateTime.now().minusDays(1));
+
+        when(transactionRepository.findByCustomerId(CUSTOMER_ID_1, pageRequest))
+                .thenReturn(new PageImpl<>(List.of(hotTransaction), pageRequest, 1));
+
+        // When
+        TransactionsPageResponse actual = underTest.getTransactionsByCustomerId(CUSTOMER_ID_1, page, size);
+
+        // Then
+        assertThat(actual.getTotalElements()).isEqualTo(1);
+        assertThat(actual.getContent()).isEqualTo(List.of(TransactionMapper.transactionToTransactionResponse(hotTransaction)));
+        verify(transactionArchive, times(0)).findByCustomerId(any(), anyLong(), anyInt());
+    }
+
+    @Test
+    void getTransactionsByCustomerId_returnsOnlyArchivedTransactions_afterLastDatabasePage() {
+        // Given
+        int page = 3;
+        int size = 3;
+        PageRequest pageRequest = PageRequest.of(page, size, Sort.by(TRANSACTION_SORTING_FIELD).descending());
+        List<Transaction> archivedTransactions = List.of(
+                createTransaction(UUID.randomUUID(), CUSTOMER_ID_1, new BigDecimal("20"), Operation.ADD, LocalDateTime.now().minusYears(1))
+        );
+
+        when(transactionRepository.findByCustomerId(CUSTOMER_ID_1, pageRequest))
+                .thenReturn(new PageImpl<>(List.of(), pageRequest, 4));
+        when(transactionArchive.countByCustomerId(CUSTOMER_ID_1)).thenReturn(6L);
+        when(transactionArchive.findByCustomerId(CUSTOMER_ID_1, 5, 3)).thenReturn(archivedTransactions);
+
+        // When
+        TransactionsPageResponse actual = underTest.getTransactionsByCustomerId(CUSTOMER_ID_1, page, size);
+
+        // Then
+        assertThat(actual.getTotalElements()).isEqualTo(10);
+        assertThat(actual.isHasNext()).isFalse();
+        assertThat(actual.getContent())
+                .isEqualTo(List.of(TransactionMapper.transactionToTransactionResponse(archivedTransactions.get(0))));
+    }
+
     @Test
     void createTransaction_rethrowsPersistenceException() {
         // Given
         Balance savedBalance = createBalance(CUSTOMER_ID_1, BALANCE_CUSTOMER_1, LocalDateTime.now(), LocalDateTime.now());
-        when(balanceRepository.findById(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
 
         // And
         TransactionRequest transactionRequest = createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT,
@@ -174,7 +285,7 @@ class TransactionServiceImplTest {
     void createTransaction_rethrowsEntityExistsException() {
         // Given
         Balance savedBalance = createBalance(CUSTOMER_ID_1, BALANCE_CUSTOMER_1, LocalDateTime.now(), LocalDateTime.now());
-        when(balanceRepository.findById(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
 
         // And
         TransactionRequest transactionRequest = createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT,
@@ -209,7 +320,7 @@ class TransactionServiceImplTest {
     @Test
     void createTransaction_throwsException_ifBalanceForCustomerDoesNotExist() {
         // Given
-        when(balanceRepository.findById(CUSTOMER_ID_1)).thenReturn(Optional.empty());
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.empty());
 
         // And
         TransactionRequest transactionRequest = createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT,
@@ -217,8 +328,8 @@ class TransactionServiceImplTest {
 
         // When-Then
         assertThrows(NoSuchElementException.class, () -> underTest.createTransaction(transactionRequest));
-        verify(balanceRepository, times(0)).save(any(Balance.class));
-        verifyNoInteractions(transactionRepository);
+        verify(balanceStore, times(0)).save(any(Balance.class));
+        verifyNoInteractions(transactionRepository, transactionSummaryService);
     }
 
     @ParameterizedTest
@@ -226,7 +337,7 @@ class TransactionServiceImplTest {
     void createCreditTransaction_isRejected_ifCreditedAmountOutOfAcceptedRange(String amountStr) {
         // Given
         Balance savedBalance = createBalance(CUSTOMER_ID_1, BALANCE_CUSTOMER_1, LocalDateTime.now(), LocalDateTime.now());
-        when(balanceRepository.findById(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
 
         // And
         BigDecimal creditAmount = new BigDecimal(amountStr);
@@ -246,7 +357,7 @@ class TransactionServiceImplTest {
     void createDebitTransaction_isRejected_ifDebitAmountOutOfAcceptedRange() {
         // Given
         Balance savedBalance = createBalance(CUSTOMER_ID_1, BALANCE_CUSTOMER_1, LocalDateTime.now(), LocalDateTime.now());
-        when(balanceRepository.findById(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
 
         // And
         BigDecimal debitAmount = new BigDecimal("5000.01");
@@ -264,7 +375,7 @@ class TransactionServiceImplTest {
         // Given
         BigDecimal existingBalance = new BigDecimal("100.00");
         Balance savedBalance = createBalance(CUSTOMER_ID_1, existingBalance, LocalDateTime.now(), LocalDateTime.now());
-        when(balanceRepository.findById(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
 
         // And
         BigDecimal debitAmount = existingBalance.add(new BigDecimal("0.01"));
@@ -277,11 +388,30 @@ class TransactionServiceImplTest {
         assertThat(actualException.getMessage()).isEqualTo("Not enough Credit in Balance");
     }
 
+    @Test
+    void createDebitTransaction_isRejected_ifNotEnoughCreditAvailableOutsideHolds() {
+        // Given
+        Balance savedBalance = createBalance(CUSTOMER_ID_1, new BigDecimal("100.00"), LocalDateTime.now(),
+                LocalDateTime.now());
+        savedBalance.setHeldAmount(new BigDecimal("60.00"));
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
+
+        // And
+        TransactionRequest transactionRequest = createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1,
+                new BigDecimal("40.01"), Operation.WITHDRAW);
+
+        // When-Then
+        UnacceptedTransactionAmountException actualException = assertThrows(UnacceptedTransactionAmountException.class,
+                () -> underTest.createTransaction(transactionRequest));
+        assertThat(actualException.getMessage()).isEqualTo("Not enough Credit in Balance");
+        verify(transactionRepository, never()).insert(any());
+    }
+
     @Test
     void createCreditTransaction_updatesBalanceAndCreatesCreditTransaction_ifNoExceptions() {
         // Given
         Balance savedBalance = createBalance(CUSTOMER_ID_1, BALANCE_CUSTOMER_1, LocalDateTime.now(), LocalDateTime.now());
-        when(balanceRepository.findById(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
 
         // And
         TransactionRequest transactionRequest = createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT,
@@ -296,7 +426,7 @@ class TransactionServiceImplTest {
         TransactionBalanceResponse actual = underTest.createTransaction(transactionRequest);
 
         // Then
-        verify(balanceRepository).save(balanceCaptor.capture());
+        verify(balanceStore).save(balanceCaptor.capture());
         BigDecimal expectedFinalBalance = BALANCE_CUSTOMER_1.add(TRANSACTION_AMOUNT);
         assertThat(balanceCaptor.getValue())
                 .extracting(
@@ -311,15 +441,19 @@ class TransactionServiceImplTest {
                         "correlationId",
                         "customerId",
                         "amount",
-                        "operation")
+                        "operation",
+                        "balanceAfter")
                 .containsExactly(
                         CORRELATION_ID_A,
                         CUSTOMER_ID_1,
                         TRANSACTION_AMOUNT,
-                        Operation.ADD
+                        Operation.ADD,
+                        expectedFinalBalance
                 );
         assertThat(actual).isEqualTo(TransactionMapper.transactionAndBalanceToTransactionBalanceResponse(CUSTOMER_ID_1,
                 savedTransaction, expectedFinalBalance));
+        verify(transactionSummaryService).recordTransaction(savedTransaction);
+        verify(applicationEventPublisher).publishEvent(new TransactionCreatedEvent(savedTransaction));
     }
 
     @ParameterizedTest
@@ -332,7 +466,7 @@ class TransactionServiceImplTest {
         // Given
         BigDecimal existingBalance = new BigDecimal(existingBalanceStr);
         Balance savedBalance = createBalance(CUSTOMER_ID_1, existingBalance, LocalDateTime.now(), LocalDateTime.now());
-        when(balanceRepository.findById(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
 
         // And
         BigDecimal withdrawAmount = new BigDecimal(transactionAmountStr);
@@ -348,7 +482,7 @@ class TransactionServiceImplTest {
         TransactionBalanceResponse actual = underTest.createTransaction(transactionRequest);
 
         // Then
-        verify(balanceRepository).save(balanceCaptor.capture());
+        verify(balanceStore).save(balanceCaptor.capture());
         BigDecimal expectedFinalBalance = existingBalance.subtract(withdrawAmount);
         assertThat(balanceCaptor.getValue())
                 .extracting(
@@ -363,14 +497,150 @@ class TransactionServiceImplTest {
                         "correlationId",
                         "customerId",
                         "amount",
-                        "operation")
+                        "operation",
+                        "balanceAfter")
                 .containsExactly(
                         CORRELATION_ID_A,
                         CUSTOMER_ID_1,
                         withdrawAmount,
-                        Operation.WITHDRAW
+                        Operation.WITHDRAW,
+                        expectedFinalBalance
                 );
         assertThat(actual).isEqualTo(TransactionMapper.transactionAndBalanceToTransactionBalanceResponse(CUSTOMER_ID_1,
                 savedTransaction, expectedFinalBalance));
+        verify(velocityLimiter).checkWithdrawal(CUSTOMER_ID_1, withdrawAmount);
+        verify(velocityLimiter).recordWithdrawal(savedTransaction);
+        verify(transactionSummaryService).recordTransaction(savedTransaction);
+        verify(applicationEventPublisher).publishEvent(new TransactionCreatedEvent(savedTransaction));
+    }
+
+    @Test
+    void createDebitTransaction_isRejected_ifOverVelocityLimit() {
+        // Given
+        Balance savedBalance = createBalance(CUSTOMER_ID_1, new BigDecimal("1000.00"), LocalDateTime.now(),
+                LocalDateTime.now());
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(savedBalance));
+        doThrow(new UnacceptedTransactionAmountException("Hourly withdrawal limit of 10 transactions reached"))
+                .when(velocityLimiter).checkWithdrawal(CUSTOMER_ID_1, TRANSACTION_AMOUNT);
+
+        // And
+        TransactionRequest transactionRequest = createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1,
+                TRANSACTION_AMOUNT, Operation.WITHDRAW);
+
+        // When-Then
+        UnacceptedTransactionAmountException actualException = assertThrows(UnacceptedTransactionAmountException.class,
+                () -> underTest.createTransaction(transactionRequest));
+        assertThat(actualException.getMessage()).isEqualTo("Hourly withdrawal limit of 10 transactions reached");
+        verify(balanceStore, never()).save(any());
+        verify(velocityLimiter, never()).recordWithdrawal(any());
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = { true, false })
+    void createTransfer_locksBalancesInCustomerIdOrder_andCreatesDebitAndCreditTransactions(boolean fromLowerCustomerId) {
+        // Given
+        UUID lowerCustomerId = CUSTOMER_ID_1.compareTo(CUSTOMER_ID_2) < 0 ? CUSTOMER_ID_1 : CUSTOMER_ID_2;
+        UUID higherCustomerId = lowerCustomerId == CUSTOMER_ID_1 ? CUSTOMER_ID_2 : CUSTOMER_ID_1;
+        UUID fromCustomerId = fromLowerCustomerId ? lowerCustomerId : higherCustomerId;
+        UUID toCustomerId = fromLowerCustomerId ? higherCustomerId : lowerCustomerId;
+        when(balanceStore.findAllByIdForUpdate(List.of(fromCustomerId, toCustomerId))).thenCallRealMethod();
+        when(balanceStore.findByIdForUpdate(fromCustomerId)).thenReturn(Optional.of(createBalance(fromCustomerId,
+                new BigDecimal("100.00"), LocalDateTime.now(), LocalDateTime.now())));
+        when(balanceStore.findByIdForUpdate(toCustomerId)).thenReturn(Optional.of(createBalance(toCustomerId,
+                new BigDecimal("20.00"), LocalDateTime.now(), LocalDateTime.now())));
+        when(transactionRepository.insert(transactionCaptor.capture())).then(invocation -> invocation.getArgument(0));
+
+        // When
+        TransferResponse actual = underTest.createTransfer(createTransferRequest(fromCustomerId, toCustomerId,
+                new BigDecimal("30.00")));
+
+        // Then
+        InOrder inOrder = inOrder(balanceStore);
+        inOrder.verify(balanceStore).findByIdForUpdate(lowerCustomerId);
+        inOrder.verify(balanceStore).findByIdForUpdate(higherCustomerId);
+        assertThat(transactionCaptor.getAllValues())
+                .extracting("correlationId", "customerId", "amount", "operation", "balanceAfter")
+                .containsExactly(
+                        tuple(CORRELATION_ID_A, fromCustomerId, new BigDecimal("30.00"), Operation.WITHDRAW,
+                                new BigDecimal("70.00")),
+                        tuple(TransactionServiceImpl.creditCorrelationId(CORRELATION_ID_A), toCustomerId,
+                                new BigDecimal("30.00"), Operation.ADD, new BigDecimal("50.00")));
+        assertThat(actual.getDebit()).isEqualTo(TransactionMapper.transactionAndBalanceToTransactionBalanceResponse(
+                fromCustomerId, transactionCaptor.getAllValues().get(0), new BigDecimal("70.00")));
+        assertThat(actual.getCredit()).isEqualTo(TransactionMapper.transactionAndBalanceToTransactionBalanceResponse(
+                toCustomerId, transactionCaptor.getAllValues().get(1), new BigDecimal("50.00")));
+        verify(transactionSummaryService, times(2)).recordTransaction(any(Transaction.class));
+        verify(applicationEventPublisher, times(2)).publishEvent(any(TransactionCreatedEvent.class));
+    }
+
+    @Test
+    void createTransfer_isRejected_ifNotEnoughCreditInSourceBalance() {
+        // Given
+        when(balanceStore.findAllByIdForUpdate(List.of(CUSTOMER_ID_1, CUSTOMER_ID_2))).thenCallRealMethod();
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_1)).thenReturn(Optional.of(createBalance(CUSTOMER_ID_1,
+                new BigDecimal("10.00"), LocalDateTime.now(), LocalDateTime.now())));
+        when(balanceStore.findByIdForUpdate(CUSTOMER_ID_2)).thenReturn(Optional.of(createBalance(CUSTOMER_ID_2,
+                BigDecimal.ZERO, LocalDateTime.now(), LocalDateTime.now())));
+
+        // When-Then
+        UnacceptedTransactionAmountException actualException = assertThrows(UnacceptedTransactionAmountException.class,
+                () -> underTest.createTransfer(createTransferRequest(CUSTOMER_ID_1, CUSTOMER_ID_2,
+                        new BigDecimal("10.01"))));
+        assertThat(actualException.getMessage()).isEqualTo("Not enough Credit in Balance");
+        verify(balanceStore, times(0)).save(any(Balance.class));
+        verifyNoInteractions(transactionRepository, transactionSummaryService, applicationEventPublisher);
+    }
+
+    @Test
+    void createTransfer_throwsInvalidTransferException_ifSameCustomer() {
+        // When-Then
+        InvalidTransferException actualException = assertThrows(InvalidTransferException.class,
+                () -> underTest.createTransfer(createTransferRequest(CUSTOMER_ID_1, CUSTOMER_ID_1, TRANSACTION_AMOUNT)));
+        assertThat(actualException.getMessage())
+                .isEqualTo("Transfer rejected. Source and destination customers must be different");
+        verifyNoInteractions(balanceStore, transactionRepository);
+    }
+
+    @Test
+    void createTransfer_throwsInvalidTransferException_ifCustomersOnDifferentShards() {
+        // Given
+        when(customerShardRouter.shardOf(CUSTOMER_ID_1)).thenReturn(0);
+        when(customerShardRouter.shardOf(CUSTOMER_ID_2)).thenReturn(1);
+
+        // When-Then
+        InvalidTransferException actualException = assertThrows(InvalidTransferException.class,
+                () -> underTest.createTransfer(createTransferRequest(CUSTOMER_ID_1, CUSTOMER_ID_2, TRANSACTION_AMOUNT)));
+        assertThat(actualException.getMessage()).isEqualTo(String.format(
+                "Transfer rejected. Customers '%s' and '%s' belong to different shards", CUSTOMER_ID_1, CUSTOMER_ID_2));
+        verifyNoInteractions(balanceStore, transactionRepository);
+    }
+
+    @Test
+    void createTransfer_throwsEntityNotFoundException_ifDestinationCustomerNotFound() {
+        // Given
+        UUID nonExistingCustomerId = UUID.randomUUID();
+
+        // When-Then
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> underTest.createTransfer(createTransferRequest(CUSTOMER_ID_1, nonExistingCustomerId,
+                        TRANSACTION_AMOUNT)));
+        assertThat(exception.getMessage()).isEqualTo(String.format("Non existing customer with ID '%s'", nonExistingCustomerId));
+        verifyNoInteractions(balanceStore, transactionRepository);
+    }
+
+    @Test
+    void creditCorrelationId_isNameBasedOnTransferCorrelationId() {
+        // When
+        UUID actual = TransactionServiceImpl.creditCorrelationId(CORRELATION_ID_A);
+
+        // Then
+        assertThat(actual).isEqualTo(TransactionServiceImpl.creditCorrelationId(CORRELATION_ID_A))
+                .isNotEqualTo(TransactionServiceImpl.creditCorrelationId(CORRELATION_ID_B))
+                .isNotEqualTo(CORRELATION_ID_A);
+        assertThat(actual.version()).isEqualTo(3);
+    }
+
+    private static TransferRequest createTransferRequest(UUID fromCustomerId, UUID toCustomerId, BigDecimal amount) {
+        return new TransferRequest(CORRELATION_ID_A, fromCustomerId, toCustomerId, amount);
     }
-}
\ No newline at end of file
+}
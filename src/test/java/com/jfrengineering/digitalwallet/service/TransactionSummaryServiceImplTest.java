@@ -0,0 +1,197 @@
+package com.jfrengineering.digitalwallet.service;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.domain.TransactionSummary;
+import com.jfrengineering.digitalwallet.repository.TransactionSummaryRepository;
+import com.jfrengineering.digitalwallet.web.exception.InvalidDateRangeException;
+import com.jfrengineering.digitalwallet.web.model.PeriodSummaryResponse;
+import com.jfrengineering.digitalwallet.web.model.SummaryGranularity;
+import com.jfrengineering.digitalwallet.web.model.TransactionSummaryResponse;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSummaryServiceImplTest {
+
+    private static final BigDecimal ZERO = new BigDecimal("0.00");
+    private static final LocalDate FROM = LocalDate.of(2024, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2024, 2, 29);
+
+    @Mock
+    private CustomerCacheService customerCacheService;
+
+    @Mock
+    private TransactionSummaryRepository transactionSummaryRepository;
+
+    @InjectMocks
+    private TransactionSummaryServiceImpl underTest;
+
+    @Test
+    void recordTransaction_accumulatesCreditInDailyBucket() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 15, 23, 59);
+        Transaction transaction = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD,
+                createdAt);
+
+        // When
+        underTest.recordTransaction(transaction);
+
+        // Then
+        verify(transactionSummaryRepository).accumulate(CUSTOMER_ID_1.toString(), createdAt.toLocalDate(),
+                TRANSACTION_AMOUNT, 1, ZERO, 0);
+    }
+
+    @Test
+    void recordTransaction_accumulatesDebitInDailyBucket() {
+        // Given
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 16, 0, 0);
+        Transaction transaction = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT,
+                Operation.WITHDRAW, createdAt);
+
+        // When
+        underTest.recordTransaction(transaction);
+
+        // Then
+        verify(transactionSummaryRepository).accumulate(CUSTOMER_ID_1.toString(), createdAt.toLocalDate(),
+                ZERO, 0, TRANSACTION_AMOUNT, 1);
+    }
+
+    @Test
+    void getTransactionSummary_throwsInvalidDateRangeException_ifFromAfterTo() {
+        // When-Then
+        InvalidDateRangeException exception = assertThrows(InvalidDateRangeException.class,
+                () -> underTest.getTransactionSummary(CUSTOMER_ID_1, TO, FROM, SummaryGranularity.DAY));
+        assertThat(exception.getMessage()).isEqualTo("'from' (2024-02-29) must not be after 'to' (2024-01-01)");
+        verifyNoInteractions(customerCacheService, transactionSummaryRepository);
+    }
+
+    @Test
+    void getTransactionSummary_throwsEntityNotFoundException_ifCustomerIdNotFound() {
+        // Given
+        UUID nonExistingCustomerId = UUID.randomUUID();
+        when(customerCacheService.customerBalanceExists(nonExistingCustomerId)).thenReturn(false);
+
+        // When-Then
+        EntityNotFoundException exception = assertThrows(EntityNotFoundException.class,
+                () -> underTest.getTransactionSummary(nonExistingCustomerId, FROM, TO, SummaryGranularity.DAY));
+        assertThat(exception.getMessage()).isEqualTo(String.format("Non existing customer with ID '%s'", nonExistingCustomerId));
+        verifyNoInteractions(transactionSummaryRepository);
+    }
+
+    @Test
+    void getTransactionSummary_returnsDailyPeriods() {
+        // Given
+        givenBuckets();
+
+        // When
+        TransactionSummaryResponse actual = underTest.getTransactionSummary(CUSTOMER_ID_1, FROM, TO,
+                SummaryGranularity.DAY);
+
+        // Then
+        assertThat(actual.getPeriods()).containsExactly(
+                new PeriodSummaryResponse(LocalDate.of(2024, 1, 2), new BigDecimal("100.00"), 2, ZERO, 0),
+                new PeriodSummaryResponse(LocalDate.of(2024, 1, 20), ZERO, 0, new BigDecimal("30.50"), 1),
+                new PeriodSummaryResponse(LocalDate.of(2024, 2, 3), new BigDecimal("10.00"), 1, new BigDecimal("5.00"), 1)
+        );
+        verifyTotals(actual, SummaryGranularity.DAY);
+    }
+
+    @Test
+    void getTransactionSummary_returnsMonthlyPeriods() {
+        // Given
+        givenBuckets();
+
+        // When
+        TransactionSummaryResponse actual = underTest.getTransactionSummary(CUSTOMER_ID_1, FROM, TO,
+                SummaryGranularity.MONTH);
+
+        // Then
+        assertThat(actual.getPeriods()).containsExactly(
+                new PeriodSummaryResponse(LocalDate.of(2024, 1, 1), new BigDecimal("100.00"), 2, new BigDecimal("30.50"), 1),
+                new PeriodSummaryResponse(LocalDate.of(2024, 2, 1), new BigDecimal("10.00"), 1, new BigDecimal("5.00"), 1)
+        );
+        verifyTotals(actual, SummaryGranularity.MONTH);
+    }
+
+    @Test
+    void getTransactionSummary_returnsZeroTotals_ifNoBuckets() {
+        // Given
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(true);
+        when(transactionSummaryRepository.findByCustomerIdAndBucketDateBetweenOrderByBucketDate(CUSTOMER_ID_1, FROM, TO))
+                .thenReturn(List.of());
+
+        // When
+        TransactionSummaryResponse actual = underTest.getTransactionSummary(CUSTOMER_ID_1, FROM, TO,
+                SummaryGranularity.MONTH);
+
+        // Then
+        assertThat(actual).isEqualTo(new TransactionSummaryResponse(CUSTOMER_ID_1, FROM, TO, SummaryGranularity.MONTH,
+                ZERO, 0, ZERO, 0, List.of()));
+    }
+
+    private void givenBuckets() {
+        when(customerCacheService.customerBalanceExists(CUSTOMER_ID_1)).thenReturn(true);
+        when(transactionSummaryRepository.findByCustomerIdAndBucketDateBetweenOrderByBucketDate(CUSTOMER_ID_1, FROM, TO))
+                .thenReturn(List.of(
+                        createBucket(LocalDate.of(2024, 1, 2), "100.00", 2, "0.00", 0),
+                        createBucket(LocalDate.of(2024, 1, 20), "0.00", 0, "30.50", 1),
+                        createBucket(LocalDate.of(2024, 2, 3), "10.00", 1, "5.00", 1)
+                ));
+    }
+
+    private static void verifyTotals(TransactionSummaryResponse actual, SummaryGranularity granularity) {
+        assertThat(actual)
+                .extracting(
+                        "customerId",
+                        "from",
+                        "to",
+                        "granularity",
+                        "totalCredits",
+                        "creditCount",
+                        "totalDebits",
+                        "debitCount")
+                .containsExactly(
+                        CUSTOMER_ID_1,
+                        FROM,
+                        TO,
+                        granularity,
+                        new BigDecimal("110.00"),
+                        3L,
+                        new BigDecimal("35.50"),
+                        2L
+                );
+    }
+
+    private static TransactionSummary createBucket(LocalDate bucketDate, String creditTotal, long creditCount,
+                                                   String debitTotal, long debitCount) {
+        return TransactionSummary.builder()
+                .customerId(CUSTOMER_ID_1)
+                .bucketDate(bucketDate)
+                .creditTotal(new BigDecimal(creditTotal))
+                .creditCount(creditCount)
+                .debitTotal(new BigDecimal(debitTotal))
+                .debitCount(debitCount)
+                .build();
+    }
+}
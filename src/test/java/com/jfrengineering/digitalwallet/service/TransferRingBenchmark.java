@@ -0,0 +1,99 @@
+package com.jfrengineering.digitalwallet.service;
+
+import org.h2.jdbcx.JdbcConnectionPool;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+
+// Not part of the build, run with:
+// mvn test -Dtest=TransferRingBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+//
+// Each thread keeps transferring from a customer to the next one in a ring, so every balance row is locked as source
+// by a thread and as destination by another. Locking the source row first lets the transfers of the ring wait for each
+// other in a cycle, which the database only breaks by failing one of them, while locking both rows in customer ID
+// order, as TransactionServiceImpl does, cannot form a cycle. The pause between the two locks stands for a round trip
+// to the database.
+class TransferRingBenchmark {
+
+    private static final int THREADS = 8;
+    private static final long ROUND_TRIP_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long RUN_MILLIS = 3_000;
+    private static final BigDecimal AMOUNT = BigDecimal.ONE;
+
+    @Test
+    void throughput_withOrderedAndSourceFirstLocking() throws InterruptedException {
+        System.out.printf("%10s %-13s %12s %10s%n", "customers", "locking", "transfers/s", "failed/s");
+        for (int customers : List.of(2, 8, 64)) {
+            run(customers, true);
+            run(customers, false);
+        }
+    }
+
+    private void run(int customers, boolean ordered) throws InterruptedException {
+        JdbcConnectionPool dataSource = JdbcConnectionPool.create(
+                "jdbc:h2:mem:transfers" + UUID.randomUUID() + ";LOCK_TIMEOUT=500", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE balances (customer_id VARCHAR PRIMARY KEY, balance_amount DECIMAL(38, 2))");
+        List<UUID> customerIds = IntStream.range(0, customers).mapToObj(i -> UUID.randomUUID()).toList();
+        customerIds.forEach(customerId -> jdbcTemplate.update("INSERT INTO balances VALUES (?, ?)",
+                customerId.toString(), new BigDecimal("1000000.00")));
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        AtomicLong committed = new AtomicLong();
+        AtomicLong failed = new AtomicLong();
+        long end = System.currentTimeMillis() + RUN_MILLIS;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            UUID fromCustomerId = customerIds.get(i % customers);
+            UUID toCustomerId = customerIds.get((i + 1) % customers);
+            Thread thread = new Thread(() -> {
+                while (System.currentTimeMillis() < end) {
+                    try {
+                        transactionTemplate.executeWithoutResult(status ->
+                                transfer(jdbcTemplate, fromCustomerId, toCustomerId, ordered));
+                        committed.incrementAndGet();
+                    } catch (DataAccessException e) {
+                        failed.incrementAndGet(); // deadlock or lock timeout
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        dataSource.dispose();
+
+        long seconds = TimeUnit.MILLISECONDS.toSeconds(RUN_MILLIS);
+        System.out.printf("%10d %-13s %12d %10d%n", customers, ordered ? "ordered" : "source-first",
+                committed.get() / seconds, failed.get() / seconds);
+    }
+
+    private static void transfer(JdbcTemplate jdbcTemplate, UUID fromCustomerId, UUID toCustomerId, boolean ordered) {
+        boolean fromFirst = !ordered || fromCustomerId.compareTo(toCustomerId) < 0;
+        lock(jdbcTemplate, fromFirst ? fromCustomerId : toCustomerId);
+        LockSupport.parkNanos(ROUND_TRIP_NANOS);
+        lock(jdbcTemplate, fromFirst ? toCustomerId : fromCustomerId);
+        jdbcTemplate.update("UPDATE balances SET balance_amount = balance_amount - ? WHERE customer_id = ?", AMOUNT,
+                fromCustomerId.toString());
+        jdbcTemplate.update("UPDATE balances SET balance_amount = balance_amount + ? WHERE customer_id = ?", AMOUNT,
+                toCustomerId.toString());
+    }
+
+    private static void lock(JdbcTemplate jdbcTemplate, UUID customerId) {
+        jdbcTemplate.queryForObject("SELECT balance_amount FROM balances WHERE customer_id = ? FOR UPDATE",
+                BigDecimal.class, customerId.toString());
+    }
+}
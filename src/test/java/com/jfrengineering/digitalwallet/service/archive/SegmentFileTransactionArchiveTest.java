@@ -0,0 +1,273 @@
+package com.jfrengineering.digitalwallet.service.archive;
+
+import com.jfrengineering.digitalwallet.configuration.ArchiveProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SegmentFileTransactionArchiveTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 1, 1, 10, 0, 0, 123456789);
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private ArchiveProperties archiveProperties;
+
+    private SegmentFileTransactionArchive underTest;
+
+    @BeforeEach
+    void setUp() {
+        archiveProperties = new ArchiveProperties();
+        archiveProperties.setDirectory(directory.resolve("archive"));
+        underTest = new SegmentFileTransactionArchive(archiveProperties, transactionRepository,
+                new CustomerShardRouter(1));
+    }
+
+    @Test
+    void loadSegments_doesNothing_ifNoArchiveDirectory() throws IOException {
+        // When
+        underTest.loadSegments();
+
+        // Then
+        assertThat(underTest.countByCustomerId(CUSTOMER_ID_1)).isZero();
+    }
+
+    @Test
+    void publishedSegments_areReadNewestFirst() {
+        // Given
+        List<Transaction> older = createTransactions(CUSTOMER_ID_1, 0, 3);
+        List<Transaction> newer = createTransactions(CUSTOMER_ID_1, 3, 2);
+        archive(older);
+        archive(newer);
+
+        // When-Then
+        assertThat(underTest.countByCustomerId(CUSTOMER_ID_1)).isEqualTo(5);
+        assertThat(underTest.countByCustomerId(CUSTOMER_ID_2)).isZero();
+        assertThat(underTest.findByCustomerId(CUSTOMER_ID_1, 0, 10))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(newer.get(1), newer.get(0), older.get(2), older.get(1), older.get(0));
+        assertThat(underTest.findByCustomerId(CUSTOMER_ID_1, 0, 1))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(newer.get(1));
+        assertThat(underTest.findByCustomerId(CUSTOMER_ID_1, 1, 2))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(newer.get(0), older.get(2));
+        assertThat(underTest.findByCustomerId(CUSTOMER_ID_1, 3, 1))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(older.get(1));
+        assertThat(underTest.findByCustomerId(CUSTOMER_ID_1, 5, 1)).isEmpty();
+    }
+
+    @Test
+    void segments_holdBlocksOfSeveralCustomers() {
+        // Given
+        List<Transaction> customer1Transactions = createTransactions(CUSTOMER_ID_1, 0, 2);
+        List<Transaction> customer2Transactions = createTransactions(CUSTOMER_ID_2, 0, 1);
+        archive(concat(customer1Transactions, customer2Transactions));
+
+        // When-Then
+        assertThat(underTest.findByCustomerId(CUSTOMER_ID_1, 0, 10))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(customer1Transactions.get(1), customer1Transactions.get(0));
+        assertThat(underTest.findByCustomerId(CUSTOMER_ID_2, 0, 10))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(customer2Transactions.get(0));
+    }
+
+    @Test
+    void findLatestByCustomerIdAtOrBefore_returnsNewestTransactionNotAfterPointInTime() {
+        // Given
+        List<Transaction> older = createTransactions(CUSTOMER_ID_1, 0, 3);
+        List<Transaction> newer = createTransactions(CUSTOMER_ID_1, 3, 2);
+        archive(older);
+        archive(newer);
+
+        // When-Then
+        assertThat(underTest.findLatestByCustomerIdAtOrBefore(CUSTOMER_ID_1, timestamp(1)))
+                .get().usingRecursiveComparison().isEqualTo(older.get(1));
+        assertThat(underTest.findLatestByCustomerIdAtOrBefore(CUSTOMER_ID_1, timestamp(10)))
+                .get().usingRecursiveComparison().isEqualTo(newer.get(1));
+        assertThat(underTest.findLatestByCustomerIdAtOrBefore(CUSTOMER_ID_1, timestamp(-1))).isEmpty();
+    }
+
+    @Test
+    void netAmountByCustomerId_addsCreditsAndSubtractsDebitsOfAllSegments() {
+        // Given
+        archive(createTransactions(CUSTOMER_ID_1, 0, 3));
+        archive(createTransactions(CUSTOMER_ID_1, 3, 2));
+
+        // When-Then
+        assertThat(underTest.netAmountByCustomerId(CUSTOMER_ID_1)).isEqualTo(new BigDecimal("5.25"));
+        assertThat(underTest.netAmountByCustomerId(CUSTOMER_ID_2)).isZero();
+    }
+
+    @Test
+    void loadSegments_indexesPublishedSegmentsAndRecoversPendingOnes() throws IOException {
+        // Given
+        List<Transaction> published = createTransactions(CUSTOMER_ID_1, 0, 2);
+        List<Transaction> deletedFromDatabase = createTransactions(CUSTOMER_ID_1, 2, 2);
+        List<Transaction> stillInDatabase = createTransactions(CUSTOMER_ID_1, 4, 2);
+        archive(published);
+        Path recoveredSegment = underTest.writePendingSegment(deletedFromDatabase);
+        Path discardedSegment = underTest.writePendingSegment(stillInDatabase);
+        Files.createFile(archiveProperties.getDirectory().resolve("README"));
+        when(transactionRepository.existsById(deletedFromDatabase.get(1).getCorrelationId())).thenReturn(false);
+        when(transactionRepository.existsById(stillInDatabase.get(1).getCorrelationId())).thenReturn(true);
+
+        // When
+        SegmentFileTransactionArchive reloaded = new SegmentFileTransactionArchive(archiveProperties, transactionRepository,
+                new CustomerShardRouter(1));
+        reloaded.loadSegments();
+
+        // Then
+        assertThat(reloaded.countByCustomerId(CUSTOMER_ID_1)).isEqualTo(4);
+        assertThat(recoveredSegment).doesNotExist();
+        assertThat(discardedSegment).doesNotExist();
+        assertThat(reloaded.writePendingSegment(published).getFileName())
+                .hasToString("segment-000000000003.pending");
+    }
+
+    @Test
+    void loadSegments_discardsPendingSegment_ifTruncatedByACrashWhileWritten() throws IOException {
+        // Given
+        archive(createTransactions(CUSTOMER_ID_1, 0, 2));
+        Path truncatedSegment = underTest.writePendingSegment(createTransactions(CUSTOMER_ID_1, 2, 2));
+        try (FileChannel channel = FileChannel.open(truncatedSegment, StandardOpenOption.WRITE)) {
+            channel.truncate(8);
+        }
+        Path unreadableSegment = underTest.writePendingSegment(createTransactions(CUSTOMER_ID_1, 4, 2));
+        Files.write(unreadableSegment, new byte[32]);
+
+        // When
+        SegmentFileTransactionArchive reloaded = new SegmentFileTransactionArchive(archiveProperties, transactionRepository,
+                new CustomerShardRouter(1));
+        reloaded.loadSegments();
+
+        // Then
+        assertThat(reloaded.countByCustomerId(CUSTOMER_ID_1)).isEqualTo(2);
+        assertThat(truncatedSegment).doesNotExist();
+        assertThat(unreadableSegment).doesNotExist();
+    }
+
+    @Test
+    void loadSegments_throwsIOException_ifSegmentIsCorrupted() throws IOException {
+        // Given
+        Files.createDirectories(archiveProperties.getDirectory());
+        Files.write(archiveProperties.getDirectory().resolve("segment-000000000001.seg"), new byte[32]);
+
+        // When-Then
+        IOException exception = assertThrows(IOException.class, () -> underTest.loadSegments());
+        assertThat(exception.getMessage()).startsWith("Not an archive segment");
+    }
+
+    @Test
+    void findByCustomerId_throwsTransactionArchiveException_ifSegmentIsTruncated() throws IOException {
+        // Given
+        archive(createTransactions(CUSTOMER_ID_1, 0, 2));
+        try (FileChannel channel = FileChannel.open(archiveProperties.getDirectory().resolve("segment-000000000001.seg"),
+                StandardOpenOption.WRITE)) {
+            channel.truncate(8);
+        }
+
+        // When-Then
+        TransactionArchiveException exception = assertThrows(TransactionArchiveException.class,
+                () -> underTest.findByCustomerId(CUSTOMER_ID_1, 0, 1));
+        assertThat(exception.getMessage()).startsWith("Archive segment could not be read");
+        assertThat(exception.getCause()).hasMessage("Unexpected end of archive segment");
+    }
+
+    @Test
+    void writePendingSegment_throwsTransactionArchiveException_ifDirectoryCannotBeCreated() throws IOException {
+        // Given
+        Files.createFile(archiveProperties.getDirectory());
+        List<Transaction> transactions = createTransactions(CUSTOMER_ID_1, 0, 1);
+
+        // When-Then
+        TransactionArchiveException exception = assertThrows(TransactionArchiveException.class,
+                () -> underTest.writePendingSegment(transactions));
+        assertThat(exception.getMessage()).startsWith("Archive segment could not be written");
+    }
+
+    @Test
+    void publishSegment_throwsTransactionArchiveException_ifPendingSegmentIsMissing() {
+        // Given
+        Path pendingSegment = underTest.writePendingSegment(createTransactions(CUSTOMER_ID_1, 0, 1));
+        underTest.discardSegment(pendingSegment);
+
+        // When-Then
+        TransactionArchiveException exception = assertThrows(TransactionArchiveException.class,
+                () -> underTest.publishSegment(pendingSegment));
+        assertThat(exception.getMessage()).startsWith("Archive segment could not be published");
+        assertThat(underTest.countByCustomerId(CUSTOMER_ID_1)).isZero();
+    }
+
+    @Test
+    void discardSegment_logsError_ifSegmentCannotBeDeleted() throws IOException {
+        // Given
+        Path nonEmptyDirectory = Files.createDirectories(directory.resolve("segment-000000000001.pending"));
+        Files.createFile(nonEmptyDirectory.resolve("file"));
+
+        // When
+        underTest.discardSegment(nonEmptyDirectory);
+
+        // Then
+        assertThat(nonEmptyDirectory).exists();
+    }
+
+    private void archive(List<Transaction> transactions) {
+        underTest.publishSegment(underTest.writePendingSegment(transactions));
+    }
+
+    // One transaction per hour, the even ones without running balance as rows stored before it was introduced
+    private static List<Transaction> createTransactions(UUID customerId, int first, int count) {
+        return IntStream.range(first, first + count)
+                .mapToObj(i -> {
+                    Transaction transaction = createTransaction(UUID.randomUUID(), customerId,
+                            new BigDecimal(i + 1 + ".25"), i % 3 == 0 ? Operation.WITHDRAW : Operation.ADD,
+                            START.plusHours(i));
+                    transaction.setBalanceAfter(i % 2 == 0 ? null : new BigDecimal("1000.00").add(BigDecimal.valueOf(i)));
+                    return transaction;
+                })
+                .toList();
+    }
+
+    private static List<Transaction> concat(List<Transaction> first, List<Transaction> second) {
+        return Stream.concat(first.stream(), second.stream()).toList();
+    }
+
+    private static Timestamp timestamp(int hours) {
+        return Timestamp.valueOf(START.plusHours(hours));
+    }
+}
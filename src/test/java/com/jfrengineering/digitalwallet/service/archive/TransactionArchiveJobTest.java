@@ -0,0 +1,133 @@
+package com.jfrengineering.digitalwallet.service.archive;
+
+import com.jfrengineering.digitalwallet.configuration.ArchiveProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_B;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionArchiveJobTest {
+
+    private static final Path PENDING_SEGMENT = Path.of("segment-000000000001.pending");
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    @Captor
+    private ArgumentCaptor<Timestamp> cutoffCaptor;
+
+    private TransactionArchiveJob underTest;
+
+    @BeforeEach
+    void setUp() {
+        ArchiveProperties archiveProperties = new ArchiveProperties();
+        archiveProperties.setMaxAge(Duration.ofDays(30));
+        archiveProperties.setBatchSize(1);
+        underTest = new TransactionArchiveJob(archiveProperties, transactionRepository, transactionArchive,
+                new TransactionTemplate(transactionManager), new CustomerShardRouter(1), applicationEventPublisher);
+    }
+
+    @Test
+    void archiveOldTransactions_doesNothing_ifNoTransactionsOlderThanMaxAge() {
+        // Given
+        when(transactionRepository.findByCreatedAtBefore(cutoffCaptor.capture(), any(Pageable.class))).thenReturn(List.of());
+
+        // When
+        underTest.archiveOldTransactions();
+
+        // Then
+        assertThat(cutoffCaptor.getValue().toLocalDateTime())
+                .isBetween(LocalDateTime.now().minusDays(30).minusMinutes(1), LocalDateTime.now().minusDays(30));
+        verifyNoInteractions(transactionArchive, transactionManager);
+    }
+
+    @Test
+    void archiveOldTransactions_movesBatchesOfOldestTransactionsToArchive() {
+        // Given
+        Transaction oldest = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD);
+        Transaction newer = createTransaction(CORRELATION_ID_B, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD);
+        PageRequest oldestFirst = PageRequest.of(0, 1, Sort.by("customerId", "createdAt"));
+        when(transactionRepository.findByCreatedAtBefore(any(Timestamp.class), any(Pageable.class)))
+                .thenReturn(List.of(oldest), List.of(newer), List.of());
+        when(transactionArchive.writePendingSegment(any())).thenReturn(PENDING_SEGMENT);
+
+        // When
+        underTest.archiveOldTransactions();
+
+        // Then
+        InOrder inOrder = inOrder(transactionRepository, transactionArchive, applicationEventPublisher);
+        inOrder.verify(transactionRepository).findByCreatedAtBefore(any(Timestamp.class), eq(oldestFirst));
+        inOrder.verify(transactionArchive).writePendingSegment(List.of(oldest));
+        inOrder.verify(transactionRepository).deleteByCorrelationIdIn(List.of(CORRELATION_ID_A));
+        inOrder.verify(applicationEventPublisher).publishEvent(new TransactionsArchivedEvent(List.of(oldest)));
+        inOrder.verify(transactionArchive).publishSegment(PENDING_SEGMENT);
+        inOrder.verify(transactionArchive).writePendingSegment(List.of(newer));
+        inOrder.verify(transactionRepository).deleteByCorrelationIdIn(List.of(CORRELATION_ID_B));
+        inOrder.verify(applicationEventPublisher).publishEvent(new TransactionsArchivedEvent(List.of(newer)));
+        inOrder.verify(transactionArchive).publishSegment(PENDING_SEGMENT);
+        verify(transactionArchive, never()).discardSegment(any());
+    }
+
+    @Test
+    void archiveOldTransactions_discardsSegment_ifTransactionsCannotBeDeleted() {
+        // Given
+        Transaction oldest = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD);
+        when(transactionRepository.findByCreatedAtBefore(any(Timestamp.class), any(Pageable.class)))
+                .thenReturn(List.of(oldest));
+        when(transactionArchive.writePendingSegment(List.of(oldest))).thenReturn(PENDING_SEGMENT);
+        when(transactionRepository.deleteByCorrelationIdIn(List.of(CORRELATION_ID_A)))
+                .thenThrow(new PersistenceException());
+
+        // When-Then
+        assertThrows(PersistenceException.class, () -> underTest.archiveOldTransactions());
+        verify(transactionArchive).discardSegment(PENDING_SEGMENT);
+        verify(transactionArchive, never()).publishSegment(any());
+        verifyNoInteractions(applicationEventPublisher);
+    }
+}
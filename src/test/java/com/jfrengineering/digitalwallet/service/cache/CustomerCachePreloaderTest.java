@@ -0,0 +1,155 @@
+package com.jfrengineering.digitalwallet.service.cache;
+
+import com.jfrengineering.digitalwallet.configuration.CustomerCacheProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository.BalanceKey;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.configuration.CacheConfig.CUSTOMER_CACHE;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerCachePreloaderTest {
+
+    private static final long CREATED_AT = 1_700_000_000_000L;
+    private static final UUID CUSTOMER_ID_3 = UUID.fromString("33333333-3333-3333-3333-333333333333");
+
+    @Mock
+    private BalanceRepository balanceRepository;
+
+    private final ConcurrentMapCacheManager cacheManager = new ConcurrentMapCacheManager();
+
+    private CustomerCacheProperties customerCacheProperties;
+
+    private CustomerCachePreloader underTest;
+
+    @BeforeEach
+    void setUp() {
+        customerCacheProperties = new CustomerCacheProperties();
+        customerCacheProperties.setPreload(true);
+        customerCacheProperties.setLoadBatchSize(2);
+        customerCacheProperties.setRefreshOverlap(Duration.ofSeconds(10));
+        underTest = new CustomerCachePreloader(customerCacheProperties, balanceRepository, new CustomerShardRouter(1),
+                cacheManager);
+    }
+
+    @Test
+    void preload_cachesEveryCustomer_inPagesAfterTheLastOne() {
+        // Given
+        BalanceKey first = key(CUSTOMER_ID_1, CREATED_AT);
+        BalanceKey second = key(CUSTOMER_ID_2, CREATED_AT);
+        when(balanceRepository.findKeysCreatedAfter(new Timestamp(0), new UUID(0, 0), PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, second));
+        when(balanceRepository.findKeysCreatedAfter(new Timestamp(CREATED_AT), CUSTOMER_ID_2, PageRequest.of(0, 2)))
+                .thenReturn(List.of());
+
+        // When
+        underTest.preload();
+
+        // Then
+        assertThat(cachedValue(CUSTOMER_ID_1)).isEqualTo(true);
+        assertThat(cachedValue(CUSTOMER_ID_2)).isEqualTo(true);
+        assertThat(cachedValue(CUSTOMER_ID_3)).isNull();
+    }
+
+    @Test
+    void preload_doesNothing_ifDisabled() {
+        // Given
+        customerCacheProperties.setPreload(false);
+
+        // When
+        underTest.preload();
+        underTest.refresh();
+
+        // Then
+        verifyNoInteractions(balanceRepository);
+    }
+
+    @Test
+    void refresh_cachesCustomersCreatedSinceTheLastLoadLessTheOverlap() {
+        // Given
+        when(balanceRepository.findKeysCreatedAfter(new Timestamp(0), new UUID(0, 0), PageRequest.of(0, 2)))
+                .thenReturn(List.of(key(CUSTOMER_ID_1, CREATED_AT)));
+        underTest.preload();
+        cacheManager.getCache(CUSTOMER_CACHE).put(CUSTOMER_ID_3.toString(), false);
+        when(balanceRepository.findKeysCreatedAfter(new Timestamp(CREATED_AT - 10_000), new UUID(0, 0),
+                PageRequest.of(0, 2))).thenReturn(List.of(key(CUSTOMER_ID_1, CREATED_AT),
+                key(CUSTOMER_ID_3, CREATED_AT + 5_000)));
+        when(balanceRepository.findKeysCreatedAfter(new Timestamp(CREATED_AT + 5_000), CUSTOMER_ID_3,
+                PageRequest.of(0, 2))).thenReturn(List.of());
+
+        // When
+        underTest.refresh();
+
+        // Then
+        assertThat(cachedValue(CUSTOMER_ID_3)).isEqualTo(true);
+    }
+
+    @Test
+    void refresh_keepsTheLastLoadTime_ifNoCustomerCreated() {
+        // Given
+        when(balanceRepository.findKeysCreatedAfter(new Timestamp(0), new UUID(0, 0), PageRequest.of(0, 2)))
+                .thenReturn(List.of(key(CUSTOMER_ID_1, CREATED_AT)));
+        underTest.preload();
+
+        // When
+        underTest.refresh();
+        underTest.refresh();
+
+        // Then
+        verify(balanceRepository, times(2)).findKeysCreatedAfter(
+                new Timestamp(CREATED_AT - 10_000), new UUID(0, 0), PageRequest.of(0, 2));
+    }
+
+    @Test
+    void refresh_doesNothing_untilPreloaded() {
+        // When
+        underTest.refresh();
+
+        // Then
+        verify(balanceRepository, never()).findKeysCreatedAfter(any(), any(), any());
+    }
+
+    private Object cachedValue(UUID customerId) {
+        Cache.ValueWrapper valueWrapper = cacheManager.getCache(CUSTOMER_CACHE).get(customerId.toString());
+        return valueWrapper == null ? null : valueWrapper.get();
+    }
+
+    private static BalanceKey key(UUID customerId, long createdAt) {
+        return new TestBalanceKey(customerId, new Timestamp(createdAt));
+    }
+
+    private record TestBalanceKey(UUID customerId, Timestamp createdAt) implements BalanceKey {
+
+        @Override
+        public UUID getCustomerId() {
+            return customerId;
+        }
+
+        @Override
+        public Timestamp getCreatedAt() {
+            return createdAt;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.jfrengineering.digitalwallet.service.commit;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GroupCommitAspectTest {
+
+    private final TransactionRequest transactionRequest = createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1,
+            TRANSACTION_AMOUNT, Operation.ADD);
+
+    @Mock
+    private TransactionGroupCommitter transactionGroupCommitter;
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    @InjectMocks
+    private GroupCommitAspect underTest;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(joinPoint.getArgs()).thenReturn(new Object[]{transactionRequest});
+    }
+
+    @Test
+    void commitInGroup_returnsTheResultOfTheGroupCommit_withoutProceeding() throws Throwable {
+        // Given
+        TransactionBalanceResponse response = mock(TransactionBalanceResponse.class);
+        when(transactionGroupCommitter.submit(transactionRequest)).thenReturn(CompletableFuture.completedFuture(response));
+
+        // When
+        Object actual = underTest.commitInGroup(joinPoint);
+
+        // Then
+        assertThat(actual).isSameAs(response);
+        verify(joinPoint, never()).proceed();
+    }
+
+    @Test
+    void commitInGroup_proceeds_ifAlreadyInATransaction() throws Throwable {
+        // Given
+        TransactionBalanceResponse response = mock(TransactionBalanceResponse.class);
+        when(joinPoint.proceed()).thenReturn(response);
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+
+        // When
+        Object actual;
+        try {
+            actual = underTest.commitInGroup(joinPoint);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+
+        // Then
+        assertThat(actual).isSameAs(response);
+        verifyNoInteractions(transactionGroupCommitter);
+    }
+
+    @Test
+    void commitInGroup_throwsTheErrorOfTheTransaction() {
+        // Given
+        UnacceptedTransactionAmountException error = new UnacceptedTransactionAmountException("Rejected");
+        when(transactionGroupCommitter.submit(transactionRequest)).thenReturn(CompletableFuture.failedFuture(error));
+
+        // When-Then
+        UnacceptedTransactionAmountException exception = assertThrows(UnacceptedTransactionAmountException.class,
+                () -> underTest.commitInGroup(joinPoint));
+        assertThat(exception).isSameAs(error);
+    }
+}
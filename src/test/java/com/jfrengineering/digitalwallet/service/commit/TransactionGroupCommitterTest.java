@@ -0,0 +1,189 @@
+package com.jfrengineering.digitalwallet.service.commit;
+
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.datasource.ShardContext;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionGroupCommitterTest {
+
+    // Customers of shard 0 and 1 out of 2 shards
+    private static final UUID SHARD_0_CUSTOMER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID SHARD_1_CUSTOMER_ID = UUID.fromString("55555555-5555-5555-5555-555555555555");
+
+    @Mock
+    private TransactionGroupWriter transactionGroupWriter;
+
+    @Mock
+    private ExecutorService committer;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private TransactionGroupCommitter underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new TransactionGroupCommitter(Duration.ofMillis(50), 3, transactionGroupWriter,
+                new CustomerShardRouter(2), meterRegistry, committer);
+    }
+
+    @Test
+    void collect_takesQueuedTransactions_upToTheMaxBatchSize() throws InterruptedException {
+        // Given
+        List<CompletableFuture<TransactionBalanceResponse>> results = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            results.add(underTest.submit(request(SHARD_0_CUSTOMER_ID)));
+        }
+
+        // When
+        List<PendingTransaction> actual = underTest.collect();
+
+        // Then
+        assertThat(actual).extracting(PendingTransaction::result).containsExactlyElementsOf(results.subList(0, 3));
+        assertThat(underTest.collect()).extracting(PendingTransaction::result).containsExactly(results.get(3));
+    }
+
+    @Test
+    void collect_closesTheGroupAtTheEndOfTheWindow() throws InterruptedException {
+        // Given
+        underTest.submit(request(SHARD_0_CUSTOMER_ID));
+        long start = System.nanoTime();
+
+        // When
+        List<PendingTransaction> actual = underTest.collect();
+
+        // Then
+        assertThat(actual).hasSize(1);
+        assertThat(System.nanoTime() - start).isGreaterThanOrEqualTo(TimeUnit.MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    void commit_writesOneGroupPerShard_andCompletesEachResult() {
+        // Given
+        TransactionBalanceResponse response = mock(TransactionBalanceResponse.class);
+        UnacceptedTransactionAmountException error = new UnacceptedTransactionAmountException("Rejected");
+        PendingTransaction shard0First = pending(SHARD_0_CUSTOMER_ID);
+        PendingTransaction shard1 = pending(SHARD_1_CUSTOMER_ID);
+        PendingTransaction shard0Second = pending(SHARD_0_CUSTOMER_ID);
+        when(transactionGroupWriter.write(List.of(shard0First.transactionRequest(), shard0Second.transactionRequest())))
+                .thenAnswer(invocation -> {
+                    assertThat(ShardContext.currentShard()).isZero();
+                    return List.of(CompletableFuture.completedFuture(response), CompletableFuture.failedFuture(error));
+                });
+        when(transactionGroupWriter.write(List.of(shard1.transactionRequest())))
+                .thenReturn(List.of(CompletableFuture.completedFuture(response)));
+
+        // When
+        underTest.commit(List.of(shard0First, shard1, shard0Second));
+
+        // Then
+        assertThat(shard0First.result()).isCompletedWithValue(response);
+        assertFailedWith(shard0Second.result(), error);
+        assertThat(shard1.result()).isCompletedWithValue(response);
+        assertThat(meterRegistry.get(TransactionGroupCommitter.GROUP_SIZE_METRIC).summary().totalAmount()).isEqualTo(3);
+    }
+
+    @Test
+    void commit_failsEveryTransactionOfTheShardGroup_ifTheWriteFails() {
+        // Given
+        QueryTimeoutException error = new QueryTimeoutException("Lock wait timeout");
+        PendingTransaction first = pending(SHARD_1_CUSTOMER_ID);
+        PendingTransaction second = pending(SHARD_1_CUSTOMER_ID);
+        when(transactionGroupWriter.write(anyList())).thenThrow(error);
+
+        // When
+        underTest.commit(List.of(first, second));
+
+        // Then
+        assertFailedWith(first.result(), error);
+        assertFailedWith(second.result(), error);
+    }
+
+    @Test
+    void run_commitsSubmittedTransactions_untilClosed() {
+        // Given
+        TransactionBalanceResponse response = mock(TransactionBalanceResponse.class);
+        when(transactionGroupWriter.write(anyList())).thenReturn(List.of(CompletableFuture.completedFuture(response)));
+        underTest = new TransactionGroupCommitter(Duration.ofMillis(1), 3, transactionGroupWriter,
+                new CustomerShardRouter(2), meterRegistry);
+        underTest.start();
+
+        // When
+        CompletableFuture<TransactionBalanceResponse> actual = underTest.submit(request(SHARD_0_CUSTOMER_ID));
+
+        // Then
+        assertThat(actual.join()).isSameAs(response);
+        underTest.close();
+        assertThrows(IllegalStateException.class, () -> underTest.submit(request(SHARD_0_CUSTOMER_ID)));
+    }
+
+    @Test
+    void run_stops_ifTheCommitterThreadIsInterrupted() {
+        // Given
+        Thread.currentThread().interrupt();
+
+        // When
+        underTest.run();
+
+        // Then
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    void close_failsTheQueuedTransactions() {
+        // Given
+        underTest.start();
+        CompletableFuture<TransactionBalanceResponse> actual = underTest.submit(request(SHARD_0_CUSTOMER_ID));
+
+        // When
+        underTest.close();
+
+        // Then
+        verify(committer).execute(any(Runnable.class));
+        verify(committer).shutdownNow();
+        assertThat(actual).failsWithin(Duration.ZERO).withThrowableThat().havingCause()
+                .isInstanceOf(IllegalStateException.class)
+                .withMessage("Transaction group committer is closed");
+    }
+
+    private static void assertFailedWith(CompletableFuture<TransactionBalanceResponse> result, Exception error) {
+        assertThat(result).failsWithin(Duration.ZERO).withThrowableThat().havingCause().isSameAs(error);
+    }
+
+    private static PendingTransaction pending(UUID customerId) {
+        return new PendingTransaction(request(customerId), new CompletableFuture<>());
+    }
+
+    private static TransactionRequest request(UUID customerId) {
+        return createTransactionRequest(UUID.randomUUID(), customerId, TRANSACTION_AMOUNT, Operation.ADD);
+    }
+}
@@ -0,0 +1,187 @@
+package com.jfrengineering.digitalwallet.service.commit;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.service.TransactionCreatedEvent;
+import com.jfrengineering.digitalwallet.service.TransactionSummaryService;
+import com.jfrengineering.digitalwallet.service.limit.VelocityLimiter;
+import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import jakarta.persistence.EntityExistsException;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_B;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionGroupWriterTest {
+
+    @Mock
+    private TransactionSummaryService transactionSummaryService;
+
+    @Mock
+    private VelocityLimiter velocityLimiter;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionGroupWriter underTest;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:groupcommit" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE balances (customer_id VARCHAR PRIMARY KEY, balance_amount DECIMAL(38, 2), "
+                + "held_amount DECIMAL(38, 2), created_at TIMESTAMP, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE transactions (correlation_id VARCHAR PRIMARY KEY, customer_id VARCHAR, "
+                + "amount DECIMAL(38, 2), operation VARCHAR, balance_after DECIMAL(38, 2), created_at TIMESTAMP)");
+        jdbcTemplate.update("INSERT INTO balances VALUES (?, 100.00, 0, NULL, NULL)", CUSTOMER_ID_1.toString());
+        jdbcTemplate.update("INSERT INTO balances VALUES (?, 50.00, 30.00, NULL, NULL)", CUSTOMER_ID_2.toString());
+        underTest = new TransactionGroupWriter(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), transactionSummaryService,
+                velocityLimiter, applicationEventPublisher);
+    }
+
+    @Test
+    void write_appliesTheTransactionsOfTheGroupInOrder_withOneUpdatePerBalance() {
+        // Given
+        List<TransactionRequest> transactionRequests = List.of(
+                createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1, new BigDecimal("10.00"), Operation.ADD),
+                createTransactionRequest(CORRELATION_ID_B, CUSTOMER_ID_2, new BigDecimal("20.00"), Operation.WITHDRAW),
+                createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID_1, new BigDecimal("60.00"), Operation.WITHDRAW));
+
+        // When
+        List<CompletableFuture<TransactionBalanceResponse>> actual = underTest.write(transactionRequests);
+
+        // Then
+        assertThat(actual).extracting(CompletableFuture::join)
+                .extracting(TransactionBalanceResponse::getUpdatedBalance)
+                .containsExactly(new BigDecimal("110.00"), new BigDecimal("30.00"), new BigDecimal("50.00"));
+        assertThat(balanceOf(CUSTOMER_ID_1)).isEqualByComparingTo("50.00");
+        assertThat(balanceOf(CUSTOMER_ID_2)).isEqualByComparingTo("30.00");
+        assertThat(jdbcTemplate.queryForList("SELECT balance_after FROM transactions WHERE customer_id = ? "
+                + "ORDER BY balance_after", BigDecimal.class, CUSTOMER_ID_1.toString()))
+                .containsExactly(new BigDecimal("50.00"), new BigDecimal("110.00"));
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM balances WHERE updated_at IS NOT NULL",
+                Long.class)).isEqualTo(2);
+        verify(velocityLimiter).checkWithdrawal(CUSTOMER_ID_2, new BigDecimal("20.00"));
+        verify(velocityLimiter, times(3)).recordWithdrawal(any());
+        verify(transactionSummaryService, times(3)).recordTransaction(any());
+        verify(applicationEventPublisher).publishEvent(argThat((TransactionCreatedEvent event) ->
+                CORRELATION_ID_B.equals(event.transaction().getCorrelationId())));
+    }
+
+    @Test
+    void write_locksTheBalancesInUuidOrder_asTransfersDo() {
+        // Given
+        UUID first = UUID.fromString("80000000-0000-0000-0000-000000000000"); // lowest UUID, highest string
+        UUID second = UUID.fromString("10000000-0000-0000-0000-000000000000");
+        jdbcTemplate.update("INSERT INTO balances VALUES (?, 100.00, 0, NULL, NULL)", first.toString());
+        jdbcTemplate.update("INSERT INTO balances VALUES (?, 100.00, 0, NULL, NULL)", second.toString());
+        JdbcTemplate spiedJdbcTemplate = spy(jdbcTemplate);
+        underTest = new TransactionGroupWriter(spiedJdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource())),
+                transactionSummaryService, velocityLimiter, applicationEventPublisher);
+
+        // When
+        underTest.write(List.of(
+                createTransactionRequest(CORRELATION_ID_A, second, new BigDecimal("10.00"), Operation.ADD),
+                createTransactionRequest(CORRELATION_ID_B, first, new BigDecimal("10.00"), Operation.ADD)));
+
+        // Then
+        InOrder inOrder = inOrder(spiedJdbcTemplate);
+        inOrder.verify(spiedJdbcTemplate).query(eq(TransactionGroupWriter.SELECT_BALANCE_FOR_UPDATE),
+                any(RowMapper.class), eq(first.toString()));
+        inOrder.verify(spiedJdbcTemplate).query(eq(TransactionGroupWriter.SELECT_BALANCE_FOR_UPDATE),
+                any(RowMapper.class), eq(second.toString()));
+    }
+
+    @Test
+    void write_failsOnlyTheRejectedTransactions() {
+        // Given
+        jdbcTemplate.update("INSERT INTO transactions (correlation_id) VALUES (?)", CORRELATION_ID_A.toString());
+        doThrow(new UnacceptedTransactionAmountException("Hourly withdrawal limit of 1 transactions reached"))
+                .when(velocityLimiter).checkWithdrawal(CUSTOMER_ID_1, new BigDecimal("5.00"));
+        UUID correlationId = UUID.randomUUID();
+        List<TransactionRequest> transactionRequests = List.of(
+                createTransactionRequest(UUID.randomUUID(), UUID.randomUUID(), new BigDecimal("10.00"), Operation.ADD),
+                createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1, new BigDecimal("10.00"), Operation.ADD),
+                createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID_2, new BigDecimal("30.00"), Operation.WITHDRAW),
+                createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID_1, new BigDecimal("5.00"), Operation.WITHDRAW),
+                createTransactionRequest(correlationId, CUSTOMER_ID_1, new BigDecimal("10.00"), Operation.ADD),
+                createTransactionRequest(correlationId, CUSTOMER_ID_1, new BigDecimal("10.00"), Operation.ADD));
+
+        // When
+        List<CompletableFuture<TransactionBalanceResponse>> actual = underTest.write(transactionRequests);
+
+        // Then
+        assertThat(actual.get(0)).failsWithin(Duration.ZERO).withThrowableThat()
+                .havingCause().isInstanceOf(EntityNotFoundException.class);
+        assertThat(actual.get(1)).failsWithin(Duration.ZERO).withThrowableThat()
+                .havingCause().isInstanceOf(EntityExistsException.class)
+                .withMessage(TransactionGroupWriter.DUPLICATE_ERROR);
+        assertThat(actual.get(2)).failsWithin(Duration.ZERO).withThrowableThat()
+                .havingCause().withMessage("Not enough Credit in Balance");
+        assertThat(actual.get(3)).failsWithin(Duration.ZERO).withThrowableThat()
+                .havingCause().isInstanceOf(UnacceptedTransactionAmountException.class);
+        assertThat(actual.get(4).join().getUpdatedBalance()).isEqualByComparingTo("110.00");
+        assertThat(actual.get(5)).failsWithin(Duration.ZERO).withThrowableThat()
+                .havingCause().isInstanceOf(EntityExistsException.class);
+        assertThat(balanceOf(CUSTOMER_ID_1)).isEqualByComparingTo("110.00");
+        assertThat(balanceOf(CUSTOMER_ID_2)).isEqualByComparingTo("50.00");
+        verify(transactionSummaryService).recordTransaction(any());
+    }
+
+    @Test
+    void write_rollsBackTheWholeGroup_ifAWriteFails() {
+        // Given
+        doThrow(new IllegalStateException("Summary not recorded")).when(transactionSummaryService)
+                .recordTransaction(any());
+        List<TransactionRequest> transactionRequests = List.of(
+                createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1, new BigDecimal("10.00"), Operation.ADD));
+
+        // When-Then
+        assertThrows(IllegalStateException.class, () -> underTest.write(transactionRequests));
+        assertThat(balanceOf(CUSTOMER_ID_1)).isEqualByComparingTo("100.00");
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class)).isZero();
+    }
+
+    private BigDecimal balanceOf(UUID customerId) {
+        return jdbcTemplate.queryForObject("SELECT balance_amount FROM balances WHERE customer_id = ?",
+                BigDecimal.class, customerId.toString());
+    }
+}
@@ -0,0 +1,157 @@
+package com.jfrengineering.digitalwallet.service.hold;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.jfrengineering.digitalwallet.configuration.HoldProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.repository.HoldRepository;
+import com.jfrengineering.digitalwallet.service.HoldService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HoldExpiryQueueTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+
+    @Mock
+    private HoldService holdService;
+
+    @Mock
+    private HoldRepository holdRepository;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    private HoldExpiryQueue underTest;
+
+    @BeforeEach
+    void setUp() {
+        HoldProperties holdProperties = new HoldProperties();
+        holdProperties.setLoadBatchSize(2);
+        underTest = new HoldExpiryQueue(holdService, holdRepository, holdProperties, new CustomerShardRouter(1),
+                clock::get);
+    }
+
+    @Test
+    void loadActiveHolds_loadsPagesAfterTheLastHold() {
+        // Given
+        Hold first = createHold(NOW + 1);
+        Hold second = createHold(NOW + 2);
+        Hold third = createHold(NOW + 3);
+        when(holdRepository.findByCorrelationIdGreaterThanOrderByCorrelationId(new UUID(0, 0), PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, second));
+        when(holdRepository.findByCorrelationIdGreaterThanOrderByCorrelationId(second.getCorrelationId(),
+                PageRequest.of(0, 2))).thenReturn(List.of(third));
+
+        // When
+        underTest.loadActiveHolds();
+
+        // Then
+        assertThat(underTest.size()).isEqualTo(3);
+    }
+
+    @Test
+    void loadActiveHolds_loadsNothing_ifNoActiveHolds() {
+        // When
+        underTest.loadActiveHolds();
+
+        // Then
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    void expireDueHolds_expiresHoldsInDeadlineOrder_untilNextIsNotDue() {
+        // Given
+        Hold later = createHold(NOW + 1);
+        Hold due = createHold(NOW);
+        Hold overdue = createHold(NOW - 1_000);
+        List.of(later, due, overdue).forEach(hold -> underTest.onHoldReserved(new HoldReservedEvent(hold)));
+
+        // When
+        underTest.expireDueHolds();
+
+        // Then
+        InOrder inOrder = inOrder(holdService);
+        inOrder.verify(holdService).expireHold(CUSTOMER_ID_1, overdue.getCorrelationId());
+        inOrder.verify(holdService).expireHold(CUSTOMER_ID_1, due.getCorrelationId());
+        inOrder.verifyNoMoreInteractions();
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    void expireDueHolds_doesNothing_ifQueueEmpty() {
+        // When
+        underTest.expireDueHolds();
+
+        // Then
+        verifyNoInteractions(holdService);
+    }
+
+    @Test
+    void expireDueHolds_keepsFailedHold_forTheNextRun() {
+        // Given
+        ListAppender<ILoggingEvent> logWatcher = new ListAppender<>();
+        logWatcher.start();
+        ((Logger) LoggerFactory.getLogger(HoldExpiryQueue.class)).addAppender(logWatcher);
+        Hold hold = createHold(NOW);
+        underTest.onHoldReserved(new HoldReservedEvent(hold));
+        when(holdService.expireHold(any(), any())).thenThrow(new IllegalStateException("Failed")).thenReturn(true);
+
+        // When
+        underTest.expireDueHolds();
+        underTest.expireDueHolds();
+
+        // Then
+        verify(holdService, times(2)).expireHold(CUSTOMER_ID_1, hold.getCorrelationId());
+        assertThat(underTest.size()).isZero();
+        assertThat(logWatcher.list).singleElement()
+                .extracting("level", "formattedMessage")
+                .containsExactly(Level.WARN, "Hold " + hold.getCorrelationId()
+                        + " could not be expired, retrying on the next run: Failed");
+    }
+
+    @Test
+    void constructor_usesSystemClock() {
+        // Given
+        HoldExpiryQueue holdExpiryQueue = new HoldExpiryQueue(holdService, holdRepository, new HoldProperties(),
+                new CustomerShardRouter(1));
+        holdExpiryQueue.onHoldReserved(new HoldReservedEvent(createHold(System.currentTimeMillis() - 1)));
+
+        // When
+        holdExpiryQueue.expireDueHolds();
+
+        // Then
+        assertThat(holdExpiryQueue.size()).isZero();
+    }
+
+    private static Hold createHold(long expiresAt) {
+        return Hold.builder()
+                .correlationId(UUID.randomUUID())
+                .customerId(CUSTOMER_ID_1)
+                .expiresAt(new Timestamp(expiresAt))
+                .build();
+    }
+}
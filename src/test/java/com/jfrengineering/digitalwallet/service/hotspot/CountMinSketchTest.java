@@ -0,0 +1,57 @@
+package com.jfrengineering.digitalwallet.service.hotspot;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CountMinSketchTest {
+
+    @Test
+    void estimate_returnsCountOfEachCustomer() {
+        // Given
+        CountMinSketch underTest = new CountMinSketch(4, 1_024);
+        IntStream.range(0, 3).forEach(i -> underTest.add(CUSTOMER_ID_1));
+        underTest.add(CUSTOMER_ID_2);
+
+        // When-Then
+        assertThat(underTest.estimate(CUSTOMER_ID_1)).isEqualTo(3);
+        assertThat(underTest.estimate(CUSTOMER_ID_2)).isEqualTo(1);
+        assertThat(underTest.estimate(UUID.fromString("11111111-1111-1111-1111-111111111111"))).isZero();
+    }
+
+    @Test
+    void estimate_neverUndercounts_ifCustomersCollide() {
+        // Given
+        CountMinSketch underTest = new CountMinSketch(2, 1);
+        List<UUID> customerIds = IntStream.range(0, 10).mapToObj(i -> UUID.randomUUID()).toList();
+        for (int i = 0; i < customerIds.size(); i++) {
+            for (int j = 0; j <= i; j++) {
+                underTest.add(customerIds.get(i));
+            }
+        }
+
+        // When-Then
+        for (int i = 0; i < customerIds.size(); i++) {
+            assertThat(underTest.estimate(customerIds.get(i))).isGreaterThanOrEqualTo(i + 1).isLessThanOrEqualTo(55);
+        }
+    }
+
+    @Test
+    void clear_resetsAllCounts() {
+        // Given
+        CountMinSketch underTest = new CountMinSketch(4, 16);
+        underTest.add(CUSTOMER_ID_1);
+
+        // When
+        underTest.clear();
+
+        // Then
+        assertThat(underTest.estimate(CUSTOMER_ID_1)).isZero();
+    }
+}
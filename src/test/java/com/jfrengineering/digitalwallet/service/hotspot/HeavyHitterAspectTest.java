@@ -0,0 +1,65 @@
+package com.jfrengineering.digitalwallet.service.hotspot;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.web.model.HotCustomerResponse;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HeavyHitterAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    private final HeavyHitterTracker writeHeavyHitters = new HeavyHitterTracker(Duration.ofMinutes(1), 6, 4, 64, 5);
+
+    private final HeavyHitterTracker readHeavyHitters = new HeavyHitterTracker(Duration.ofMinutes(1), 6, 4, 64, 5);
+
+    private final HeavyHitterAspect underTest = new HeavyHitterAspect(writeHeavyHitters, readHeavyHitters);
+
+    @Test
+    void recordWrite_recordsCustomerOfTheRequest() throws Throwable {
+        // Given
+        when(joinPoint.getArgs()).thenReturn(new Object[]{createTransactionRequest(UUID.randomUUID(), CUSTOMER_ID_1,
+                TRANSACTION_AMOUNT, Operation.ADD)});
+        when(joinPoint.proceed()).thenReturn("result");
+
+        // When
+        Object actual = underTest.recordWrite(joinPoint);
+
+        // Then
+        assertThat(actual).isEqualTo("result");
+        assertThat(writeHeavyHitters.topCustomers()).extracting(HotCustomerResponse::getCustomerId)
+                .containsExactly(CUSTOMER_ID_1);
+        assertThat(readHeavyHitters.topCustomers()).isEmpty();
+    }
+
+    @Test
+    void recordRead_recordsCustomerOfTheFirstArgument() throws Throwable {
+        // Given
+        when(joinPoint.getArgs()).thenReturn(new Object[]{CUSTOMER_ID_2, 0, 10});
+        when(joinPoint.proceed()).thenReturn("result");
+
+        // When
+        Object actual = underTest.recordRead(joinPoint);
+
+        // Then
+        assertThat(actual).isEqualTo("result");
+        assertThat(readHeavyHitters.topCustomers()).extracting(HotCustomerResponse::getCustomerId)
+                .containsExactly(CUSTOMER_ID_2);
+        assertThat(writeHeavyHitters.topCustomers()).isEmpty();
+    }
+}
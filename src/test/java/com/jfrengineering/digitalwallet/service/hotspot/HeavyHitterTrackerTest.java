@@ -0,0 +1,87 @@
+package com.jfrengineering.digitalwallet.service.hotspot;
+
+import com.jfrengineering.digitalwallet.web.model.HotCustomerResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeavyHitterTrackerTest {
+
+    private static final UUID CUSTOMER_ID_3 = UUID.fromString("33333333-3333-3333-3333-333333333333");
+
+    // Starts below zero, as System.nanoTime may
+    private final AtomicLong nanoTime = new AtomicLong(-TimeUnit.SECONDS.toNanos(5));
+
+    private HeavyHitterTracker underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new HeavyHitterTracker(Duration.ofMinutes(1), 6, 4, 1_024, 2, nanoTime::get);
+    }
+
+    @Test
+    void topCustomers_returnsHottestCustomersWithTheirRate() {
+        // Given
+        record(CUSTOMER_ID_1, 6);
+        record(CUSTOMER_ID_2, 3);
+        record(CUSTOMER_ID_3, 1);
+
+        // When-Then
+        assertThat(underTest.topCustomers()).containsExactly(
+                new HotCustomerResponse(CUSTOMER_ID_1, 6, 0.1),
+                new HotCustomerResponse(CUSTOMER_ID_2, 3, 0.05));
+        assertThat(underTest.getWindow()).isEqualTo(Duration.ofMinutes(1));
+    }
+
+    @Test
+    void topCustomers_forgetsCallsOlderThanTheWindow() {
+        // Given
+        record(CUSTOMER_ID_1, 5);
+        advance(30);
+        record(CUSTOMER_ID_2, 2);
+
+        // When-Then
+        assertThat(underTest.topCustomers()).extracting(HotCustomerResponse::getCount).containsExactly(5L, 2L);
+        advance(40);
+        assertThat(underTest.topCustomers()).containsExactly(new HotCustomerResponse(CUSTOMER_ID_2, 2, 2 / 60.0));
+        advance(600);
+        assertThat(underTest.topCustomers()).isEmpty();
+    }
+
+    @Test
+    void record_admitsOnlyCustomersReachingTheTop_oncePruned() {
+        // Given
+        record(CUSTOMER_ID_1, 5);
+        record(CUSTOMER_ID_2, 4);
+        IntStream.range(0, 7).forEach(i -> underTest.record(UUID.randomUUID()));
+
+        // When
+        record(CUSTOMER_ID_3, 3);
+
+        // Then
+        assertThat(underTest.topCustomers()).extracting(HotCustomerResponse::getCustomerId)
+                .containsExactly(CUSTOMER_ID_1, CUSTOMER_ID_2);
+
+        // And
+        record(CUSTOMER_ID_3, 3);
+        assertThat(underTest.topCustomers()).extracting(HotCustomerResponse::getCustomerId)
+                .containsExactly(CUSTOMER_ID_3, CUSTOMER_ID_1);
+    }
+
+    private void record(UUID customerId, int times) {
+        IntStream.range(0, times).forEach(i -> underTest.record(customerId));
+    }
+
+    private void advance(int seconds) {
+        nanoTime.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
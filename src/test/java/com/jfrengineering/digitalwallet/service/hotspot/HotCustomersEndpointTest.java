@@ -0,0 +1,35 @@
+package com.jfrengineering.digitalwallet.service.hotspot;
+
+import com.jfrengineering.digitalwallet.web.model.HotCustomerResponse;
+import com.jfrengineering.digitalwallet.web.model.HotCustomersResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HotCustomersEndpointTest {
+
+    private final HeavyHitterTracker writeHeavyHitters = new HeavyHitterTracker(Duration.ofSeconds(10), 2, 4, 64, 5);
+
+    private final HeavyHitterTracker readHeavyHitters = new HeavyHitterTracker(Duration.ofSeconds(10), 2, 4, 64, 5);
+
+    private final HotCustomersEndpoint underTest = new HotCustomersEndpoint(writeHeavyHitters, readHeavyHitters);
+
+    @Test
+    void hotCustomers_returnsTopWritersAndReaders() {
+        // Given
+        writeHeavyHitters.record(CUSTOMER_ID_1);
+        readHeavyHitters.record(CUSTOMER_ID_2);
+
+        // When
+        HotCustomersResponse actual = underTest.hotCustomers();
+
+        // Then
+        assertThat(actual.getWindowSeconds()).isEqualTo(10);
+        assertThat(actual.getWrites()).extracting(HotCustomerResponse::getCustomerId).containsExactly(CUSTOMER_ID_1);
+        assertThat(actual.getReads()).extracting(HotCustomerResponse::getCustomerId).containsExactly(CUSTOMER_ID_2);
+    }
+}
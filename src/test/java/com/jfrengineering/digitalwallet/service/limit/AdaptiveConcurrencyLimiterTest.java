@@ -0,0 +1,75 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(500).toNanos();
+
+    private final AdaptiveConcurrencyLimiter underTest = new AdaptiveConcurrencyLimiter(4, 2, 6,
+            Duration.ofMillis(250), 0.5);
+
+    @Test
+    void tryAcquire_rejectsCallsOverTheLimit_untilReleased() {
+        // When
+        IntStream.range(0, 4).forEach(i -> assertThat(underTest.tryAcquire()).isTrue());
+
+        // Then
+        assertThat(underTest.tryAcquire()).isFalse();
+        assertThat(underTest.getInFlight()).isEqualTo(4);
+        underTest.release(FAST, false);
+        assertThat(underTest.getInFlight()).isEqualTo(3);
+        assertThat(underTest.tryAcquire()).isTrue();
+    }
+
+    @Test
+    void release_growsLimitByOnePerLimitOfFastCalls_upToMaxLimit_whileInUse() {
+        // When limit 4 -> 4.25 -> 4.49 (the last two calls of each round have less than half of the limit in flight)
+        callsOf(4, FAST, false);
+
+        // Then
+        assertThat(underTest.getLimit()).isEqualTo(4);
+        callsOf(4, FAST, false); // -> 4.71 -> 4.92
+        assertThat(underTest.getLimit()).isEqualTo(4);
+        callsOf(4, FAST, false); // -> 5.12 -> 5.31
+        assertThat(underTest.getLimit()).isEqualTo(5);
+        IntStream.range(0, 100).forEach(i -> callsOf(6, FAST, false));
+        assertThat(underTest.getLimit()).isEqualTo(6);
+    }
+
+    @Test
+    void release_keepsLimit_ifLessThanHalfOfItInUse() {
+        // When
+        IntStream.range(0, 100).forEach(i -> callsOf(1, FAST, false));
+
+        // Then
+        assertThat(underTest.getLimit()).isEqualTo(4);
+    }
+
+    @Test
+    void release_shrinksLimitByBackoffRatio_downToMinLimit_ifSlowOrDropped() {
+        // Given
+        underTest.tryAcquire();
+        underTest.tryAcquire();
+
+        // When
+        underTest.release(SLOW, false);
+
+        // Then
+        assertThat(underTest.getLimit()).isEqualTo(2);
+        underTest.release(FAST, true);
+        assertThat(underTest.getLimit()).isEqualTo(2);
+        assertThat(underTest.getInFlight()).isZero();
+    }
+
+    private void callsOf(int concurrency, long latencyNanos, boolean dropped) {
+        IntStream.range(0, concurrency).forEach(i -> underTest.tryAcquire());
+        IntStream.range(0, concurrency).forEach(i -> underTest.release(latencyNanos, dropped));
+    }
+}
@@ -0,0 +1,97 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import com.jfrengineering.digitalwallet.web.exception.ConcurrencyLimitExceededException;
+import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.CannotCreateTransactionException;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ConcurrencyLimitAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private AdaptiveConcurrencyLimiter adaptiveConcurrencyLimiter;
+
+    private ConcurrencyLimitAspect underTest;
+
+    @BeforeEach
+    void setUp() {
+        adaptiveConcurrencyLimiter = new AdaptiveConcurrencyLimiter(4, 1, 10, Duration.ofSeconds(1), 0.5);
+        underTest = new ConcurrencyLimitAspect(adaptiveConcurrencyLimiter, Duration.ofSeconds(3), meterRegistry);
+    }
+
+    @Test
+    void limitConcurrency_proceedsAndReleases_ifUnderTheLimit() throws Throwable {
+        // Given
+        when(joinPoint.proceed()).thenReturn("result");
+
+        // When
+        Object actual = underTest.limitConcurrency(joinPoint);
+
+        // Then
+        assertThat(actual).isEqualTo("result");
+        assertThat(adaptiveConcurrencyLimiter.getInFlight()).isZero();
+        assertThat(meterRegistry.get(ConcurrencyLimitAspect.LIMIT_METRIC).gauge().value()).isEqualTo(4);
+        assertThat(meterRegistry.get(ConcurrencyLimitAspect.IN_FLIGHT_METRIC).gauge().value()).isZero();
+        assertThat(meterRegistry.get(ConcurrencyLimitAspect.REJECTED_METRIC).counter().count()).isZero();
+    }
+
+    @Test
+    void limitConcurrency_throwsConcurrencyLimitExceededException_ifOverTheLimit() {
+        // Given
+        for (int i = 0; i < 4; i++) {
+            adaptiveConcurrencyLimiter.tryAcquire();
+        }
+
+        // When-Then
+        ConcurrencyLimitExceededException exception = assertThrows(ConcurrencyLimitExceededException.class,
+                () -> underTest.limitConcurrency(joinPoint));
+        assertThat(exception.getRetryAfter()).isEqualTo(Duration.ofSeconds(3));
+        assertThat(meterRegistry.get(ConcurrencyLimitAspect.REJECTED_METRIC).counter().count()).isEqualTo(1);
+        verifyNoInteractions(joinPoint);
+    }
+
+    @Test
+    void limitConcurrency_shrinksLimit_ifDroppedByTheDatabase() throws Throwable {
+        // Given
+        when(joinPoint.proceed())
+                .thenThrow(new QueryTimeoutException("timeout"))
+                .thenThrow(new CannotCreateTransactionException("no connection"));
+
+        // When-Then
+        assertThrows(QueryTimeoutException.class, () -> underTest.limitConcurrency(joinPoint));
+        assertThat(adaptiveConcurrencyLimiter.getLimit()).isEqualTo(2);
+        assertThrows(CannotCreateTransactionException.class, () -> underTest.limitConcurrency(joinPoint));
+        assertThat(adaptiveConcurrencyLimiter.getLimit()).isEqualTo(1);
+        assertThat(adaptiveConcurrencyLimiter.getInFlight()).isZero();
+    }
+
+    @Test
+    void limitConcurrency_keepsLimit_ifRejectedByTheService() throws Throwable {
+        // Given
+        when(joinPoint.proceed()).thenThrow(new UnacceptedTransactionAmountException("Not enough Credit in Balance"));
+
+        // When-Then
+        assertThrows(UnacceptedTransactionAmountException.class, () -> underTest.limitConcurrency(joinPoint));
+        assertThat(adaptiveConcurrencyLimiter.getLimit()).isEqualTo(4);
+        assertThat(adaptiveConcurrencyLimiter.getInFlight()).isZero();
+    }
+}
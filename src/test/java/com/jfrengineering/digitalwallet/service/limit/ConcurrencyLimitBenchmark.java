@@ -0,0 +1,100 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Not part of the build, run with:
+// mvn test -Dtest=ConcurrencyLimitBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+//
+// Clients in a closed loop call a service with a pool of 8 connections and 5 ms of work per call, and give up after
+// 200 ms. Calls served after that are wasted work, so without a limit the goodput collapses once the queue is longer
+// than the deadline.
+class ConcurrencyLimitBenchmark {
+
+    private static final int CONNECTIONS = 8;
+    private static final long SERVICE_TIME_MILLIS = 5;
+    private static final long CONNECTION_TIMEOUT_MILLIS = 1_000;
+    private static final long CLIENT_DEADLINE_NANOS = TimeUnit.MILLISECONDS.toNanos(200);
+    private static final long REJECTED_BACKOFF_MILLIS = 20;
+    private static final long RUN_MILLIS = 3_000;
+
+    @Test
+    void goodput_withAndWithoutConcurrencyLimit() throws InterruptedException {
+        System.out.printf("%8s %-12s %10s %10s %10s%n", "clients", "limit", "goodput/s", "late/s", "rejected/s");
+        for (int clients : List.of(8, 32, 128, 512)) {
+            run(clients, null);
+            run(clients, new AdaptiveConcurrencyLimiter(20, 2, 200, Duration.ofMillis(100), 0.9));
+        }
+    }
+
+    private void run(int clients, AdaptiveConcurrencyLimiter limiter) throws InterruptedException {
+        Semaphore connections = new Semaphore(CONNECTIONS, true);
+        AtomicLong served = new AtomicLong();
+        AtomicLong late = new AtomicLong();
+        AtomicLong rejected = new AtomicLong();
+        long end = System.currentTimeMillis() + RUN_MILLIS;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < clients; i++) {
+            Thread thread = new Thread(() -> {
+                while (System.currentTimeMillis() < end) {
+                    call(connections, limiter, served, late, rejected);
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        long seconds = TimeUnit.MILLISECONDS.toSeconds(RUN_MILLIS);
+        System.out.printf("%8d %-12s %10d %10d %10d%n", clients, limiter == null ? "none" : "adaptive",
+                served.get() / seconds, late.get() / seconds, rejected.get() / seconds);
+    }
+
+    private static void call(Semaphore connections, AdaptiveConcurrencyLimiter limiter, AtomicLong served,
+                             AtomicLong late, AtomicLong rejected) {
+        if (limiter != null && !limiter.tryAcquire()) {
+            rejected.incrementAndGet();
+            sleep(REJECTED_BACKOFF_MILLIS);
+            return;
+        }
+        long start = System.nanoTime();
+        boolean dropped = false;
+        try {
+            if (connections.tryAcquire(CONNECTION_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                try {
+                    sleep(SERVICE_TIME_MILLIS);
+                } finally {
+                    connections.release();
+                }
+            } else {
+                dropped = true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        long latency = System.nanoTime() - start;
+        if (limiter != null) {
+            limiter.release(latency, dropped);
+        }
+        if (!dropped && latency <= CLIENT_DEADLINE_NANOS) {
+            served.incrementAndGet();
+        } else {
+            late.incrementAndGet();
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.web.exception.RateLimitExceededException;
+import com.jfrengineering.digitalwallet.web.model.TransferRequest;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerRateLimitAspectTest {
+
+    @Mock
+    private ProceedingJoinPoint joinPoint;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private CustomerRateLimitAspect underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CustomerRateLimitAspect(new CustomerRateLimiter(1, 2), meterRegistry);
+    }
+
+    @Test
+    void limitCustomerRate_proceeds_whileTheCustomerHasPermits() throws Throwable {
+        // Given
+        givenRequestOf(CUSTOMER_ID_1);
+        when(joinPoint.proceed()).thenReturn("result");
+
+        // When-Then
+        assertThat(underTest.limitCustomerRate(joinPoint)).isEqualTo("result");
+        assertThat(underTest.limitCustomerRate(joinPoint)).isEqualTo("result");
+        verify(joinPoint, times(2)).proceed();
+        assertThat(meterRegistry.find(CustomerRateLimitAspect.REJECTED_METRIC).counter()).isNull();
+    }
+
+    @Test
+    void limitCustomerRate_throwsRateLimitExceededException_andCountsRejection_ifNoPermitsLeft() throws Throwable {
+        // Given
+        givenRequestOf(CUSTOMER_ID_1);
+        when(joinPoint.proceed()).thenReturn("result");
+        underTest.limitCustomerRate(joinPoint);
+        underTest.limitCustomerRate(joinPoint);
+
+        // When-Then
+        RateLimitExceededException exception = assertThrows(RateLimitExceededException.class,
+                () -> underTest.limitCustomerRate(joinPoint));
+        assertThat(exception.getRetryAfter()).isPositive().isLessThanOrEqualTo(Duration.ofSeconds(1));
+        assertThat(meterRegistry.get(CustomerRateLimitAspect.REJECTED_METRIC)
+                .tag(CustomerRateLimitAspect.CUSTOMER_ID_TAG, CUSTOMER_ID_1.toString()).counter().count())
+                .isEqualTo(1);
+        verify(joinPoint, times(2)).proceed();
+
+        // And
+        givenRequestOf(CUSTOMER_ID_2);
+        assertThat(underTest.limitCustomerRate(joinPoint)).isEqualTo("result");
+    }
+
+    @Test
+    void limitCustomerRate_chargesTransfersToTheSourceCustomer() throws Throwable {
+        // Given
+        when(joinPoint.proceed()).thenReturn("result");
+        givenRequestOf(CUSTOMER_ID_1);
+        underTest.limitCustomerRate(joinPoint);
+        when(joinPoint.getArgs()).thenReturn(new Object[]{new TransferRequest(UUID.randomUUID(), CUSTOMER_ID_1,
+                CUSTOMER_ID_2, TRANSACTION_AMOUNT)});
+        underTest.limitCustomerRate(joinPoint);
+
+        // When-Then
+        assertThrows(RateLimitExceededException.class, () -> underTest.limitCustomerRate(joinPoint));
+        givenRequestOf(CUSTOMER_ID_2);
+        assertThat(underTest.limitCustomerRate(joinPoint)).isEqualTo("result");
+        verify(joinPoint, times(3)).proceed();
+    }
+
+    private void givenRequestOf(UUID customerId) {
+        when(joinPoint.getArgs()).thenReturn(new Object[]{createTransactionRequest(UUID.randomUUID(), customerId,
+                TRANSACTION_AMOUNT, Operation.ADD)});
+    }
+}
@@ -0,0 +1,86 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CustomerRateLimiterTest {
+
+    // 10 permits per second, one every 100 ms
+    private static final long INTERVAL_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    // Starts close to the overflow, as System.nanoTime may
+    private final AtomicLong nanoTime = new AtomicLong(Long.MAX_VALUE - INTERVAL_NANOS);
+
+    private CustomerRateLimiter underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new CustomerRateLimiter(10, 3, nanoTime::get);
+    }
+
+    @Test
+    void tryAcquire_allowsBurst_thenReturnsTimeToNextPermit() {
+        // When-Then
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_1)).isZero();
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_1)).isZero();
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_1)).isZero();
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_1)).isEqualTo(INTERVAL_NANOS);
+        nanoTime.addAndGet(INTERVAL_NANOS / 4);
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_1)).isEqualTo(INTERVAL_NANOS * 3 / 4);
+    }
+
+    @Test
+    void tryAcquire_refillsAtTheRate() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            underTest.tryAcquire(CUSTOMER_ID_1);
+        }
+
+        // When-Then
+        nanoTime.addAndGet(INTERVAL_NANOS);
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_1)).isZero();
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_1)).isPositive();
+        nanoTime.addAndGet(INTERVAL_NANOS * 10);
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_1)).isZero();
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_1)).isZero();
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_1)).isZero();
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_1)).isPositive();
+    }
+
+    @Test
+    void tryAcquire_keepsOneBucketPerCustomer() {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            underTest.tryAcquire(CUSTOMER_ID_1);
+        }
+
+        // When-Then
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_1)).isPositive();
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_2)).isZero();
+        assertThat(underTest.size()).isEqualTo(2);
+    }
+
+    @Test
+    void evictIdleBuckets_removesOnlyFullBuckets() {
+        // Given
+        underTest.tryAcquire(CUSTOMER_ID_1);
+        nanoTime.addAndGet(INTERVAL_NANOS);
+        underTest.tryAcquire(CUSTOMER_ID_2);
+
+        // When
+        underTest.evictIdleBuckets();
+
+        // Then
+        assertThat(underTest.size()).isEqualTo(1);
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_2)).isZero();
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_2)).isZero();
+        assertThat(underTest.tryAcquire(CUSTOMER_ID_2)).isPositive();
+    }
+}
@@ -0,0 +1,74 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SlidingWindowTest {
+
+    private static final long SLOT_MILLIS = 1_000;
+    private static final long NOW = 1_700_000_000_000L;
+
+    // A 4 second window in slots of a second
+    private final SlidingWindow underTest = new SlidingWindow(Duration.ofSeconds(4), 4);
+
+    @Test
+    void amountAndCount_sumTheSlotsWithinTheWindow() {
+        // Given
+        underTest.add(NOW, 100);
+        underTest.add(NOW + SLOT_MILLIS, 200);
+        underTest.add(NOW + SLOT_MILLIS, 300);
+
+        // When-Then
+        assertThat(underTest.amount(NOW + SLOT_MILLIS)).isEqualTo(600);
+        assertThat(underTest.count(NOW + SLOT_MILLIS)).isEqualTo(3);
+        assertThat(underTest.amount(NOW + 4 * SLOT_MILLIS)).isEqualTo(500);
+        assertThat(underTest.count(NOW + 4 * SLOT_MILLIS)).isEqualTo(2);
+        assertThat(underTest.amount(NOW + 5 * SLOT_MILLIS)).isZero();
+        assertThat(underTest.count(NOW + 5 * SLOT_MILLIS)).isZero();
+    }
+
+    @Test
+    void add_reusesTheSlot_onceTheWindowMovedPastIt() {
+        // Given
+        underTest.add(NOW, 100);
+
+        // When
+        underTest.add(NOW + 4 * SLOT_MILLIS, 50);
+
+        // Then
+        assertThat(underTest.amount(NOW + 4 * SLOT_MILLIS)).isEqualTo(50);
+        assertThat(underTest.count(NOW + 4 * SLOT_MILLIS)).isEqualTo(1);
+    }
+
+    @Test
+    void add_ignoresWithdrawal_ifOlderThanTheSlotHolds() {
+        // Given
+        underTest.add(NOW + 4 * SLOT_MILLIS, 50);
+
+        // When
+        underTest.add(NOW, 100);
+
+        // Then
+        assertThat(underTest.amount(NOW + 4 * SLOT_MILLIS)).isEqualTo(50);
+        assertThat(underTest.count(NOW + 4 * SLOT_MILLIS)).isEqualTo(1);
+    }
+
+    @Test
+    void remove_takesBackWithdrawal_ifStillInItsSlot() {
+        // Given
+        underTest.add(NOW, 100);
+        underTest.add(NOW, 200);
+        underTest.add(NOW + 4 * SLOT_MILLIS, 50);
+
+        // When
+        underTest.remove(NOW + 4 * SLOT_MILLIS, 50);
+        underTest.remove(NOW, 100);
+
+        // Then
+        assertThat(underTest.amount(NOW + 4 * SLOT_MILLIS)).isZero();
+        assertThat(underTest.count(NOW + 4 * SLOT_MILLIS)).isZero();
+    }
+}
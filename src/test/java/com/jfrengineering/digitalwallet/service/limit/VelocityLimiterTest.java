@@ -0,0 +1,254 @@
+package com.jfrengineering.digitalwallet.service.limit;
+
+import com.jfrengineering.digitalwallet.configuration.VelocityLimitProperties;
+import com.jfrengineering.digitalwallet.configuration.VelocityLimitProperties.Tier;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.repository.TransactionRepository;
+import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VelocityLimiterTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final long HOUR_MILLIS = Duration.ofHours(1).toMillis();
+
+    @Mock
+    private TransactionRepository transactionRepository;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    private VelocityLimitProperties velocityLimitProperties;
+
+    private VelocityLimiter underTest;
+
+    @BeforeEach
+    void setUp() {
+        Tier standard = new Tier();
+        standard.setHourlyAmount(new BigDecimal("100.00"));
+        standard.setHourlyCount(3);
+        standard.setDailyAmount(new BigDecimal("1500.00"));
+        standard.setDailyCount(4);
+        velocityLimitProperties = new VelocityLimitProperties();
+        velocityLimitProperties.setEnabled(true);
+        velocityLimitProperties.setLoadBatchSize(2);
+        velocityLimitProperties.setTiers(Map.of("standard", standard, "premium", new Tier()));
+        underTest = new VelocityLimiter(velocityLimitProperties, transactionRepository, new CustomerShardRouter(1),
+                clock::get);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void checkWithdrawal_rejects_onceTheHourlyCountIsReached() {
+        // Given
+        recordWithdrawals(CUSTOMER_ID_1, "10.00", 3);
+
+        // When-Then
+        UnacceptedTransactionAmountException exception = assertThrows(UnacceptedTransactionAmountException.class,
+                () -> underTest.checkWithdrawal(CUSTOMER_ID_1, new BigDecimal("10.00")));
+        assertThat(exception.getMessage()).isEqualTo("Hourly withdrawal limit of 3 transactions reached");
+        assertDoesNotThrow(() -> underTest.checkWithdrawal(CUSTOMER_ID_2, new BigDecimal("10.00")));
+    }
+
+    @Test
+    void checkWithdrawal_rejects_ifOverTheHourlyAmount() {
+        // Given
+        recordWithdrawals(CUSTOMER_ID_1, "60.00", 1);
+
+        // When-Then
+        assertDoesNotThrow(() -> underTest.checkWithdrawal(CUSTOMER_ID_1, new BigDecimal("40.00")));
+        UnacceptedTransactionAmountException exception = assertThrows(UnacceptedTransactionAmountException.class,
+                () -> underTest.checkWithdrawal(CUSTOMER_ID_1, new BigDecimal("40.01")));
+        assertThat(exception.getMessage()).isEqualTo("Hourly withdrawal limit of £100.00 exceeded");
+    }
+
+    @Test
+    void checkWithdrawal_rejects_onceTheDailyCountIsReached() {
+        // Given
+        recordWithdrawals(CUSTOMER_ID_1, "10.00", 3);
+        clock.addAndGet(HOUR_MILLIS);
+        recordWithdrawals(CUSTOMER_ID_1, "10.00", 1);
+
+        // When-Then
+        UnacceptedTransactionAmountException exception = assertThrows(UnacceptedTransactionAmountException.class,
+                () -> underTest.checkWithdrawal(CUSTOMER_ID_1, new BigDecimal("10.00")));
+        assertThat(exception.getMessage()).isEqualTo("Daily withdrawal limit of 4 transactions reached");
+        clock.addAndGet(Duration.ofDays(1).toMillis() - HOUR_MILLIS);
+        assertDoesNotThrow(() -> underTest.checkWithdrawal(CUSTOMER_ID_1, new BigDecimal("10.00")));
+    }
+
+    @Test
+    void checkWithdrawal_rejects_ifOverTheDailyAmount() {
+        // Given
+        velocityLimitProperties.getTiers().get("standard").setDailyAmount(new BigDecimal("1250.50"));
+        recordWithdrawals(CUSTOMER_ID_1, "1200.00", 1);
+        clock.addAndGet(HOUR_MILLIS);
+
+        // When-Then
+        UnacceptedTransactionAmountException exception = assertThrows(UnacceptedTransactionAmountException.class,
+                () -> underTest.checkWithdrawal(CUSTOMER_ID_1, new BigDecimal("60.00")));
+        assertThat(exception.getMessage()).isEqualTo("Daily withdrawal limit of £1,250.50 exceeded");
+    }
+
+    @Test
+    void checkWithdrawal_appliesTheLimitsOfTheCustomerTier() {
+        // Given
+        velocityLimitProperties.setCustomerTiers(Map.of(CUSTOMER_ID_1, "premium", CUSTOMER_ID_2, "unknown"));
+        recordWithdrawals(CUSTOMER_ID_1, "10.00", 3);
+        recordWithdrawals(CUSTOMER_ID_2, "100.00", 10);
+
+        // When-Then
+        assertDoesNotThrow(() -> underTest.checkWithdrawal(CUSTOMER_ID_1, new BigDecimal("10.00")));
+        assertDoesNotThrow(() -> underTest.checkWithdrawal(CUSTOMER_ID_2, new BigDecimal("10.00")));
+    }
+
+    @Test
+    void checkWithdrawalAndRecordWithdrawal_doNothing_ifDisabled() {
+        // Given
+        velocityLimitProperties.setEnabled(false);
+
+        // When
+        recordWithdrawals(CUSTOMER_ID_1, "100.00", 5);
+        underTest.loadRecentWithdrawals();
+
+        // Then
+        assertDoesNotThrow(() -> underTest.checkWithdrawal(CUSTOMER_ID_1, new BigDecimal("100.00")));
+        assertThat(underTest.size()).isZero();
+        verifyNoInteractions(transactionRepository);
+    }
+
+    @Test
+    void recordWithdrawal_ignoresCredits() {
+        // When
+        underTest.recordWithdrawal(createTransaction(UUID.randomUUID(), CUSTOMER_ID_1, new BigDecimal("100.00"),
+                Operation.ADD));
+
+        // Then
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    void recordWithdrawal_takesBackTheWithdrawal_ifTheTransactionRollsBack() {
+        // Given
+        TransactionSynchronizationManager.initSynchronization();
+        recordWithdrawals(CUSTOMER_ID_1, "60.00", 1);
+        recordWithdrawals(CUSTOMER_ID_1, "30.00", 1);
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+
+        // When
+        synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+
+        // Then
+        assertDoesNotThrow(() -> underTest.checkWithdrawal(CUSTOMER_ID_1, new BigDecimal("70.00")));
+        assertThrows(UnacceptedTransactionAmountException.class,
+                () -> underTest.checkWithdrawal(CUSTOMER_ID_1, new BigDecimal("70.01")));
+    }
+
+    @Test
+    void loadRecentWithdrawals_loadsPagesAfterTheLastWithdrawal() {
+        // Given
+        Transaction first = withdrawal(NOW - 2 * HOUR_MILLIS);
+        Transaction second = withdrawal(NOW - HOUR_MILLIS / 2);
+        Transaction third = withdrawal(NOW - HOUR_MILLIS / 4);
+        Timestamp until = new Timestamp(NOW);
+        when(transactionRepository.findCreatedBetween(Operation.WITHDRAW, until,
+                new Timestamp(NOW - Duration.ofDays(1).toMillis()), new UUID(0, 0), PageRequest.of(0, 2)))
+                .thenReturn(List.of(first, second));
+        when(transactionRepository.findCreatedBetween(Operation.WITHDRAW, until, second.getCreatedAt(),
+                second.getCorrelationId(), PageRequest.of(0, 2))).thenReturn(List.of(third));
+
+        // When
+        underTest.loadRecentWithdrawals();
+
+        // Then
+        assertThat(underTest.size()).isEqualTo(1);
+        assertDoesNotThrow(() -> underTest.checkWithdrawal(CUSTOMER_ID_1, new BigDecimal("10.00")));
+        recordWithdrawals(CUSTOMER_ID_1, "10.00", 1);
+        assertThrows(UnacceptedTransactionAmountException.class,
+                () -> underTest.checkWithdrawal(CUSTOMER_ID_1, new BigDecimal("10.00")));
+    }
+
+    @Test
+    void loadRecentWithdrawals_loadsNothing_ifNoRecentWithdrawals() {
+        // When
+        underTest.loadRecentWithdrawals();
+
+        // Then
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    void evictIdleCustomers_dropsCustomersWithoutWithdrawalsInTheLastDay() {
+        // Given
+        recordWithdrawals(CUSTOMER_ID_1, "10.00", 1);
+        clock.addAndGet(Duration.ofDays(1).toMillis() - HOUR_MILLIS);
+        recordWithdrawals(CUSTOMER_ID_2, "10.00", 1);
+        underTest.evictIdleCustomers();
+        assertThat(underTest.size()).isEqualTo(2);
+        clock.addAndGet(HOUR_MILLIS);
+
+        // When
+        underTest.evictIdleCustomers();
+
+        // Then
+        assertThat(underTest.size()).isEqualTo(1);
+    }
+
+    @Test
+    void velocityLimiter_canBeCreatedWithTheSystemClock() {
+        // When
+        VelocityLimiter velocityLimiter = new VelocityLimiter(velocityLimitProperties, transactionRepository,
+                new CustomerShardRouter(1));
+
+        // Then
+        assertThat(velocityLimiter.size()).isZero();
+    }
+
+    private void recordWithdrawals(UUID customerId, String amount, int count) {
+        for (int i = 0; i < count; i++) {
+            underTest.recordWithdrawal(createTransaction(UUID.randomUUID(), customerId, new BigDecimal(amount),
+                    Operation.WITHDRAW));
+        }
+    }
+
+    private static Transaction withdrawal(long createdAt) {
+        Transaction transaction = createTransaction(UUID.randomUUID(), CUSTOMER_ID_1, new BigDecimal("10.00"),
+                Operation.WITHDRAW);
+        transaction.setCreatedAt(new Timestamp(createdAt));
+        return transaction;
+    }
+}
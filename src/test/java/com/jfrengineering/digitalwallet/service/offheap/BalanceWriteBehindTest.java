@@ -0,0 +1,118 @@
+package com.jfrengineering.digitalwallet.service.offheap;
+
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.datasource.ShardContext;
+import com.jfrengineering.digitalwallet.datasource.ShardRoutingDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BalanceWriteBehindTest {
+
+    // Customers of shard 0 and 1 out of 2 shards
+    private static final UUID SHARD_0_CUSTOMER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID SHARD_1_CUSTOMER_ID = UUID.fromString("55555555-5555-5555-5555-555555555555");
+    private static final long UPDATED_AT = 1_704_103_200_000L;
+
+    @TempDir
+    private Path directory;
+
+    private OffHeapBalanceTable table;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private BalanceWriteBehind underTest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        String databasePrefix = "writebehind" + UUID.randomUUID();
+        List<DataSource> shardDataSources = IntStream.range(0, 2)
+                .<DataSource>mapToObj(shard -> new DriverManagerDataSource(
+                        "jdbc:h2:mem:" + databasePrefix + shard + ";DB_CLOSE_DELAY=-1"))
+                .toList();
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource(shardDataSources);
+        dataSource.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        table = OffHeapBalanceTable.open(directory.resolve("balances.table"), 16);
+        underTest = new BalanceWriteBehind(table, jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), new CustomerShardRouter(2), 1);
+    }
+
+    @AfterEach
+    void tearDown() {
+        table.close();
+    }
+
+    @Test
+    void flush_writesTheUpdatedBalancesToTheShardOfTheirCustomer() {
+        // Given
+        createTable(0);
+        createTable(1);
+        table.write(table.insert(SHARD_0_CUSTOMER_ID, 100, 0, 0), 12_345, 45, UPDATED_AT);
+        table.write(table.insert(SHARD_1_CUSTOMER_ID, 100, 0, 0), -1, 0, UPDATED_AT);
+
+        // When
+        underTest.flush();
+
+        // Then
+        assertThat(balance(0, SHARD_0_CUSTOMER_ID))
+                .containsExactly(new BigDecimal("123.45"), new BigDecimal("0.45"), new Timestamp(UPDATED_AT));
+        assertThat(balance(1, SHARD_1_CUSTOMER_ID))
+                .containsExactly(new BigDecimal("-0.01"), new BigDecimal("0.00"), new Timestamp(UPDATED_AT));
+        assertThat(table.takeDirty()).isEmpty();
+    }
+
+    @Test
+    void flush_keepsTheBalancesDirty_ifTheyCannotBeWritten() {
+        // Given
+        createTable(0);
+        int slot0 = table.insert(SHARD_0_CUSTOMER_ID, 100, 0, 0);
+        int slot1 = table.insert(SHARD_1_CUSTOMER_ID, 100, 0, 0);
+        table.write(slot0, 200, 0, UPDATED_AT);
+        table.write(slot1, 300, 0, UPDATED_AT);
+
+        // When
+        underTest.flush();
+
+        // Then
+        assertThat(balance(0, SHARD_0_CUSTOMER_ID)).first().isEqualTo(new BigDecimal("2.00"));
+        assertThat(table.takeDirty()).extracting(OffHeapBalance::slot).containsExactly(slot1);
+        createTable(1);
+        table.markDirty(slot1);
+        underTest.flush();
+        assertThat(balance(1, SHARD_1_CUSTOMER_ID)).first().isEqualTo(new BigDecimal("3.00"));
+    }
+
+    private void createTable(int shard) {
+        ShardContext.runOn(shard, () -> {
+            jdbcTemplate.execute("CREATE TABLE balances (customer_id VARCHAR PRIMARY KEY, "
+                    + "balance_amount DECIMAL(38, 2), held_amount DECIMAL(38, 2), updated_at TIMESTAMP)");
+            jdbcTemplate.update("INSERT INTO balances VALUES (?, 1.00, 0, NULL)",
+                    shard == 0 ? SHARD_0_CUSTOMER_ID.toString() : SHARD_1_CUSTOMER_ID.toString());
+        });
+    }
+
+    private List<Object> balance(int shard, UUID customerId) {
+        Map<String, Object> row = ShardContext.callOn(shard, () -> jdbcTemplate.queryForMap(
+                "SELECT balance_amount, held_amount, updated_at FROM balances WHERE customer_id = ?",
+                customerId.toString()));
+        return List.of(row.get("BALANCE_AMOUNT"), row.get("HELD_AMOUNT"), row.get("UPDATED_AT"));
+    }
+}
@@ -0,0 +1,281 @@
+package com.jfrengineering.digitalwallet.service.offheap;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.repository.BalanceRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OffHeapBalanceStoreTest {
+
+    private static final LocalDateTime UPDATED_AT = LocalDateTime.of(2024, 1, 1, 10, 0);
+    private static final long NOW = 1_704_103_200_000L;
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private BalanceRepository balanceRepository;
+
+    @Mock
+    private BalanceWriteBehind balanceWriteBehind;
+
+    private OffHeapBalanceTable table;
+
+    private TransactionTemplate transactionTemplate;
+
+    private OffHeapBalanceStore underTest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        table = OffHeapBalanceTable.open(directory.resolve("balances.table"), 16);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(new DriverManagerDataSource(
+                "jdbc:h2:mem:offheap" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1")));
+        underTest = new OffHeapBalanceStore(table, balanceRepository, balanceWriteBehind, 4, Duration.ofMillis(100), () -> NOW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        table.close();
+    }
+
+    @Test
+    void findById_loadsTheBalanceFromTheRepositoryOnce() {
+        // Given
+        Balance balance = createBalance(CUSTOMER_ID_1, new BigDecimal("4076.76"), UPDATED_AT, UPDATED_AT);
+        balance.setHeldAmount(new BigDecimal("76.76"));
+        when(balanceRepository.findById(CUSTOMER_ID_1)).thenReturn(Optional.of(balance));
+
+        // When
+        Optional<Balance> actual = underTest.findById(CUSTOMER_ID_1);
+
+        // Then
+        assertThat(actual).get()
+                .extracting("customerId", "balanceAmount", "heldAmount", "updatedAt")
+                .containsExactly(CUSTOMER_ID_1, new BigDecimal("4076.76"), new BigDecimal("76.76"),
+                        Timestamp.valueOf(UPDATED_AT));
+        assertThat(underTest.findById(CUSTOMER_ID_1)).get().extracting("balanceAmount")
+                .isEqualTo(new BigDecimal("4076.76"));
+        verify(balanceRepository, times(1)).findById(CUSTOMER_ID_1);
+        assertThat(table.size()).isEqualTo(1);
+    }
+
+    @Test
+    void findById_returnsEmpty_ifTheCustomerHasNoBalance() {
+        // Given
+        when(balanceRepository.findById(CUSTOMER_ID_1)).thenReturn(Optional.empty());
+
+        // When-Then
+        assertThat(underTest.findById(CUSTOMER_ID_1)).isEmpty();
+        assertThat(table.size()).isZero();
+    }
+
+    @Test
+    void save_writesTheBalanceToTheTable_whenTheTransactionCommits() {
+        // Given
+        table.insert(CUSTOMER_ID_1, 10_000, 0, 0);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            Balance balance = underTest.findByIdForUpdate(CUSTOMER_ID_1).orElseThrow();
+            balance.setBalanceAmount(balance.getBalanceAmount().subtract(new BigDecimal("12.34")));
+            underTest.save(balance);
+            Balance sameBalance = underTest.findByIdForUpdate(CUSTOMER_ID_1).orElseThrow();
+            assertThat(sameBalance).isSameAs(balance);
+            sameBalance.setHeldAmount(new BigDecimal("10.00"));
+            underTest.save(sameBalance);
+            assertThat(table.read(table.find(CUSTOMER_ID_1)).balanceAmount()).isEqualTo(10_000);
+        });
+
+        // Then
+        OffHeapBalance actual = table.read(table.find(CUSTOMER_ID_1));
+        assertThat(actual.balanceAmount()).isEqualTo(8_766);
+        assertThat(actual.heldAmount()).isEqualTo(1_000);
+        assertThat(actual.updatedAt()).isEqualTo(NOW);
+        assertThat(table.takeDirty()).containsExactly(actual);
+    }
+
+    @Test
+    void save_leavesTheTableUntouched_ifTheTransactionRollsBack() {
+        // Given
+        table.insert(CUSTOMER_ID_1, 10_000, 0, 0);
+
+        // When
+        transactionTemplate.executeWithoutResult(status -> {
+            Balance balance = underTest.findByIdForUpdate(CUSTOMER_ID_1).orElseThrow();
+            balance.setBalanceAmount(BigDecimal.ZERO);
+            underTest.save(balance);
+            status.setRollbackOnly();
+        });
+
+        // Then
+        assertThat(table.read(table.find(CUSTOMER_ID_1)).balanceAmount()).isEqualTo(10_000);
+        assertThat(table.takeDirty()).isEmpty();
+        assertThat(lockedInAnotherThread(CUSTOMER_ID_1)).isNotNull();
+    }
+
+    @Test
+    void findByIdForUpdate_returnsEmpty_ifTheCustomerHasNoBalance() {
+        // Given
+        when(balanceRepository.findById(CUSTOMER_ID_1)).thenReturn(Optional.empty());
+
+        // When-Then
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(underTest.findByIdForUpdate(CUSTOMER_ID_1)).isEmpty());
+    }
+
+    @Test
+    void findByIdForUpdate_throwsCannotAcquireLockException_ifLockedByAnotherTransaction() throws Exception {
+        // Given
+        table.insert(CUSTOMER_ID_1, 10_000, 0, 0);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(1);
+        CompletableFuture<Void> otherTransaction = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    underTest.findByIdForUpdate(CUSTOMER_ID_1);
+                    locked.countDown();
+                    await(done);
+                }));
+        locked.await(5, TimeUnit.SECONDS);
+
+        // When-Then
+        CannotAcquireLockException exception = assertThrows(CannotAcquireLockException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> underTest.findByIdForUpdate(CUSTOMER_ID_1)));
+        assertThat(exception.getMessage())
+                .isEqualTo("Balance of customer '" + CUSTOMER_ID_1 + "' could not be locked");
+        done.countDown();
+        otherTransaction.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void findByIdForUpdate_throwsCannotAcquireLockException_ifInterrupted() {
+        // Given
+        table.insert(CUSTOMER_ID_2, 10_000, 0, 0);
+        Thread.currentThread().interrupt();
+
+        // When-Then
+        CannotAcquireLockException exception = assertThrows(CannotAcquireLockException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> underTest.findByIdForUpdate(CUSTOMER_ID_2)));
+        assertThat(exception.getMessage())
+                .isEqualTo("Interrupted while locking the balance of customer '" + CUSTOMER_ID_2 + "'");
+        assertThat(Thread.interrupted()).isTrue();
+    }
+
+    @Test
+    void findByIdForUpdate_throwsIllegalStateException_outsideATransaction() {
+        // When-Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> underTest.findByIdForUpdate(CUSTOMER_ID_1));
+        assertThat(exception.getMessage()).isEqualTo("Balances can only be locked within a database transaction");
+    }
+
+    @Test
+    void save_throwsIllegalStateException_ifTheBalanceIsNotLocked() {
+        // Given
+        Balance balance = createBalance(CUSTOMER_ID_1, BigDecimal.TEN);
+
+        // When-Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> transactionTemplate.executeWithoutResult(status -> underTest.save(balance)));
+        assertThat(exception.getMessage())
+                .isEqualTo("Balance of customer '" + CUSTOMER_ID_1 + "' is not locked by the transaction");
+    }
+
+    @Test
+    void findAllByIdForUpdate_locksTheStripesInAscendingOrder_ratherThanInCustomerIdOrder() {
+        // Given
+        UUID stripe2CustomerId = new UUID(0, 2);
+        UUID stripe0CustomerId = new UUID(1, 1);
+        when(balanceRepository.findById(any())).thenAnswer(invocation ->
+                Optional.of(createBalance(invocation.getArgument(0), BigDecimal.TEN)));
+
+        // When
+        Map<UUID, Balance> actual = transactionTemplate.execute(status -> underTest.findAllByIdForUpdate(
+                List.of(stripe2CustomerId, stripe0CustomerId, stripe2CustomerId)));
+
+        // Then
+        assertThat(actual).containsOnlyKeys(stripe2CustomerId, stripe0CustomerId);
+        InOrder inOrder = inOrder(balanceRepository);
+        inOrder.verify(balanceRepository).findById(stripe0CustomerId);
+        inOrder.verify(balanceRepository).findById(stripe2CustomerId);
+    }
+
+    @Test
+    void flush_flushesTheWriteBehind() {
+        // When
+        underTest.flush();
+
+        // Then
+        verify(balanceWriteBehind).flush();
+    }
+
+    @Test
+    void toMinorUnits_roundsToCents() {
+        // When-Then
+        assertThat(OffHeapBalanceStore.toMinorUnits(new BigDecimal("12.345"))).isEqualTo(1_235);
+        assertThat(OffHeapBalanceStore.toMinorUnits(new BigDecimal("-1"))).isEqualTo(-100);
+    }
+
+    @Test
+    void constructor_usesTheSystemClock() {
+        // Given
+        table.insert(CUSTOMER_ID_1, 10_000, 0, 0);
+        OffHeapBalanceStore store = new OffHeapBalanceStore(table, balanceRepository, balanceWriteBehind, 1, Duration.ofSeconds(1));
+        long before = System.currentTimeMillis();
+
+        // When
+        transactionTemplate.executeWithoutResult(status ->
+                store.save(store.findByIdForUpdate(CUSTOMER_ID_1).orElseThrow()));
+
+        // Then
+        assertThat(table.read(table.find(CUSTOMER_ID_1)).updatedAt()).isGreaterThanOrEqualTo(before);
+    }
+
+    private Balance lockedInAnotherThread(UUID customerId) {
+        return CompletableFuture.supplyAsync(() -> transactionTemplate.execute(status ->
+                underTest.findByIdForUpdate(customerId).orElseThrow())).join();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.jfrengineering.digitalwallet.service.offheap;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OffHeapBalanceTableTest {
+
+    private static final int CAPACITY = 16;
+
+    @TempDir
+    private Path directory;
+
+    private Path file;
+
+    private OffHeapBalanceTable underTest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        file = directory.resolve("table").resolve("balances.table");
+        underTest = OffHeapBalanceTable.open(file, CAPACITY);
+    }
+
+    @Test
+    void insert_addsTheBalance_unlessTheCustomerIsAlreadyInTheTable() {
+        // When
+        int slot = underTest.insert(CUSTOMER_ID_1, 12_345, 100, 1_000);
+        int sameSlot = underTest.insert(CUSTOMER_ID_1, 0, 0, 0);
+
+        // Then
+        assertThat(sameSlot).isEqualTo(slot);
+        assertThat(underTest.find(CUSTOMER_ID_1)).isEqualTo(slot);
+        assertThat(underTest.find(CUSTOMER_ID_2)).isEqualTo(-1);
+        assertThat(underTest.read(slot)).isEqualTo(new OffHeapBalance(slot, CUSTOMER_ID_1, 12_345, 100, 1_000, 0));
+        assertThat(underTest.size()).isEqualTo(1);
+        assertThat(underTest.takeDirty()).isEmpty();
+    }
+
+    @Test
+    void insert_probesTheNextSlots_ifTaken() {
+        // Given
+        List<UUID> customerIds = IntStream.range(0, 12).mapToObj(i -> UUID.randomUUID()).toList();
+
+        // When
+        List<Integer> slots = customerIds.stream().map(customerId -> underTest.insert(customerId, 1, 0, 0)).toList();
+
+        // Then
+        assertThat(slots).doesNotHaveDuplicates();
+        assertThat(customerIds).extracting(underTest::find).containsExactlyElementsOf(slots);
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> underTest.insert(UUID.randomUUID(), 1, 0, 0));
+        assertThat(exception.getMessage()).isEqualTo("Off-heap balance table is full: " + file);
+        assertThat(underTest.size()).isEqualTo(12);
+    }
+
+    @Test
+    void write_updatesTheBalance_andMarksItDirtyUntilPersisted() {
+        // Given
+        int slot = underTest.insert(CUSTOMER_ID_1, 12_345, 0, 1_000);
+
+        // When
+        underTest.write(slot, 10_000, 2_345, 2_000);
+
+        // Then
+        OffHeapBalance expected = new OffHeapBalance(slot, CUSTOMER_ID_1, 10_000, 2_345, 2_000, 2);
+        assertThat(underTest.read(slot)).isEqualTo(expected);
+        assertThat(underTest.takeDirty()).containsExactly(expected);
+        assertThat(underTest.takeDirty()).isEmpty();
+        underTest.markDirty(slot);
+        assertThat(underTest.takeDirty()).containsExactly(expected);
+    }
+
+    @Test
+    void open_emptiesTheTable_soItIsRebuiltFromTheBalancesTable() throws IOException {
+        // Given
+        int slot = underTest.insert(CUSTOMER_ID_1, 100, 0, 0);
+        underTest.write(slot, 150, 0, 1_000);
+        underTest.close();
+
+        // When
+        OffHeapBalanceTable actual = OffHeapBalanceTable.open(file, CAPACITY * 2);
+
+        // Then
+        assertThat(actual.size()).isZero();
+        assertThat(actual.find(CUSTOMER_ID_1)).isEqualTo(-1);
+        assertThat(actual.takeDirty()).isEmpty();
+        assertThat(Files.size(file))
+                .isEqualTo(OffHeapBalanceTable.HEADER_LENGTH + CAPACITY * 2 * OffHeapBalanceTable.SLOT_LENGTH);
+    }
+
+    @Test
+    void open_throwsIllegalArgumentException_ifCapacityIsNotAPowerOfTwoUpToTheMaximum() {
+        // When-Then
+        assertThrows(IllegalArgumentException.class, () -> OffHeapBalanceTable.open(file, 100));
+        assertThrows(IllegalArgumentException.class,
+                () -> OffHeapBalanceTable.open(file, OffHeapBalanceTable.MAX_CAPACITY * 2));
+    }
+
+    @Test
+    void find_waitsForASlotBeingClaimed() throws Exception {
+        // Given
+        int slot = underTest.insert(CUSTOMER_ID_1, 100, 0, 0);
+        writeLong(slot, 0, OffHeapBalanceTable.CLAIMED);
+
+        // When
+        CompletableFuture<Integer> actual = CompletableFuture.supplyAsync(() -> underTest.find(CUSTOMER_ID_1));
+
+        // Then
+        Thread.sleep(50);
+        assertThat(actual).isNotDone();
+        writeLong(slot, 0, OffHeapBalanceTable.USED);
+        assertThat(actual.get(5, TimeUnit.SECONDS)).isEqualTo(slot);
+    }
+
+    @Test
+    void read_waitsForASlotBeingWritten() throws Exception {
+        // Given
+        int slot = underTest.insert(CUSTOMER_ID_1, 100, 0, 0);
+        writeLong(slot, 24, 1);
+
+        // When
+        CompletableFuture<OffHeapBalance> actual = CompletableFuture.supplyAsync(() -> underTest.read(slot));
+
+        // Then
+        Thread.sleep(50);
+        assertThat(actual).isNotDone();
+        writeLong(slot, 24, 2);
+        assertThat(actual.get(5, TimeUnit.SECONDS).version()).isEqualTo(2);
+    }
+
+    @Test
+    void read_neverReturnsAHalfWrittenBalance_whileWrittenConcurrently() throws Exception {
+        // Given
+        int slot = underTest.insert(CUSTOMER_ID_1, 0, 0, 0);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        Future<?> writer = executor.submit(() -> IntStream.rangeClosed(1, 200_000)
+                .forEach(i -> underTest.write(slot, i, i, i)));
+        Future<Boolean> reader = executor.submit(() -> {
+            boolean consistent = true;
+            while (!writer.isDone()) {
+                OffHeapBalance balance = underTest.read(slot);
+                consistent &= balance.balanceAmount() == balance.heldAmount()
+                        && balance.heldAmount() == balance.updatedAt();
+            }
+            return consistent;
+        });
+
+        // Then
+        writer.get(30, TimeUnit.SECONDS);
+        assertThat(reader.get(30, TimeUnit.SECONDS)).isTrue();
+        assertThat(underTest.read(slot).version()).isEqualTo(400_000);
+        executor.shutdown();
+    }
+
+    private void writeLong(int slot, int offset, long value) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, value),
+                    OffHeapBalanceTable.HEADER_LENGTH + (long) slot * OffHeapBalanceTable.SLOT_LENGTH + offset);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.jfrengineering.digitalwallet.service.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.OutboxEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_B;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FileOutboxSinkTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void publish_appendsEventsAsJsonLines() throws IOException {
+        // Given
+        Path file = directory.resolve("outbox").resolve("transactions.jsonl");
+        FileOutboxSink underTest = new FileOutboxSink(file, objectMapper);
+        OutboxEvent event1 = createEvent(1L, CORRELATION_ID_A);
+        OutboxEvent event2 = createEvent(2L, CORRELATION_ID_B);
+
+        // When
+        int published1 = underTest.publish(List.of(event1));
+        int published2 = underTest.publish(List.of(event2));
+
+        // Then
+        assertThat(published1).isEqualTo(1);
+        assertThat(published2).isEqualTo(1);
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(2);
+        assertThat(objectMapper.readValue(lines.get(1), OutboxEvent.class))
+                .usingRecursiveComparison()
+                .isEqualTo(event2);
+    }
+
+    @Test
+    void publish_throwsOutboxException_ifFileCannotBeWritten() throws IOException {
+        // Given
+        Path file = Files.createDirectories(directory.resolve("transactions.jsonl"));
+        FileOutboxSink underTest = new FileOutboxSink(file, objectMapper);
+
+        // When-Then
+        OutboxException exception = assertThrows(OutboxException.class,
+                () -> underTest.publish(List.of(createEvent(1L, CORRELATION_ID_A))));
+        assertThat(exception.getMessage()).isEqualTo("Outbox events could not be written to " + file);
+    }
+
+    private static OutboxEvent createEvent(long id, UUID correlationId) {
+        return OutboxEvent.builder()
+                .id(id)
+                .correlationId(correlationId)
+                .customerId(CUSTOMER_ID_1)
+                .amount(new BigDecimal("10.00"))
+                .operation(Operation.WITHDRAW)
+                .balanceAfter(new BigDecimal("90.00"))
+                .build();
+    }
+}
@@ -0,0 +1,56 @@
+package com.jfrengineering.digitalwallet.service.outbox;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.OutboxEvent;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.repository.OutboxEventRepository;
+import com.jfrengineering.digitalwallet.service.TransactionCreatedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxEventWriterTest {
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Captor
+    private ArgumentCaptor<OutboxEvent> outboxEventCaptor;
+
+    @InjectMocks
+    private OutboxEventWriter underTest;
+
+    @Test
+    void onTransactionCreated_savesOutboxEventOfTheTransaction() {
+        // Given
+        Transaction transaction = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD,
+                LocalDateTime.of(2024, 1, 1, 10, 0));
+        transaction.setBalanceAfter(new BigDecimal("110.00"));
+
+        // When
+        underTest.onTransactionCreated(new TransactionCreatedEvent(transaction));
+
+        // Then
+        verify(outboxEventRepository).save(outboxEventCaptor.capture());
+        assertThat(outboxEventCaptor.getValue())
+                .extracting("id", "correlationId", "customerId", "amount", "operation", "balanceAfter", "createdAt")
+                .containsExactly(null, CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD,
+                        new BigDecimal("110.00"), Timestamp.valueOf(LocalDateTime.of(2024, 1, 1, 10, 0)));
+    }
+}
@@ -0,0 +1,201 @@
+package com.jfrengineering.digitalwallet.service.outbox;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.jfrengineering.digitalwallet.configuration.OutboxProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.OutboxEvent;
+import com.jfrengineering.digitalwallet.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class OutboxRelayTest {
+
+    private static final PageRequest FIRST_BATCH = PageRequest.of(0, 2);
+
+    @Mock
+    private OutboxEventRepository outboxEventRepository;
+
+    @Mock
+    private OutboxSink outboxSink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ScheduledExecutorService relayer;
+
+    private ListAppender<ILoggingEvent> logWatcher;
+
+    private OutboxRelay underTest;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties outboxProperties = new OutboxProperties();
+        outboxProperties.setBatchSize(2);
+        outboxProperties.setMaxBatchesPerPoll(3);
+        outboxProperties.setPollInterval(Duration.ofMillis(50));
+        underTest = new OutboxRelay(outboxProperties, outboxEventRepository, outboxSink,
+                new TransactionTemplate(transactionManager), new CustomerShardRouter(1), relayer);
+
+        logWatcher = new ListAppender<>();
+        logWatcher.start();
+        ((Logger) LoggerFactory.getLogger(OutboxRelay.class)).addAppender(logWatcher);
+    }
+
+    @Test
+    void start_pollsWithFixedDelay() {
+        // When
+        underTest.start();
+
+        // Then
+        verify(relayer).scheduleWithFixedDelay(any(), eq(50L), eq(50L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void close_stopsRelayer() {
+        // When
+        underTest.close();
+
+        // Then
+        verify(relayer).shutdownNow();
+    }
+
+    @Test
+    void constructor_createsRelayer() {
+        // Given
+        OutboxRelay outboxRelay = new OutboxRelay(new OutboxProperties(), outboxEventRepository, outboxSink,
+                new TransactionTemplate(transactionManager), new CustomerShardRouter(1));
+
+        // When-Then
+        outboxRelay.start();
+        outboxRelay.close();
+    }
+
+    @Test
+    void relay_doesNothing_ifOutboxIsEmpty() {
+        // Given
+        when(outboxEventRepository.findAllByOrderByIdAsc(FIRST_BATCH)).thenReturn(List.of());
+
+        // When
+        underTest.relay();
+
+        // Then
+        verifyNoInteractions(outboxSink);
+        verify(outboxEventRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void relay_publishesAndDeletesBatches_untilOutboxIsDrained() {
+        // Given
+        List<OutboxEvent> firstBatch = events(1, 2);
+        List<OutboxEvent> lastBatch = events(3);
+        when(outboxEventRepository.findAllByOrderByIdAsc(FIRST_BATCH)).thenReturn(firstBatch, lastBatch);
+        when(outboxSink.publish(firstBatch)).thenReturn(2);
+        when(outboxSink.publish(lastBatch)).thenReturn(1);
+
+        // When
+        underTest.relay();
+
+        // Then
+        InOrder inOrder = inOrder(outboxSink, outboxEventRepository);
+        inOrder.verify(outboxSink).publish(firstBatch);
+        inOrder.verify(outboxEventRepository).deleteByIdIn(List.of(1L, 2L));
+        inOrder.verify(outboxSink).publish(lastBatch);
+        inOrder.verify(outboxEventRepository).deleteByIdIn(List.of(3L));
+        verify(outboxEventRepository, times(2)).findAllByOrderByIdAsc(FIRST_BATCH);
+    }
+
+    @Test
+    void relay_deletesOnlyPublishedEvents_andStops_ifSinkIsFull() {
+        // Given
+        List<OutboxEvent> batch = events(1, 2);
+        when(outboxEventRepository.findAllByOrderByIdAsc(FIRST_BATCH)).thenReturn(batch);
+        when(outboxSink.publish(batch)).thenReturn(1, 0);
+
+        // When
+        underTest.relay();
+        underTest.relay();
+
+        // Then
+        verify(outboxEventRepository).deleteByIdIn(List.of(1L));
+        verify(outboxEventRepository, times(2)).findAllByOrderByIdAsc(FIRST_BATCH);
+    }
+
+    @Test
+    void relay_stopsAfterMaxBatchesPerPoll() {
+        // Given
+        List<OutboxEvent> batch = events(1, 2);
+        when(outboxEventRepository.findAllByOrderByIdAsc(FIRST_BATCH)).thenReturn(batch);
+        when(outboxSink.publish(batch)).thenReturn(2);
+
+        // When
+        underTest.relay();
+
+        // Then
+        verify(outboxSink, times(3)).publish(batch);
+        verify(outboxEventRepository, times(3)).deleteByIdIn(List.of(1L, 2L));
+    }
+
+    @Test
+    void relay_keepsEvents_ifSinkFails() {
+        // Given
+        List<OutboxEvent> batch = events(1);
+        when(outboxEventRepository.findAllByOrderByIdAsc(FIRST_BATCH)).thenReturn(batch);
+        when(outboxSink.publish(batch)).thenThrow(new OutboxException("Broker not available", null));
+
+        // When-Then
+        OutboxException exception = assertThrows(OutboxException.class, () -> underTest.relay());
+        assertThat(exception.getMessage()).isEqualTo("Broker not available");
+        verify(outboxEventRepository, never()).deleteByIdIn(any());
+    }
+
+    @Test
+    void poll_logsError_insteadOfThrowing() {
+        // Given
+        List<OutboxEvent> batch = events(1);
+        when(outboxEventRepository.findAllByOrderByIdAsc(FIRST_BATCH)).thenReturn(batch);
+        when(outboxSink.publish(batch)).thenThrow(new OutboxException("Broker not available", null));
+
+        // When
+        underTest.poll();
+
+        // Then
+        assertThat(logWatcher.list).singleElement()
+                .extracting("level", "formattedMessage")
+                .containsExactly(Level.ERROR, "Outbox relay failed, retrying on the next poll");
+        verify(outboxEventRepository, never()).deleteByIdIn(any());
+    }
+
+    private static List<OutboxEvent> events(long... ids) {
+        return LongStream.of(ids).mapToObj(id -> OutboxEvent.builder().id(id).build()).toList();
+    }
+}
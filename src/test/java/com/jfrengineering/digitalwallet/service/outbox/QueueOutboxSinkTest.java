@@ -0,0 +1,27 @@
+package com.jfrengineering.digitalwallet.service.outbox;
+
+import com.jfrengineering.digitalwallet.domain.OutboxEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class QueueOutboxSinkTest {
+
+    private final QueueOutboxSink underTest = new QueueOutboxSink(3);
+
+    @Test
+    void publish_offersEventsUntilQueueIsFull() {
+        // Given
+        OutboxEvent event1 = OutboxEvent.builder().id(1L).build();
+        OutboxEvent event2 = OutboxEvent.builder().id(2L).build();
+        OutboxEvent event3 = OutboxEvent.builder().id(3L).build();
+
+        // When-Then
+        assertThat(underTest.publish(List.of(event1, event2))).isEqualTo(2);
+        assertThat(underTest.publish(List.of(event3, event1))).isEqualTo(1);
+        assertThat(underTest.publish(List.of(event1))).isZero();
+        assertThat(underTest.getQueue()).containsExactly(event1, event2, event3);
+    }
+}
@@ -0,0 +1,172 @@
+package com.jfrengineering.digitalwallet.service.reconciliation;
+
+import com.jfrengineering.digitalwallet.domain.ReconciliationDiscrepancy;
+import com.jfrengineering.digitalwallet.repository.ReconciliationDiscrepancyRepository;
+import com.jfrengineering.digitalwallet.service.BalanceStore;
+import com.jfrengineering.digitalwallet.service.archive.TransactionArchive;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerRangeCheckerTest {
+
+    private static final UUID RUN_ID = UUID.randomUUID();
+    private static final UUID CUSTOMER_ID_A = UUID.fromString("aaaaaaaa-0000-0000-0000-000000000000");
+    private static final UUID CUSTOMER_ID_B = UUID.fromString("bbbbbbbb-0000-0000-0000-000000000000");
+    private static final UUID CUSTOMER_ID_C = UUID.fromString("cccccccc-0000-0000-0000-000000000000");
+    private static final UUID CUSTOMER_ID_D = UUID.fromString("dddddddd-0000-0000-0000-000000000000");
+    private static final UUID CUSTOMER_ID_E = UUID.fromString("eeeeeeee-0000-0000-0000-000000000000");
+
+    @Mock
+    private TransactionArchive transactionArchive;
+
+    @Mock
+    private ReconciliationDiscrepancyRepository reconciliationDiscrepancyRepository;
+
+    @Mock
+    private BalanceStore balanceStore;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private LedgerRangeChecker underTest;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:reconciliation" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE balances (customer_id VARCHAR PRIMARY KEY, balance_amount DECIMAL(38, 2))");
+        jdbcTemplate.execute("CREATE TABLE transactions (correlation_id VARCHAR PRIMARY KEY, customer_id VARCHAR, "
+                + "amount DECIMAL(38, 2), operation VARCHAR)");
+        lenient().when(transactionArchive.netAmountByCustomerId(any())).thenReturn(BigDecimal.ZERO);
+        underTest = new LedgerRangeChecker(jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), transactionArchive,
+                reconciliationDiscrepancyRepository, balanceStore);
+    }
+
+    @Test
+    void splitIntoRanges_returnsConsecutiveRangesOfTheGivenSize() {
+        // Given
+        List.of(CUSTOMER_ID_E, CUSTOMER_ID_A, CUSTOMER_ID_D, CUSTOMER_ID_B, CUSTOMER_ID_C)
+                .forEach(customerId -> insertBalance(customerId, "0.00"));
+
+        // When-Then
+        assertThat(underTest.splitIntoRanges(2)).containsExactly(
+                new CustomerRange(CUSTOMER_ID_A, CUSTOMER_ID_C),
+                new CustomerRange(CUSTOMER_ID_C, CUSTOMER_ID_E),
+                new CustomerRange(CUSTOMER_ID_E, null));
+        assertThat(underTest.splitIntoRanges(5)).containsExactly(new CustomerRange(CUSTOMER_ID_A, null));
+    }
+
+    @Test
+    void splitIntoRanges_returnsNoRanges_ifNoCustomers() {
+        // When-Then
+        assertThat(underTest.splitIntoRanges(2)).isEmpty();
+    }
+
+    @Test
+    void check_reportsBalancesNotMatchingTheirLedger_withinTheRange() {
+        // Given
+        insertBalance(CUSTOMER_ID_A, "10.00");
+        insertBalance(CUSTOMER_ID_B, "15.00");
+        insertBalance(CUSTOMER_ID_C, "7.00");
+        insertBalance(CUSTOMER_ID_D, "1.00");
+        insertTransaction(CUSTOMER_ID_A, "20.00", "ADD");
+        insertTransaction(CUSTOMER_ID_A, "10.00", "WITHDRAW");
+        insertTransaction(CUSTOMER_ID_B, "5.00", "ADD");
+        insertTransaction(CUSTOMER_ID_D, "2.00", "ADD");
+        when(transactionArchive.netAmountByCustomerId(CUSTOMER_ID_B)).thenReturn(new BigDecimal("10.00"));
+
+        // When
+        RangeResult actual = underTest.check(RUN_ID, new CustomerRange(CUSTOMER_ID_A, CUSTOMER_ID_D));
+
+        // Then
+        assertThat(actual).isEqualTo(new RangeResult(3, 1));
+        assertThat(savedDiscrepancies()).singleElement()
+                .extracting("runId", "customerId", "balanceAmount", "ledgerAmount")
+                .containsExactly(RUN_ID, CUSTOMER_ID_C, new BigDecimal("7.00"), BigDecimal.ZERO);
+    }
+
+    @Test
+    void check_readsUpToTheEnd_ifLastRange() {
+        // Given
+        insertBalance(CUSTOMER_ID_A, "1.00");
+        insertBalance(CUSTOMER_ID_D, "1.00");
+        insertBalance(CUSTOMER_ID_E, "2.00");
+        insertTransaction(CUSTOMER_ID_D, "1.00", "ADD");
+
+        // When
+        RangeResult actual = underTest.check(RUN_ID, new CustomerRange(CUSTOMER_ID_D, null));
+
+        // Then
+        assertThat(actual).isEqualTo(new RangeResult(2, 1));
+        assertThat(savedDiscrepancies()).extracting(ReconciliationDiscrepancy::getCustomerId)
+                .containsExactly(CUSTOMER_ID_E);
+    }
+
+    @Test
+    void check_doesNotReportMismatch_ifNotFoundAgain() {
+        // Given
+        insertBalance(CUSTOMER_ID_A, "10.00");
+        when(transactionArchive.netAmountByCustomerId(CUSTOMER_ID_A))
+                .thenReturn(new BigDecimal("20.00"))
+                .thenReturn(new BigDecimal("10.00"));
+
+        // When
+        RangeResult actual = underTest.check(RUN_ID, new CustomerRange(CUSTOMER_ID_A, null));
+
+        // Then
+        assertThat(actual).isEqualTo(new RangeResult(1, 0));
+        assertThat(savedDiscrepancies()).isEmpty();
+        verify(balanceStore).flush();
+    }
+
+    @Test
+    void check_doesNotFlushTheBalanceStore_ifAllBalancesMatch() {
+        // Given
+        insertBalance(CUSTOMER_ID_A, "5.00");
+        insertTransaction(CUSTOMER_ID_A, "5.00", "ADD");
+
+        // When
+        RangeResult actual = underTest.check(RUN_ID, new CustomerRange(CUSTOMER_ID_A, null));
+
+        // Then
+        assertThat(actual).isEqualTo(new RangeResult(1, 0));
+        verifyNoInteractions(balanceStore);
+    }
+
+    private void insertBalance(UUID customerId, String amount) {
+        jdbcTemplate.update("INSERT INTO balances VALUES (?, ?)", customerId.toString(), new BigDecimal(amount));
+    }
+
+    private void insertTransaction(UUID customerId, String amount, String operation) {
+        jdbcTemplate.update("INSERT INTO transactions VALUES (?, ?, ?, ?)", UUID.randomUUID().toString(),
+                customerId.toString(), new BigDecimal(amount), operation);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ReconciliationDiscrepancy> savedDiscrepancies() {
+        ArgumentCaptor<List<ReconciliationDiscrepancy>> captor = ArgumentCaptor.forClass(List.class);
+        verify(reconciliationDiscrepancyRepository).saveAll(captor.capture());
+        return captor.getValue();
+    }
+}
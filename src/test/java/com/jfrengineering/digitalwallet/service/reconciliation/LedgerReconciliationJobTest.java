@@ -0,0 +1,201 @@
+package com.jfrengineering.digitalwallet.service.reconciliation;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.jfrengineering.digitalwallet.configuration.ReconciliationProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.datasource.ShardContext;
+import com.jfrengineering.digitalwallet.repository.ReconciliationDiscrepancyRepository;
+import com.jfrengineering.digitalwallet.service.BalanceStore;
+import com.jfrengineering.digitalwallet.service.archive.TransactionArchive;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class LedgerReconciliationJobTest {
+
+    @Mock
+    private LedgerRangeChecker ledgerRangeChecker;
+
+    @Mock
+    private BalanceStore balanceStore;
+
+    @Mock
+    private ScheduledExecutorService reconciler;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private LedgerReconciliationJob underTest;
+
+    @BeforeEach
+    void setUp() {
+        ReconciliationProperties reconciliationProperties = new ReconciliationProperties();
+        reconciliationProperties.setRangeSize(10);
+        reconciliationProperties.setInterval(Duration.ofMinutes(10));
+        underTest = new LedgerReconciliationJob(reconciliationProperties, ledgerRangeChecker,
+                new CustomerShardRouter(2), balanceStore, meterRegistry, reconciler);
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.close();
+    }
+
+    @Test
+    void start_reconcilesWithFixedDelay() {
+        // When
+        underTest.start();
+
+        // Then
+        verify(reconciler).scheduleWithFixedDelay(any(), eq(600_000L), eq(600_000L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void close_stopsReconciler() {
+        // When
+        underTest.close();
+
+        // Then
+        verify(reconciler).shutdownNow();
+    }
+
+    @Test
+    void run_reconcilesEveryShard() {
+        // Given
+        when(ledgerRangeChecker.splitIntoRanges(10)).thenReturn(List.of());
+
+        // When
+        underTest.run();
+
+        // Then
+        InOrder inOrder = inOrder(balanceStore, ledgerRangeChecker);
+        inOrder.verify(balanceStore).flush();
+        inOrder.verify(ledgerRangeChecker, times(2)).splitIntoRanges(10);
+    }
+
+    @Test
+    void run_logsFailure_insteadOfThrowing() {
+        // Given
+        when(ledgerRangeChecker.splitIntoRanges(10)).thenThrow(new IllegalStateException("boom"));
+        ListAppender<ILoggingEvent> logWatcher = new ListAppender<>();
+        logWatcher.start();
+        Logger logger = (Logger) LoggerFactory.getLogger(LedgerReconciliationJob.class);
+        logger.addAppender(logWatcher);
+
+        // When
+        underTest.run();
+
+        // Then
+        logger.detachAppender(logWatcher);
+        assertThat(logWatcher.list).singleElement()
+                .extracting("level", "formattedMessage")
+                .containsExactly(Level.ERROR, "Reconciliation failed, retrying on the next run");
+    }
+
+    @Test
+    void reconcile_checksEveryRangeOnItsShard_andPublishesMetrics() {
+        // Given
+        List<CustomerRange> shard0Ranges = createRanges(5);
+        List<CustomerRange> shard1Ranges = createRanges(1);
+        when(ledgerRangeChecker.splitIntoRanges(10))
+                .thenAnswer(invocation -> ShardContext.currentShard() == 0 ? shard0Ranges : shard1Ranges);
+        Map<CustomerRange, Integer> checkedOnShard = new ConcurrentHashMap<>();
+        when(ledgerRangeChecker.check(any(), any())).thenAnswer(invocation -> {
+            checkedOnShard.put(invocation.getArgument(1), ShardContext.currentShard());
+            return new RangeResult(10, 1);
+        });
+
+        // When
+        underTest.reconcile();
+
+        // Then
+        assertThat(checkedOnShard).hasSize(6);
+        shard0Ranges.forEach(range -> assertThat(checkedOnShard).containsEntry(range, 0));
+        assertThat(checkedOnShard).containsEntry(shard1Ranges.get(0), 1);
+        assertThat(meterRegistry.get(LedgerReconciliationJob.CUSTOMERS_METRIC).counter().count()).isEqualTo(60);
+        assertThat(meterRegistry.get(LedgerReconciliationJob.DISCREPANCIES_METRIC).counter().count()).isEqualTo(6);
+        assertThat(meterRegistry.get(LedgerReconciliationJob.PROGRESS_METRIC).gauge().value()).isEqualTo(1);
+        assertThat(meterRegistry.get(LedgerReconciliationJob.THROUGHPUT_METRIC).gauge().value()).isPositive();
+    }
+
+    @Test
+    void reconcile_usesTheSameRunIdForAllRanges() {
+        // Given
+        when(ledgerRangeChecker.splitIntoRanges(10)).thenReturn(createRanges(2));
+        List<UUID> runIds = new CopyOnWriteArrayList<>();
+        when(ledgerRangeChecker.check(any(), any())).thenAnswer(invocation -> {
+            runIds.add(invocation.getArgument(0));
+            return RangeResult.EMPTY;
+        });
+
+        // When
+        underTest.reconcile();
+
+        // Then
+        assertThat(runIds).hasSize(4).containsOnly(runIds.get(0));
+    }
+
+    @Test
+    void reconcile_completes_ifNoCustomers() {
+        // Given
+        when(ledgerRangeChecker.splitIntoRanges(10)).thenReturn(List.of());
+
+        // When
+        underTest.reconcile();
+
+        // Then
+        assertThat(underTest.getProgress()).isEqualTo(1);
+        assertThat(underTest.getCustomersPerSecond()).isZero();
+    }
+
+    @Test
+    void constructor_createsRangeChecker() {
+        // When
+        LedgerReconciliationJob ledgerReconciliationJob = new LedgerReconciliationJob(new ReconciliationProperties(),
+                mock(DataSource.class), mock(PlatformTransactionManager.class), mock(TransactionArchive.class),
+                mock(ReconciliationDiscrepancyRepository.class), new CustomerShardRouter(1), mock(BalanceStore.class),
+                new SimpleMeterRegistry());
+
+        // Then
+        assertThat(ledgerReconciliationJob.getProgress()).isEqualTo(1);
+        ledgerReconciliationJob.start();
+        ledgerReconciliationJob.close();
+    }
+
+    private static List<CustomerRange> createRanges(int count) {
+        return IntStream.range(0, count)
+                .mapToObj(i -> new CustomerRange(UUID.randomUUID(), UUID.randomUUID()))
+                .toList();
+    }
+}
@@ -0,0 +1,96 @@
+package com.jfrengineering.digitalwallet.service.schedule;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class HierarchicalTimingWheelTest {
+
+    // 4 slots of 10ms on 3 levels: 40ms on level 0, 160ms on level 1 and 640ms on level 2, so up to 630ms ahead
+    private final HierarchicalTimingWheel<String> underTest = new HierarchicalTimingWheel<>(10, 4, 3, 1_000);
+
+    private final List<String> expired = new ArrayList<>();
+
+    @ParameterizedTest
+    @ValueSource(longs = {1_001, 1_010, 1_035, 1_040, 1_041, 1_160, 1_200, 1_630})
+    void advanceTo_expiresTask_onTheTickOfItsDeadline(long deadline) {
+        // Given
+        assertThat(underTest.add(deadline, "task")).isTrue();
+        long fireTime = (deadline + 9) / 10 * 10;
+
+        // When
+        underTest.advanceTo(fireTime - 1, expired::add);
+
+        // Then
+        assertThat(expired).isEmpty();
+        assertThat(underTest.size()).isEqualTo(1);
+
+        // When
+        underTest.advanceTo(fireTime, expired::add);
+
+        // Then
+        assertThat(expired).containsExactly("task");
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    void advanceTo_expiresTasksInDeadlineOrder_acrossLevels() {
+        // Given
+        underTest.add(1_500, "c");
+        underTest.add(1_020, "a");
+        underTest.add(1_170, "b");
+        underTest.add(1_500, "d");
+
+        // When
+        underTest.advanceTo(2_000, expired::add);
+
+        // Then
+        assertThat(expired).containsExactly("a", "b", "c", "d");
+    }
+
+    @Test
+    void advanceTo_expiresTasksAddedAfterAdvancing() {
+        // Given
+        underTest.advanceTo(1_375, expired::add);
+        underTest.add(1_620, "task");
+
+        // When
+        underTest.advanceTo(1_619, expired::add);
+        underTest.advanceTo(1_620, expired::add);
+
+        // Then
+        assertThat(expired).containsExactly("task");
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {0, 990, 1_000})
+    void add_returnsFalse_ifDeadlineReached(long deadline) {
+        // When-Then
+        assertThat(underTest.add(deadline, "task")).isFalse();
+        assertThat(underTest.size()).isZero();
+    }
+
+    @Test
+    void add_throwsIllegalArgumentException_ifDeadlineBeyondRange() {
+        // When-Then
+        assertThat(underTest.add(1_630, "last")).isTrue();
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+                () -> underTest.add(1_631, "task"));
+        assertThat(exception.getMessage()).isEqualTo("Deadline beyond the timing wheel range: 640ms");
+    }
+
+    @ParameterizedTest
+    @CsvSource({"0, 4, 3", "10, 1, 3", "10, 6, 3", "10, 4, 0", "10, 4, 32"})
+    void constructor_throwsIllegalArgumentException_ifInvalidWheel(long tickMillis, int wheelSize, int levels) {
+        // When-Then
+        assertThrows(IllegalArgumentException.class,
+                () -> new HierarchicalTimingWheel<String>(tickMillis, wheelSize, levels, 0));
+    }
+}
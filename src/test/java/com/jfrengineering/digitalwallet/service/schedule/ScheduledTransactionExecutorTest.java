@@ -0,0 +1,179 @@
+package com.jfrengineering.digitalwallet.service.schedule;
+
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.repository.ScheduledTransactionRepository;
+import com.jfrengineering.digitalwallet.service.TransactionService;
+import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledTransactionExecutorTest {
+
+    private static final long DUE_AT = 1_700_000_000_000L;
+    private static final ScheduledTransactionTimer TIMER = new ScheduledTransactionTimer(CORRELATION_ID_A,
+            CUSTOMER_ID_1, DUE_AT);
+
+    @Mock
+    private ScheduledTransactionRepository scheduledTransactionRepository;
+
+    @Mock
+    private TransactionService transactionService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher applicationEventPublisher;
+
+    private ScheduledTransactionExecutor underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new ScheduledTransactionExecutor(scheduledTransactionRepository, transactionService,
+                new TransactionTemplate(transactionManager), new CustomerShardRouter(1), applicationEventPublisher);
+    }
+
+    @Test
+    void execute_createsTransaction_andDeletesSingleExecutionSchedule() {
+        // Given
+        ScheduledTransaction scheduledTransaction = createScheduledTransaction(null);
+        when(scheduledTransactionRepository.findByIdForUpdate(CORRELATION_ID_A))
+                .thenReturn(Optional.of(scheduledTransaction));
+
+        // When
+        ScheduledTransaction actual = underTest.execute(TIMER, DUE_AT);
+
+        // Then
+        assertThat(actual).isNull();
+        verify(transactionService).createTransaction(new TransactionRequest(
+                ScheduledTransactionExecutor.occurrenceCorrelationId(scheduledTransaction), CUSTOMER_ID_1,
+                TRANSACTION_AMOUNT, Operation.WITHDRAW));
+        verify(scheduledTransactionRepository).delete(scheduledTransaction);
+        verify(applicationEventPublisher).publishEvent(new ScheduledTransactionDeletedEvent(scheduledTransaction));
+    }
+
+    @Test
+    void execute_createsTransaction_andMovesRecurringScheduleToNextExecution() {
+        // Given
+        ScheduledTransaction scheduledTransaction = createScheduledTransaction(Duration.ofDays(1));
+        when(scheduledTransactionRepository.findByIdForUpdate(CORRELATION_ID_A))
+                .thenReturn(Optional.of(scheduledTransaction));
+        when(scheduledTransactionRepository.save(scheduledTransaction)).thenReturn(scheduledTransaction);
+        UUID occurrenceCorrelationId = ScheduledTransactionExecutor.occurrenceCorrelationId(scheduledTransaction);
+
+        // When
+        ScheduledTransaction actual = underTest.execute(TIMER, DUE_AT + 1);
+
+        // Then
+        assertThat(actual.getNextExecutionAt()).isEqualTo(new Timestamp(DUE_AT + Duration.ofDays(1).toMillis()));
+        assertThat(actual.getExecutionCount()).isEqualTo(1);
+        verify(transactionService).createTransaction(new TransactionRequest(occurrenceCorrelationId, CUSTOMER_ID_1,
+                TRANSACTION_AMOUNT, Operation.WITHDRAW));
+        assertThat(ScheduledTransactionExecutor.occurrenceCorrelationId(actual)).isNotEqualTo(occurrenceCorrelationId);
+        verify(applicationEventPublisher).publishEvent(new ScheduledTransactionAdvancedEvent(scheduledTransaction));
+    }
+
+    @Test
+    void execute_returnsScheduleWithoutExecuting_ifNotDue() {
+        // Given
+        ScheduledTransaction scheduledTransaction = createScheduledTransaction(null);
+        when(scheduledTransactionRepository.findByIdForUpdate(CORRELATION_ID_A))
+                .thenReturn(Optional.of(scheduledTransaction));
+
+        // When
+        ScheduledTransaction actual = underTest.execute(TIMER, DUE_AT - 1);
+
+        // Then
+        assertThat(actual).isSameAs(scheduledTransaction);
+        verifyNoInteractions(transactionService);
+        verify(scheduledTransactionRepository, never()).save(any());
+    }
+
+    @Test
+    void execute_returnsNull_ifCancelled() {
+        // Given
+        when(scheduledTransactionRepository.findByIdForUpdate(CORRELATION_ID_A)).thenReturn(Optional.empty());
+
+        // When-Then
+        assertThat(underTest.execute(TIMER, DUE_AT)).isNull();
+        verifyNoInteractions(transactionService);
+    }
+
+    @Test
+    void execute_skipsOccurrence_ifTransactionRejected() {
+        // Given
+        ScheduledTransaction scheduledTransaction = createScheduledTransaction(Duration.ofDays(1));
+        when(scheduledTransactionRepository.findByIdForUpdate(CORRELATION_ID_A))
+                .thenReturn(Optional.of(scheduledTransaction));
+        when(transactionService.createTransaction(any()))
+                .thenThrow(new UnacceptedTransactionAmountException("Not enough Credit in Balance"));
+        when(scheduledTransactionRepository.save(scheduledTransaction)).thenReturn(scheduledTransaction);
+
+        // When
+        ScheduledTransaction actual = underTest.execute(TIMER, DUE_AT);
+
+        // Then
+        assertThat(actual.getExecutionCount()).isEqualTo(1);
+        assertThat(actual.getNextExecutionAt()).isEqualTo(new Timestamp(DUE_AT + Duration.ofDays(1).toMillis()));
+    }
+
+    @Test
+    void execute_returnsNull_ifCustomerNotFound_andCancelledMeanwhile() {
+        // Given
+        when(scheduledTransactionRepository.findByIdForUpdate(CORRELATION_ID_A))
+                .thenReturn(Optional.of(createScheduledTransaction(null)), Optional.empty());
+        when(transactionService.createTransaction(any())).thenThrow(new EntityNotFoundException("Not found"));
+
+        // When-Then
+        assertThat(underTest.execute(TIMER, DUE_AT)).isNull();
+        verify(scheduledTransactionRepository, never()).delete(any());
+    }
+
+    @Test
+    void occurrenceCorrelationId_isNameBased() {
+        // When
+        UUID actual = ScheduledTransactionExecutor.occurrenceCorrelationId(createScheduledTransaction(null));
+
+        // Then
+        assertThat(actual.version()).isEqualTo(3);
+        assertThat(actual).isEqualTo(ScheduledTransactionExecutor.occurrenceCorrelationId(
+                createScheduledTransaction(Duration.ofDays(1))));
+    }
+
+    private static ScheduledTransaction createScheduledTransaction(Duration repeatEvery) {
+        return ScheduledTransaction.builder()
+                .correlationId(CORRELATION_ID_A)
+                .customerId(CUSTOMER_ID_1)
+                .amount(TRANSACTION_AMOUNT)
+                .operation(Operation.WITHDRAW)
+                .nextExecutionAt(new Timestamp(DUE_AT))
+                .repeatEvery(repeatEvery)
+                .build();
+    }
+}
@@ -0,0 +1,286 @@
+package com.jfrengineering.digitalwallet.service.schedule;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.jfrengineering.digitalwallet.configuration.SchedulerProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.repository.ScheduledTransactionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.PageRequest;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransactionSchedulerTest {
+
+    private static final long NOW = 1_700_000_000_000L;
+    private static final Timestamp LOADED_UNTIL = new Timestamp(NOW + 400);
+
+    @Mock
+    private ScheduledTransactionRepository scheduledTransactionRepository;
+
+    @Mock
+    private ScheduledTransactionExecutor scheduledTransactionExecutor;
+
+    @Mock
+    private ScheduledExecutorService ticker;
+
+    @Mock
+    private ExecutorService workers;
+
+    private final AtomicLong clock = new AtomicLong(NOW);
+
+    private ListAppender<ILoggingEvent> logWatcher;
+
+    private TransactionScheduler underTest;
+
+    @BeforeEach
+    void setUp() {
+        SchedulerProperties schedulerProperties = new SchedulerProperties();
+        schedulerProperties.setTick(Duration.ofMillis(10));
+        schedulerProperties.setWheelSize(4);
+        schedulerProperties.setWheelLevels(3);
+        schedulerProperties.setLoadInterval(Duration.ofMillis(200));
+        schedulerProperties.setBatchSize(2);
+        underTest = new TransactionScheduler(schedulerProperties, scheduledTransactionRepository,
+                scheduledTransactionExecutor, new CustomerShardRouter(1), ticker, workers, clock::get);
+        lenient().doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(workers).execute(any());
+
+        logWatcher = new ListAppender<>();
+        logWatcher.start();
+        ((Logger) LoggerFactory.getLogger(TransactionScheduler.class)).addAppender(logWatcher);
+    }
+
+    @Test
+    void start_ticksAtFixedRate() {
+        // When
+        underTest.start();
+
+        // Then
+        verify(ticker).scheduleAtFixedRate(any(), eq(10L), eq(10L), eq(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void close_stopsTickerAndWorkers() {
+        // When
+        underTest.close();
+
+        // Then
+        verify(ticker).shutdownNow();
+        verify(workers).shutdownNow();
+    }
+
+    @Test
+    void constructor_createsTickerAndWorkers() {
+        // Given
+        TransactionScheduler transactionScheduler = new TransactionScheduler(new SchedulerProperties(),
+                scheduledTransactionRepository, scheduledTransactionExecutor, new CustomerShardRouter(1));
+
+        // When-Then
+        transactionScheduler.start();
+        transactionScheduler.close();
+        assertThat(transactionScheduler.getPendingCount()).isZero();
+    }
+
+    @Test
+    void loadDueSchedules_loadsPagesAfterTheLastSchedule_andExecutesSchedulesWhenDue() {
+        // Given
+        ScheduledTransaction first = createScheduledTransaction(NOW + 50);
+        ScheduledTransaction second = createScheduledTransaction(NOW + 50);
+        ScheduledTransaction third = createScheduledTransaction(NOW + 100);
+        when(scheduledTransactionRepository.findDueBefore(LOADED_UNTIL, new Timestamp(0), new UUID(0, 0),
+                PageRequest.of(0, 2))).thenReturn(List.of(first, second));
+        when(scheduledTransactionRepository.findDueBefore(LOADED_UNTIL, second.getNextExecutionAt(),
+                second.getCorrelationId(), PageRequest.of(0, 2))).thenReturn(List.of(third));
+
+        // When
+        underTest.loadDueSchedules();
+        underTest.tick();
+
+        // Then
+        assertThat(underTest.getPendingCount()).isEqualTo(3);
+        verifyNoInteractions(scheduledTransactionExecutor);
+
+        // When
+        clock.set(NOW + 50);
+        underTest.tick();
+
+        // Then
+        verify(scheduledTransactionExecutor).execute(timer(first), NOW + 50);
+        verify(scheduledTransactionExecutor).execute(timer(second), NOW + 50);
+        verify(scheduledTransactionExecutor, never()).execute(eq(timer(third)), anyLong());
+        assertThat(underTest.getPendingCount()).isEqualTo(1);
+
+        // When
+        clock.set(NOW + 100);
+        underTest.tick();
+
+        // Then
+        verify(scheduledTransactionExecutor).execute(timer(third), NOW + 100);
+        assertThat(underTest.getPendingCount()).isZero();
+    }
+
+    @Test
+    void loadDueSchedules_doesNotOfferPendingSchedulesAgain() {
+        // Given
+        ScheduledTransaction scheduledTransaction = createScheduledTransaction(NOW + 50);
+        when(scheduledTransactionRepository.findDueBefore(any(), any(), any(), any()))
+                .thenReturn(List.of(scheduledTransaction));
+
+        // When
+        underTest.loadDueSchedules();
+        underTest.loadDueSchedules();
+        clock.set(NOW + 50);
+        underTest.tick();
+
+        // Then
+        verify(scheduledTransactionExecutor, times(1)).execute(any(), anyLong());
+    }
+
+    @Test
+    void tick_executesOverdueSchedulesRightAway_inBatches() {
+        // Given
+        List<ScheduledTransaction> overdue = List.of(createScheduledTransaction(NOW - 60_000),
+                createScheduledTransaction(NOW - 1_000), createScheduledTransaction(NOW));
+        when(scheduledTransactionRepository.findDueBefore(any(), any(), any(), any())).thenReturn(overdue.subList(0, 2),
+                overdue.subList(2, 3));
+        underTest.loadDueSchedules();
+
+        // When
+        underTest.tick();
+
+        // Then
+        verify(workers, times(2)).execute(any());
+        overdue.forEach(scheduledTransaction -> verify(scheduledTransactionExecutor)
+                .execute(timer(scheduledTransaction), NOW));
+    }
+
+    @Test
+    void tick_offersNextExecution_ifDueBeforeNextLoad() {
+        // Given
+        ScheduledTransaction scheduledTransaction = createScheduledTransaction(NOW);
+        ScheduledTransaction nextExecution = createScheduledTransaction(NOW + 300);
+        nextExecution.setCorrelationId(scheduledTransaction.getCorrelationId());
+        ScheduledTransaction lastExecution = createScheduledTransaction(NOW + 600);
+        lastExecution.setCorrelationId(scheduledTransaction.getCorrelationId());
+        when(scheduledTransactionRepository.findDueBefore(any(), any(), any(), any()))
+                .thenReturn(List.of(scheduledTransaction));
+        when(scheduledTransactionExecutor.execute(any(), anyLong())).thenReturn(nextExecution, lastExecution);
+        underTest.loadDueSchedules();
+
+        // When
+        underTest.tick();
+        clock.set(NOW + 300);
+        underTest.tick();
+
+        // Then
+        verify(scheduledTransactionExecutor).execute(timer(scheduledTransaction), NOW);
+        verify(scheduledTransactionExecutor).execute(timer(nextExecution), NOW + 300);
+        assertThat(underTest.getPendingCount()).isZero();
+    }
+
+    @Test
+    void tick_leavesFailedScheduleToNextLoad() {
+        // Given
+        ScheduledTransaction scheduledTransaction = createScheduledTransaction(NOW);
+        when(scheduledTransactionRepository.findDueBefore(any(), any(), any(), any()))
+                .thenReturn(List.of(scheduledTransaction));
+        when(scheduledTransactionExecutor.execute(any(), anyLong())).thenThrow(new IllegalStateException("Failed"));
+        underTest.loadDueSchedules();
+
+        // When
+        underTest.tick();
+        underTest.loadDueSchedules();
+        underTest.tick();
+
+        // Then
+        verify(scheduledTransactionExecutor, times(2)).execute(timer(scheduledTransaction), NOW);
+        assertThat(logWatcher.list.get(0))
+                .extracting("level", "formattedMessage")
+                .containsExactly(Level.WARN, "Scheduled transaction " + scheduledTransaction.getCorrelationId()
+                        + " failed, retrying on the next load: Failed");
+    }
+
+    @Test
+    void tick_logsError_insteadOfThrowing() {
+        // Given
+        when(scheduledTransactionRepository.findDueBefore(any(), any(), any(), any()))
+                .thenReturn(List.of(createScheduledTransaction(NOW)));
+        doThrow(new RejectedExecutionException("Shut down")).when(workers).execute(any());
+        underTest.loadDueSchedules();
+
+        // When
+        underTest.tick();
+
+        // Then
+        assertThat(logWatcher.list).singleElement()
+                .extracting("level", "formattedMessage")
+                .containsExactly(Level.ERROR, "Transaction scheduler tick failed");
+    }
+
+    @Test
+    void onScheduledTransactionCreated_offersSchedule_ifDueBeforeNextLoad() {
+        // Given
+        ScheduledTransaction dueBeforeLoad = createScheduledTransaction(NOW + 100);
+        ScheduledTransaction dueAfterLoad = createScheduledTransaction(LOADED_UNTIL.getTime());
+        underTest.onScheduledTransactionCreated(new ScheduledTransactionCreatedEvent(dueBeforeLoad));
+        when(scheduledTransactionRepository.findDueBefore(any(), any(), any(), any())).thenReturn(List.of());
+        underTest.loadDueSchedules();
+
+        // When
+        underTest.onScheduledTransactionCreated(new ScheduledTransactionCreatedEvent(dueBeforeLoad));
+        underTest.onScheduledTransactionCreated(new ScheduledTransactionCreatedEvent(dueAfterLoad));
+
+        // Then
+        assertThat(underTest.getPendingCount()).isEqualTo(1);
+        clock.set(NOW + 100);
+        underTest.tick();
+        verify(scheduledTransactionExecutor).execute(timer(dueBeforeLoad), NOW + 100);
+    }
+
+    private static ScheduledTransaction createScheduledTransaction(long nextExecutionAt) {
+        return ScheduledTransaction.builder()
+                .correlationId(UUID.randomUUID())
+                .customerId(CUSTOMER_ID_1)
+                .nextExecutionAt(new Timestamp(nextExecutionAt))
+                .build();
+    }
+
+    private static ScheduledTransactionTimer timer(ScheduledTransaction scheduledTransaction) {
+        return new ScheduledTransactionTimer(scheduledTransaction.getCorrelationId(),
+                scheduledTransaction.getCustomerId(), scheduledTransaction.getNextExecutionAt().getTime());
+    }
+}
@@ -0,0 +1,288 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.jfrengineering.digitalwallet.configuration.SnapshotProperties;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.service.BalancesCreatedEvent;
+import com.jfrengineering.digitalwallet.service.TransactionCreatedEvent;
+import com.jfrengineering.digitalwallet.service.archive.TransactionsArchivedEvent;
+import com.jfrengineering.digitalwallet.service.hold.HoldReleasedEvent;
+import com.jfrengineering.digitalwallet.service.schedule.ScheduledTransactionAdvancedEvent;
+import com.jfrengineering.digitalwallet.service.schedule.ScheduledTransactionCreatedEvent;
+import com.jfrengineering.digitalwallet.service.schedule.ScheduledTransactionDeletedEvent;
+import com.jfrengineering.digitalwallet.service.hold.HoldReservedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_B;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+class SnapshotDeltaLogTest {
+
+    @TempDir
+    private Path directory;
+
+    private SnapshotDeltaLog underTest;
+
+    @BeforeEach
+    void setUp() {
+        SnapshotProperties snapshotProperties = new SnapshotProperties();
+        snapshotProperties.setDirectory(directory.resolve("snapshot"));
+        underTest = new SnapshotDeltaLog(snapshotProperties);
+    }
+
+    @AfterEach
+    void tearDown() {
+        underTest.close();
+    }
+
+    @Test
+    void open_startsFirstDeltaFile_ifNoSnapshotDirectory() throws IOException {
+        // When
+        underTest.open();
+
+        // Then
+        assertThat(underTest.previousDeltaFiles()).isEmpty();
+        assertThat(directory.resolve("snapshot/delta-000000000001.log")).exists();
+    }
+
+    @Test
+    void open_startsDeltaFileAfterExistingOnes() throws IOException {
+        // Given
+        Path snapshotDirectory = Files.createDirectories(directory.resolve("snapshot"));
+        Path older = Files.createFile(snapshotDirectory.resolve("delta-000000000002.log"));
+        Path newer = Files.createFile(snapshotDirectory.resolve("delta-000000000010.log"));
+        Files.createFile(snapshotDirectory.resolve("wallet.snapshot"));
+
+        // When
+        underTest.open();
+
+        // Then
+        assertThat(underTest.previousDeltaFiles()).containsExactly(older, newer);
+        assertThat(snapshotDirectory.resolve("delta-000000000011.log")).exists();
+    }
+
+    @Test
+    void rotate_returnsDeltaFilesWithTransactionsCommittedBefore() throws IOException {
+        // Given
+        underTest.open();
+        Transaction first = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD,
+                LocalDateTime.now());
+        Transaction second = createTransaction(CORRELATION_ID_B, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD,
+                LocalDateTime.now());
+        underTest.onTransactionCreated(new TransactionCreatedEvent(first));
+
+        // When
+        List<Path> actual = underTest.rotate();
+        underTest.onTransactionCreated(new TransactionCreatedEvent(second));
+        underTest.rotate();
+
+        // Then
+        assertThat(actual).containsExactly(directory.resolve("snapshot/delta-000000000001.log"));
+        assertThat(readCorrelationIds(actual.get(0))).containsExactly(CORRELATION_ID_A);
+        assertThat(readCorrelationIds(directory.resolve("snapshot/delta-000000000002.log")))
+                .containsExactly(CORRELATION_ID_B);
+    }
+
+    @Test
+    void onBalancesCreated_appendsBalanceRecords() throws IOException {
+        // Given
+        underTest.open();
+        LocalDateTime now = LocalDateTime.now();
+        List<Balance> balances = List.of(createBalance(CUSTOMER_ID_1, BigDecimal.ZERO, now, now),
+                createBalance(CUSTOMER_ID_2, BigDecimal.ZERO, now, now));
+
+        // When
+        underTest.onBalancesCreated(new BalancesCreatedEvent(balances));
+        underTest.rotate();
+
+        // Then
+        SnapshotFormatTest.RecordingHandler handler = new SnapshotFormatTest.RecordingHandler();
+        SnapshotFormat.read(directory.resolve("snapshot/delta-000000000001.log"), handler);
+        assertThat(handler.getRecords()).usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyElementsOf(balances);
+    }
+
+    @Test
+    void onHoldReservedAndReleased_appendHoldRecords() throws IOException {
+        // Given
+        underTest.open();
+        Hold hold = SnapshotFormatTest.createHold(CORRELATION_ID_A, CUSTOMER_ID_1, LocalDateTime.now());
+
+        // When
+        underTest.onHoldReserved(new HoldReservedEvent(hold));
+        underTest.onHoldReleased(new HoldReleasedEvent(hold));
+        underTest.rotate();
+
+        // Then
+        SnapshotFormatTest.RecordingHandler handler = new SnapshotFormatTest.RecordingHandler();
+        SnapshotFormat.read(directory.resolve("snapshot/delta-000000000001.log"), handler);
+        assertThat(handler.getRecords()).usingRecursiveFieldByFieldElementComparator().containsExactly(hold,
+                new SnapshotFormatTest.Release(Hold.builder()
+                        .correlationId(CORRELATION_ID_A)
+                        .customerId(CUSTOMER_ID_1)
+                        .amount(hold.getAmount())
+                        .build()));
+    }
+
+    @Test
+    void onTransactionsArchived_appendsArchivalRecords() throws IOException {
+        // Given
+        underTest.open();
+        Transaction transaction = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT,
+                Operation.ADD, LocalDateTime.now());
+
+        // When
+        underTest.onTransactionsArchived(new TransactionsArchivedEvent(List.of(transaction)));
+        underTest.rotate();
+
+        // Then
+        SnapshotFormatTest.RecordingHandler handler = new SnapshotFormatTest.RecordingHandler();
+        SnapshotFormat.read(directory.resolve("snapshot/delta-000000000001.log"), handler);
+        assertThat(handler.getRecords()).usingRecursiveFieldByFieldElementComparator().containsExactly(
+                new SnapshotFormatTest.Archival(Transaction.builder()
+                        .correlationId(CORRELATION_ID_A)
+                        .customerId(CUSTOMER_ID_1)
+                        .build()));
+    }
+
+    @Test
+    void onScheduledTransactionCreatedAdvancedAndDeleted_appendScheduleRecords() throws IOException {
+        // Given
+        underTest.open();
+        ScheduledTransaction created = SnapshotFormatTest.createScheduledTransaction(CORRELATION_ID_A, CUSTOMER_ID_1,
+                LocalDateTime.now());
+        ScheduledTransaction advanced = SnapshotFormatTest.createScheduledTransaction(CORRELATION_ID_A, CUSTOMER_ID_1,
+                LocalDateTime.now());
+        advanced.setExecutionCount(3);
+
+        // When
+        underTest.onScheduledTransactionCreated(new ScheduledTransactionCreatedEvent(created));
+        underTest.onScheduledTransactionAdvanced(new ScheduledTransactionAdvancedEvent(advanced));
+        underTest.onScheduledTransactionDeleted(new ScheduledTransactionDeletedEvent(advanced));
+        underTest.rotate();
+
+        // Then
+        SnapshotFormatTest.RecordingHandler handler = new SnapshotFormatTest.RecordingHandler();
+        SnapshotFormat.read(directory.resolve("snapshot/delta-000000000001.log"), handler);
+        assertThat(handler.getRecords()).usingRecursiveFieldByFieldElementComparator().containsExactly(created,
+                advanced, new SnapshotFormatTest.Deletion(ScheduledTransaction.builder()
+                        .correlationId(CORRELATION_ID_A)
+                        .customerId(CUSTOMER_ID_1)
+                        .build()));
+    }
+
+    @Test
+    void onTransactionCreated_logsRecordsThatCannotBeWritten_andKeepsAppendingTheOthers() throws IOException {
+        // Given
+        underTest.open();
+        Transaction transaction = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT,
+                Operation.ADD, LocalDateTime.now());
+        ListAppender<ILoggingEvent> logWatcher = new ListAppender<>();
+        logWatcher.start();
+        Logger logger = (Logger) LoggerFactory.getLogger(SnapshotDeltaLog.class);
+        logger.addAppender(logWatcher);
+
+        // When
+        underTest.onTransactionCreated(new TransactionCreatedEvent(Transaction.builder().build()));
+        underTest.onTransactionCreated(new TransactionCreatedEvent(transaction));
+        List<Path> actual = underTest.rotate();
+
+        // Then
+        logger.detachAppender(logWatcher);
+        assertThat(logWatcher.list).singleElement()
+                .extracting("level", "formattedMessage")
+                .containsExactly(Level.ERROR, "Wallet delta log record could not be written");
+        assertThat(readCorrelationIds(actual.get(0))).containsExactly(CORRELATION_ID_A);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void rotate_throwsWalletSnapshotException_ifInterruptedWhileWaitingForTheRecordsQueuedBefore()
+            throws IOException, InterruptedException {
+        // Given
+        underTest.open();
+        CountDownLatch appending = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Balance> balances = mock(List.class);
+        doAnswer(invocation -> {
+            appending.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }).when(balances).forEach(any());
+        underTest.onBalancesCreated(new BalancesCreatedEvent(balances));
+
+        // When-Then
+        try {
+            assertThat(appending.await(5, TimeUnit.SECONDS)).isTrue();
+            Thread.currentThread().interrupt();
+            WalletSnapshotException exception = assertThrows(WalletSnapshotException.class, () -> underTest.rotate());
+            assertThat(exception.getMessage()).isEqualTo("Wallet delta log could not be rotated");
+            assertThat(Thread.interrupted()).isTrue();
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void rotate_throwsWalletSnapshotException_ifNewDeltaFileCannotBeCreated() throws IOException {
+        // Given
+        underTest.open();
+        Files.createDirectory(directory.resolve("snapshot/delta-000000000002.log"));
+
+        // When-Then
+        WalletSnapshotException exception = assertThrows(WalletSnapshotException.class, () -> underTest.rotate());
+        assertThat(exception.getMessage()).isEqualTo("Wallet delta log could not be rotated");
+    }
+
+    @Test
+    void delete_deletesDeltaFiles_andSkipsTheOnesThatCannotBeDeleted() throws IOException {
+        // Given
+        underTest.open();
+        List<Path> previousDeltaFiles = underTest.rotate();
+        Path notDeletable = Files.createDirectories(directory.resolve("snapshot/delta-000000000000.log/file"))
+                .getParent();
+
+        // When
+        underTest.delete(List.of(notDeletable, previousDeltaFiles.get(0)));
+
+        // Then
+        assertThat(previousDeltaFiles.get(0)).doesNotExist();
+        assertThat(notDeletable).exists();
+    }
+
+    private static List<UUID> readCorrelationIds(Path deltaFile) throws IOException {
+        SnapshotFormatTest.RecordingHandler handler = new SnapshotFormatTest.RecordingHandler();
+        SnapshotFormat.read(deltaFile, handler);
+        return handler.getRecords().stream().map(record -> ((Transaction) record).getCorrelationId()).toList();
+    }
+}
@@ -0,0 +1,329 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.domain.TransactionSummary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_B;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SnapshotFormatTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123456789);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void read_returnsRecordsInWrittenOrder() throws IOException {
+        // Given
+        Balance balance = createBalance(CUSTOMER_ID_1, new BigDecimal("4076.76"), CREATED_AT, CREATED_AT.plusDays(1));
+        balance.setHeldAmount(new BigDecimal("60.00"));
+        Transaction transaction = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT,
+                Operation.WITHDRAW, CREATED_AT);
+        transaction.setBalanceAfter(new BigDecimal("-0.01"));
+        Transaction transactionWithoutBalance = createTransaction(CORRELATION_ID_B, CUSTOMER_ID_1, TRANSACTION_AMOUNT,
+                Operation.ADD, CREATED_AT);
+        TransactionSummary summary = createSummary(CUSTOMER_ID_1, LocalDate.of(2024, 1, 1));
+        Hold hold = createHold(CORRELATION_ID_A, CUSTOMER_ID_1, CREATED_AT);
+        Release release = new Release(Hold.builder()
+                .correlationId(CORRELATION_ID_B)
+                .customerId(CUSTOMER_ID_1)
+                .amount(new BigDecimal("25.50"))
+                .build());
+        Archival archival = new Archival(Transaction.builder()
+                .correlationId(CORRELATION_ID_A)
+                .customerId(CUSTOMER_ID_1)
+                .build());
+        ScheduledTransaction repeated = createScheduledTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, CREATED_AT);
+        ScheduledTransaction once = createScheduledTransaction(CORRELATION_ID_B, CUSTOMER_ID_1, CREATED_AT);
+        once.setRepeatEvery(null);
+        Deletion deletion = new Deletion(ScheduledTransaction.builder()
+                .correlationId(CORRELATION_ID_B)
+                .customerId(CUSTOMER_ID_1)
+                .build());
+        Path file = write(List.of(balance, transaction, transactionWithoutBalance, summary, hold, release, archival,
+                repeated, once, deletion));
+        RecordingHandler handler = new RecordingHandler();
+
+        // When
+        long actual = SnapshotFormat.read(file, handler);
+
+        // Then
+        assertThat(actual).isEqualTo(10);
+        assertThat(handler.records)
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(balance, transaction, transactionWithoutBalance, summary, hold, release, archival,
+                        repeated, once, deletion);
+        assertThat(Files.size(file)).isEqualTo(SnapshotFormat.HEADER_LENGTH + SnapshotFormat.BALANCE_RECORD_LENGTH
+                + 2 * SnapshotFormat.TRANSACTION_RECORD_LENGTH + SnapshotFormat.SUMMARY_RECORD_LENGTH
+                + SnapshotFormat.HOLD_RECORD_LENGTH + SnapshotFormat.HOLD_RELEASE_RECORD_LENGTH
+                + SnapshotFormat.ARCHIVAL_RECORD_LENGTH + 2 * SnapshotFormat.SCHEDULED_TRANSACTION_RECORD_LENGTH
+                + SnapshotFormat.SCHEDULE_DELETION_RECORD_LENGTH);
+    }
+
+    @Test
+    void read_returnsBalancesWithoutHeldAmount_ifVersion1() throws IOException {
+        // Given
+        ByteBuffer buffer = ByteBuffer.allocate(SnapshotFormat.HEADER_LENGTH + SnapshotFormat.V1_BALANCE_RECORD_LENGTH)
+                .putInt(SnapshotFormat.MAGIC)
+                .putShort((short) 1)
+                .put(SnapshotFormat.BALANCE)
+                .putLong(CUSTOMER_ID_1.getMostSignificantBits())
+                .putLong(CUSTOMER_ID_1.getLeastSignificantBits())
+                .put((byte) 2)
+                .putLong(407676)
+                .putLong(Timestamp.valueOf(CREATED_AT).getTime())
+                .putInt(CREATED_AT.getNano())
+                .putLong(Timestamp.valueOf(CREATED_AT).getTime())
+                .putInt(CREATED_AT.getNano());
+        Path file = Files.write(directory.resolve("wallet.snapshot"), buffer.array());
+        RecordingHandler handler = new RecordingHandler();
+
+        // When
+        SnapshotFormat.read(file, handler);
+
+        // Then
+        Balance expected = createBalance(CUSTOMER_ID_1, new BigDecimal("4076.76"), CREATED_AT, CREATED_AT);
+        assertThat(handler.records).usingRecursiveFieldByFieldElementComparator().containsExactly(expected);
+    }
+
+    @Test
+    void read_throwsIOException_ifNewerVersion() throws IOException {
+        // Given
+        Path file = write(List.of());
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Short.BYTES).putShort(0, (short) 5), Integer.BYTES);
+        }
+
+        // When-Then
+        IOException exception = assertThrows(IOException.class,
+                () -> SnapshotFormat.read(file, new RecordingHandler()));
+        assertThat(exception.getMessage()).isEqualTo("Unsupported wallet snapshot version 5: " + file);
+    }
+
+    @Test
+    void read_mapsFileInWindows_ifLargerThanWindowSize() throws IOException {
+        // Given
+        List<Object> records = new ArrayList<>();
+        IntStream.range(0, 5_000).forEach(i -> records.add(createTransaction(UUID.randomUUID(), CUSTOMER_ID_1,
+                new BigDecimal(i + ".00"), Operation.ADD, CREATED_AT.plusSeconds(i))));
+        records.add(createSummary(CUSTOMER_ID_1, LocalDate.of(2024, 1, 1)));
+        Path file = write(records);
+        RecordingHandler handler = new RecordingHandler();
+
+        // When
+        long actual = SnapshotFormat.read(file, handler, 1_000);
+
+        // Then
+        assertThat(actual).isEqualTo(5_001);
+        assertThat(handler.records).usingRecursiveFieldByFieldElementComparator().containsExactlyElementsOf(records);
+    }
+
+    @Test
+    void read_ignoresPartialLastRecord() throws IOException {
+        // Given
+        Transaction transaction = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD,
+                CREATED_AT);
+        Path file = write(List.of(transaction, transaction));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(Files.size(file) - 1);
+        }
+        RecordingHandler handler = new RecordingHandler();
+
+        // When
+        long actual = SnapshotFormat.read(file, handler);
+
+        // Then
+        assertThat(actual).isEqualTo(1);
+        assertThat(handler.records).hasSize(1);
+    }
+
+    @Test
+    void read_throwsIOException_ifNotASnapshot() throws IOException {
+        // Given
+        Path emptyFile = Files.createFile(directory.resolve("empty"));
+        Path otherFile = Files.write(directory.resolve("other"), "not a snapshot".getBytes());
+
+        // When-Then
+        IOException exception = assertThrows(IOException.class,
+                () -> SnapshotFormat.read(emptyFile, new RecordingHandler()));
+        assertThat(exception.getMessage()).isEqualTo("Not a wallet snapshot: " + emptyFile);
+        assertThrows(IOException.class, () -> SnapshotFormat.read(otherFile, new RecordingHandler()));
+    }
+
+    @Test
+    void read_throwsIOException_ifUnknownRecordType() throws IOException {
+        // Given
+        Path file = write(List.of());
+        Files.write(file, new byte[]{'X'}, StandardOpenOption.APPEND);
+
+        // When-Then
+        IOException exception = assertThrows(IOException.class,
+                () -> SnapshotFormat.read(file, new RecordingHandler()));
+        assertThat(exception.getMessage()).isEqualTo("Unknown wallet snapshot record type: 88");
+    }
+
+    @Test
+    void writer_throwsWalletSnapshotException_ifFileClosed() throws IOException {
+        // Given
+        Path file = directory.resolve("closed");
+        SnapshotWriter writer = SnapshotWriter.create(file);
+        writer.close();
+        writer.append(createSummary(CUSTOMER_ID_1, LocalDate.of(2024, 1, 1)));
+
+        // When-Then
+        WalletSnapshotException exception = assertThrows(WalletSnapshotException.class, writer::flush);
+        assertThat(exception.getMessage()).isEqualTo("Wallet snapshot file could not be written: " + file);
+    }
+
+    private Path write(List<?> records) throws IOException {
+        return write(directory.resolve("wallet.snapshot"), records);
+    }
+
+    static Path write(Path file, List<?> records) throws IOException {
+        try (SnapshotWriter writer = SnapshotWriter.create(file)) {
+            for (Object record : records) {
+                if (record instanceof Balance balance) {
+                    writer.append(balance);
+                } else if (record instanceof Transaction transaction) {
+                    writer.append(transaction);
+                } else if (record instanceof Hold hold) {
+                    writer.append(hold);
+                } else if (record instanceof Release release) {
+                    writer.appendRelease(release.hold());
+                } else if (record instanceof Archival archival) {
+                    writer.appendArchival(archival.transaction());
+                } else if (record instanceof ScheduledTransaction scheduledTransaction) {
+                    writer.append(scheduledTransaction);
+                } else if (record instanceof Deletion deletion) {
+                    writer.appendDeletion(deletion.scheduledTransaction());
+                } else {
+                    writer.append((TransactionSummary) record);
+                }
+            }
+            assertThat(writer.getRecordCount()).isEqualTo(records.size());
+        }
+        return file;
+    }
+
+    static TransactionSummary createSummary(UUID customerId, LocalDate bucketDate) {
+        return TransactionSummary.builder()
+                .customerId(customerId)
+                .bucketDate(bucketDate)
+                .creditTotal(new BigDecimal("110.00"))
+                .creditCount(3)
+                .debitTotal(new BigDecimal("35.50"))
+                .debitCount(2)
+                .build();
+    }
+
+    static Hold createHold(UUID correlationId, UUID customerId, LocalDateTime createdAt) {
+        return Hold.builder()
+                .correlationId(correlationId)
+                .customerId(customerId)
+                .amount(new BigDecimal("60.00"))
+                .expiresAt(Timestamp.valueOf(createdAt.plusHours(1)))
+                .createdAt(Timestamp.valueOf(createdAt))
+                .build();
+    }
+
+    record Release(Hold hold) {
+    }
+
+    static ScheduledTransaction createScheduledTransaction(UUID correlationId, UUID customerId,
+                                                           LocalDateTime createdAt) {
+        return ScheduledTransaction.builder()
+                .correlationId(correlationId)
+                .customerId(customerId)
+                .amount(new BigDecimal("15.00"))
+                .operation(Operation.WITHDRAW)
+                .nextExecutionAt(Timestamp.valueOf(createdAt.plusDays(1)))
+                .repeatEvery(Duration.ofDays(1))
+                .executionCount(2)
+                .createdAt(Timestamp.valueOf(createdAt))
+                .build();
+    }
+
+    record Archival(Transaction transaction) {
+    }
+
+    record Deletion(ScheduledTransaction scheduledTransaction) {
+    }
+
+    static class RecordingHandler implements SnapshotRecordHandler {
+
+        private final List<Object> records = new ArrayList<>();
+
+        List<Object> getRecords() {
+            return records;
+        }
+
+        @Override
+        public void onBalance(Balance balance) {
+            records.add(balance);
+        }
+
+        @Override
+        public void onTransaction(Transaction transaction) {
+            records.add(transaction);
+        }
+
+        @Override
+        public void onSummary(TransactionSummary summary) {
+            records.add(summary);
+        }
+
+        @Override
+        public void onHold(Hold hold) {
+            records.add(hold);
+        }
+
+        @Override
+        public void onHoldRelease(Hold hold) {
+            records.add(new Release(hold));
+        }
+
+        @Override
+        public void onTransactionArchived(Transaction transaction) {
+            records.add(new Archival(transaction));
+        }
+
+        @Override
+        public void onScheduledTransaction(ScheduledTransaction scheduledTransaction) {
+            records.add(scheduledTransaction);
+        }
+
+        @Override
+        public void onScheduledTransactionDeleted(ScheduledTransaction scheduledTransaction) {
+            records.add(new Deletion(scheduledTransaction));
+        }
+    }
+}
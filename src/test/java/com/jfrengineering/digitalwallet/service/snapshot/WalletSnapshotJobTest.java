@@ -0,0 +1,200 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import com.jfrengineering.digitalwallet.configuration.SnapshotProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.domain.TransactionSummary;
+import com.jfrengineering.digitalwallet.service.BalanceStore;
+import com.jfrengineering.digitalwallet.service.TransactionCreatedEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_BALANCE;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_HOLD;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_SCHEDULED_TRANSACTION;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_SUMMARY;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_TRANSACTION;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.balanceParameters;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.holdParameters;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.scheduledTransactionParameters;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.summaryParameters;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.transactionParameters;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_B;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class WalletSnapshotJobTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123456000);
+
+    @TempDir
+    private Path directory;
+
+    private SnapshotProperties snapshotProperties;
+
+    private SnapshotDeltaLog snapshotDeltaLog;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private final BalanceStore balanceStore = mock(BalanceStore.class);
+
+    private WalletSnapshotJob underTest;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:snapshot" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        createTables(jdbcTemplate);
+        snapshotProperties = new SnapshotProperties();
+        snapshotProperties.setDirectory(directory);
+        snapshotDeltaLog = new SnapshotDeltaLog(snapshotProperties);
+        snapshotDeltaLog.open();
+        underTest = new WalletSnapshotJob(snapshotProperties, snapshotDeltaLog, jdbcTemplate,
+                new DataSourceTransactionManager(dataSource), new CustomerShardRouter(1), balanceStore);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        snapshotDeltaLog.close();
+    }
+
+    @Test
+    void takeSnapshot_writesAllRows_andDeletesDeltaLogsCommittedBefore() throws IOException {
+        // Given
+        Balance balance1 = createBalance(CUSTOMER_ID_1, new BigDecimal("100.00"), CREATED_AT, CREATED_AT.plusDays(1));
+        balance1.setHeldAmount(new BigDecimal("60.00"));
+        Balance balance2 = createBalance(CUSTOMER_ID_2, new BigDecimal("0.00"), CREATED_AT, CREATED_AT);
+        balance2.setHeldAmount(new BigDecimal("0.00"));
+        Transaction transaction = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD,
+                CREATED_AT);
+        transaction.setBalanceAfter(new BigDecimal("100.00"));
+        TransactionSummary summary = SnapshotFormatTest.createSummary(CUSTOMER_ID_1, LocalDate.of(2024, 1, 1));
+        Hold hold = SnapshotFormatTest.createHold(CORRELATION_ID_B, CUSTOMER_ID_1, CREATED_AT);
+        ScheduledTransaction repeated = SnapshotFormatTest.createScheduledTransaction(CORRELATION_ID_A, CUSTOMER_ID_1,
+                CREATED_AT);
+        ScheduledTransaction once = SnapshotFormatTest.createScheduledTransaction(CORRELATION_ID_B, CUSTOMER_ID_2,
+                CREATED_AT);
+        once.setRepeatEvery(null);
+        insert(jdbcTemplate, balance1, balance2, transaction, summary, hold, repeated, once);
+        snapshotDeltaLog.onTransactionCreated(new TransactionCreatedEvent(transaction));
+
+        // When
+        underTest.takeSnapshot();
+
+        // Then
+        SnapshotFormatTest.RecordingHandler handler = new SnapshotFormatTest.RecordingHandler();
+        SnapshotFormat.read(snapshotProperties.getSnapshotFile(), handler);
+        assertThat(handler.getRecords())
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactlyInAnyOrder(balance1, balance2, transaction, summary, hold, repeated, once);
+        assertThat(directory.resolve("wallet.snapshot" + WalletSnapshotJob.PENDING_SUFFIX)).doesNotExist();
+        assertThat(directory.resolve("delta-000000000001.log")).doesNotExist();
+        assertThat(directory.resolve("delta-000000000002.log")).exists();
+    }
+
+    @Test
+    void takeSnapshot_flushesTheBalanceStore_andSumsTheHeldAmountsFromTheHolds() throws IOException {
+        // Given
+        Balance balance = createBalance(CUSTOMER_ID_1, new BigDecimal("100.00"), CREATED_AT, CREATED_AT);
+        balance.setHeldAmount(new BigDecimal("0.00"));
+        Hold hold = SnapshotFormatTest.createHold(CORRELATION_ID_B, CUSTOMER_ID_1, CREATED_AT);
+        insert(jdbcTemplate, balance, hold);
+
+        // When
+        underTest.takeSnapshot();
+
+        // Then
+        verify(balanceStore).flush();
+        SnapshotFormatTest.RecordingHandler handler = new SnapshotFormatTest.RecordingHandler();
+        SnapshotFormat.read(snapshotProperties.getSnapshotFile(), handler);
+        assertThat(handler.getRecords()).filteredOn(Balance.class::isInstance).singleElement()
+                .extracting("heldAmount").isEqualTo(new BigDecimal("60.00"));
+    }
+
+    @Test
+    void takeSnapshot_replacesPreviousSnapshot() throws IOException {
+        // Given
+        underTest.takeSnapshot();
+        Transaction transaction = createTransaction(CORRELATION_ID_B, CUSTOMER_ID_2, TRANSACTION_AMOUNT,
+                Operation.WITHDRAW, CREATED_AT);
+        insert(jdbcTemplate, transaction);
+
+        // When
+        underTest.takeSnapshot();
+
+        // Then
+        SnapshotFormatTest.RecordingHandler handler = new SnapshotFormatTest.RecordingHandler();
+        SnapshotFormat.read(snapshotProperties.getSnapshotFile(), handler);
+        assertThat(handler.getRecords()).usingRecursiveFieldByFieldElementComparator().containsExactly(transaction);
+        assertThat(snapshotDeltaLog.previousDeltaFiles()).isEmpty();
+    }
+
+    @Test
+    void takeSnapshot_throwsWalletSnapshotException_andKeepsDeltaLogs_ifSnapshotCannotBeWritten() throws IOException {
+        // Given
+        Files.createDirectories(snapshotProperties.getSnapshotFile().resolve("file"));
+
+        // When-Then
+        WalletSnapshotException exception = assertThrows(WalletSnapshotException.class, () -> underTest.takeSnapshot());
+        assertThat(exception.getMessage())
+                .isEqualTo("Wallet snapshot could not be written: " + snapshotProperties.getSnapshotFile());
+        assertThat(snapshotDeltaLog.previousDeltaFiles()).containsExactly(directory.resolve("delta-000000000001.log"));
+    }
+
+    static void createTables(JdbcTemplate jdbcTemplate) {
+        jdbcTemplate.execute("CREATE TABLE balances (customer_id VARCHAR PRIMARY KEY, balance_amount DECIMAL(38, 2), "
+                + "held_amount DECIMAL(38, 2) DEFAULT 0 NOT NULL, created_at TIMESTAMP, updated_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE transactions (correlation_id VARCHAR PRIMARY KEY, customer_id VARCHAR, "
+                + "amount DECIMAL(38, 2), operation VARCHAR, balance_after DECIMAL(38, 2), created_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE transaction_summaries (customer_id VARCHAR, bucket_date DATE, "
+                + "credit_total DECIMAL(38, 2), credit_count BIGINT, debit_total DECIMAL(38, 2), debit_count BIGINT, "
+                + "PRIMARY KEY (customer_id, bucket_date))");
+        jdbcTemplate.execute("CREATE TABLE holds (correlation_id VARCHAR PRIMARY KEY, customer_id VARCHAR, "
+                + "amount DECIMAL(38, 2), expires_at TIMESTAMP, created_at TIMESTAMP)");
+        jdbcTemplate.execute("CREATE TABLE scheduled_transactions (correlation_id VARCHAR PRIMARY KEY, "
+                + "customer_id VARCHAR, amount DECIMAL(38, 2), operation VARCHAR, next_execution_at TIMESTAMP, "
+                + "repeat_every NUMERIC(21, 0), execution_count BIGINT, created_at TIMESTAMP)");
+    }
+
+    static void insert(JdbcTemplate jdbcTemplate, Object... rows) {
+        for (Object row : rows) {
+            if (row instanceof Balance balance) {
+                jdbcTemplate.update(INSERT_BALANCE, balanceParameters(balance));
+            } else if (row instanceof Transaction transaction) {
+                jdbcTemplate.update(INSERT_TRANSACTION, transactionParameters(transaction));
+            } else if (row instanceof Hold hold) {
+                jdbcTemplate.update(INSERT_HOLD, holdParameters(hold));
+            } else if (row instanceof ScheduledTransaction scheduledTransaction) {
+                jdbcTemplate.update(INSERT_SCHEDULED_TRANSACTION, scheduledTransactionParameters(scheduledTransaction));
+            } else {
+                jdbcTemplate.update(INSERT_SUMMARY, summaryParameters((TransactionSummary) row));
+            }
+        }
+    }
+}
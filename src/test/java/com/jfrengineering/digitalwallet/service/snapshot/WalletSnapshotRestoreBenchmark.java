@@ -0,0 +1,129 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import com.jfrengineering.digitalwallet.configuration.SnapshotProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.service.TransactionSummaryService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_BALANCE;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.INSERT_TRANSACTION;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.balanceParameters;
+import static com.jfrengineering.digitalwallet.service.snapshot.SnapshotStatements.transactionParameters;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+// Not part of the build, run with:
+// mvn test -Dtest=WalletSnapshotRestoreBenchmark -Dsurefire.failIfNoSpecifiedTests=false [-Dbenchmark.rows=10000,100000,1000000]
+class WalletSnapshotRestoreBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+    private static final int WARM_UP_ROWS = 50_000;
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+    @TempDir
+    private Path directory;
+
+    @Test
+    void restore_comparedWithSqlInserts() throws IOException {
+        List<Integer> rowCounts = Arrays.stream(System.getProperty("benchmark.rows", "10000,100000").split(","))
+                .map(Integer::valueOf)
+                .toList();
+        run(WARM_UP_ROWS);
+        System.out.printf("%12s %16s %16s%n", "rows", "snapshot (ms)", "inserts (ms)");
+        for (int rows : rowCounts) {
+            System.out.println(run(rows));
+        }
+    }
+
+    private String run(int rows) throws IOException {
+        List<UUID> customerIds = IntStream.range(0, CUSTOMERS).mapToObj(i -> UUID.randomUUID()).toList();
+        SnapshotProperties snapshotProperties = new SnapshotProperties();
+        snapshotProperties.setDirectory(Files.createDirectories(directory.resolve("rows" + rows)));
+        writeSnapshot(snapshotProperties.getSnapshotFile(), customerIds, rows);
+
+        long snapshotMillis = restoreFromSnapshot(snapshotProperties, rows);
+        long insertMillis = restoreWithInserts(customerIds, rows);
+        return String.format("%12d %16d %16d", rows, snapshotMillis, insertMillis);
+    }
+
+    private static long restoreFromSnapshot(SnapshotProperties snapshotProperties, int rows) throws IOException {
+        DriverManagerDataSource dataSource = createDataSource();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        WalletSnapshotJobTest.createTables(jdbcTemplate);
+        SnapshotDeltaLog snapshotDeltaLog = new SnapshotDeltaLog(snapshotProperties);
+        snapshotDeltaLog.open();
+        WalletSnapshotRestorer underTest = new WalletSnapshotRestorer(snapshotProperties, snapshotDeltaLog,
+                jdbcTemplate, new TransactionTemplate(new DataSourceTransactionManager(dataSource)),
+                mock(TransactionSummaryService.class), new CustomerShardRouter(1));
+
+        long start = System.nanoTime();
+        underTest.restore();
+        long elapsed = System.nanoTime() - start;
+
+        snapshotDeltaLog.close();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class)).isEqualTo(rows);
+        return TimeUnit.NANOSECONDS.toMillis(elapsed);
+    }
+
+    // What restoring costs without a snapshot: one INSERT per row, as the initialization scripts do
+    private static long restoreWithInserts(List<UUID> customerIds, int rows) {
+        DriverManagerDataSource dataSource = createDataSource();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        WalletSnapshotJobTest.createTables(jdbcTemplate);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        long start = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            customerIds.forEach(customerId -> jdbcTemplate.update(INSERT_BALANCE, balanceParameters(balance(customerId))));
+            IntStream.range(0, rows).forEach(i -> jdbcTemplate.update(INSERT_TRANSACTION,
+                    transactionParameters(transaction(customerIds, i))));
+        });
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transactions", Long.class)).isEqualTo(rows);
+        return TimeUnit.NANOSECONDS.toMillis(elapsed);
+    }
+
+    private static void writeSnapshot(Path file, List<UUID> customerIds, int rows) throws IOException {
+        try (SnapshotWriter writer = SnapshotWriter.create(file)) {
+            customerIds.forEach(customerId -> writer.append(balance(customerId)));
+            IntStream.range(0, rows).forEach(i -> writer.append(transaction(customerIds, i)));
+        }
+    }
+
+    private static DriverManagerDataSource createDataSource() {
+        return new DriverManagerDataSource("jdbc:h2:mem:benchmark" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+    }
+
+    private static Balance balance(UUID customerId) {
+        return createBalance(customerId, new BigDecimal("1000.00"), CREATED_AT, CREATED_AT);
+    }
+
+    private static Transaction transaction(List<UUID> customerIds, int i) {
+        Transaction transaction = createTransaction(UUID.randomUUID(), customerIds.get(i % CUSTOMERS),
+                new BigDecimal("10.00"), Operation.ADD, CREATED_AT.plusSeconds(i));
+        transaction.setBalanceAfter(new BigDecimal("1010.00"));
+        return transaction;
+    }
+}
@@ -0,0 +1,397 @@
+package com.jfrengineering.digitalwallet.service.snapshot;
+
+import com.jfrengineering.digitalwallet.configuration.SnapshotProperties;
+import com.jfrengineering.digitalwallet.datasource.CustomerShardRouter;
+import com.jfrengineering.digitalwallet.datasource.ShardContext;
+import com.jfrengineering.digitalwallet.datasource.ShardRoutingDataSource;
+import com.jfrengineering.digitalwallet.domain.Balance;
+import com.jfrengineering.digitalwallet.domain.Hold;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.ScheduledTransaction;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.domain.TransactionSummary;
+import com.jfrengineering.digitalwallet.service.TransactionSummaryService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_B;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createBalance;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class WalletSnapshotRestorerTest {
+
+    // Customers of shard 0 and 1 out of 2 shards
+    private static final UUID SHARD_0_CUSTOMER_ID = UUID.fromString("11111111-1111-1111-1111-111111111111");
+    private static final UUID SHARD_1_CUSTOMER_ID = UUID.fromString("55555555-5555-5555-5555-555555555555");
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123456000);
+
+    @TempDir
+    private Path directory;
+
+    @Mock
+    private TransactionSummaryService transactionSummaryService;
+
+    private final CustomerShardRouter customerShardRouter = new CustomerShardRouter(2);
+
+    private SnapshotProperties snapshotProperties;
+
+    private SnapshotDeltaLog snapshotDeltaLog;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private WalletSnapshotRestorer underTest;
+
+    @BeforeEach
+    void setUp() {
+        String databasePrefix = "restore" + UUID.randomUUID();
+        List<DataSource> shardDataSources = IntStream.range(0, 2)
+                .<DataSource>mapToObj(shard -> new DriverManagerDataSource(
+                        "jdbc:h2:mem:" + databasePrefix + shard + ";DB_CLOSE_DELAY=-1"))
+                .toList();
+        ShardRoutingDataSource dataSource = new ShardRoutingDataSource(shardDataSources);
+        dataSource.afterPropertiesSet();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        customerShardRouter.forEachShard(shard -> WalletSnapshotJobTest.createTables(jdbcTemplate));
+        snapshotProperties = new SnapshotProperties();
+        snapshotProperties.setDirectory(directory);
+        snapshotProperties.setRestoreBatchSize(2);
+        snapshotDeltaLog = new SnapshotDeltaLog(snapshotProperties);
+        underTest = new WalletSnapshotRestorer(snapshotProperties, snapshotDeltaLog, jdbcTemplate,
+                new TransactionTemplate(new DataSourceTransactionManager(dataSource)), transactionSummaryService,
+                customerShardRouter);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        snapshotDeltaLog.close();
+    }
+
+    @Test
+    void restore_doesNothing_ifNoSnapshotAndNoDeltaLogs() throws IOException {
+        // Given
+        snapshotDeltaLog.open();
+
+        // When
+        underTest.restore();
+
+        // Then
+        assertThat(rows(0, "balances")).isZero();
+        verifyNoInteractions(transactionSummaryService);
+    }
+
+    @Test
+    void restore_loadsSnapshotRowsIntoTheShardOfTheirCustomers() throws IOException {
+        // Given
+        Balance balance0 = createBalance(SHARD_0_CUSTOMER_ID, new BigDecimal("100.00"), CREATED_AT, CREATED_AT);
+        Balance balance1 = createBalance(SHARD_1_CUSTOMER_ID, new BigDecimal("20.00"), CREATED_AT, CREATED_AT);
+        List<Transaction> transactions = IntStream.range(0, 5)
+                .mapToObj(i -> createTransaction(UUID.randomUUID(), i == 0 ? SHARD_1_CUSTOMER_ID : SHARD_0_CUSTOMER_ID,
+                        TRANSACTION_AMOUNT, Operation.ADD, CREATED_AT.plusMinutes(i)))
+                .toList();
+        TransactionSummary summary = SnapshotFormatTest.createSummary(SHARD_1_CUSTOMER_ID, LocalDate.of(2024, 1, 1));
+        SnapshotFormatTest.write(snapshotProperties.getSnapshotFile(), List.of(balance0, balance1, transactions.get(0),
+                transactions.get(1), transactions.get(2), transactions.get(3), transactions.get(4), summary));
+        snapshotDeltaLog.open();
+
+        // When
+        underTest.restore();
+
+        // Then
+        assertThat(rows(0, "balances")).isEqualTo(1);
+        assertThat(rows(0, "transactions")).isEqualTo(4);
+        assertThat(rows(0, "transaction_summaries")).isZero();
+        assertThat(rows(1, "balances")).isEqualTo(1);
+        assertThat(rows(1, "transactions")).isEqualTo(1);
+        assertThat(rows(1, "transaction_summaries")).isEqualTo(1);
+        assertThat(ShardContext.callOn(1, () -> jdbcTemplate.query(SnapshotStatements.SELECT_SUMMARIES,
+                (row, rowNumber) -> SnapshotStatements.toSummary(row))))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(summary);
+        verifyNoInteractions(transactionSummaryService);
+    }
+
+    @Test
+    void restore_replaysDeltaLogTransactionsOnTopOfSnapshot() throws IOException {
+        // Given
+        Transaction inSnapshot = createTransaction(CORRELATION_ID_A, SHARD_0_CUSTOMER_ID, TRANSACTION_AMOUNT,
+                Operation.ADD, CREATED_AT);
+        inSnapshot.setBalanceAfter(new BigDecimal("123.45"));
+        Transaction notInSnapshot = createTransaction(CORRELATION_ID_B, SHARD_0_CUSTOMER_ID, new BigDecimal("23.45"),
+                Operation.WITHDRAW, CREATED_AT.plusMinutes(1));
+        notInSnapshot.setBalanceAfter(new BigDecimal("100.00"));
+        SnapshotFormatTest.write(snapshotProperties.getSnapshotFile(), List.of(
+                createBalance(SHARD_0_CUSTOMER_ID, new BigDecimal("123.45"), CREATED_AT, CREATED_AT), inSnapshot));
+        SnapshotFormatTest.write(directory.resolve("delta-000000000001.log"), List.of(inSnapshot));
+        SnapshotFormatTest.write(directory.resolve("delta-000000000002.log"), List.of(notInSnapshot));
+        snapshotDeltaLog.open();
+
+        // When
+        underTest.restore();
+
+        // Then
+        assertThat(rows(0, "transactions")).isEqualTo(2);
+        assertThat(ShardContext.callOn(0, () -> jdbcTemplate.query(SnapshotStatements.SELECT_BALANCES,
+                (row, rowNumber) -> SnapshotStatements.toBalance(row))))
+                .singleElement()
+                .extracting("balanceAmount", "updatedAt")
+                .containsExactly(new BigDecimal("100.00"), notInSnapshot.getCreatedAt());
+        verify(transactionSummaryService).recordTransaction(
+                argThat(transaction -> CORRELATION_ID_B.equals(transaction.getCorrelationId())));
+    }
+
+    @Test
+    void restore_keepsTheBalanceOfTheLatestTransaction_ifLoggedBeforeAnOlderOne() throws IOException {
+        // Given
+        Transaction older = createTransaction(CORRELATION_ID_A, SHARD_0_CUSTOMER_ID, TRANSACTION_AMOUNT,
+                Operation.ADD, CREATED_AT.plusMinutes(1));
+        older.setBalanceAfter(new BigDecimal("223.45"));
+        Transaction newer = createTransaction(CORRELATION_ID_B, SHARD_0_CUSTOMER_ID, new BigDecimal("23.45"),
+                Operation.WITHDRAW, CREATED_AT.plusMinutes(2));
+        newer.setBalanceAfter(new BigDecimal("200.00"));
+        SnapshotFormatTest.write(snapshotProperties.getSnapshotFile(), List.of(
+                createBalance(SHARD_0_CUSTOMER_ID, new BigDecimal("100.00"), CREATED_AT, CREATED_AT)));
+        SnapshotFormatTest.write(directory.resolve("delta-000000000001.log"), List.of(newer, older));
+        snapshotDeltaLog.open();
+
+        // When
+        underTest.restore();
+
+        // Then
+        assertThat(rows(0, "transactions")).isEqualTo(2);
+        assertThat(ShardContext.callOn(0, () -> jdbcTemplate.query(SnapshotStatements.SELECT_BALANCES,
+                (row, rowNumber) -> SnapshotStatements.toBalance(row))))
+                .singleElement()
+                .extracting("balanceAmount", "updatedAt")
+                .containsExactly(new BigDecimal("200.00"), newer.getCreatedAt());
+    }
+
+    @Test
+    void restore_deletesTheTransactionsArchivedAfterTheSnapshot() throws IOException {
+        // Given
+        Transaction archived = createTransaction(CORRELATION_ID_A, SHARD_0_CUSTOMER_ID, TRANSACTION_AMOUNT,
+                Operation.ADD, CREATED_AT);
+        Transaction kept = createTransaction(CORRELATION_ID_B, SHARD_1_CUSTOMER_ID, TRANSACTION_AMOUNT,
+                Operation.ADD, CREATED_AT);
+        SnapshotFormatTest.write(snapshotProperties.getSnapshotFile(), List.of(archived, kept));
+        SnapshotFormatTest.write(directory.resolve("delta-000000000001.log"), List.of(
+                new SnapshotFormatTest.Archival(archived), new SnapshotFormatTest.Archival(Transaction.builder()
+                        .correlationId(CORRELATION_ID_B)
+                        .customerId(SHARD_0_CUSTOMER_ID)
+                        .build())));
+        snapshotDeltaLog.open();
+
+        // When
+        underTest.restore();
+
+        // Then
+        assertThat(rows(0, "transactions")).isZero();
+        assertThat(rows(1, "transactions")).isEqualTo(1);
+    }
+
+    @Test
+    void restore_replaysDeltaLogScheduleChangesOnTopOfSnapshot() throws IOException {
+        // Given
+        ScheduledTransaction advanced = SnapshotFormatTest.createScheduledTransaction(CORRELATION_ID_A,
+                SHARD_0_CUSTOMER_ID, CREATED_AT);
+        ScheduledTransaction cancelled = SnapshotFormatTest.createScheduledTransaction(CORRELATION_ID_B,
+                SHARD_0_CUSTOMER_ID, CREATED_AT);
+        ScheduledTransaction created = SnapshotFormatTest.createScheduledTransaction(UUID.randomUUID(),
+                SHARD_1_CUSTOMER_ID, CREATED_AT);
+        created.setRepeatEvery(null);
+        SnapshotFormatTest.write(snapshotProperties.getSnapshotFile(), List.of(advanced, cancelled));
+        ScheduledTransaction nextExecution = SnapshotFormatTest.createScheduledTransaction(CORRELATION_ID_A,
+                SHARD_0_CUSTOMER_ID, CREATED_AT.plusDays(1));
+        nextExecution.setExecutionCount(3);
+        nextExecution.setCreatedAt(advanced.getCreatedAt());
+        SnapshotFormatTest.write(directory.resolve("delta-000000000001.log"), List.of(advanced, nextExecution,
+                advanced, created, new SnapshotFormatTest.Deletion(cancelled)));
+        snapshotDeltaLog.open();
+
+        // When
+        underTest.restore();
+
+        // Then
+        assertThat(ShardContext.callOn(0, () -> jdbcTemplate.query(SnapshotStatements.SELECT_SCHEDULED_TRANSACTIONS,
+                (row, rowNumber) -> SnapshotStatements.toScheduledTransaction(row))))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(nextExecution);
+        assertThat(ShardContext.callOn(1, () -> jdbcTemplate.query(SnapshotStatements.SELECT_SCHEDULED_TRANSACTIONS,
+                (row, rowNumber) -> SnapshotStatements.toScheduledTransaction(row))))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(created);
+    }
+
+    @Test
+    void restore_replaysDeltaLogBalancesMissingFromSnapshot() throws IOException {
+        // Given
+        Balance inSnapshot = createBalance(SHARD_0_CUSTOMER_ID, new BigDecimal("100.00"), CREATED_AT, CREATED_AT);
+        Balance onboarded = createBalance(SHARD_1_CUSTOMER_ID, new BigDecimal("0.00"), CREATED_AT, CREATED_AT);
+        onboarded.setHeldAmount(new BigDecimal("0.00"));
+        SnapshotFormatTest.write(snapshotProperties.getSnapshotFile(), List.of(inSnapshot));
+        SnapshotFormatTest.write(directory.resolve("delta-000000000001.log"), List.of(
+                createBalance(SHARD_0_CUSTOMER_ID, BigDecimal.ZERO, CREATED_AT, CREATED_AT), onboarded));
+        snapshotDeltaLog.open();
+
+        // When
+        underTest.restore();
+
+        // Then
+        assertThat(ShardContext.callOn(0, () -> jdbcTemplate.queryForObject("SELECT balance_amount FROM balances",
+                BigDecimal.class))).isEqualTo(new BigDecimal("100.00"));
+        assertThat(ShardContext.callOn(1, () -> jdbcTemplate.query(SnapshotStatements.SELECT_BALANCES,
+                (row, rowNumber) -> SnapshotStatements.toBalance(row))))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(onboarded);
+    }
+
+    @Test
+    void restore_replaysDeltaLogHoldChangesOnTopOfSnapshot() throws IOException {
+        // Given
+        Balance balance0 = createBalance(SHARD_0_CUSTOMER_ID, new BigDecimal("100.00"), CREATED_AT, CREATED_AT);
+        balance0.setHeldAmount(new BigDecimal("60.00"));
+        Balance balance1 = createBalance(SHARD_1_CUSTOMER_ID, new BigDecimal("20.00"), CREATED_AT, CREATED_AT);
+        Hold inSnapshot = SnapshotFormatTest.createHold(CORRELATION_ID_A, SHARD_0_CUSTOMER_ID, CREATED_AT);
+        Hold notInSnapshot = SnapshotFormatTest.createHold(CORRELATION_ID_B, SHARD_0_CUSTOMER_ID, CREATED_AT);
+        notInSnapshot.setAmount(new BigDecimal("40.00"));
+        Hold releasedBeforeSnapshot = SnapshotFormatTest.createHold(UUID.randomUUID(), SHARD_1_CUSTOMER_ID, CREATED_AT);
+        Hold otherShard = SnapshotFormatTest.createHold(UUID.randomUUID(), SHARD_1_CUSTOMER_ID, CREATED_AT);
+        otherShard.setAmount(new BigDecimal("15.00"));
+        SnapshotFormatTest.write(snapshotProperties.getSnapshotFile(), List.of(balance0, balance1, inSnapshot));
+        SnapshotFormatTest.write(directory.resolve("delta-000000000001.log"), List.of(inSnapshot,
+                new SnapshotFormatTest.Release(releasedBeforeSnapshot), notInSnapshot, otherShard,
+                new SnapshotFormatTest.Release(inSnapshot)));
+        snapshotDeltaLog.open();
+
+        // When
+        underTest.restore();
+
+        // Then
+        assertThat(ShardContext.callOn(0, () -> jdbcTemplate.query(SnapshotStatements.SELECT_HOLDS,
+                (row, rowNumber) -> SnapshotStatements.toHold(row))))
+                .usingRecursiveFieldByFieldElementComparator()
+                .containsExactly(notInSnapshot);
+        assertThat(ShardContext.callOn(0, () -> jdbcTemplate.queryForObject("SELECT held_amount FROM balances",
+                BigDecimal.class))).isEqualTo(new BigDecimal("40.00"));
+        assertThat(rows(1, "holds")).isEqualTo(1);
+        assertThat(ShardContext.callOn(1, () -> jdbcTemplate.queryForObject("SELECT held_amount FROM balances",
+                BigDecimal.class))).isEqualTo(new BigDecimal("15.00"));
+        verifyNoInteractions(transactionSummaryService);
+    }
+
+    @Test
+    void restore_replaysDeltaLogTransactions_ifNoSnapshot() throws IOException {
+        // Given
+        ShardContext.runOn(1, () -> WalletSnapshotJobTest.insert(jdbcTemplate,
+                createBalance(SHARD_1_CUSTOMER_ID, new BigDecimal("20.00"), CREATED_AT, CREATED_AT)));
+        Transaction transaction = createTransaction(CORRELATION_ID_A, SHARD_1_CUSTOMER_ID, TRANSACTION_AMOUNT,
+                Operation.ADD, CREATED_AT);
+        transaction.setBalanceAfter(new BigDecimal("143.45"));
+        SnapshotFormatTest.write(directory.resolve("delta-000000000001.log"), List.of(transaction));
+        snapshotDeltaLog.open();
+
+        // When
+        underTest.restore();
+
+        // Then
+        assertThat(rows(0, "transactions")).isZero();
+        assertThat(rows(1, "transactions")).isEqualTo(1);
+        assertThat(ShardContext.callOn(1, () -> jdbcTemplate.queryForObject("SELECT balance_amount FROM balances",
+                BigDecimal.class))).isEqualTo(new BigDecimal("143.45"));
+        verify(transactionSummaryService).recordTransaction(any(Transaction.class));
+    }
+
+    @Test
+    void restore_throwsWalletSnapshotException_ifSnapshotCannotBeRead() throws IOException {
+        // Given
+        Files.write(snapshotProperties.getSnapshotFile(), "not a snapshot".getBytes());
+        snapshotDeltaLog.open();
+
+        // When-Then
+        WalletSnapshotException exception = assertThrows(WalletSnapshotException.class, () -> underTest.restore());
+        assertThat(exception.getMessage())
+                .isEqualTo("Wallet snapshot could not be read: " + snapshotProperties.getSnapshotFile());
+    }
+
+    @Test
+    void restore_throwsIllegalStateException_ifDeltaLogHoldsOtherRecords() throws IOException {
+        // Given
+        Path deltaFile = directory.resolve("delta-000000000001.log");
+        SnapshotFormatTest.write(deltaFile, List.of(SnapshotFormatTest.createSummary(SHARD_0_CUSTOMER_ID,
+                LocalDate.of(2024, 1, 1))));
+        snapshotDeltaLog.open();
+
+        // When-Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> underTest.restore());
+        assertThat(exception.getMessage()).isEqualTo("Unexpected transaction summary record in a wallet delta log");
+    }
+
+    @Test
+    void restore_throwsIllegalStateException_ifSnapshotHoldsHoldReleases() throws IOException {
+        // Given
+        SnapshotFormatTest.write(snapshotProperties.getSnapshotFile(), List.of(new SnapshotFormatTest.Release(
+                SnapshotFormatTest.createHold(CORRELATION_ID_A, SHARD_0_CUSTOMER_ID, CREATED_AT))));
+        snapshotDeltaLog.open();
+
+        // When-Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> underTest.restore());
+        assertThat(exception.getMessage()).isEqualTo("Unexpected hold release record in a wallet snapshot");
+    }
+
+    @Test
+    void restore_throwsIllegalStateException_ifSnapshotHoldsTransactionArchivals() throws IOException {
+        // Given
+        SnapshotFormatTest.write(snapshotProperties.getSnapshotFile(), List.of(new SnapshotFormatTest.Archival(
+                createTransaction(CORRELATION_ID_A, SHARD_0_CUSTOMER_ID, TRANSACTION_AMOUNT, Operation.ADD))));
+        snapshotDeltaLog.open();
+
+        // When-Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> underTest.restore());
+        assertThat(exception.getMessage()).isEqualTo("Unexpected transaction archival record in a wallet snapshot");
+    }
+
+    @Test
+    void restore_throwsIllegalStateException_ifSnapshotHoldsScheduleDeletions() throws IOException {
+        // Given
+        SnapshotFormatTest.write(snapshotProperties.getSnapshotFile(), List.of(new SnapshotFormatTest.Deletion(
+                SnapshotFormatTest.createScheduledTransaction(CORRELATION_ID_A, SHARD_0_CUSTOMER_ID, CREATED_AT))));
+        snapshotDeltaLog.open();
+
+        // When-Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> underTest.restore());
+        assertThat(exception.getMessage()).isEqualTo("Unexpected schedule deletion record in a wallet snapshot");
+    }
+
+    private long rows(int shard, String table) {
+        return ShardContext.callOn(shard, () -> jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table,
+                Long.class));
+    }
+}
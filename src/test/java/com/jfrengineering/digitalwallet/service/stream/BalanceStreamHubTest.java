@@ -0,0 +1,453 @@
+package com.jfrengineering.digitalwallet.service.stream;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.domain.Transaction;
+import com.jfrengineering.digitalwallet.mapper.TransactionMapper;
+import com.jfrengineering.digitalwallet.service.TransactionCreatedEvent;
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_B;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransaction;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceStreamHubTest {
+
+    @Mock
+    private ThreadPoolExecutor sender;
+
+    @Mock
+    private ScheduledExecutorService watchdog;
+
+    @Mock
+    private ScheduledFuture<?> sendTimeout;
+
+    private final List<Runnable> scheduledDrains = new ArrayList<>();
+
+    private final List<Runnable> sendTimeouts = new ArrayList<>();
+
+    private final List<RecordingEmitter> emitters = new ArrayList<>();
+
+    private BalanceStreamHub underTest;
+
+    @BeforeEach
+    void setUp() {
+        underTest = new BalanceStreamHub(sender, watchdog, Duration.ofSeconds(2), () -> {
+            RecordingEmitter emitter = new RecordingEmitter();
+            emitters.add(emitter);
+            return emitter;
+        });
+        lenient().doAnswer(invocation -> {
+            sendTimeouts.add(invocation.getArgument(0));
+            return sendTimeout;
+        }).when(watchdog).schedule(any(Runnable.class), anyLong(), any());
+    }
+
+    @Test
+    void onTransactionCreated_sendsUpdateToEachSubscriberOfTheCustomer() {
+        // Given
+        scheduleDrains();
+        underTest.subscribe(CUSTOMER_ID_1);
+        underTest.subscribe(CUSTOMER_ID_1);
+        underTest.subscribe(CUSTOMER_ID_2);
+        Transaction transaction = transactionWithBalance(BigDecimal.valueOf(110));
+
+        // When
+        underTest.onTransactionCreated(new TransactionCreatedEvent(transaction));
+        runScheduledDrains();
+
+        // Then
+        assertThat(emitters.get(0).sent).containsExactly(TransactionMapper
+                .transactionAndBalanceToTransactionBalanceResponse(CUSTOMER_ID_1, transaction, BigDecimal.valueOf(110)));
+        assertThat(emitters.get(1).sent).isEqualTo(emitters.get(0).sent);
+        assertThat(emitters.get(2).sent).isEmpty();
+    }
+
+    @Test
+    void onTransactionCreated_sendsOnlyLatestUpdate_ifSubscriberIsBehind() {
+        // Given
+        scheduleDrains();
+        underTest.subscribe(CUSTOMER_ID_1);
+        Transaction first = createTransaction(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD,
+                LocalDateTime.now());
+        first.setBalanceAfter(BigDecimal.valueOf(110));
+        Transaction second = createTransaction(CORRELATION_ID_B, CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD,
+                LocalDateTime.now());
+        second.setBalanceAfter(BigDecimal.valueOf(120));
+
+        // When
+        underTest.onTransactionCreated(new TransactionCreatedEvent(first));
+        underTest.onTransactionCreated(new TransactionCreatedEvent(second));
+        runScheduledDrains();
+
+        // Then
+        assertThat(scheduledDrains).hasSize(1);
+        assertThat(emitters.get(0).sent).containsExactly(TransactionMapper
+                .transactionAndBalanceToTransactionBalanceResponse(CUSTOMER_ID_1, second, BigDecimal.valueOf(120)));
+    }
+
+    @Test
+    void onTransactionCreated_keepsSendingUpdatesOfferedWhileSending() {
+        // Given
+        scheduleDrains();
+        underTest.subscribe(CUSTOMER_ID_1);
+        Transaction first = transactionWithBalance(BigDecimal.valueOf(110));
+        Transaction second = transactionWithBalance(BigDecimal.valueOf(120));
+        emitters.get(0).onSend = update -> {
+            if (update.getUpdatedBalance().equals(BigDecimal.valueOf(110))) {
+                underTest.onTransactionCreated(new TransactionCreatedEvent(second));
+            }
+        };
+        underTest.onTransactionCreated(new TransactionCreatedEvent(first));
+
+        // When
+        runScheduledDrains();
+
+        // Then
+        assertThat(scheduledDrains).hasSize(2);
+        assertThat(emitters.get(0).sent).extracting(TransactionBalanceResponse::getUpdatedBalance)
+                .containsExactly(BigDecimal.valueOf(110), BigDecimal.valueOf(120));
+        verify(watchdog, times(2)).schedule(any(Runnable.class), eq(2_000L),
+                eq(TimeUnit.MILLISECONDS));
+        verify(sendTimeout, times(2)).cancel(false);
+    }
+
+    @Test
+    void onTransactionCreated_givesUpTheSenderAfterEachSend() {
+        // Given
+        scheduleDrains();
+        underTest.subscribe(CUSTOMER_ID_1);
+        underTest.subscribe(CUSTOMER_ID_2);
+        emitters.get(0).onSend = update ->
+                underTest.onTransactionCreated(new TransactionCreatedEvent(transactionWithBalance(BigDecimal.ONE)));
+        underTest.onTransactionCreated(new TransactionCreatedEvent(transactionWithBalance(BigDecimal.TEN)));
+        Transaction otherTransaction = createTransaction(UUID.randomUUID(), CUSTOMER_ID_2, TRANSACTION_AMOUNT,
+                Operation.ADD, LocalDateTime.now());
+        otherTransaction.setBalanceAfter(BigDecimal.TEN);
+        underTest.onTransactionCreated(new TransactionCreatedEvent(otherTransaction));
+
+        // When
+        scheduledDrains.get(0).run();
+        scheduledDrains.get(1).run();
+
+        // Then
+        assertThat(emitters.get(0).sent).hasSize(1);
+        assertThat(emitters.get(1).sent).hasSize(1);
+        assertThat(scheduledDrains).hasSize(3);
+    }
+
+    @Test
+    void onTransactionCreated_dropsSubscriber_ifSendTimesOut() {
+        // Given
+        scheduleDrains();
+        when(sender.getCorePoolSize()).thenReturn(2, 3);
+        when(sender.getMaximumPoolSize()).thenReturn(2, 3);
+        underTest.subscribe(CUSTOMER_ID_1);
+        emitters.get(0).onSend = update -> sendTimeouts.get(0).run();
+        underTest.onTransactionCreated(new TransactionCreatedEvent(transactionWithBalance(BigDecimal.ONE)));
+        runScheduledDrains();
+
+        // When
+        underTest.onTransactionCreated(new TransactionCreatedEvent(transactionWithBalance(BigDecimal.TEN)));
+        runScheduledDrains();
+
+        // Then
+        assertThat(emitters.get(0).sent).extracting(TransactionBalanceResponse::getUpdatedBalance)
+                .containsExactly(BigDecimal.ONE);
+        assertThat(emitters.get(0).failure).isInstanceOf(TimeoutException.class)
+                .hasMessage("Balance update not sent within 2000 ms");
+        assertThat(scheduledDrains).hasSize(1);
+        InOrder inOrder = inOrder(sender);
+        inOrder.verify(sender).setMaximumPoolSize(3);
+        inOrder.verify(sender).setCorePoolSize(3);
+        inOrder.verify(sender).setCorePoolSize(2);
+        inOrder.verify(sender).setMaximumPoolSize(2);
+    }
+
+    @Test
+    void onTransactionCreated_keepsSubscriber_ifSendTimeoutRunsAfterTheSend() {
+        // Given
+        scheduleDrains();
+        underTest.subscribe(CUSTOMER_ID_1);
+        underTest.onTransactionCreated(new TransactionCreatedEvent(transactionWithBalance(BigDecimal.ONE)));
+        runScheduledDrains();
+
+        // When
+        sendTimeouts.get(0).run();
+        underTest.onTransactionCreated(new TransactionCreatedEvent(transactionWithBalance(BigDecimal.TEN)));
+        runScheduledDrains();
+
+        // Then
+        assertThat(emitters.get(0).sent).extracting(TransactionBalanceResponse::getUpdatedBalance)
+                .containsExactly(BigDecimal.ONE, BigDecimal.TEN);
+        assertThat(emitters.get(0).failure).isNull();
+        verify(sender, never()).setCorePoolSize(anyInt());
+    }
+
+    @Test
+    void onTransactionCreated_keepsSendingToTheOtherSubscribers_whileASendIsStalled() throws InterruptedException {
+        // Given
+        BlockingEmitter stalled = new BlockingEmitter();
+        BlockingEmitter other = new BlockingEmitter();
+        other.release.countDown();
+        List<BlockingEmitter> blockingEmitters = new ArrayList<>(List.of(stalled, other));
+        ThreadPoolExecutor senders = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>());
+        ScheduledExecutorService watchdogThread = Executors.newSingleThreadScheduledExecutor();
+        BalanceStreamHub balanceStreamHub = new BalanceStreamHub(senders, watchdogThread, Duration.ofMillis(100),
+                () -> blockingEmitters.remove(0));
+        balanceStreamHub.subscribe(CUSTOMER_ID_1);
+        balanceStreamHub.subscribe(CUSTOMER_ID_2);
+        Transaction otherTransaction = createTransaction(UUID.randomUUID(), CUSTOMER_ID_2, TRANSACTION_AMOUNT,
+                Operation.ADD, LocalDateTime.now());
+        otherTransaction.setBalanceAfter(BigDecimal.TEN);
+
+        try {
+            // When
+            balanceStreamHub.onTransactionCreated(new TransactionCreatedEvent(
+                    transactionWithBalance(BigDecimal.ONE)));
+            balanceStreamHub.onTransactionCreated(new TransactionCreatedEvent(otherTransaction));
+
+            // Then
+            assertThat(other.sent.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(stalled.completed.getCount()).isOne();
+            stalled.release.countDown();
+            assertThat(stalled.completed.await(5, TimeUnit.SECONDS)).isTrue();
+            assertThat(stalled.failure).isInstanceOf(TimeoutException.class)
+                    .hasMessage("Balance update not sent within 100 ms");
+            assertThat(senders.getCorePoolSize()).isOne();
+            assertThat(senders.getMaximumPoolSize()).isOne();
+        } finally {
+            balanceStreamHub.close();
+        }
+    }
+
+    @Test
+    void drain_skipsTheSend_ifDroppedMeanwhile() {
+        // Given
+        scheduleDrains();
+        underTest.subscribe(CUSTOMER_ID_1);
+        emitters.get(0).onSend = update -> {
+            underTest.onTransactionCreated(new TransactionCreatedEvent(transactionWithBalance(BigDecimal.TEN)));
+            sendTimeouts.get(0).run();
+        };
+        underTest.onTransactionCreated(new TransactionCreatedEvent(transactionWithBalance(BigDecimal.ONE)));
+
+        // When
+        runScheduledDrains();
+
+        // Then
+        assertThat(scheduledDrains).hasSize(2);
+        assertThat(emitters.get(0).sent).hasSize(1);
+        assertThat(sendTimeouts).hasSize(1);
+    }
+
+    @Test
+    void onTransactionCreated_doesNothing_ifNoSubscribers() {
+        // When
+        underTest.onTransactionCreated(new TransactionCreatedEvent(transactionWithBalance(BigDecimal.TEN)));
+
+        // Then
+        verifyNoInteractions(sender);
+    }
+
+    @Test
+    void onTransactionCreated_ignoresSendFailure() {
+        // Given
+        scheduleDrains();
+        underTest.subscribe(CUSTOMER_ID_1);
+        emitters.get(0).sendFailure = new IOException("Broken pipe");
+        underTest.onTransactionCreated(new TransactionCreatedEvent(transactionWithBalance(BigDecimal.TEN)));
+
+        // When
+        runScheduledDrains();
+
+        // Then
+        assertThat(emitters.get(0).sent).isEmpty();
+        assertThat(underTest.getSubscriberCount()).isEqualTo(1);
+    }
+
+    @Test
+    void subscribe_unsubscribes_whenStreamCompletesOrFails() {
+        // Given
+        underTest.subscribe(CUSTOMER_ID_1);
+        underTest.subscribe(CUSTOMER_ID_1);
+        underTest.subscribe(CUSTOMER_ID_2);
+        assertThat(underTest.getSubscriberCount()).isEqualTo(3);
+
+        // When
+        emitters.get(0).completionCallback.run();
+        emitters.get(2).errorCallback.accept(new IOException("Connection reset"));
+
+        // Then
+        assertThat(underTest.getSubscriberCount()).isEqualTo(1);
+        emitters.get(1).completionCallback.run();
+        emitters.get(1).completionCallback.run();
+        assertThat(underTest.getSubscriberCount()).isZero();
+        underTest.onTransactionCreated(new TransactionCreatedEvent(transactionWithBalance(BigDecimal.TEN)));
+        verifyNoInteractions(sender);
+    }
+
+    @Test
+    void subscribe_completesStream_onTimeout() {
+        // Given
+        underTest.subscribe(CUSTOMER_ID_1);
+
+        // When
+        emitters.get(0).timeoutCallback.run();
+
+        // Then
+        assertThat(emitters.get(0).completed).isTrue();
+    }
+
+    @Test
+    void subscribe_createsEmitterWithTimeout_andCloseStopsSenders() {
+        // Given
+        BalanceStreamHub balanceStreamHub = new BalanceStreamHub(Duration.ofSeconds(5), 1, Duration.ofSeconds(1));
+
+        // When
+        SseEmitter actual = balanceStreamHub.subscribe(UUID.randomUUID());
+        balanceStreamHub.close();
+
+        // Then
+        assertThat(actual.getTimeout()).isEqualTo(5_000L);
+        assertThat(balanceStreamHub.getSubscriberCount()).isEqualTo(1);
+    }
+
+    private void scheduleDrains() {
+        doAnswer(invocation -> scheduledDrains.add(invocation.getArgument(0))).when(sender).execute(any());
+    }
+
+    // Runs the drains scheduled by the drains too
+    private void runScheduledDrains() {
+        for (int drain = 0; drain < scheduledDrains.size(); drain++) {
+            scheduledDrains.get(drain).run();
+        }
+    }
+
+    private static Transaction transactionWithBalance(BigDecimal balanceAfter) {
+        Transaction transaction = createTransaction(UUID.randomUUID(),
+                CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD, LocalDateTime.now());
+        transaction.setBalanceAfter(balanceAfter);
+        return transaction;
+    }
+
+    // Holds the emitter monitor while the send is blocked, like a write to a client that stopped reading
+    private static class BlockingEmitter extends SseEmitter {
+
+        private final CountDownLatch release = new CountDownLatch(1);
+        private final CountDownLatch sent = new CountDownLatch(1);
+        private final CountDownLatch completed = new CountDownLatch(1);
+        private volatile Throwable failure;
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException();
+            }
+            sent.countDown();
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            failure = ex;
+            completed.countDown();
+        }
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+
+        private final List<TransactionBalanceResponse> sent = new ArrayList<>();
+        private Consumer<TransactionBalanceResponse> onSend = update -> { };
+        private IOException sendFailure;
+        private Throwable failure;
+        private Runnable completionCallback;
+        private Runnable timeoutCallback;
+        private Consumer<Throwable> errorCallback;
+        private boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            if (sendFailure != null) {
+                throw sendFailure;
+            }
+            DataWithMediaType data = builder.build().stream()
+                    .filter(item -> MediaType.APPLICATION_JSON.equals(item.getMediaType()))
+                    .findFirst()
+                    .orElseThrow();
+            TransactionBalanceResponse update = (TransactionBalanceResponse) data.getData();
+            sent.add(update);
+            onSend.accept(update);
+        }
+
+        @Override
+        public void onCompletion(Runnable callback) {
+            completionCallback = callback;
+        }
+
+        @Override
+        public void onTimeout(Runnable callback) {
+            timeoutCallback = callback;
+        }
+
+        @Override
+        public void onError(Consumer<Throwable> callback) {
+            errorCallback = callback;
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failure = ex;
+        }
+    }
+}
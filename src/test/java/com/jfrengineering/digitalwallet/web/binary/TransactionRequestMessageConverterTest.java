@@ -0,0 +1,153 @@
+package com.jfrengineering.digitalwallet.web.binary;
+
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.web.model.TransactionBatchRequest;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.mock.http.MockHttpInputMessage;
+import org.springframework.mock.http.MockHttpOutputMessage;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_B;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_2;
+import static com.jfrengineering.digitalwallet.util.TestUtils.TRANSACTION_AMOUNT;
+import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TransactionRequestMessageConverterTest {
+
+    private final TransactionRequestMessageConverter underTest = new TransactionRequestMessageConverter();
+
+    @Test
+    void canReadAndWrite_onlyTransactionRequestsInTheBinaryFormat() {
+        // When-Then
+        assertThat(underTest.canRead(TransactionRequest.class, TransactionRequestFormat.MEDIA_TYPE)).isTrue();
+        assertThat(underTest.canRead(TransactionBatchRequest.class, TransactionRequestFormat.MEDIA_TYPE)).isTrue();
+        assertThat(underTest.canWrite(TransactionRequest.class, TransactionRequestFormat.MEDIA_TYPE)).isTrue();
+        assertThat(underTest.canRead(TransactionRequest.class, MediaType.APPLICATION_JSON)).isFalse();
+        assertThat(underTest.canRead(String.class, TransactionRequestFormat.MEDIA_TYPE)).isFalse();
+    }
+
+    @Test
+    void read_decodesTransactionRequest() throws IOException {
+        // Given
+        TransactionRequest transactionRequest = createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1,
+                TRANSACTION_AMOUNT, Operation.WITHDRAW);
+        byte[] body = write(transactionRequest);
+
+        // When
+        Object actual = underTest.read(TransactionRequest.class, new MockHttpInputMessage(body));
+
+        // Then
+        assertThat(body).hasSize(TransactionRequestFormat.RECORD_LENGTH);
+        assertThat(actual).isEqualTo(transactionRequest);
+    }
+
+    @Test
+    void read_decodesTransactionBatchRequest() throws IOException {
+        // Given
+        TransactionBatchRequest batchRequest = new TransactionBatchRequest(List.of(
+                createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1, new BigDecimal("0.01"), Operation.ADD),
+                createTransactionRequest(CORRELATION_ID_B, CUSTOMER_ID_2, new BigDecimal("99999.99"),
+                        Operation.WITHDRAW)));
+        byte[] body = write(batchRequest);
+
+        // When
+        Object actual = underTest.read(TransactionBatchRequest.class, new MockHttpInputMessage(body));
+
+        // Then
+        assertThat(body).hasSize(TransactionRequestFormat.COUNT_LENGTH + 2 * TransactionRequestFormat.RECORD_LENGTH);
+        assertThat(actual).isEqualTo(batchRequest);
+    }
+
+    @Test
+    void read_keepsAmountsValidatedAfterDecoding() throws IOException {
+        // Given
+        byte[] body = write(createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1, new BigDecimal("-5"),
+                Operation.ADD));
+
+        // When
+        Object actual = underTest.read(TransactionRequest.class, new MockHttpInputMessage(body));
+
+        // Then
+        assertThat(((TransactionRequest) actual).getAmount()).isEqualTo(new BigDecimal("-5.00"));
+    }
+
+    @Test
+    void read_throwsHttpMessageNotReadableException_ifNotTheExpectedLength() throws IOException {
+        // Given
+        byte[] body = write(createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT,
+                Operation.ADD));
+        byte[] shorter = Arrays.copyOf(body, body.length - 1);
+        byte[] longer = Arrays.copyOf(body, body.length + 1);
+
+        // When-Then
+        HttpMessageNotReadableException exception = assertThrows(HttpMessageNotReadableException.class,
+                () -> underTest.read(TransactionRequest.class, new MockHttpInputMessage(shorter)));
+        assertThat(exception.getMessage()).isEqualTo("Invalid binary transaction request");
+        exception = assertThrows(HttpMessageNotReadableException.class,
+                () -> underTest.read(TransactionRequest.class, new MockHttpInputMessage(longer)));
+        assertThat(exception.getMessage()).isEqualTo("Unexpected bytes after the transactions");
+    }
+
+    @Test
+    void read_throwsHttpMessageNotReadableException_ifUnknownOperation() throws IOException {
+        // Given
+        byte[] body = write(createTransactionRequest(CORRELATION_ID_A, CUSTOMER_ID_1, TRANSACTION_AMOUNT,
+                Operation.ADD));
+        body[TransactionRequestFormat.RECORD_LENGTH - 1] = 2;
+
+        // When-Then
+        HttpMessageNotReadableException exception = assertThrows(HttpMessageNotReadableException.class,
+                () -> underTest.read(TransactionRequest.class, new MockHttpInputMessage(body)));
+        assertThat(exception.getCause()).hasMessage("Unknown transaction operation: 2");
+        body[TransactionRequestFormat.RECORD_LENGTH - 1] = -1;
+        assertThrows(HttpMessageNotReadableException.class,
+                () -> underTest.read(TransactionRequest.class, new MockHttpInputMessage(body)));
+    }
+
+    @Test
+    void read_throwsHttpMessageNotReadableException_ifCountDoesNotMatchTheBatch() throws IOException {
+        // Given
+        byte[] body = write(new TransactionBatchRequest(List.of(createTransactionRequest(CORRELATION_ID_A,
+                CUSTOMER_ID_1, TRANSACTION_AMOUNT, Operation.ADD))));
+        ByteBuffer.wrap(body).putInt(2);
+        byte[] negativeCount = body.clone();
+        ByteBuffer.wrap(negativeCount).putInt(-1);
+
+        // When-Then
+        HttpMessageNotReadableException exception = assertThrows(HttpMessageNotReadableException.class,
+                () -> underTest.read(TransactionBatchRequest.class, new MockHttpInputMessage(body)));
+        assertThat(exception.getCause()).hasMessage("Transaction count does not match the body length: 2");
+        assertThrows(HttpMessageNotReadableException.class,
+                () -> underTest.read(TransactionBatchRequest.class, new MockHttpInputMessage(negativeCount)));
+    }
+
+    @Test
+    void read_throwsHttpMessageNotReadableException_ifBatchLongerThanTheMaximum() {
+        // Given
+        int count = TransactionBatchRequest.MAX_TRANSACTIONS + 1;
+        ByteBuffer body = ByteBuffer.allocate(TransactionRequestFormat.COUNT_LENGTH
+                + count * TransactionRequestFormat.RECORD_LENGTH).putInt(count);
+
+        // When-Then
+        assertThrows(HttpMessageNotReadableException.class,
+                () -> underTest.read(TransactionBatchRequest.class, new MockHttpInputMessage(body.array())));
+    }
+
+    private byte[] write(Object request) throws IOException {
+        MockHttpOutputMessage outputMessage = new MockHttpOutputMessage();
+        underTest.write(request, TransactionRequestFormat.MEDIA_TYPE, outputMessage);
+        return outputMessage.getBodyAsBytes();
+    }
+}
@@ -0,0 +1,120 @@
+package com.jfrengineering.digitalwallet.web.controller;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.jfrengineering.digitalwallet.service.BalanceService;
+import com.jfrengineering.digitalwallet.service.CustomerOnboardingService;
+import com.jfrengineering.digitalwallet.web.model.BalanceBatchRequest;
+import com.jfrengineering.digitalwallet.web.model.BalanceBatchResponse;
+import com.jfrengineering.digitalwallet.web.model.BalanceResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.logging.LogMarkers.SAMPLED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BalanceControllerTest {
+
+    @Mock
+    private BalanceService balanceService;
+
+    @Mock
+    private CustomerOnboardingService customerOnboardingService;
+
+    @InjectMocks
+    private BalanceController underTest;
+
+    private ListAppender<ILoggingEvent> logWatcher;
+
+    @BeforeEach
+    void setUp() {
+        logWatcher = new ListAppender<>();
+        logWatcher.start();
+        ((Logger) LoggerFactory.getLogger(BalanceController.class)).addAppender(logWatcher);
+    }
+
+    @Test
+    void getCustomerBalance() {
+        // Given
+        UUID customerId = UUID.randomUUID();
+        LocalDateTime asOf = LocalDateTime.now().minusDays(1);
+
+        // And
+        BalanceResponse balanceResponse = mock(BalanceResponse.class);
+        when(balanceService.getBalance(customerId, asOf)).thenReturn(balanceResponse);
+
+        // When
+        ResponseEntity<BalanceResponse> responseEntity = underTest.getCustomerBalance(customerId, asOf);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getBody()).isEqualTo(balanceResponse);
+
+        // And
+        assertThat(logWatcher.list).hasSize(1);
+        assertThat(logWatcher.list.get(0))
+                .extracting("level", "formattedMessage", "markerList")
+                .containsExactly(Level.INFO, "Received request to get balance for customer with ID " + customerId,
+                        List.of(SAMPLED));
+    }
+
+    @Test
+    void streamCustomerBalance() {
+        // Given
+        UUID customerId = UUID.randomUUID();
+        SseEmitter emitter = new SseEmitter();
+        when(balanceService.streamBalanceUpdates(customerId)).thenReturn(emitter);
+
+        // When
+        SseEmitter actual = underTest.streamCustomerBalance(customerId);
+
+        // Then
+        assertThat(actual).isSameAs(emitter);
+
+        // And
+        assertThat(logWatcher.list).hasSize(1);
+        assertThat(logWatcher.list.get(0))
+                .extracting("level", "formattedMessage", "markerList")
+                .containsExactly(Level.INFO, "Received request to stream balance updates for customer with ID " + customerId,
+                        List.of(SAMPLED));
+    }
+
+    @Test
+    void createBalances() {
+        // Given
+        List<UUID> customerIds = List.of(UUID.randomUUID(), UUID.randomUUID());
+        BalanceBatchResponse balanceBatchResponse = mock(BalanceBatchResponse.class);
+        when(customerOnboardingService.createBalances(customerIds)).thenReturn(balanceBatchResponse);
+
+        // When
+        ResponseEntity<BalanceBatchResponse> responseEntity =
+                underTest.createBalances(new BalanceBatchRequest(customerIds));
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getBody()).isEqualTo(balanceBatchResponse);
+
+        // And
+        assertThat(logWatcher.list).hasSize(1);
+        assertThat(logWatcher.list.get(0))
+                .extracting("level", "formattedMessage")
+                .containsExactly(Level.INFO, "Received request to create the balances of 2 customers");
+    }
+}
@@ -0,0 +1,111 @@
+package com.jfrengineering.digitalwallet.web.controller;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.jfrengineering.digitalwallet.service.HoldService;
+import com.jfrengineering.digitalwallet.web.model.HoldRequest;
+import com.jfrengineering.digitalwallet.web.model.HoldResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.logging.LogMarkers.SAMPLED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class HoldControllerTest {
+
+    private static final UUID CORRELATION_ID = UUID.randomUUID();
+    private static final UUID CUSTOMER_ID = UUID.randomUUID();
+
+    @Mock
+    private HoldService holdService;
+
+    @InjectMocks
+    private HoldController underTest;
+
+    private ListAppender<ILoggingEvent> logWatcher;
+
+    @BeforeEach
+    void setUp() {
+        logWatcher = new ListAppender<>();
+        logWatcher.start();
+        ((Logger) LoggerFactory.getLogger(HoldController.class)).addAppender(logWatcher);
+    }
+
+    @Test
+    void reserveHold() {
+        // Given
+        HoldRequest holdRequest = new HoldRequest(CORRELATION_ID, CUSTOMER_ID, new BigDecimal("123.45"), null);
+
+        // And
+        HoldResponse holdResponse = mock(HoldResponse.class);
+        when(holdService.reserveHold(holdRequest)).thenReturn(holdResponse);
+
+        // When
+        ResponseEntity<HoldResponse> responseEntity = underTest.reserveHold(holdRequest);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(responseEntity.getBody()).isEqualTo(holdResponse);
+
+        // And
+        verifyLog("Received request to reserve hold " + CORRELATION_ID + " for customer with ID " + CUSTOMER_ID
+                + ": 123.45");
+    }
+
+    @Test
+    void captureHold() {
+        // Given
+        TransactionBalanceResponse transactionBalanceResponse = mock(TransactionBalanceResponse.class);
+        when(holdService.captureHold(CUSTOMER_ID, CORRELATION_ID, BigDecimal.TEN))
+                .thenReturn(transactionBalanceResponse);
+
+        // When
+        ResponseEntity<TransactionBalanceResponse> responseEntity = underTest.captureHold(CUSTOMER_ID, CORRELATION_ID,
+                BigDecimal.TEN);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(responseEntity.getBody()).isEqualTo(transactionBalanceResponse);
+
+        // And
+        verifyLog("Received request to capture hold " + CORRELATION_ID + " for customer with ID " + CUSTOMER_ID
+                + ": 10");
+    }
+
+    @Test
+    void releaseHold() {
+        // When
+        ResponseEntity<Void> responseEntity = underTest.releaseHold(CUSTOMER_ID, CORRELATION_ID);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        verify(holdService).releaseHold(CUSTOMER_ID, CORRELATION_ID);
+
+        // And
+        verifyLog("Received request to release hold " + CORRELATION_ID + " for customer with ID " + CUSTOMER_ID);
+    }
+
+    private void verifyLog(String message) {
+        assertThat(logWatcher.list).singleElement()
+                .extracting("level", "formattedMessage", "markerList")
+                .containsExactly(Level.INFO, message, List.of(SAMPLED));
+    }
+}
@@ -0,0 +1,99 @@
+package com.jfrengineering.digitalwallet.web.controller;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.service.ScheduledTransactionService;
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionRequest;
+import com.jfrengineering.digitalwallet.web.model.ScheduledTransactionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.logging.LogMarkers.SAMPLED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ScheduledTransactionControllerTest {
+
+    @Mock
+    private ScheduledTransactionService scheduledTransactionService;
+
+    @InjectMocks
+    private ScheduledTransactionController underTest;
+
+    private ListAppender<ILoggingEvent> logWatcher;
+
+    @BeforeEach
+    void setUp() {
+        logWatcher = new ListAppender<>();
+        logWatcher.start();
+        ((Logger) LoggerFactory.getLogger(ScheduledTransactionController.class)).addAppender(logWatcher);
+    }
+
+    @Test
+    void scheduleTransaction() {
+        // Given
+        UUID correlationId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+        ScheduledTransactionRequest scheduledTransactionRequest = new ScheduledTransactionRequest(correlationId,
+                customerId, new BigDecimal("123.45"), Operation.WITHDRAW, LocalDateTime.of(2030, 1, 1, 9, 30),
+                Duration.ofDays(1));
+
+        // And
+        ScheduledTransactionResponse scheduledTransactionResponse = mock(ScheduledTransactionResponse.class);
+        when(scheduledTransactionService.scheduleTransaction(scheduledTransactionRequest))
+                .thenReturn(scheduledTransactionResponse);
+
+        // When
+        ResponseEntity<ScheduledTransactionResponse> responseEntity =
+                underTest.scheduleTransaction(scheduledTransactionRequest);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(responseEntity.getBody()).isEqualTo(scheduledTransactionResponse);
+
+        // And
+        assertThat(logWatcher.list).singleElement()
+                .extracting("level", "formattedMessage", "markerList")
+                .containsExactly(Level.INFO, "Received request to schedule transaction " + correlationId
+                        + " for customer with ID " + customerId + ": WITHDRAW 123.45 at 2030-01-01T09:30 repeating every PT24H", List.of(SAMPLED));
+    }
+
+    @Test
+    void cancelScheduledTransaction() {
+        // Given
+        UUID correlationId = UUID.randomUUID();
+        UUID customerId = UUID.randomUUID();
+
+        // When
+        ResponseEntity<Void> responseEntity = underTest.cancelScheduledTransaction(customerId, correlationId);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        verify(scheduledTransactionService).cancelScheduledTransaction(customerId, correlationId);
+
+        // And
+        assertThat(logWatcher.list).singleElement()
+                .extracting("level", "formattedMessage", "markerList")
+                .containsExactly(Level.INFO, "Received request to cancel scheduled transaction " + correlationId
+                        + " for customer with ID " + customerId, List.of(SAMPLED));
+    }
+}
@@ -6,8 +6,16 @@ import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
 import com.jfrengineering.digitalwallet.domain.Operation;
 import com.jfrengineering.digitalwallet.service.TransactionService;
+import com.jfrengineering.digitalwallet.service.TransactionSummaryService;
+import com.jfrengineering.digitalwallet.web.exception.TransactionExceptionHandler;
+import com.jfrengineering.digitalwallet.web.exception.UnacceptedTransactionAmountException;
+import com.jfrengineering.digitalwallet.web.model.SummaryGranularity;
 import com.jfrengineering.digitalwallet.web.model.TransactionBalanceResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionBatchRequest;
+import com.jfrengineering.digitalwallet.web.model.TransactionBatchResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionBatchResult;
 import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import com.jfrengineering.digitalwallet.web.model.TransactionSummaryResponse;
 import com.jfrengineering.digitalwallet.web.model.TransactionsPageResponse;
 import org.assertj.core.api.AssertionsForClassTypes;
 import org.junit.jupiter.api.BeforeEach;
@@ -17,14 +25,18 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.EnumSource;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
 import java.util.UUID;
 
+import static com.jfrengineering.digitalwallet.logging.LogMarkers.SAMPLED;
 import static com.jfrengineering.digitalwallet.util.TestUtils.createTransactionRequest;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -36,6 +48,12 @@ class TransactionControllerTest {
     @Mock
     private TransactionService transactionService;
 
+    @Mock
+    private TransactionSummaryService transactionSummaryService;
+
+    @Spy
+    private TransactionExceptionHandler transactionExceptionHandler = new TransactionExceptionHandler();
+
     @InjectMocks
     private TransactionController underTest;
 
@@ -71,6 +89,31 @@ class TransactionControllerTest {
         verifyLogs(Level.INFO, "Received request to get customer transactions for customer with ID " + customerId);
     }
 
+    @ParameterizedTest
+    @EnumSource(value = SummaryGranularity.class)
+    void getCustomerTransactionSummary(SummaryGranularity granularity) {
+        // Given
+        UUID customerId = UUID.randomUUID();
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 3, 31);
+
+        // And
+        TransactionSummaryResponse transactionSummaryResponse = mock(TransactionSummaryResponse.class);
+        when(transactionSummaryService.getTransactionSummary(customerId, from, to, granularity))
+                .thenReturn(transactionSummaryResponse);
+
+        // When
+        ResponseEntity<TransactionSummaryResponse> responseEntity =
+                underTest.getCustomerTransactionSummary(customerId, from, to, granularity);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getBody()).isEqualTo(transactionSummaryResponse);
+
+        // And
+        verifyLogs(Level.INFO, "Received request to get transaction summary for customer with ID " + customerId);
+    }
+
     @ParameterizedTest
     @EnumSource(value = Operation.class)
     void createTransaction(Operation operation) {
@@ -93,13 +136,43 @@ class TransactionControllerTest {
         assertThat(responseEntity.getBody()).isEqualTo(transactionBalanceResponse);
 
         // And
-        verifyLogs(Level.INFO, "Received request to create transaction: " + transactionRequest);
+        verifyLogs(Level.INFO, "Received request to create transaction " + correlationId + " for customer with ID "
+                + customerId + ": " + operation + " 123.45");
+    }
+
+    @Test
+    void createTransactions_returnsTheResultOfEachTransaction() {
+        // Given
+        TransactionRequest accepted = createTransactionRequest(UUID.randomUUID(), UUID.randomUUID(),
+                new BigDecimal("10.00"), Operation.ADD);
+        TransactionRequest rejected = createTransactionRequest(UUID.randomUUID(), UUID.randomUUID(),
+                new BigDecimal("20.00"), Operation.WITHDRAW);
+
+        // And
+        TransactionBalanceResponse transactionBalanceResponse = mock(TransactionBalanceResponse.class);
+        when(transactionService.createTransaction(accepted)).thenReturn(transactionBalanceResponse);
+        when(transactionService.createTransaction(rejected))
+                .thenThrow(new UnacceptedTransactionAmountException("Not enough Credit"));
+
+        // When
+        ResponseEntity<TransactionBatchResponse> responseEntity =
+                underTest.createTransactions(new TransactionBatchRequest(List.of(accepted, rejected)));
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(responseEntity.getBody().getResults()).containsExactly(
+                new TransactionBatchResult(accepted.getCorrelationId(), 201, transactionBalanceResponse, null),
+                new TransactionBatchResult(rejected.getCorrelationId(), 406, null,
+                        "Transaction rejected. Not enough Credit"));
+
+        // And
+        verifyLogs(Level.INFO, "Received request to create a batch of 2 transactions");
     }
 
     private void verifyLogs(Level level, String message) {
         AssertionsForClassTypes.assertThat(logWatcher.list.size()).isEqualTo(1);
         AssertionsForClassTypes.assertThat(logWatcher.list.get(0))
-                .extracting("level", "formattedMessage")
-                .containsExactly(level, message);
+                .extracting("level", "formattedMessage", "markerList")
+                .containsExactly(level, message, List.of(SAMPLED));
     }
 }
\ No newline at end of file
@@ -0,0 +1,75 @@
+package com.jfrengineering.digitalwallet.web.controller;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.jfrengineering.digitalwallet.service.TransactionService;
+import com.jfrengineering.digitalwallet.web.model.TransferRequest;
+import com.jfrengineering.digitalwallet.web.model.TransferResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+import static com.jfrengineering.digitalwallet.logging.LogMarkers.SAMPLED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TransferControllerTest {
+
+    @Mock
+    private TransactionService transactionService;
+
+    @InjectMocks
+    private TransferController underTest;
+
+    private ListAppender<ILoggingEvent> logWatcher;
+
+    @BeforeEach
+    void setUp() {
+        logWatcher = new ListAppender<>();
+        logWatcher.start();
+        ((Logger) LoggerFactory.getLogger(TransferController.class)).addAppender(logWatcher);
+    }
+
+    @Test
+    void createTransfer() {
+        // Given
+        UUID correlationId = UUID.randomUUID();
+        UUID fromCustomerId = UUID.randomUUID();
+        UUID toCustomerId = UUID.randomUUID();
+        TransferRequest transferRequest = new TransferRequest(correlationId, fromCustomerId, toCustomerId,
+                new BigDecimal("123.45"));
+
+        // And
+        TransferResponse transferResponse = mock(TransferResponse.class);
+        when(transactionService.createTransfer(transferRequest)).thenReturn(transferResponse);
+
+        // When
+        ResponseEntity<TransferResponse> responseEntity = underTest.createTransfer(transferRequest);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        assertThat(responseEntity.getBody()).isEqualTo(transferResponse);
+
+        // And
+        assertThat(logWatcher.list).hasSize(1);
+        assertThat(logWatcher.list.get(0))
+                .extracting("level", "formattedMessage", "markerList")
+                .containsExactly(Level.INFO, "Received request to create transfer " + correlationId
+                        + " from customer with ID " + fromCustomerId + " to customer with ID " + toCustomerId
+                        + ": 123.45", List.of(SAMPLED));
+    }
+}
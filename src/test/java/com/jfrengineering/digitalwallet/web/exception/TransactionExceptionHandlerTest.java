@@ -4,21 +4,27 @@ import ch.qos.logback.classic.Level;
 import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
+import jakarta.persistence.EntityExistsException;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.persistence.PersistenceException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.LoggerFactory;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Map;
 
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
 import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
@@ -99,6 +105,30 @@ class TransactionExceptionHandlerTest {
         verifyLogs(Level.WARN, "Transaction rejected: having repeated 'correlationId'");
     }
 
+    @Test
+    void toResponse_returnsTheResponseOfTheHandlerOfTheException() {
+        // Given
+        String errorMessage = "Entity not found";
+
+        // When
+        ResponseEntity<?> notFound = underTest.toResponse(new EntityNotFoundException(errorMessage));
+        ResponseEntity<?> conflict = underTest.toResponse(new EntityExistsException());
+
+        // Then
+        assertThat(notFound.getStatusCode()).isEqualTo(HttpStatus.NOT_FOUND);
+        assertThat(notFound.getBody()).isEqualTo(errorMessage);
+        assertThat(conflict.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    void toResponse_rethrowsException_ifNotHandled() {
+        // Given
+        IllegalStateException exception = new IllegalStateException("Unexpected");
+
+        // When-Then
+        assertSame(exception, assertThrows(IllegalStateException.class, () -> underTest.toResponse(exception)));
+    }
+
     @Test
     void unacceptedTransactionAmountErrorHandler() {
         // Given
@@ -116,6 +146,115 @@ class TransactionExceptionHandlerTest {
         verifyLogs(Level.INFO, "Transaction rejected: having unaccepted amount or insufficient credit");
     }
 
+    @Test
+    void invalidDateRangeErrorHandler() {
+        // Given
+        String exceptionMessage = "Wrong range";
+        InvalidDateRangeException exception = new InvalidDateRangeException(exceptionMessage);
+
+        // When
+        ResponseEntity<String> responseEntity = underTest.invalidDateRangeErrorHandler(exception);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(responseEntity.getBody()).isEqualTo(exceptionMessage);
+
+        // And
+        verifyLogs(Level.INFO, exceptionMessage);
+    }
+
+    @Test
+    void invalidTransferErrorHandler() {
+        // Given
+        String exceptionMessage = "Transfer rejected. Source and destination customers must be different";
+        InvalidTransferException exception = new InvalidTransferException(exceptionMessage);
+
+        // When
+        ResponseEntity<String> responseEntity = underTest.invalidTransferErrorHandler(exception);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(responseEntity.getBody()).isEqualTo(exceptionMessage);
+
+        // And
+        verifyLogs(Level.INFO, exceptionMessage);
+    }
+
+    @Test
+    void invalidScheduleErrorHandler() {
+        // Given
+        String exceptionMessage = "Scheduled transaction rejected. 'repeatEvery' must be at least PT1M";
+        InvalidScheduleException exception = new InvalidScheduleException(exceptionMessage);
+
+        // When
+        ResponseEntity<String> responseEntity = underTest.invalidScheduleErrorHandler(exception);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(responseEntity.getBody()).isEqualTo(exceptionMessage);
+
+        // And
+        verifyLogs(Level.INFO, exceptionMessage);
+    }
+
+    @Test
+    void invalidHoldErrorHandler() {
+        // Given
+        String exceptionMessage = "Hold rejected. 'expiresIn' must be positive and at most PT720H";
+        InvalidHoldException exception = new InvalidHoldException(exceptionMessage);
+
+        // When
+        ResponseEntity<String> responseEntity = underTest.invalidHoldErrorHandler(exception);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+        assertThat(responseEntity.getBody()).isEqualTo(exceptionMessage);
+
+        // And
+        verifyLogs(Level.INFO, exceptionMessage);
+    }
+
+    @Test
+    void rateLimitExceededErrorHandler() {
+        // Given
+        RateLimitExceededException exception = new RateLimitExceededException(CUSTOMER_ID_1,
+                Duration.ofMillis(1_200));
+        String exceptionMessage = "Too many transactions for customer with ID '" + CUSTOMER_ID_1
+                + "', please retry later";
+        ((Logger) LoggerFactory.getLogger(TransactionExceptionHandler.class)).setLevel(Level.DEBUG);
+
+        // When
+        ResponseEntity<String> responseEntity = underTest.rateLimitExceededErrorHandler(exception);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+        assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(responseEntity.getBody()).isEqualTo(exceptionMessage);
+
+        // And
+        verifyLogs(Level.DEBUG, exceptionMessage);
+        ((Logger) LoggerFactory.getLogger(TransactionExceptionHandler.class)).setLevel(null);
+    }
+
+    @Test
+    void concurrencyLimitExceededErrorHandler() {
+        // Given
+        ConcurrencyLimitExceededException exception = new ConcurrencyLimitExceededException(Duration.ofSeconds(2));
+        ((Logger) LoggerFactory.getLogger(TransactionExceptionHandler.class)).setLevel(Level.DEBUG);
+
+        // When
+        ResponseEntity<String> responseEntity = underTest.concurrencyLimitExceededErrorHandler(exception);
+
+        // Then
+        assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(responseEntity.getHeaders().getFirst(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        assertThat(responseEntity.getBody()).isEqualTo("Too many transactions in progress, please retry later");
+
+        // And
+        verifyLogs(Level.DEBUG, "Too many transactions in progress, please retry later");
+        ((Logger) LoggerFactory.getLogger(TransactionExceptionHandler.class)).setLevel(null);
+    }
+
     @Test
     void persistenceExceptionErrorHandler() {
         // Given
@@ -0,0 +1,110 @@
+package com.jfrengineering.digitalwallet.web.filter;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.jfrengineering.digitalwallet.web.filter.FirstRequestTimingFilter.FIRST_REQUEST_TIME_METRIC;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FirstRequestTimingFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final FirstRequestTimingFilter underTest = new FirstRequestTimingFilter(meterRegistry);
+
+    @Test
+    void doFilter_recordsTimeToFirstRequestOnlyOnce() throws Exception {
+        // Given
+        MockFilterChain firstChain = new MockFilterChain();
+        MockFilterChain secondChain = new MockFilterChain();
+
+        // When
+        underTest.doFilter(new MockHttpServletRequest("GET", "/transactions/1"), new MockHttpServletResponse(), firstChain);
+        double timeToFirstRequest = meterRegistry.get(FIRST_REQUEST_TIME_METRIC).timeGauge().value(TimeUnit.MILLISECONDS);
+        underTest.doFilter(new MockHttpServletRequest("GET", "/transactions/2"), new MockHttpServletResponse(), secondChain);
+
+        // Then
+        assertThat(firstChain.getRequest()).isNotNull();
+        assertThat(secondChain.getRequest()).isNotNull();
+        assertThat(timeToFirstRequest).isPositive();
+        assertThat(meterRegistry.get(FIRST_REQUEST_TIME_METRIC).timeGauges()).hasSize(1)
+                .extracting(gauge -> gauge.value(TimeUnit.MILLISECONDS))
+                .containsExactly(timeToFirstRequest);
+    }
+
+    @Test
+    void doFilter_ignoresActuatorRequests() throws Exception {
+        // When
+        underTest.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(),
+                new MockFilterChain());
+
+        // Then
+        assertThat(meterRegistry.find(FIRST_REQUEST_TIME_METRIC).meters()).isEmpty();
+    }
+
+    @Test
+    void doFilter_recordsTimeToFirstRequestOnce_ifConcurrentFirstRequests() throws Exception {
+        // Given
+        ListAppender<ILoggingEvent> logWatcher = new ListAppender<>();
+        logWatcher.start();
+        ((Logger) LoggerFactory.getLogger(FirstRequestTimingFilter.class)).addAppender(logWatcher);
+        CountDownLatch bothInChain = new CountDownLatch(2);
+        FilterChain chain = (request, response) -> awaitBoth(bothInChain);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        // When
+        try {
+            List<Future<Object>> requests = executor.invokeAll(List.of(
+                    () -> filter(new MockHttpServletRequest("GET", "/transactions/1"), chain),
+                    () -> filter(new MockHttpServletRequest("GET", "/transactions/2"), chain)));
+            for (Future<Object> request : requests) {
+                request.get(5, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+            ((Logger) LoggerFactory.getLogger(FirstRequestTimingFilter.class)).detachAppender(logWatcher);
+        }
+
+        // Then
+        assertThat(bothInChain.getCount()).isZero();
+        assertThat(meterRegistry.get(FIRST_REQUEST_TIME_METRIC).timeGauges()).hasSize(1);
+        assertThat(logWatcher.list).extracting(ILoggingEvent::getFormattedMessage)
+                .singleElement(InstanceOfAssertFactories.STRING)
+                .startsWith("First request (GET /transactions/");
+    }
+
+    private Object filter(MockHttpServletRequest request, FilterChain chain) throws Exception {
+        underTest.doFilter(request, new MockHttpServletResponse(), chain);
+        return null;
+    }
+
+    // Holds both requests in the chain, past the check of whether the first request was served
+    private static void awaitBoth(CountDownLatch bothInChain) throws IOException {
+        bothInChain.countDown();
+        try {
+            if (!bothInChain.await(5, TimeUnit.SECONDS)) {
+                throw new IOException("Requests did not run concurrently");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.jfrengineering.digitalwallet.web.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.web.model.TransactionResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionsPageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_A;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CORRELATION_ID_B;
+import static com.jfrengineering.digitalwallet.util.TestUtils.CUSTOMER_ID_1;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TransactionsPageResponseSerializerTest {
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void serialize_writesCompactLayout() throws JsonProcessingException {
+        // Given
+        TransactionsPageResponse page = new TransactionsPageResponse(CUSTOMER_ID_1, 1, 2, 5, true, List.of(
+                new TransactionResponse(CORRELATION_ID_A, new BigDecimal("10.50"), Operation.ADD, "2024-01-01 10:00:00"),
+                new TransactionResponse(CORRELATION_ID_B, new BigDecimal("1E+3"), Operation.WITHDRAW,
+                        "2024-01-02 11:30:15")));
+
+        // When
+        String actual = objectMapper.writeValueAsString(page);
+
+        // Then
+        assertThat(actual).isEqualTo("{\"customerId\":\"" + CUSTOMER_ID_1 + "\",\"pageNumber\":1,\"pageSize\":2,"
+                + "\"totalElements\":5,\"hasNext\":true,\"content\":["
+                + "{\"correlationId\":\"" + CORRELATION_ID_A + "\",\"amount\":10.50,\"operation\":\"ADD\","
+                + "\"createdAt\":\"2024-01-01 10:00:00\"},"
+                + "{\"correlationId\":\"" + CORRELATION_ID_B + "\",\"amount\":1E+3,\"operation\":\"WITHDRAW\","
+                + "\"createdAt\":\"2024-01-02 11:30:15\"}]}");
+        assertThat(objectMapper.readValue(actual, TransactionsPageResponse.class)).isEqualTo(page);
+    }
+
+    @Test
+    void serialize_writesEmptyContent() throws JsonProcessingException {
+        // Given
+        TransactionsPageResponse page = new TransactionsPageResponse(CUSTOMER_ID_1, 0, 10, 0, false, List.of());
+
+        // When
+        String actual = objectMapper.writeValueAsString(page);
+
+        // Then
+        assertThat(actual).isEqualTo("{\"customerId\":\"" + CUSTOMER_ID_1 + "\",\"pageNumber\":0,\"pageSize\":10,"
+                + "\"totalElements\":0,\"hasNext\":false,\"content\":[]}");
+        assertThat(objectMapper.readValue(actual, TransactionsPageResponse.class)).isEqualTo(page);
+    }
+}
@@ -0,0 +1,62 @@
+package com.jfrengineering.digitalwallet.web.json;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.jfrengineering.digitalwallet.domain.Operation;
+import com.jfrengineering.digitalwallet.web.model.TransactionResponse;
+import com.jfrengineering.digitalwallet.web.model.TransactionsPageResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not part of the build, run with:
+// mvn test -Dtest=TransactionsPageSerializationBenchmark -Dsurefire.failIfNoSpecifiedTests=false
+class TransactionsPageSerializationBenchmark {
+
+    private static final int ITERATIONS = 200_000;
+    private static final UUID CUSTOMER_ID = UUID.randomUUID();
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    @Test
+    void serialize_compactComparedWithPageImpl() throws JsonProcessingException {
+        System.out.printf("%10s %-12s %10s %14s%n", "page size", "format", "bytes", "ns/response");
+        for (int pageSize : List.of(10, 100)) {
+            List<TransactionResponse> content = IntStream.range(0, pageSize)
+                    .mapToObj(i -> new TransactionResponse(UUID.randomUUID(), new BigDecimal("123.45"),
+                            Operation.values()[i % 2], "2024-01-01 10:00:00"))
+                    .toList();
+            // Layout of the response before it was replaced: the whole Spring Data page
+            Object pageImpl = new PageImpl<>(content, PageRequest.of(1, pageSize,
+                    Sort.by("createdAt").descending()), 5L * pageSize);
+            Object compact = new TransactionsPageResponse(CUSTOMER_ID, 1, pageSize, 5L * pageSize, true, content);
+
+            measure(pageSize, "PageImpl", pageImpl);
+            measure(pageSize, "compact", compact);
+        }
+    }
+
+    private void measure(int pageSize, String format, Object page) throws JsonProcessingException {
+        int bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) { // warm-up
+            bytes = objectMapper.writeValueAsBytes(page).length;
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes = objectMapper.writeValueAsBytes(page).length;
+        }
+        long elapsed = System.nanoTime() - start;
+
+        assertThat(bytes).isPositive();
+        System.out.printf("%10d %-12s %10d %14d%n", pageSize, format, bytes, elapsed / ITERATIONS);
+    }
+}
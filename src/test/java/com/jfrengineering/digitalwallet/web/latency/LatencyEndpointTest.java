@@ -0,0 +1,28 @@
+package com.jfrengineering.digitalwallet.web.latency;
+
+import com.jfrengineering.digitalwallet.web.model.LatencyResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyEndpointTest {
+
+    private final LatencyHistograms latencyHistograms = new LatencyHistograms(Duration.ofSeconds(1), 2);
+
+    private final LatencyEndpoint underTest = new LatencyEndpoint(latencyHistograms);
+
+    @Test
+    void latency_returnsSnapshotOfTheHistograms() {
+        // Given
+        latencyHistograms.record("getCustomerTransactions", 404, 1_000_000);
+
+        // When
+        Map<String, Map<Integer, LatencyResponse>> actual = underTest.latency();
+
+        // Then
+        assertThat(actual.get("getCustomerTransactions").get(404).getCumulative().getCount()).isEqualTo(1);
+    }
+}
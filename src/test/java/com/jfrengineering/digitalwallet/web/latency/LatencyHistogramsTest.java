@@ -0,0 +1,73 @@
+package com.jfrengineering.digitalwallet.web.latency;
+
+import com.jfrengineering.digitalwallet.web.model.LatencyPercentilesResponse;
+import com.jfrengineering.digitalwallet.web.model.LatencyResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class LatencyHistogramsTest {
+
+    private final LatencyHistograms underTest = new LatencyHistograms(Duration.ofSeconds(10), 3);
+
+    @Test
+    void snapshot_returnsPercentilesByEndpointAndStatus() {
+        // Given
+        LongStream.rangeClosed(1, 10_000).forEach(i -> underTest.record("createTransaction", 201,
+                TimeUnit.MICROSECONDS.toNanos(i * 100)));
+        underTest.record("createTransaction", 409, TimeUnit.MILLISECONDS.toNanos(2));
+        underTest.record("getCustomerTransactions", 200, TimeUnit.MILLISECONDS.toNanos(3));
+
+        // When
+        Map<String, Map<Integer, LatencyResponse>> actual = underTest.snapshot();
+
+        // Then
+        assertThat(actual.keySet()).containsExactly("createTransaction", "getCustomerTransactions");
+        assertThat(actual.get("createTransaction").keySet()).containsExactly(201, 409);
+        LatencyPercentilesResponse created = actual.get("createTransaction").get(201).getInterval();
+        assertThat(created.getCount()).isEqualTo(10_000);
+        assertThat(created.getP50()).isCloseTo(500, within(0.5));
+        assertThat(created.getP90()).isCloseTo(900, within(0.5));
+        assertThat(created.getP99()).isCloseTo(990, within(0.5));
+        assertThat(created.getP999()).isCloseTo(999, within(0.5));
+        assertThat(created.getP9999()).isCloseTo(999.9, within(0.5));
+        assertThat(created.getMax()).isCloseTo(1_000, within(0.5));
+        assertThat(actual.get("getCustomerTransactions").get(200).getCumulative().getP50()).isCloseTo(3, within(0.01));
+    }
+
+    @Test
+    void snapshot_startsNewInterval_andKeepsCumulativeCounts() {
+        // Given
+        underTest.record("createTransaction", 201, TimeUnit.MILLISECONDS.toNanos(5));
+        underTest.snapshot();
+        underTest.record("createTransaction", 201, TimeUnit.MILLISECONDS.toNanos(1));
+
+        // When
+        LatencyResponse actual = underTest.snapshot().get("createTransaction").get(201);
+
+        // Then
+        assertThat(actual.getInterval().getCount()).isEqualTo(1);
+        assertThat(actual.getInterval().getMax()).isCloseTo(1, within(0.01));
+        assertThat(actual.getCumulative().getCount()).isEqualTo(2);
+        assertThat(actual.getCumulative().getMax()).isCloseTo(5, within(0.01));
+        assertThat(underTest.snapshot().get("createTransaction").get(201).getInterval().getCount()).isZero();
+    }
+
+    @Test
+    void record_capsLatenciesAtTheHighestTrackableValue() {
+        // Given
+        underTest.record("createTransaction", 500, TimeUnit.MINUTES.toNanos(1));
+
+        // When
+        LatencyResponse actual = underTest.snapshot().get("createTransaction").get(500);
+
+        // Then
+        assertThat(actual.getInterval().getMax()).isCloseTo(10_000, within(10.0));
+    }
+}
@@ -0,0 +1,79 @@
+package com.jfrengineering.digitalwallet.web.latency;
+
+import com.jfrengineering.digitalwallet.web.controller.TransactionController;
+import com.jfrengineering.digitalwallet.web.model.TransactionRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.resource.ResourceHttpRequestHandler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class LatencyRecordingInterceptorTest {
+
+    @Mock
+    private LatencyHistograms latencyHistograms;
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void afterCompletion_recordsLatencyByHandlerMethodAndResponseStatus() throws NoSuchMethodException {
+        // Given
+        LatencyRecordingInterceptor underTest = new LatencyRecordingInterceptor(latencyHistograms);
+        HandlerMethod handler = createTransactionHandler();
+        response.setStatus(409);
+
+        // When
+        boolean actual = underTest.preHandle(request, response, handler);
+        underTest.afterCompletion(request, response, handler, null);
+
+        // Then
+        assertThat(actual).isTrue();
+        verify(latencyHistograms).record(eq("createTransaction"), eq(409), anyLong());
+    }
+
+    @Test
+    void afterCompletion_recordsInternalServerError_ifExceptionNotMapped() throws NoSuchMethodException {
+        // Given
+        LatencyRecordingInterceptor underTest = new LatencyRecordingInterceptor(latencyHistograms);
+        HandlerMethod handler = createTransactionHandler();
+
+        // When
+        underTest.preHandle(request, response, handler);
+        underTest.afterCompletion(request, response, handler, new IllegalStateException("unexpected"));
+
+        // Then
+        verify(latencyHistograms).record(eq("createTransaction"), eq(500), anyLong());
+    }
+
+    @Test
+    void afterCompletion_doesNotRecord_ifNotHandledByAController() {
+        // Given
+        LatencyRecordingInterceptor underTest = new LatencyRecordingInterceptor(latencyHistograms);
+        ResourceHttpRequestHandler handler = new ResourceHttpRequestHandler();
+
+        // When
+        underTest.preHandle(request, response, handler);
+        underTest.afterCompletion(request, response, handler, null);
+
+        // Then
+        verifyNoInteractions(latencyHistograms);
+    }
+
+    private static HandlerMethod createTransactionHandler() throws NoSuchMethodException {
+        return new HandlerMethod(mock(TransactionController.class),
+                TransactionController.class.getMethod("createTransaction", TransactionRequest.class));
+    }
+}